@@ -0,0 +1,116 @@
+package app.frontend;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Renders the same page through both paths of {@link PageRaster}, drawn straight into its
+ * reused buffer and rendered by PDFRenderer.renderImage then converted by
+ * SwingFXUtils.toFXImage, and reports the time and the bytes allocated per render.
+ *
+ * Only compiled with the bench profile, then run from the module path of the application:
+ * mvn -Pbench compile
+ * java -p target/classes:&lt;dependencies&gt; -m PFE/app.frontend.PageRasterBenchmark file.pdf [page] [zoom] [renders]
+ *
+ * The page is 0 by default and the zoom 1.5. Both paths first render it 50 times to warm up,
+ * then take turns for 5 rounds of 50 renders; the median round of each path is reported, so
+ * neither pays for the JIT compilation of the code they share. Allocations are counted on the
+ * rendering thread only, like the app.PdfRender flight recorder events. The document is opened
+ * like the viewers open it, through {@link PdfPageRenderer#openDocument(File)}, so the images
+ * of the page stay decoded in its resource cache and both paths are measured without decoding them.
+ */
+public final class PageRasterBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private PageRasterBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: PageRasterBenchmark file.pdf [page] [zoom] [renders]");
+            System.exit(2);
+        }
+        File file = new File(args[0]);
+        int page = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        float zoom = args.length > 2 ? Float.parseFloat(args[2]) : 1.5f;
+        int renders = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+
+        // Images are created without starting the toolkit, so it runs without a display too
+        System.setProperty("prism.order", System.getProperty("prism.order", "sw"));
+
+        try (PDDocument document = PdfPageRenderer.openDocument(file)) {
+            PDFRenderer renderer = new PDFRenderer(document);
+
+            // Sized like PdfPageRenderer sizes its pages
+            PDPage pdfPage = document.getPage(page);
+            PDRectangle cropBox = pdfPage.getCropBox();
+            boolean sideways = pdfPage.getRotation() == 90 || pdfPage.getRotation() == 270;
+            int width = (int) Math.max(Math.floor((sideways ? cropBox.getHeight() : cropBox.getWidth()) * zoom), 1);
+            int height = (int) Math.max(Math.floor((sideways ? cropBox.getWidth() : cropBox.getHeight()) * zoom), 1);
+
+            Path direct = new Path("direct", new PageRaster(true), ROUNDS);
+            Path previous = new Path("previous", new PageRaster(false), ROUNDS);
+            for (Path path : List.of(direct, previous)) {
+                for (int i = 0; i < renders; i++) {
+                    path.raster.renderPage(renderer, page, zoom, width, height);
+                }
+            }
+            for (int round = 0; round < ROUNDS; round++) {
+                direct.measure(round, renderer, page, zoom, width, height, renders);
+                previous.measure(round, renderer, page, zoom, width, height, renders);
+            }
+
+            System.out.printf(Locale.ROOT, "%s, page %d at zoom %.2f, %d x %d pixels, median of %d rounds of %d renders%n",
+                    file.getName(), page, zoom, width, height, ROUNDS, renders);
+            System.out.printf(Locale.ROOT, "%-10s %10s %16s%n", "path", "ms/page", "bytes/page");
+            direct.print();
+            previous.print();
+        }
+    }
+
+    /**
+     * The time and allocations of each round of one path
+     */
+    private static final class Path {
+        private final String name;
+        private final PageRaster raster;
+        private final double[] millis;
+        private final long[] bytes;
+
+        Path(String name, PageRaster raster, int rounds) {
+            this.name = name;
+            this.raster = raster;
+            this.millis = new double[rounds];
+            this.bytes = new long[rounds];
+        }
+
+        void measure(int round, PDFRenderer renderer, int page, float zoom, int width, int height, int renders) throws IOException {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < renders; i++) {
+                raster.renderPage(renderer, page, zoom, width, height);
+            }
+            millis[round] = (System.nanoTime() - start) / 1e6 / renders;
+            bytes[round] = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / renders;
+        }
+
+        void print() {
+            double[] sortedMillis = millis.clone();
+            long[] sortedBytes = bytes.clone();
+            Arrays.sort(sortedMillis);
+            Arrays.sort(sortedBytes);
+            System.out.printf(Locale.ROOT, "%-10s %10.2f %,16d%n", name,
+                    sortedMillis[sortedMillis.length / 2], sortedBytes[sortedBytes.length / 2]);
+        }
+    }
+}
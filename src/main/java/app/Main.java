@@ -2,6 +2,14 @@ package app;
 
 import app.backend.database.DataBaseConnection;
 import app.backend.database.DatabaseInitializer;
+import app.backend.database.QueryMetrics;
+import app.backend.database.QueryPlanCheck;
+import app.backend.monitoring.FlightRecording;
+import app.backend.monitoring.FxThreadWatchdog;
+import app.backend.monitoring.Monitoring;
+import app.backend.services.AsyncServices;
+import app.backend.utils.Log;
+import app.frontend.ViewLoader;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -14,12 +22,19 @@ public class Main extends Application {
     @Override
     public void start(Stage primaryStage) {
         try {
+            // Expose runtime statistics to JConsole and other JMX clients
+            Monitoring.register();
+            // Start the continuous flight recording if -Dmonitoring.jfr=true
+            FlightRecording.startIfConfigured();
+            // Report the freezes of the FX thread
+            FxThreadWatchdog.start();
+
             // Initialize database with tables and default valid IDs
             DatabaseInitializer.initializeDatabase();
 
             // Load fxml file
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AuthLogin.fxml"));
-            Parent root = loader.load();
+            Parent root = ViewLoader.load(loader);
 
             // Create the scene
             Scene scene = new Scene(root, 1900, 1080);
@@ -41,8 +56,7 @@ public class Main extends Application {
                 root.requestLayout();
             });
         } catch (Exception e) {
-            e.printStackTrace();
-            System.out.println("❌ Failed to start the application.");
+            Log.error("❌ Failed to start the application", e);
         }
     }
 
@@ -52,7 +66,18 @@ public class Main extends Application {
     
     @Override
     public void stop() {
+        FxThreadWatchdog.stop();
+        // Stop accepting background service calls before the connections close
+        AsyncServices.shutdown();
+        // Write the query statistics if a dump file is configured
+        QueryMetrics.dumpToConfiguredFile();
+        // Report the statements of this session that scan whole tables, on demand
+        if (Boolean.getBoolean("db.explainCheck")) {
+            QueryPlanCheck.run();
+        }
         // Close database connection when application exits
         DataBaseConnection.closeConnection();
+        // Write the buffered log messages
+        Log.shutdown();
     }
 }
\ No newline at end of file
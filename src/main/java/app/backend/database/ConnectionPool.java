@@ -0,0 +1,434 @@
+package app.backend.database;
+
+import app.backend.utils.Log;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of JDBC connections.
+ *
+ * Connections handed out by {@link #borrow()} are proxies: calling close() on them
+ * returns the physical connection to the pool instead of closing the socket.
+ * Idle connections are validated before being handed out, evicted after staying
+ * idle for too long, and a background task logs the borrowing stack of any
+ * connection that has been held longer than the leak threshold.
+ * Each physical connection keeps its own {@link StatementCache}, so repeated
+ * prepareStatement calls with the same SQL reuse the already parsed statement.
+ *
+ * @author Oday
+ */
+public class ConnectionPool {
+
+    /**
+     * Opens a new physical connection to the database
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    // Statistics
+    private final AtomicInteger borrowCount = new AtomicInteger();
+    private final AtomicInteger timeoutCount = new AtomicInteger();
+    private final AtomicInteger leakCount = new AtomicInteger();
+    private final StatementCache.Stats statementStats = new StatementCache.Stats();
+
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, long borrowTimeoutMillis,
+                          long idleTimeoutMillis, long leakThresholdMillis, int validationTimeoutSeconds,
+                          int statementCacheSize) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, leakThresholdMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        fillToMinimum();
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout for one to become free.
+     * The returned connection must be closed by the caller to give it back.
+     *
+     * @return A validated connection
+     * @throws SQLException if no connection could be obtained in time or the database is unreachable
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection"
+                        + " (active=" + borrowed.size() + ", max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = openNew();
+            }
+            pooled.markBorrowed(leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null);
+            borrowed.add(pooled);
+            borrowCount.incrementAndGet();
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every connection and stops the housekeeping task.
+     * Connections still borrowed are closed as soon as they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    public int getActiveCount() {
+        return borrowed.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getTotalCount() {
+        return totalConnections.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public int getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    public int getLeakCount() {
+        return leakCount.get();
+    }
+
+    public long getStatementCacheHits() {
+        return statementStats.hits.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementStats.misses.get();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementStats.evictions.get();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Takes the most recently used idle connection that still passes validation
+     */
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (pooled.isUsable(validationTimeoutSeconds)) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+        return null;
+    }
+
+    private PooledConnection openNew() throws SQLException {
+        Connection physical = factory.create();
+        if (physical == null) {
+            throw new SQLException("Connection factory returned no connection");
+        }
+        totalConnections.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    /**
+     * Called by a connection handle when the caller closes it
+     */
+    private void release(PooledConnection pooled) {
+        if (!borrowed.remove(pooled)) {
+            return;
+        }
+        try {
+            if (closed || !pooled.reset()) {
+                discard(pooled);
+            } else {
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        if (pooled.statementCache != null) {
+            pooled.statementCache.clear();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Connection is being thrown away anyway
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < minSize) {
+            try {
+                idle.offerLast(openNew());
+            } catch (SQLException e) {
+                Log.warn("⚠️ Could not pre-open pooled connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evicts idle connections beyond the minimum size, tops the pool back up
+     * and reports connections that look leaked
+     */
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalConnections.get() > minSize) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastUsed > idleTimeoutMillis && idle.remove(pooled)) {
+                    discard(pooled);
+                }
+            }
+
+            fillToMinimum();
+
+            if (leakThresholdMillis > 0) {
+                for (PooledConnection pooled : borrowed) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdMillis) {
+                        pooled.leakReported = true;
+                        leakCount.incrementAndGet();
+                        Log.warn("⚠️ Possible connection leak: connection held for "
+                                + (now - pooled.borrowedAt) + " ms by " + pooled.borrowThread, pooled.borrowStack);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            Log.error("❌ Pool housekeeping failed", e);
+        }
+    }
+
+    /**
+     * A physical connection together with its pool bookkeeping
+     */
+    private final class PooledConnection {
+        final Connection physical;
+        final StatementCache statementCache;
+        volatile long lastUsed = System.currentTimeMillis();
+        volatile long borrowedAt;
+        volatile String borrowThread;
+        volatile Throwable borrowStack;
+        volatile boolean leakReported;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize, statementStats)
+                    : null;
+        }
+
+        void markBorrowed(Throwable stack) {
+            borrowedAt = System.currentTimeMillis();
+            borrowThread = Thread.currentThread().getName();
+            borrowStack = stack;
+            leakReported = false;
+        }
+
+        boolean isUsable(int timeoutSeconds) {
+            try {
+                return !physical.isClosed() && physical.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Restores default session state before the connection goes back to the pool
+         *
+         * @return false if the connection is no longer fit for reuse
+         */
+        boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) {
+                    physical.setReadOnly(false);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * The logical connection given to callers. Statements opened through it are closed
+     * when it is handed back, so a caller that forgets one does not leak it into the pool.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final List<Statement> statements = new ArrayList<>();
+        private boolean released = false;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            if (pooled.statementCache != null && isCacheablePrepare(method)) {
+                Statement statement = pooled.statementCache.prepare(
+                        (String) args[0], args.length == 2 ? (Integer) args[1] : null);
+                statements.add(statement);
+                return statement;
+            }
+
+            try {
+                Object result = method.invoke(pooled.physical, args);
+                if (result instanceof Statement) {
+                    statements.add((Statement) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        /**
+         * Only prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) go through the cache
+         */
+        private boolean isCacheablePrepare(Method method) {
+            if (!method.getName().equals("prepareStatement")) {
+                return false;
+            }
+            Class<?>[] types = method.getParameterTypes();
+            return types.length == 1 || (types.length == 2 && types[1] == int.class);
+        }
+
+        private void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            for (Statement statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // Statement is unusable either way
+                }
+            }
+            statements.clear();
+            release(pooled);
+        }
+    }
+}
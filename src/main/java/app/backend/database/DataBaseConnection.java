@@ -6,6 +6,7 @@ package app.backend.database;
  */
 
     
+import app.backend.utils.Log;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
@@ -21,56 +22,172 @@ public class DataBaseConnection {
     private static final String DATABASE_NAME = "javalearningassistant";
     private static final String USER = "root";
     private static final String PASSWORD = "admin";
-    private static Connection connection = null;
 
+    // Pool settings, overridable with -Ddb.pool.<name>=<value>
+    private static final int POOL_MIN_SIZE = Integer.getInteger("db.pool.minSize", 2);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("db.pool.maxSize", 10);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("db.pool.borrowTimeoutMs", 10_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("db.pool.idleTimeoutMs", 300_000L);
+    private static final long POOL_LEAK_THRESHOLD_MS = Long.getLong("db.pool.leakThresholdMs", 60_000L);
+    private static final int POOL_VALIDATION_TIMEOUT_S = Integer.getInteger("db.pool.validationTimeoutS", 2);
 
+    // Prepared statements cached per pooled connection (0 disables the cache)
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("db.statementCacheSize", 64);
+    // Let MySQL parse cached statements once on the server instead of emulating them client-side
+    private static final boolean SERVER_PREPARED_STATEMENTS =
+        Boolean.parseBoolean(System.getProperty("db.serverPrepStmts", "true"));
+
+    // Optional read replica for read-only transactions, e.g. -Ddb.replicaUrl=jdbc:mysql://replica:3306/javalearningassistant
+    private static final String REPLICA_URL = System.getProperty("db.replicaUrl");
+
+    private static volatile ConnectionPool pool = null;
+    private static volatile ConnectionPool replicaPool = null;
+
+    /**
+     * Borrows a connection from the pool.
+     * The caller owns the connection and must close it (preferably with try-with-resources)
+     * to return it to the pool. Its statements are recorded in {@link QueryMetrics}.
+     *
+     * @return A pooled connection, or null if the database is unreachable
+     */
     public static Connection getConnection() {
-        if (connection == null) {
-            try {
-                // Load the JDBC driver explicitly
-                Class.forName("com.mysql.cj.jdbc.Driver");
+        ConnectionPool currentPool = getPool();
+        if (currentPool == null) {
+            return null;
+        }
+
+        try {
+            return QueryMetrics.instrument(currentPool.borrow());
+        } catch (SQLException e) {
+            Log.error("❌ Failed to get a database connection", e);
+            return null;
+        }
+    }
+
+    /**
+     * Borrows a connection for reads that can run on the read replica.
+     * Falls back to the primary when no replica is configured or it is unreachable.
+     *
+     * @return A pooled connection, or null if the database is unreachable
+     */
+    public static Connection getReadConnection() {
+        if (REPLICA_URL == null || REPLICA_URL.isEmpty() || getPool() == null) {
+            return getConnection();
+        }
+
+        ConnectionPool currentPool = replicaPool;
+        if (currentPool == null) {
+            synchronized (DataBaseConnection.class) {
+                currentPool = replicaPool;
+                if (currentPool == null) {
+                    currentPool = newPool(() -> DriverManager.getConnection(REPLICA_URL, connectionProperties()));
+                    replicaPool = currentPool;
+                    Log.info("✅ Read replica connection pool ready: " + REPLICA_URL);
+                }
+            }
+        }
+
+        try {
+            return QueryMetrics.instrument(currentPool.borrow());
+        } catch (SQLException e) {
+            Log.warn("⚠️ Read replica unavailable, reading from the primary: " + e.getMessage());
+            return getConnection();
+        }
+    }
+
+    /**
+     * Returns the connection pool, creating it on first use
+     * @return The pool, or null if the JDBC driver is missing
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool currentPool = pool;
+        if (currentPool == null) {
+            synchronized (DataBaseConnection.class) {
+                currentPool = pool;
+                if (currentPool == null) {
+                    currentPool = createPool();
+                    pool = currentPool;
+                }
+            }
+        }
+        return currentPool;
+    }
+
+    private static ConnectionPool createPool() {
+        try {
+            // Load the JDBC driver explicitly
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            Log.error("❌ MySQL JDBC Driver not found. Include it in your library path!", e);
+            return null;
+        }
+
+        ensureDatabaseExists();
+
+        ConnectionPool newPool = newPool(DataBaseConnection::openPhysicalConnection);
+        Log.info("✅ Database connection pool ready (min=" + POOL_MIN_SIZE + ", max=" + POOL_MAX_SIZE + ")");
+        return newPool;
+    }
+
+    private static ConnectionPool newPool(ConnectionPool.ConnectionFactory factory) {
+        return new ConnectionPool(
+            factory,
+            POOL_MIN_SIZE,
+            POOL_MAX_SIZE,
+            POOL_BORROW_TIMEOUT_MS,
+            POOL_IDLE_TIMEOUT_MS,
+            POOL_LEAK_THRESHOLD_MS,
+            POOL_VALIDATION_TIMEOUT_S,
+            STATEMENT_CACHE_SIZE
+        );
+    }
+
+    private static Properties connectionProperties() {
+        // Set additional connection properties
+        Properties properties = new Properties();
+        properties.setProperty("user", USER);
+        properties.setProperty("password", PASSWORD);
+        properties.setProperty("useSSL", "false");
+        properties.setProperty("allowPublicKeyRetrieval", "true");
+        properties.setProperty("serverTimezone", "UTC");
+        properties.setProperty("createDatabaseIfNotExist", "true");
+        properties.setProperty("useServerPrepStmts", String.valueOf(SERVER_PREPARED_STATEMENTS));
+        // Send batched INSERTs as multi-row statements in one round trip
+        properties.setProperty("rewriteBatchedStatements", "true");
+        return properties;
+    }
+
+    /**
+     * Opens a new physical connection for the pool
+     */
+    private static Connection openPhysicalConnection() throws SQLException {
+        return DriverManager.getConnection(URL + DATABASE_NAME, connectionProperties());
+    }
+
+    /**
+     * Makes sure the application database exists before the pool starts opening connections to it
+     */
+    private static void ensureDatabaseExists() {
+        try (Connection conn = DriverManager.getConnection(URL + DATABASE_NAME, connectionProperties())) {
+            if (conn.isValid(POOL_VALIDATION_TIMEOUT_S)) {
+                Log.info("✅ Connected to the database successfully!");
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Failed to connect to database: " + e.getMessage());
+            
+            // Try to connect without database name to create it
+            try (Connection conn = DriverManager.getConnection(URL, connectionProperties());
+                 Statement stmt = conn.createStatement()) {
+                Log.info("✅ Connected to MySQL server successfully!");
                 
-                // Set additional connection properties
-                Properties properties = new Properties();
-                properties.setProperty("user", USER);
-                properties.setProperty("password", PASSWORD);
-                properties.setProperty("useSSL", "false");
-                properties.setProperty("allowPublicKeyRetrieval", "true");
-                properties.setProperty("serverTimezone", "UTC");
-                properties.setProperty("createDatabaseIfNotExist", "true");
+                // Create the database if it doesn't exist
+                stmt.executeUpdate("CREATE DATABASE IF NOT EXISTS " + DATABASE_NAME);
+                Log.info("✅ Created database: " + DATABASE_NAME);
                 
-                // Try to connect with database name
-                try {
-                    connection = DriverManager.getConnection(URL + DATABASE_NAME, properties);
-                    System.out.println("✅ Connected to the database successfully!");
-                } catch (SQLException e) {
-                    System.out.println("❌ Failed to connect to database: " + e.getMessage());
-                    
-                    // Try to connect without database name to create it
-                    try {
-                        connection = DriverManager.getConnection(URL, properties);
-                        System.out.println("✅ Connected to MySQL server successfully!");
-                        
-                        // Create the database if it doesn't exist
-                        Statement stmt = connection.createStatement();
-                        stmt.executeUpdate("CREATE DATABASE IF NOT EXISTS " + DATABASE_NAME);
-                        stmt.close();
-                        
-                        // Switch to the new database
-                        connection.setCatalog(DATABASE_NAME);
-                        System.out.println("✅ Created and switched to database: " + DATABASE_NAME);
-                        
-                    } catch (SQLException innerEx) {
-                        System.out.println("❌ Failed to connect to MySQL server: " + innerEx.getMessage());
-                        e.printStackTrace();
-                    }
-                }
-            } catch (ClassNotFoundException e) {
-                System.out.println("❌ MySQL JDBC Driver not found. Include it in your library path!");
-                e.printStackTrace();
+            } catch (SQLException innerEx) {
+                Log.error("❌ Failed to connect to MySQL server", innerEx);
             }
         }
-        return connection;
     }
 
     /**
@@ -78,14 +195,10 @@ public class DataBaseConnection {
      * @return true if connected, false otherwise
      */
     public static boolean isDatabaseConnected() {
-        if (connection == null) {
-            getConnection();
-        }
-        
-        try {
-            return connection != null && !connection.isClosed();
+        try (Connection conn = getConnection()) {
+            return conn != null && !conn.isClosed();
         } catch (SQLException e) {
-            e.printStackTrace();
+            Log.error("❌ Database connection check failed", e);
             return false;
         }
     }
@@ -94,18 +207,18 @@ public class DataBaseConnection {
      * Checks if default valid IDs exist and adds them if they don't
      */
     public static void ensureDefaultValidIDs() {
-        if (!isDatabaseConnected()) {
-            System.out.println("❌ Cannot initialize default valid IDs: No database connection.");
-            return;
-        }
-        
-        try {
+        try (Connection connection = getConnection()) {
+            if (connection == null) {
+                Log.error("❌ Cannot initialize default valid IDs: No database connection.");
+                return;
+            }
+
             // Check if any validid records exist
             Statement stmt = connection.createStatement();
             java.sql.ResultSet rs = stmt.executeQuery("SELECT COUNT(*) AS count FROM validid");
             
             if (rs.next() && rs.getInt("count") == 0) {
-                System.out.println("🔄 No valid IDs found. Adding default valid IDs...");
+                Log.info("🔄 No valid IDs found. Adding default valid IDs...");
                 
                 // Add default valid IDs with university name and enrollment levels
                 PreparedStatement insertStmt = connection.prepareStatement(
@@ -139,7 +252,7 @@ public class DataBaseConnection {
                 insertStmt.setString(4, "Mohamed Khider Biskra");
                 insertStmt.executeUpdate();
                 
-                System.out.println("✅ Default valid IDs added successfully!");
+                Log.info("✅ Default valid IDs added successfully!");
             } else {
                 // Check and add sample IDs with the new format if they don't exist yet
                 String[] newIDs = {"UNST00000001", "UNST00000002", "UNTS00000001", "UNTS00000002"};
@@ -154,7 +267,7 @@ public class DataBaseConnection {
                     ResultSet checkRs = checkStmt.executeQuery();
                     
                     if (checkRs.next() && checkRs.getInt("count") == 0) {
-                        System.out.println("🔄 Adding " + newIDs[i] + " to valid IDs...");
+                        Log.info("🔄 Adding " + newIDs[i] + " to valid IDs...");
                         PreparedStatement insertStmt = connection.prepareStatement(
                             "INSERT INTO validid (matricule, role, enrollment_level, university_name) VALUES (?, ?, ?, ?)");
                         insertStmt.setString(1, newIDs[i]);
@@ -162,7 +275,7 @@ public class DataBaseConnection {
                         insertStmt.setString(3, levels[i]);
                         insertStmt.setString(4, university);
                         insertStmt.executeUpdate();
-                        System.out.println("✅ " + newIDs[i] + " added successfully!");
+                        Log.info("✅ " + newIDs[i] + " added successfully!");
                     } else {
                         // If ID exists, check if we need to update the university name and enrollment level
                         String updateSQL = "UPDATE validid SET enrollment_level = ?, university_name = ? WHERE matricule = ?";
@@ -172,28 +285,43 @@ public class DataBaseConnection {
                         updateStmt.setString(3, newIDs[i]);
                         int updated = updateStmt.executeUpdate();
                         if (updated > 0) {
-                            System.out.println("✅ Updated " + newIDs[i] + " with enrollment level and university name");
+                            Log.info("✅ Updated " + newIDs[i] + " with enrollment level and university name");
                         }
                     }
                 }
             }
         } catch (SQLException e) {
-            System.out.println("❌ Error initializing default valid IDs: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("❌ Error initializing default valid IDs", e);
         }
     }
 
-    // method to close the connection
+    /**
+     * Closes the connection pools and opens a new one, e.g. after the database server restarted.
+     * Connections still borrowed are closed when they are returned.
+     *
+     * @return true if the database is reachable again
+     */
+    public static boolean reconnect() {
+        closeConnection();
+        return getPool() != null && isDatabaseConnected();
+    }
+
+    // method to close the connection pools
     public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                connection = null;
-                System.out.println("🔌 Database connection closed.");
-            } catch (SQLException e) {
-                System.out.println("❌ Error closing database connection: " + e.getMessage());
-                e.printStackTrace();
-            }
+        ConnectionPool currentPool;
+        ConnectionPool currentReplicaPool;
+        synchronized (DataBaseConnection.class) {
+            currentPool = pool;
+            currentReplicaPool = replicaPool;
+            pool = null;
+            replicaPool = null;
+        }
+        if (currentReplicaPool != null) {
+            currentReplicaPool.shutdown();
+        }
+        if (currentPool != null) {
+            currentPool.shutdown();
+            Log.info("🔌 Database connection pool closed.");
         }
     }
 }
@@ -0,0 +1,214 @@
+package app.backend.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Proxies recording the statements run on a connection in {@link QueryMetrics}.
+ *
+ * The connection proxy wraps every statement it creates. Statement proxies time each
+ * execute call, keep the parameters bound so a slow statement can be explained with
+ * them, and wrap the result sets they return to count the rows read.
+ *
+ * @author Oday
+ */
+final class InstrumentedConnection {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    // Fingerprint of batches of plain statements, whose SQL is given to addBatch
+    private static final String STATEMENT_BATCH = "(statement batch)";
+
+    private InstrumentedConnection() {}
+
+    static Connection wrap(Connection conn) {
+        return proxy(Connection.class, new ConnectionHandler(conn));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Wraps the statements created by the connection
+     */
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "toString":
+                    return "Instrumented" + target;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+
+            Object result = forward(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, new StatementHandler((Statement) result, sql, (Connection) proxy));
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, new StatementHandler((Statement) result, sql, (Connection) proxy));
+            }
+            if (result instanceof Statement) {
+                return proxy(Statement.class, new StatementHandler((Statement) result, null, (Connection) proxy));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Times the executions of a statement and records its parameters
+     */
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        // The prepared SQL, null for a plain statement
+        private final String sql;
+        private final QueryMetrics.StatementStats preparedStats;
+        private final Connection connection;
+        private Object[] params = new Object[0];
+        private QueryMetrics.StatementStats lastStats;
+
+        StatementHandler(Statement target, String sql, Connection connection) {
+            this.target = target;
+            this.sql = sql;
+            this.preparedStats = sql != null ? QueryMetrics.statsFor(sql) : null;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "getConnection":
+                    return connection;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "clearParameters":
+                    params = new Object[0];
+                    break;
+                default:
+                    break;
+            }
+
+            if (EXECUTE_METHODS.contains(name)) {
+                return execute(method, args);
+            }
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                recordParameter((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            }
+
+            Object result = forward(target, method, args);
+            if (name.equals("getResultSet") && result != null && lastStats != null) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, lastStats));
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            // Plain statements get their SQL here, prepared ones may not
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            QueryMetrics.StatementStats stats;
+            if (executedSql == null) {
+                stats = QueryMetrics.statsFor(STATEMENT_BATCH);
+            } else if (executedSql.equals(sql)) {
+                stats = preparedStats;
+            } else {
+                stats = QueryMetrics.statsFor(executedSql);
+            }
+            lastStats = stats;
+            boolean batch = method.getName().endsWith("Batch");
+
+            long start = System.nanoTime();
+            boolean failed = true;
+            Object result;
+            try {
+                result = forward(target, method, args);
+                failed = false;
+            } finally {
+                long micros = (System.nanoTime() - start) / 1000;
+                QueryMetrics.recordExecution(stats, executedSql, batch ? null : params, micros, failed);
+            }
+
+            if (result instanceof ResultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, stats));
+            }
+            return result;
+        }
+
+        private void recordParameter(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > params.length) {
+                // Sized to the highest index bound, so the parameters can be bound again as they are
+                params = Arrays.copyOf(params, index);
+            }
+            params[index - 1] = value;
+        }
+    }
+
+    /**
+     * Counts the rows read from a result set
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final QueryMetrics.StatementStats stats;
+
+        ResultSetHandler(ResultSet target, QueryMetrics.StatementStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+
+            Object result = forward(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.addRow();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package app.backend.database;
+
+import app.backend.utils.Log;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Applies versioned schema migrations in order and records them in the schema_version table.
+ *
+ * Every migration is a SQL script with a version number. A migration runs once; its
+ * SHA-256 checksum is stored with it so a script edited after being applied is reported.
+ * Version 1 is the original dump: on a database created before migrations existed it is
+ * recorded as applied without running, and once applied it is neither loaded nor checksummed.
+ * New schema changes go in a new script under /db/migration and a new entry at the end of
+ * {@link #MIGRATIONS}.
+ *
+ * @author Oday
+ */
+public class MigrationRunner {
+
+    private static final String VERSION_TABLE = "schema_version";
+
+    // MySQL errors for objects that already exist; a migration hitting them was applied by hand
+    private static final int ER_TABLE_EXISTS = 1050;
+    private static final int ER_DUP_FIELDNAME = 1060;
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    /**
+     * A schema migration script
+     *
+     * @param version The version the schema is at after this migration, strictly increasing
+     * @param description Short description stored in the version table
+     * @param script Classpath location of the SQL script
+     * @param baseline True for the original dump, whose statement errors are logged and skipped
+     */
+    record Migration(int version, String description, String script, boolean baseline) {}
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "baseline schema", "/app/database/javalearningassistant.sql", true),
+        new Migration(2, "course target level", "/db/migration/V2__course_target_level.sql", false),
+        new Migration(3, "hot path indexes", "/db/migration/V3__hot_path_indexes.sql", false),
+        new Migration(4, "card keyset indexes", "/db/migration/V4__card_keyset_indexes.sql", false),
+        new Migration(5, "practical work created index", "/db/migration/V5__practical_work_created_index.sql", false)
+    );
+
+    private MigrationRunner() {}
+
+    /**
+     * Brings the schema up to date, stopping at the first migration that fails
+     *
+     * @param conn The connection to migrate
+     * @return true if every migration is applied
+     */
+    public static boolean migrate(Connection conn) {
+        try {
+            createVersionTable(conn);
+            Map<Integer, String> applied = loadAppliedVersions(conn);
+
+            if (applied.isEmpty() && tableExists(conn, "user")) {
+                // Database created from the dump before migrations existed; the dump is not needed to record it
+                Migration baseline = MIGRATIONS.get(0);
+                recordMigration(conn, baseline, "");
+                applied.put(baseline.version(), "");
+                Log.info("✅ Existing schema recorded as version " + baseline.version());
+            }
+
+            for (Migration migration : MIGRATIONS) {
+                if (migration.baseline() && applied.containsKey(migration.version())) {
+                    // The dump only matters for a fresh database, it may not even ship with the application
+                    continue;
+                }
+
+                String script = loadScript(migration.script());
+                if (script == null) {
+                    Log.error("❌ Migration script not found: " + migration.script());
+                    return false;
+                }
+                String checksum = checksum(script);
+
+                if (applied.containsKey(migration.version())) {
+                    String appliedChecksum = applied.get(migration.version());
+                    if (!appliedChecksum.isEmpty() && !appliedChecksum.equals(checksum)) {
+                        Log.warn("⚠️ Migration V" + migration.version() + " (" + migration.description()
+                                + ") was modified after being applied");
+                    }
+                    continue;
+                }
+
+                Log.info("🔄 Applying migration V" + migration.version() + ": " + migration.description());
+                executeScript(conn, script, migration.baseline());
+                recordMigration(conn, migration, checksum);
+                Log.info("✅ Migration V" + migration.version() + " applied");
+            }
+
+            int latest = MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+            for (int version : applied.keySet()) {
+                if (version > latest) {
+                    Log.warn("⚠️ Database has migration V" + version + " which this version of the application does not know");
+                }
+            }
+            return true;
+
+        } catch (SQLException e) {
+            Log.error("❌ Schema migration failed", e);
+            return false;
+        }
+    }
+
+    private static void createVersionTable(Connection conn) throws SQLException {
+        String sql = "CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " (" +
+                     "version INT NOT NULL PRIMARY KEY, " +
+                     "description VARCHAR(255) NOT NULL, " +
+                     "checksum CHAR(64) NOT NULL, " +
+                     "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP" +
+                     ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4";
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static Map<Integer, String> loadAppliedVersions(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM " + VERSION_TABLE)) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private static void recordMigration(Connection conn, Migration migration, String checksum) throws SQLException {
+        String sql = "INSERT INTO " + VERSION_TABLE + " (version, description, checksum) VALUES (?, ?, ?)";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.version());
+            stmt.setString(2, migration.description());
+            stmt.setString(3, checksum);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Checks if a table exists in the current database
+     */
+    static boolean tableExists(Connection conn, String tableName) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, tableName, new String[] {"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Executes the statements of a script. DDL is committed statement by statement by MySQL,
+     * so a failing migration stops where it failed and is not recorded.
+     */
+    private static void executeScript(Connection conn, String script, boolean lenient) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : splitStatements(script)) {
+                if (isTransactionControl(statement)) {
+                    // Dumps wrap themselves in a transaction; on a pooled connection that would leave autocommit off
+                    continue;
+                }
+                try {
+                    stmt.execute(statement);
+                } catch (SQLException e) {
+                    int code = e.getErrorCode();
+                    if (code == ER_TABLE_EXISTS || code == ER_DUP_FIELDNAME || code == ER_DUP_KEYNAME) {
+                        Log.warn("⚠️ Already present, skipped: " + firstLine(statement));
+                    } else if (lenient) {
+                        Log.warn("⚠️ Error executing SQL: " + firstLine(statement) + " (" + e.getMessage() + ")");
+                    } else {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits a script on semicolons, ignoring those inside quotes and dropping -- comments
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+
+        for (int i = 0; i < script.length(); i++) {
+            char ch = script.charAt(i);
+
+            if (quote != 0) {
+                current.append(ch);
+                if (ch == '\\' && i + 1 < script.length()) {
+                    current.append(script.charAt(++i));
+                } else if (ch == quote) {
+                    quote = 0;
+                }
+            } else if (ch == '-' && script.startsWith("--", i)) {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end;
+                current.append('\n');
+            } else if (ch == '\'' || ch == '"' || ch == '`') {
+                quote = ch;
+                current.append(ch);
+            } else if (ch == ';') {
+                addStatement(statements, current);
+            } else {
+                current.append(ch);
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+
+    private static boolean isTransactionControl(String statement) {
+        String upper = statement.toUpperCase().replaceAll("\\s+", " ");
+        return upper.equals("START TRANSACTION") || upper.equals("COMMIT") || upper.startsWith("SET AUTOCOMMIT");
+    }
+
+    private static String firstLine(String statement) {
+        int end = statement.indexOf('\n');
+        return end < 0 ? statement : statement.substring(0, end) + " ...";
+    }
+
+    private static String checksum(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // Line endings and trailing blank lines depend on the checkout, they must not change the checksum
+            String normalized = script.replace("\r\n", "\n").strip();
+            byte[] hash = digest.digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Loads a script from the classpath, falling back to the src/database folder
+     * of the project for the original dump when running from the sources
+     */
+    static String loadScript(String resourcePath) {
+        try (InputStream is = MigrationRunner.class.getResourceAsStream(resourcePath)) {
+            if (is != null) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+                    return reader.lines().collect(Collectors.joining("\n"));
+                }
+            }
+
+            Path file = Path.of("src", "database", Path.of(resourcePath).getFileName().toString());
+            if (Files.exists(file)) {
+                return Files.readString(file, StandardCharsets.UTF_8);
+            }
+            return null;
+        } catch (Exception e) {
+            Log.error("❌ Error loading SQL script", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package app.backend.database;
+
+import app.backend.utils.Log;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs SELECT statements and maps their rows with a {@link RowMapper}.
+ *
+ * Column ordinals are resolved the first time a (SQL, mapper) pair is executed and
+ * reused afterwards, so mapping a row never searches columns by name.
+ *
+ * The methods without a Connection parameter run on the connection of the current
+ * {@link TransactionManager} unit of work, or borrow one from {@link DataBaseConnection}.
+ * Outside a unit of work they follow the service layer convention of logging SQL errors
+ * and returning an empty result (also when no connection is available); inside one the
+ * error is rethrown so the unit rolls back. The methods taking a Connection throw
+ * instead, for callers managing their own transaction.
+ *
+ * @author Oday
+ */
+public final class QueryExecutor {
+
+    // Upper bound on cached statement shapes, guards against unbounded dynamic SQL (e.g. IN lists)
+    private static final int MAX_CACHED_SHAPES = 512;
+
+    // Largest IN list sent in one statement, bigger id sets are split
+    private static final int MAX_IN_LIST = 256;
+
+    private static final Map<ShapeKey, int[]> ordinalCache = new ConcurrentHashMap<>();
+
+    private QueryExecutor() {}
+
+    /**
+     * Runs a query and maps every row
+     *
+     * @return The mapped rows, empty if the query failed
+     */
+    public static <T> List<T> queryList(String sql, RowMapper<T> mapper, Object... params) {
+        return withConnection(conn -> queryList(conn, sql, mapper, params), new ArrayList<>());
+    }
+
+    /**
+     * Runs a query and maps the first row
+     *
+     * @return The mapped row, or null if there is none or the query failed
+     */
+    public static <T> T queryOne(String sql, RowMapper<T> mapper, Object... params) {
+        return withConnection(conn -> queryOne(conn, sql, mapper, params), null);
+    }
+
+    /**
+     * Runs a query returning a single number, such as a COUNT(*)
+     *
+     * @return The value of the first column of the first row, 0 if there is none or the query failed
+     */
+    public static int queryInt(String sql, Object... params) {
+        return withConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                bind(stmt, params);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+        }, 0);
+    }
+
+    /**
+     * Runs a query for a set of IDs, e.g. "SELECT * FROM User WHERE id IN (%s)".
+     * Repeated IDs are sent once. The placeholder count is rounded up to a power of two
+     * (padding with the last ID) so few distinct statements reach the statement cache.
+     *
+     * @param sqlTemplate The query, with %s where the IN placeholders go
+     * @return The mapped rows of every chunk, empty if a query failed
+     */
+    public static <T> List<T> queryByIds(String sqlTemplate, RowMapper<T> mapper, Collection<Integer> ids) {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return withConnection(conn -> {
+            List<T> results = new ArrayList<>();
+            for (int from = 0; from < distinctIds.size(); from += MAX_IN_LIST) {
+                List<Integer> chunk = distinctIds.subList(from, Math.min(from + MAX_IN_LIST, distinctIds.size()));
+                int size = Integer.highestOneBit(chunk.size() - 1) << 1;
+                size = Math.max(1, Math.min(size, MAX_IN_LIST));
+
+                Object[] params = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    params[i] = chunk.get(Math.min(i, chunk.size() - 1));
+                }
+
+                String placeholders = String.join(", ", Collections.nCopies(size, "?"));
+                results.addAll(queryList(conn, String.format(sqlTemplate, placeholders), mapper, params));
+            }
+            return results;
+        }, new ArrayList<>());
+    }
+
+    public static <T> List<T> queryList(Connection conn, String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+        List<T> results = new ArrayList<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                int[] ordinals = null;
+                while (rs.next()) {
+                    if (ordinals == null) {
+                        ordinals = ordinals(sql, mapper, rs);
+                    }
+                    results.add(mapper.map(rs, ordinals));
+                }
+            }
+        }
+
+        return results;
+    }
+
+    public static <T> T queryOne(Connection conn, String sql, RowMapper<T> mapper, Object... params) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapper.map(rs, ordinals(sql, mapper, rs));
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Turns user input into a LIKE pattern matching values that start with it
+     */
+    public static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Turns user input into a LIKE pattern matching values that contain it
+     */
+    public static String likeContains(String text) {
+        return "%" + likePrefix(text);
+    }
+
+    /**
+     * Binds positional parameters; nulls are sent as SQL NULL
+     */
+    public static void bind(PreparedStatement stmt, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            stmt.setObject(i + 1, params[i]);
+        }
+    }
+
+    /**
+     * Runs a call on the connection of the current unit of work, or on a borrowed one
+     *
+     * @param fallback The result when the call fails outside a unit of work, or no connection is available
+     */
+    private static <R> R withConnection(TransactionManager.Work<R> call, R fallback) {
+        Connection bound = TransactionManager.currentConnection();
+        if (bound != null) {
+            try {
+                return call.execute(bound);
+            } catch (SQLException e) {
+                // Swallowing it here would let the unit of work commit a partial result
+                throw new TransactionManager.WorkFailure(e);
+            }
+        }
+
+        try (Connection conn = DataBaseConnection.getConnection()) {
+            if (conn == null) {
+                return fallback;
+            }
+            return call.execute(conn);
+        } catch (SQLException e) {
+            Log.error("❌ Database error", e);
+            return fallback;
+        }
+    }
+
+    /**
+     * Returns the ordinals of the mapper's columns for this statement shape, resolving them on first use
+     */
+    private static int[] ordinals(String sql, RowMapper<?> mapper, ResultSet rs) throws SQLException {
+        ShapeKey key = new ShapeKey(sql, mapper);
+        int[] ordinals = ordinalCache.get(key);
+        if (ordinals != null) {
+            return ordinals;
+        }
+
+        String[] columns = mapper.columns();
+        ordinals = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            ordinals[i] = rs.findColumn(columns[i]);
+        }
+
+        if (ordinalCache.size() >= MAX_CACHED_SHAPES) {
+            ordinalCache.clear();
+        }
+        ordinalCache.put(key, ordinals);
+        return ordinals;
+    }
+
+    private record ShapeKey(String sql, RowMapper<?> mapper) {}
+}
@@ -0,0 +1,539 @@
+package app.backend.database;
+
+import app.backend.monitoring.FlightRecording;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Statistics of the SQL statements run by the application.
+ *
+ * Connections handed out by {@link DataBaseConnection} are wrapped by {@link #instrument(Connection)},
+ * which times every execution. Statements are grouped by fingerprint, the SQL with its literals
+ * and IN lists collapsed, and each fingerprint keeps its call count, rows returned, failures and
+ * a latency histogram. Executions are also counted per screen, so a screen running the same
+ * statement once per row (an N+1 pattern) shows far more queries per visit than the others,
+ * and per service method, the outermost service call timed by {@link Timings#SERVICE_CALLS}
+ * running on the thread of the execution.
+ * Statements slower than -Ddb.slowQueryMs (200 by default) go to a slow query log together
+ * with their EXPLAIN plan, captured in the background on a separate connection.
+ *
+ * The statistics are read with {@link #getStatements()}, {@link #getScreens()} and
+ * {@link #getSlowQueries()}, or written as a report with {@link #dump(Path)}; with
+ * -Ddb.metrics.dumpFile=&lt;path&gt; the report is written when the application stops.
+ * Instrumentation wraps every statement, so it is off by default and enabled with -Ddb.metrics=true.
+ *
+ * @author Oday
+ */
+public final class QueryMetrics {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("db.metrics", "false"));
+    private static final long SLOW_QUERY_MICROS = Long.getLong("db.slowQueryMs", 200L) * 1000;
+    private static final String DUMP_FILE = System.getProperty("db.metrics.dumpFile");
+
+    // Slow queries kept in the log, oldest dropped first
+    private static final int SLOW_LOG_SIZE = 100;
+    // A fingerprint is explained at most once per interval
+    private static final long EXPLAIN_INTERVAL_MS = 60_000;
+    // Guards against unbounded dynamic SQL, further statements share one entry
+    private static final int MAX_FINGERPRINTS = 1000;
+    private static final String OTHER_STATEMENTS = "(other statements)";
+    // Screen of the queries run outside any screen, e.g. at startup
+    private static final String NO_SCREEN = "(none)";
+    private static final String NO_SERVICE = "(outside services)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern EXPLAINABLE = Pattern.compile("(?is)^\\s*(SELECT|INSERT|UPDATE|DELETE|REPLACE|WITH)\\b.*");
+
+    /**
+     * Statistics of one statement fingerprint
+     */
+    public static final class StatementStats {
+        private final String fingerprint;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        // The first successful execution, for QueryPlanCheck
+        private volatile Execution sample;
+
+        StatementStats(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCalls() {
+            return latency.getCount();
+        }
+
+        // Rows read from the result sets of the statement
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        Execution getSample() {
+            return sample;
+        }
+
+        void addRow() {
+            rows.increment();
+            FlightRecording.rowRead();
+        }
+    }
+
+    /**
+     * Queries run while a screen was displayed
+     */
+    public static final class ScreenStats {
+        private final String name;
+        private final LongAdder visits = new LongAdder();
+        private final LongAdder queries = new LongAdder();
+        private final Map<String, LongAdder> queriesByFingerprint = new ConcurrentHashMap<>();
+
+        ScreenStats(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getVisits() {
+            return visits.sum();
+        }
+
+        public long getQueries() {
+            return queries.sum();
+        }
+
+        // Queries per visit, or the total when the screen was never entered
+        public double getQueriesPerVisit() {
+            long visitCount = visits.sum();
+            return visitCount == 0 ? queries.sum() : (double) queries.sum() / visitCount;
+        }
+
+        // Executions of each fingerprint on this screen
+        public Map<String, Long> getQueriesByFingerprint() {
+            Map<String, Long> counts = new ConcurrentHashMap<>();
+            queriesByFingerprint.forEach((fingerprint, count) -> counts.put(fingerprint, count.sum()));
+            return counts;
+        }
+    }
+
+    /**
+     * A statement that ran longer than the slow query threshold
+     *
+     * @param plan The EXPLAIN output, or null when the statement cannot be or was recently explained
+     */
+    public record SlowQuery(Instant at, String screen, String sql, long micros, String plan) {}
+
+    /**
+     * One successful execution of a statement, kept so its plan can be explained later
+     *
+     * @param params The parameters bound, null if unknown
+     */
+    record Execution(String sql, Object[] params) {}
+
+    private static final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    // Stats by exact SQL text, so a statement is fingerprinted once
+    private static final Map<String, StatementStats> statsBySql = new ConcurrentHashMap<>();
+    private static final Map<String, ScreenStats> screens = new ConcurrentHashMap<>();
+    // Statement latencies by service method, e.g. "CourseService.getCourseById"
+    private static final Map<String, LatencyHistogram> serviceMethods = new ConcurrentHashMap<>();
+    private static final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private static final ArrayDeque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    private static final ThreadLocal<String> threadScreen = new ThreadLocal<>();
+    private static volatile String currentScreen = NO_SCREEN;
+
+    // Runs the EXPLAIN of slow queries; when it falls behind, further queries are logged without a plan
+    private static final ThreadPoolExecutor explainer = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), r -> {
+                Thread t = new Thread(r, "db-slow-query-explain");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private QueryMetrics() {}
+
+    /**
+     * @return true if the statements are recorded, with -Ddb.metrics=true
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Wraps a connection so the statements it runs are recorded
+     *
+     * @return The instrumented connection, or the connection itself when instrumentation is disabled
+     */
+    public static Connection instrument(Connection conn) {
+        if (!ENABLED || conn == null) {
+            return conn;
+        }
+        return InstrumentedConnection.wrap(conn);
+    }
+
+    /**
+     * Records that a screen is displayed; queries run afterwards on any thread without
+     * a screen of its own are counted for it
+     */
+    public static void enterScreen(String screen) {
+        currentScreen = screen;
+        screenStats(screen).visits.increment();
+    }
+
+    /**
+     * @return The screen displayed, the last one passed to {@link #enterScreen(String)}
+     */
+    public static String getCurrentScreen() {
+        return currentScreen;
+    }
+
+    /**
+     * Runs a call on behalf of a screen, counting its queries for that screen
+     * even if another screen is displayed meanwhile
+     *
+     * @return The result of the call
+     */
+    public static <T> T onScreen(String screen, Supplier<T> call) {
+        String outer = threadScreen.get();
+        threadScreen.set(screen);
+        try {
+            return call.get();
+        } finally {
+            if (outer != null) {
+                threadScreen.set(outer);
+            } else {
+                threadScreen.remove();
+            }
+        }
+    }
+
+    /**
+     * @return The statistics of every statement fingerprint, most total time first
+     */
+    public static List<StatementStats> getStatements() {
+        List<StatementStats> list = new ArrayList<>(statements.values());
+        list.sort(Comparator.comparingLong((StatementStats stats) -> stats.getLatency().getTotalMicros()).reversed());
+        return list;
+    }
+
+    /**
+     * @return The query counts of every screen, most queries per visit first
+     */
+    public static List<ScreenStats> getScreens() {
+        List<ScreenStats> list = new ArrayList<>(screens.values());
+        list.sort(Comparator.comparingDouble(ScreenStats::getQueriesPerVisit).reversed());
+        return list;
+    }
+
+    /**
+     * Each statement counts for the outermost service method it was run from. This shows which
+     * methods the database time goes to; the duration of whole service calls is in
+     * {@link Timings#SERVICE_CALLS}.
+     *
+     * @return The latencies of the statements of each service method, most total time first
+     */
+    public static Map<String, LatencyHistogram> getServiceMethods() {
+        Map<String, LatencyHistogram> sorted = new LinkedHashMap<>();
+        serviceMethods.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalMicros()).reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * @return The slow query log, oldest first
+     */
+    public static List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    public static void reset() {
+        statements.clear();
+        statsBySql.clear();
+        screens.clear();
+        serviceMethods.clear();
+        lastExplained.clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    public static void resetServiceMethods() {
+        serviceMethods.clear();
+    }
+
+    /**
+     * Writes the statistics as a text report
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public static void dump(Path file) throws IOException {
+        Files.writeString(file, report(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the report to the file set with -Ddb.metrics.dumpFile, if any
+     */
+    public static void dumpToConfiguredFile() {
+        if (!ENABLED || DUMP_FILE == null || DUMP_FILE.isEmpty()) {
+            return;
+        }
+        try {
+            dump(Paths.get(DUMP_FILE));
+            Log.info("📊 Query metrics written to " + DUMP_FILE);
+        } catch (IOException e) {
+            Log.error("❌ Failed to write query metrics", e);
+        }
+    }
+
+    /**
+     * @return The statistics of every statement, screen and slow query as text
+     */
+    public static String report() {
+        StringBuilder out = new StringBuilder();
+        out.append("Query metrics at ").append(Instant.now()).append("\n\n");
+
+        out.append("== Statements (latencies in ms) ==\n");
+        out.append(String.format(Locale.ROOT, "%8s %10s %6s %9s %8s %8s %8s %8s %9s  %s%n",
+                "calls", "rows", "errors", "total", "mean", "p50", "p95", "p99", "max", "statement"));
+        for (StatementStats stats : getStatements()) {
+            LatencyHistogram latency = stats.getLatency();
+            out.append(String.format(Locale.ROOT, "%8d %10d %6d %9.1f %8.2f %8.2f %8.2f %8.2f %9.2f  %s%n",
+                    stats.getCalls(), stats.getRows(), stats.getErrors(),
+                    latency.getTotalMicros() / 1000.0, latency.getMeanMicros() / 1000.0,
+                    latency.getPercentileMicros(50) / 1000.0, latency.getPercentileMicros(95) / 1000.0,
+                    latency.getPercentileMicros(99) / 1000.0, latency.getMaxMicros() / 1000.0,
+                    stats.getFingerprint()));
+        }
+
+        out.append("\n== Service calls (ms) ==\n");
+        Timings.SERVICE_CALLS.getAll().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalMicros()).reversed())
+                .forEach(entry -> appendLatency(out, entry.getKey(), entry.getValue()));
+
+        out.append("\n== Statements by service method (ms) ==\n");
+        getServiceMethods().forEach((name, latency) -> appendLatency(out, name, latency));
+
+        out.append("\n== Screens ==\n");
+        for (ScreenStats screen : getScreens()) {
+            out.append(String.format(Locale.ROOT, "%s: %d visits, %d queries, %.1f per visit%n",
+                    screen.getName(), screen.getVisits(), screen.getQueries(), screen.getQueriesPerVisit()));
+            screen.getQueriesByFingerprint().entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(5)
+                    .forEach(entry -> out.append(String.format(Locale.ROOT, "    %8d  %s%n", entry.getValue(), entry.getKey())));
+        }
+
+        out.append("\n== Slow queries (over ").append(SLOW_QUERY_MICROS / 1000).append(" ms) ==\n");
+        for (SlowQuery slow : getSlowQueries()) {
+            out.append(String.format(Locale.ROOT, "%s  %.1f ms  [%s]  %s%n",
+                    slow.at(), slow.micros() / 1000.0, slow.screen(), slow.sql()));
+            if (slow.plan() != null) {
+                out.append(slow.plan().indent(4));
+            }
+        }
+        return out.toString();
+    }
+
+    // One line of calls, total, mean, p95 and max
+    private static void appendLatency(StringBuilder out, String name, LatencyHistogram latency) {
+        out.append(String.format(Locale.ROOT, "%8d %9.1f %8.2f %8.2f %9.2f  %s%n",
+                latency.getCount(), latency.getTotalMicros() / 1000.0, latency.getMeanMicros() / 1000.0,
+                latency.getPercentileMicros(95) / 1000.0, latency.getMaxMicros() / 1000.0, name));
+    }
+
+    /**
+     * Returns the statistics of the fingerprint of a statement
+     */
+    static StatementStats statsFor(String sql) {
+        StatementStats stats = statsBySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+
+        String fingerprint = fingerprint(sql);
+        if (statements.size() >= MAX_FINGERPRINTS && !statements.containsKey(fingerprint)) {
+            fingerprint = OTHER_STATEMENTS;
+        }
+        stats = statements.computeIfAbsent(fingerprint, StatementStats::new);
+        if (statsBySql.size() < MAX_FINGERPRINTS * 4) {
+            statsBySql.put(sql, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Records one execution of a statement
+     *
+     * @param sql The SQL executed, null for a batch of plain statements
+     * @param params The parameters bound, null if unknown
+     */
+    static void recordExecution(StatementStats stats, String sql, Object[] params, long micros, boolean failed) {
+        stats.latency.record(micros);
+        if (failed) {
+            stats.errors.increment();
+        } else if (stats.sample == null && sql != null) {
+            stats.sample = new Execution(sql, params != null ? params.clone() : null);
+        }
+
+        String screen = threadScreen.get();
+        if (screen == null) {
+            screen = currentScreen;
+        }
+        String serviceMethod = serviceMethod();
+        serviceMethods.computeIfAbsent(serviceMethod, key -> new LatencyHistogram()).record(micros);
+        FlightRecording.statementExecuted(screen);
+
+        ScreenStats screenStats = screenStats(screen);
+        screenStats.queries.increment();
+        screenStats.queriesByFingerprint.computeIfAbsent(stats.getFingerprint(), key -> new LongAdder()).increment();
+
+        if (micros >= SLOW_QUERY_MICROS && !failed && sql != null) {
+            logSlowQuery(stats.getFingerprint(), sql, params != null ? params.clone() : null, micros, screen);
+        }
+    }
+
+    /**
+     * @return true if EXPLAIN accepts the statement
+     */
+    static boolean isExplainable(String sql) {
+        return EXPLAINABLE.matcher(sql).matches();
+    }
+
+    /**
+     * Collapses literals, IN lists and whitespace so every execution of a query shares one entry
+     */
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * Returns the outermost service method running on this thread, the one the caller of the services called
+     */
+    private static String serviceMethod() {
+        String serviceMethod = Timings.currentServiceCall();
+        return serviceMethod != null ? serviceMethod : NO_SERVICE;
+    }
+
+    private static ScreenStats screenStats(String screen) {
+        return screens.computeIfAbsent(screen, ScreenStats::new);
+    }
+
+    private static void logSlowQuery(String fingerprint, String sql, Object[] params, long micros, String screen) {
+        Instant at = Instant.now();
+        boolean explain = isExplainable(sql) && claimExplain(fingerprint, at.toEpochMilli());
+
+        Log.warn("🐢 Slow query (" + micros / 1000 + " ms) on " + screen + ": " + fingerprint);
+        if (!explain) {
+            addSlowQuery(new SlowQuery(at, screen, sql, micros, null));
+            return;
+        }
+        try {
+            explainer.execute(() -> addSlowQuery(new SlowQuery(at, screen, sql, micros, explain(sql, params))));
+        } catch (RejectedExecutionException e) {
+            addSlowQuery(new SlowQuery(at, screen, sql, micros, null));
+        }
+    }
+
+    /**
+     * @return true if the fingerprint was not explained within the interval, and now is
+     */
+    private static boolean claimExplain(String fingerprint, long now) {
+        Long explainedAt = lastExplained.get(fingerprint);
+        if (explainedAt == null) {
+            return lastExplained.putIfAbsent(fingerprint, now) == null;
+        }
+        return now - explainedAt > EXPLAIN_INTERVAL_MS && lastExplained.replace(fingerprint, explainedAt, now);
+    }
+
+    private static void addSlowQuery(SlowQuery slow) {
+        synchronized (slowQueries) {
+            if (slowQueries.size() >= SLOW_LOG_SIZE) {
+                slowQueries.pollFirst();
+            }
+            slowQueries.addLast(slow);
+        }
+    }
+
+    /**
+     * Runs EXPLAIN on a connection taken straight from the pool, so it is not recorded itself
+     *
+     * @return One line per row of the plan, or the reason it could not be captured
+     */
+    private static String explain(String sql, Object[] params) {
+        ConnectionPool pool = DataBaseConnection.getPool();
+        if (pool == null) {
+            return "(no connection)";
+        }
+        try (Connection conn = pool.borrow();
+             PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            if (params != null) {
+                QueryExecutor.bind(stmt, params);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    List<String> columns = new ArrayList<>();
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        Object value = rs.getObject(i);
+                        if (value != null) {
+                            columns.add(meta.getColumnLabel(i) + "=" + value);
+                        }
+                    }
+                    plan.append(String.join(", ", columns)).append('\n');
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "(EXPLAIN failed: " + e.getMessage() + ")";
+        }
+    }
+}
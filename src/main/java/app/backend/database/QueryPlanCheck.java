@@ -0,0 +1,93 @@
+package app.backend.database;
+
+import app.backend.utils.Log;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs EXPLAIN on the statements recorded by {@link QueryMetrics} and reports the ones that
+ * scan a whole table.
+ *
+ * Each statement is explained with the SQL and parameters of its first execution, so the check
+ * covers exactly the queries the services ran, as they ran them, and needs -Ddb.metrics=true.
+ * With -Ddb.explainCheck=true it runs when the application stops; it is also run on demand
+ * from PFE:type=Database. MySQL picks a full scan for tables with only a few rows whatever
+ * the indexes are, so the report is only meaningful on a database holding a realistic
+ * amount of data.
+ *
+ * @author Oday
+ */
+public class QueryPlanCheck {
+
+    private QueryPlanCheck() {}
+
+    /**
+     * Explains the recorded statements on a connection taken straight from the pool,
+     * so the check itself is not recorded
+     *
+     * @return One line per full table scan, empty if there is none
+     */
+    public static List<String> run() {
+        if (!QueryMetrics.isEnabled()) {
+            Log.warn("⚠️ Query plans not checked: no statements are recorded without -Ddb.metrics=true");
+            return List.of();
+        }
+        ConnectionPool pool = DataBaseConnection.getPool();
+        if (pool == null) {
+            Log.warn("⚠️ Query plans not checked: no connection");
+            return List.of();
+        }
+        try (Connection conn = pool.borrow()) {
+            return run(conn);
+        } catch (SQLException e) {
+            Log.warn("⚠️ Query plans not checked: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Explains every recorded statement and prints the full table scans found
+     *
+     * @return One line per full table scan, empty if there is none
+     */
+    static List<String> run(Connection conn) {
+        List<QueryMetrics.StatementStats> recorded = QueryMetrics.getStatements();
+        List<String> findings = new ArrayList<>();
+        Log.info("🔄 Checking query plans of " + recorded.size() + " recorded statements...");
+
+        for (QueryMetrics.StatementStats stats : recorded) {
+            QueryMetrics.Execution sample = stats.getSample();
+            if (sample == null || !QueryMetrics.isExplainable(sample.sql())) {
+                continue;
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sample.sql())) {
+                if (sample.params() != null) {
+                    QueryExecutor.bind(stmt, sample.params());
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        if ("ALL".equalsIgnoreCase(rs.getString("type"))) {
+                            findings.add(stats.getFingerprint() + ": full scan of " + rs.getString("table")
+                                    + " (~" + rs.getLong("rows") + " rows)");
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                findings.add(stats.getFingerprint() + ": EXPLAIN failed (" + e.getMessage() + ")");
+            }
+        }
+
+        if (findings.isEmpty()) {
+            Log.info("✅ No full table scans in the recorded statements");
+        } else {
+            for (String finding : findings) {
+                Log.warn("⚠️ " + finding);
+            }
+        }
+        return findings;
+    }
+}
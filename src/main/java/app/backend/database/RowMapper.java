@@ -0,0 +1,56 @@
+package app.backend.database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps one row of a result set to a model object.
+ *
+ * A mapper declares the column labels it reads. {@link QueryExecutor} resolves those
+ * labels to ordinals once per statement shape and passes them to {@link #map}, so the
+ * per-row work is plain index lookups instead of a column-name search on every get.
+ *
+ * @param <T> The model type produced for each row
+ * @author Oday
+ */
+public interface RowMapper<T> {
+
+    /**
+     * Reads the current row of a result set
+     */
+    @FunctionalInterface
+    interface RowReader<T> {
+        T read(ResultSet rs, int[] ordinals) throws SQLException;
+    }
+
+    /**
+     * @return The column labels this mapper reads, in the order of the ordinals passed to {@link #map}
+     */
+    String[] columns();
+
+    /**
+     * Maps the current row
+     *
+     * @param rs The result set positioned on the row to map
+     * @param ordinals ordinals[i] is the 1-based index of columns()[i] in the result set
+     * @return The mapped object
+     */
+    T map(ResultSet rs, int[] ordinals) throws SQLException;
+
+    /**
+     * Creates a mapper from its column list and a row reader
+     */
+    static <T> RowMapper<T> of(String[] columns, RowReader<T> reader) {
+        return new RowMapper<T>() {
+            @Override
+            public String[] columns() {
+                return columns;
+            }
+
+            @Override
+            public T map(ResultSet rs, int[] ordinals) throws SQLException {
+                return reader.read(rs, ordinals);
+            }
+        };
+    }
+}
@@ -0,0 +1,217 @@
+package app.backend.database;
+
+import app.backend.models.Answer;
+import app.backend.models.ContentCard;
+import app.backend.models.Course;
+import app.backend.models.Exercise;
+import app.backend.models.ExerciseSubmission;
+import app.backend.models.Notification;
+import app.backend.models.PracticalWork;
+import app.backend.models.PracticalWorkSubmission;
+import app.backend.models.Question;
+import app.backend.models.Quiz;
+import app.backend.models.QuizResult;
+import app.backend.models.RosterEntry;
+import app.backend.models.StudentAnswer;
+import app.backend.models.User;
+import java.util.Arrays;
+
+/**
+ * One {@link RowMapper} per model in app.backend.models.
+ * Each mapper reads the columns of the model's table as selected by "SELECT *" (or "alias.*").
+ * Roster mappers additionally read the student_name and student_matricule columns of a joined User.
+ * {@link #CONTENT_CARD} reads the card projection selected by the list services instead.
+ *
+ * @author Oday
+ */
+public final class RowMappers {
+
+    private RowMappers() {}
+
+    public static final RowMapper<User> USER = RowMapper.of(
+        new String[] {"id", "name", "password", "matricule", "role", "created_at", "enrollment_level", "university_name"},
+        (rs, c) -> new User(
+            rs.getInt(c[0]),
+            rs.getString(c[1]),
+            rs.getString(c[2]),
+            rs.getString(c[3]),
+            rs.getString(c[4]),
+            rs.getTimestamp(c[5]),
+            rs.getString(c[6]),
+            rs.getString(c[7])
+        )
+    );
+
+    public static final RowMapper<Course> COURSE = RowMapper.of(
+        new String[] {"id", "title", "description", "comment", "teacher_id", "created_at", "pdf_path", "target_level"},
+        (rs, c) -> {
+            Course course = new Course(
+                rs.getInt(c[0]),
+                rs.getString(c[1]),
+                rs.getString(c[2]),
+                rs.getString(c[3]),
+                rs.getInt(c[4]),
+                rs.getTimestamp(c[5])
+            );
+            course.setPdfPath(rs.getString(c[6]));
+            course.setTargetLevel(rs.getString(c[7]));
+            return course;
+        }
+    );
+
+    public static final RowMapper<Quiz> QUIZ = RowMapper.of(
+        new String[] {"id", "course_id", "title", "description", "comment", "created_at"},
+        (rs, c) -> new Quiz(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getString(c[2]),
+            rs.getString(c[3]),
+            rs.getString(c[4]),
+            rs.getTimestamp(c[5])
+        )
+    );
+
+    public static final RowMapper<Question> QUESTION = RowMapper.of(
+        new String[] {"id", "quiz_id", "question_text"},
+        (rs, c) -> new Question(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getString(c[2])
+        )
+    );
+
+    public static final RowMapper<Answer> ANSWER = RowMapper.of(
+        new String[] {"id", "question_id", "answer_text", "is_correct"},
+        (rs, c) -> new Answer(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getString(c[2]),
+            rs.getBoolean(c[3])
+        )
+    );
+
+    public static final RowMapper<QuizResult> QUIZ_RESULT = RowMapper.of(
+        new String[] {"id", "quiz_id", "student_id", "score", "submitted_at", "is_completed"},
+        (rs, c) -> new QuizResult(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getInt(c[2]),
+            rs.getInt(c[3]),
+            rs.getTimestamp(c[4]),
+            rs.getBoolean(c[5])
+        )
+    );
+
+    public static final RowMapper<StudentAnswer> STUDENT_ANSWER = RowMapper.of(
+        new String[] {"id", "quiz_result_id", "question_id", "selected_answer_id", "is_correct"},
+        (rs, c) -> {
+            int selectedAnswerId = rs.getInt(c[3]);
+            return new StudentAnswer(
+                rs.getInt(c[0]),
+                rs.getInt(c[1]),
+                rs.getInt(c[2]),
+                rs.wasNull() ? null : selectedAnswerId,
+                rs.getBoolean(c[4])
+            );
+        }
+    );
+
+    public static final RowMapper<Exercise> EXERCISE = RowMapper.of(
+        new String[] {"id", "course_id", "title", "description", "comment", "created_at", "pdf_path", "target_level", "teacher_id"},
+        (rs, c) -> new Exercise(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getString(c[2]),
+            rs.getString(c[3]),
+            rs.getString(c[4]),
+            rs.getTimestamp(c[5]),
+            rs.getString(c[6]),
+            rs.getString(c[7]),
+            rs.getInt(c[8])
+        )
+    );
+
+    public static final RowMapper<ExerciseSubmission> EXERCISE_SUBMISSION = RowMapper.of(
+        new String[] {"id", "exercise_id", "student_id", "submission_text", "submitted_at"},
+        (rs, c) -> new ExerciseSubmission(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getInt(c[2]),
+            rs.getString(c[3]),
+            rs.getTimestamp(c[4])
+        )
+    );
+
+    public static final RowMapper<PracticalWork> PRACTICAL_WORK = RowMapper.of(
+        new String[] {"id", "course_id", "title", "description", "comment", "deadline", "created_at", "teacher_id", "pdf_path", "target_level"},
+        (rs, c) -> new PracticalWork(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getString(c[2]),
+            rs.getString(c[3]),
+            rs.getString(c[4]),
+            rs.getDate(c[5]),
+            rs.getTimestamp(c[6]),
+            rs.getInt(c[7]),
+            rs.getString(c[8]),
+            rs.getString(c[9])
+        )
+    );
+
+    public static final RowMapper<PracticalWorkSubmission> PRACTICAL_WORK_SUBMISSION = RowMapper.of(
+        new String[] {"id", "practical_work_id", "student_id", "file_path", "submitted_at"},
+        (rs, c) -> new PracticalWorkSubmission(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getInt(c[2]),
+            rs.getString(c[3]),
+            rs.getTimestamp(c[4])
+        )
+    );
+
+    public static final RowMapper<Notification> NOTIFICATION = RowMapper.of(
+        new String[] {"id", "user_id", "message", "seen", "created_at"},
+        (rs, c) -> new Notification(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getString(c[2]),
+            rs.getBoolean(c[3]),
+            rs.getTimestamp(c[4])
+        )
+    );
+
+    public static final RowMapper<ContentCard> CONTENT_CARD = RowMapper.of(
+        new String[] {"id", "course_id", "teacher_id", "title", "description_preview", "target_level", "created_at", "deadline"},
+        (rs, c) -> new ContentCard(
+            rs.getInt(c[0]),
+            rs.getInt(c[1]),
+            rs.getInt(c[2]),
+            rs.getString(c[3]),
+            rs.getString(c[4]),
+            rs.getString(c[5]),
+            rs.getTimestamp(c[6]),
+            rs.getDate(c[7])
+        )
+    );
+
+    public static final RowMapper<RosterEntry<QuizResult>> QUIZ_RESULT_ROSTER = roster(QUIZ_RESULT);
+
+    public static final RowMapper<RosterEntry<PracticalWorkSubmission>> PRACTICAL_WORK_SUBMISSION_ROSTER =
+        roster(PRACTICAL_WORK_SUBMISSION);
+
+    /**
+     * Extends a mapper with the student_name and student_matricule columns
+     */
+    private static <T> RowMapper<RosterEntry<T>> roster(RowMapper<T> base) {
+        int baseCount = base.columns().length;
+        String[] columns = Arrays.copyOf(base.columns(), baseCount + 2);
+        columns[baseCount] = "student_name";
+        columns[baseCount + 1] = "student_matricule";
+
+        return RowMapper.of(columns, (rs, c) -> new RosterEntry<>(
+            base.map(rs, c),
+            rs.getString(c[baseCount]),
+            rs.getString(c[baseCount + 1])
+        ));
+    }
+}
@@ -0,0 +1,210 @@
+package app.backend.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL text.
+ *
+ * Statements handed out by the cache are proxies: closing them clears their parameters
+ * and puts them back in the cache so the next caller with the same SQL skips the parse.
+ * A statement is only given to one caller at a time; a second request for the same SQL
+ * while the first is still open gets a fresh, uncached statement.
+ *
+ * @author Oday
+ */
+final class StatementCache {
+
+    /**
+     * Hit/miss counters shared by all caches of a pool
+     */
+    static final class Stats {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong evictions = new AtomicLong();
+    }
+
+    private final Connection physical;
+    private final int maxSize;
+    private final Stats stats;
+    private final LinkedHashMap<String, Entry> entries;
+
+    StatementCache(Connection physical, int maxSize, Stats stats) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.stats = stats;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a cached statement for the SQL, preparing it on a miss
+     *
+     * @param sql The SQL text
+     * @param autoGeneratedKeys A Statement key-generation flag, or null for the plain variant
+     */
+    synchronized PreparedStatement prepare(String sql, Integer autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == null ? sql : autoGeneratedKeys + "\u0000" + sql;
+        Entry entry = entries.get(key);
+
+        if (entry != null && !entry.inUse) {
+            stats.hits.incrementAndGet();
+            entry.inUse = true;
+            return entry.newHandle();
+        }
+
+        stats.misses.incrementAndGet();
+        PreparedStatement statement = autoGeneratedKeys == null
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, autoGeneratedKeys);
+
+        if (entry != null) {
+            // Same SQL is already checked out on this connection, hand out an uncached copy
+            return statement;
+        }
+
+        entry = new Entry(key, statement);
+        entry.inUse = true;
+        entries.put(key, entry);
+        evictOverflow();
+        return entry.newHandle();
+    }
+
+    /**
+     * Closes every cached statement
+     */
+    synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.evicted = true;
+            if (!entry.inUse) {
+                closeQuietly(entry.statement);
+            }
+        }
+        entries.clear();
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            eldest.evicted = true;
+            stats.evictions.incrementAndGet();
+            if (!eldest.inUse) {
+                closeQuietly(eldest.statement);
+            }
+        }
+    }
+
+    private synchronized void checkIn(Entry entry) {
+        entry.inUse = false;
+        if (entry.evicted) {
+            closeQuietly(entry.statement);
+            return;
+        }
+        try {
+            entry.statement.clearParameters();
+            entry.statement.clearBatch();
+            entry.statement.clearWarnings();
+        } catch (SQLException e) {
+            // A statement we cannot reset is not worth keeping
+            entries.remove(entry.key);
+            closeQuietly(entry.statement);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Statement is being dropped anyway
+        }
+    }
+
+    private final class Entry {
+        final String key;
+        final PreparedStatement statement;
+        boolean inUse;
+        boolean evicted;
+
+        Entry(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        PreparedStatement newHandle() {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * The statement a caller sees for one checkout of a cache entry
+     */
+    private final class Handle implements InvocationHandler {
+        private final Entry entry;
+        private ResultSet lastResultSet;
+        private boolean closed = false;
+
+        Handle(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+
+            try {
+                Object result = method.invoke(entry.statement, args);
+                if (result instanceof ResultSet) {
+                    lastResultSet = (ResultSet) result;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (lastResultSet != null) {
+                try {
+                    lastResultSet.close();
+                } catch (SQLException e) {
+                    // Result set is discarded either way
+                }
+                lastResultSet = null;
+            }
+            checkIn(entry);
+        }
+    }
+}
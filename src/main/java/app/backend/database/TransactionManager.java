@@ -0,0 +1,138 @@
+package app.backend.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Runs units of work in a transaction, on a connection bound to the current thread.
+ *
+ * {@link #inTransaction(Mode, Work)} borrows a connection, runs the work and commits,
+ * or rolls back if the work throws. While the work runs, the connection is the unit of
+ * work of its thread: a nested call joins it instead of opening a second transaction,
+ * and the QueryExecutor methods without a Connection parameter run on it. Only the
+ * outermost call commits or rolls back. Every thread, virtual ones included, has its
+ * own unit of work, so transactions running in parallel never share a connection.
+ *
+ * @author Oday
+ */
+public final class TransactionManager {
+
+    /**
+     * What a unit of work may do, and where it runs
+     */
+    public enum Mode {
+        READ_WRITE,
+        // Reads on the primary, in one consistent snapshot
+        READ_ONLY,
+        // Reads on the read replica when one is configured, which may lag behind the primary
+        READ_ONLY_REPLICA
+    }
+
+    /**
+     * The statements of a unit of work
+     *
+     * @param <T> The result of the work
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(Connection conn) throws SQLException;
+    }
+
+    /**
+     * Carries a failed statement of a unit of work through methods that cannot throw SQLException.
+     * The outermost {@link #inTransaction(Mode, Work)} rolls back and rethrows the cause.
+     */
+    static final class WorkFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        WorkFailure(SQLException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+    private record Unit(Connection connection, Mode mode) {}
+
+    private static final ThreadLocal<Unit> currentUnit = new ThreadLocal<>();
+
+    private TransactionManager() {}
+
+    /**
+     * Runs work in a read-write transaction on the primary
+     *
+     * @return The result of the work
+     * @throws SQLException if the work failed and was rolled back, or no connection is available
+     */
+    public static <T> T inTransaction(Work<T> work) throws SQLException {
+        return inTransaction(Mode.READ_WRITE, work);
+    }
+
+    /**
+     * Runs work in a transaction, joining the unit of work of this thread if there is one.
+     * A read-only call can join a read-write unit of work, not the other way round.
+     *
+     * @return The result of the work
+     * @throws SQLException if the work failed and was rolled back, or no connection is available
+     */
+    public static <T> T inTransaction(Mode mode, Work<T> work) throws SQLException {
+        Unit outer = currentUnit.get();
+        if (outer != null) {
+            if (mode == Mode.READ_WRITE && outer.mode() != Mode.READ_WRITE) {
+                throw new SQLException("Cannot write inside a read-only transaction");
+            }
+            return work.execute(outer.connection());
+        }
+
+        Connection conn = mode == Mode.READ_ONLY_REPLICA
+                ? DataBaseConnection.getReadConnection()
+                : DataBaseConnection.getConnection();
+        if (conn == null) {
+            throw new SQLException("No database connection");
+        }
+
+        // Closing hands the connection back to the pool, which restores autocommit and read-write
+        try (conn) {
+            if (mode != Mode.READ_WRITE) {
+                conn.setReadOnly(true);
+            }
+            conn.setAutoCommit(false);
+
+            currentUnit.set(new Unit(conn, mode));
+            try {
+                T result = work.execute(conn);
+                conn.commit();
+                return result;
+            } catch (WorkFailure e) {
+                rollback(conn, e.getCause());
+                throw e.getCause();
+            } catch (Throwable e) {
+                rollback(conn, e);
+                throw e;
+            } finally {
+                currentUnit.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the connection of the unit of work running on this thread
+     *
+     * @return The connection, or null outside a unit of work
+     */
+    public static Connection currentConnection() {
+        Unit unit = currentUnit.get();
+        return unit != null ? unit.connection() : null;
+    }
+
+    private static void rollback(Connection conn, Throwable cause) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+}
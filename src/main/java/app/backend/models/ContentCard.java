@@ -0,0 +1,69 @@
+package app.backend.models;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * The columns of a course, exercise or practical work that a list card displays.
+ * The description is cut to a preview and the comment and PDF path are left out;
+ * open the full row by ID before viewing or editing the item.
+ */
+public class ContentCard {
+
+    private final int id;
+    private final int courseId;
+    private final int teacherId;
+    private final String title;
+    private final String descriptionPreview;
+    private final String targetLevel;
+    private final Timestamp createdAt;
+    private final Date deadline;
+
+    // Constructors
+    public ContentCard(int id, int courseId, int teacherId, String title, String descriptionPreview,
+                       String targetLevel, Timestamp createdAt, Date deadline) {
+        this.id = id;
+        this.courseId = courseId;
+        this.teacherId = teacherId;
+        this.title = title;
+        this.descriptionPreview = descriptionPreview;
+        this.targetLevel = targetLevel;
+        this.createdAt = createdAt;
+        this.deadline = deadline;
+    }
+
+    // Getters
+    public int getId() {
+        return id;
+    }
+
+    // The course of an exercise or practical work, the ID itself for a course
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public int getTeacherId() {
+        return teacherId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescriptionPreview() {
+        return descriptionPreview;
+    }
+
+    public String getTargetLevel() {
+        return targetLevel;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    // Only practical works have a deadline
+    public Date getDeadline() {
+        return deadline;
+    }
+}
@@ -0,0 +1,37 @@
+package app.backend.models;
+
+/**
+ * Number of courses, quizzes, exercises and practical works shown on a dashboard.
+ */
+public class DashboardStats {
+
+    private final int courseCount;
+    private final int quizCount;
+    private final int exerciseCount;
+    private final int practicalWorkCount;
+
+    // Constructors
+    public DashboardStats(int courseCount, int quizCount, int exerciseCount, int practicalWorkCount) {
+        this.courseCount = courseCount;
+        this.quizCount = quizCount;
+        this.exerciseCount = exerciseCount;
+        this.practicalWorkCount = practicalWorkCount;
+    }
+
+    // Getters
+    public int getCourseCount() {
+        return courseCount;
+    }
+
+    public int getQuizCount() {
+        return quizCount;
+    }
+
+    public int getExerciseCount() {
+        return exerciseCount;
+    }
+
+    public int getPracticalWorkCount() {
+        return practicalWorkCount;
+    }
+}
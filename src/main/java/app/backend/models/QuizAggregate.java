@@ -0,0 +1,86 @@
+package app.backend.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only snapshot of a quiz with all of its questions and their answers.
+ *
+ * Snapshots are cached and shared between screens, so the questions and answers
+ * they contain must be treated as read-only. Screens that edit a quiz work on
+ * {@link #copyQuestions()} instead.
+ */
+public final class QuizAggregate {
+
+    private final Quiz quiz;
+    private final List<Question> questions;
+    private final Map<Integer, Answer> answersById;
+    private final Map<Integer, Answer> correctAnswersByQuestionId;
+
+    // Constructors
+    public QuizAggregate(Quiz quiz, List<Question> questions) {
+        this.quiz = quiz;
+
+        Map<Integer, Answer> byId = new HashMap<>();
+        Map<Integer, Answer> correctByQuestion = new HashMap<>();
+        for (Question question : questions) {
+            List<Answer> answers = question.getAnswers() != null ? question.getAnswers() : new ArrayList<>();
+            question.setAnswers(Collections.unmodifiableList(new ArrayList<>(answers)));
+            for (Answer answer : answers) {
+                byId.put(answer.getId(), answer);
+                if (answer.isCorrect()) {
+                    correctByQuestion.putIfAbsent(question.getId(), answer);
+                }
+            }
+        }
+
+        this.questions = Collections.unmodifiableList(new ArrayList<>(questions));
+        this.answersById = Collections.unmodifiableMap(byId);
+        this.correctAnswersByQuestionId = Collections.unmodifiableMap(correctByQuestion);
+    }
+
+    // Getters
+    public Quiz getQuiz() {
+        return quiz;
+    }
+
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    public int getQuestionCount() {
+        return questions.size();
+    }
+
+    /**
+     * @return The answer with this ID, or null if it does not belong to the quiz
+     */
+    public Answer getAnswerById(int answerId) {
+        return answersById.get(answerId);
+    }
+
+    /**
+     * @return The first correct answer of the question, or null if it has none
+     */
+    public Answer getCorrectAnswer(int questionId) {
+        return correctAnswersByQuestionId.get(questionId);
+    }
+
+    /**
+     * Returns mutable copies of the questions and answers, for screens that edit the quiz
+     */
+    public List<Question> copyQuestions() {
+        List<Question> copies = new ArrayList<>();
+        for (Question question : questions) {
+            Question copy = new Question(question.getId(), question.getQuizId(), question.getQuestionText());
+            for (Answer answer : question.getAnswers()) {
+                copy.addAnswer(new Answer(answer.getId(), answer.getQuestionId(), answer.getAnswerText(), answer.isCorrect()));
+            }
+            copies.add(copy);
+        }
+        return copies;
+    }
+}
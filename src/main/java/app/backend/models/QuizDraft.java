@@ -0,0 +1,43 @@
+package app.backend.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The complete state of a quiz as edited by a teacher, saved at once.
+ *
+ * A quiz, question or answer with an ID of 0 or less is new. Stored questions
+ * and answers that are missing from the draft are deleted when it is saved.
+ */
+public class QuizDraft {
+
+    private final Quiz quiz;
+    private final List<Question> questions;
+
+    // Constructors
+    public QuizDraft(Quiz quiz) {
+        this(quiz, new ArrayList<>());
+    }
+
+    public QuizDraft(Quiz quiz, List<Question> questions) {
+        this.quiz = quiz;
+        this.questions = questions;
+    }
+
+    // Getters
+    public Quiz getQuiz() {
+        return quiz;
+    }
+
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    public void addQuestion(Question question) {
+        questions.add(question);
+    }
+
+    public boolean isNewQuiz() {
+        return quiz.getId() <= 0;
+    }
+}
@@ -0,0 +1,71 @@
+package app.backend.models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of grading one quiz submission.
+ *
+ * Holds one StudentAnswer per question of the quiz, in question order. When the
+ * submission was saved, the answers carry the ID of the stored QuizResult.
+ */
+public class QuizGrade {
+
+    private final int quizId;
+    private final int correctCount;
+    private final List<StudentAnswer> studentAnswers;
+    private int quizResultId = -1;
+
+    // Constructors
+    public QuizGrade(int quizId, int correctCount, List<StudentAnswer> studentAnswers) {
+        this.quizId = quizId;
+        this.correctCount = correctCount;
+        this.studentAnswers = Collections.unmodifiableList(studentAnswers);
+    }
+
+    // Getters and Setters
+    public int getQuizId() {
+        return quizId;
+    }
+
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    public int getIncorrectCount() {
+        return getTotalQuestions() - correctCount;
+    }
+
+    public int getTotalQuestions() {
+        return studentAnswers.size();
+    }
+
+    /**
+     * @return The score as a percentage of correctly answered questions
+     */
+    public int getScorePercentage() {
+        return getTotalQuestions() > 0 ? (correctCount * 100 / getTotalQuestions()) : 0;
+    }
+
+    public List<StudentAnswer> getStudentAnswers() {
+        return studentAnswers;
+    }
+
+    public int getQuizResultId() {
+        return quizResultId;
+    }
+
+    public void setQuizResultId(int quizResultId) {
+        this.quizResultId = quizResultId;
+        for (StudentAnswer answer : studentAnswers) {
+            answer.setQuizResultId(quizResultId);
+        }
+    }
+
+    /**
+     * @return True if the submission was stored in the database
+     */
+    public boolean isSaved() {
+        return quizResultId > 0;
+    }
+}
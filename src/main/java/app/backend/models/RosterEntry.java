@@ -0,0 +1,34 @@
+package app.backend.models;
+
+/**
+ * A quiz result or submission joined with the name and matricule of its student,
+ * so roster screens can display and search students without loading each User.
+ *
+ * @param <T> The type of the student's record, e.g. QuizResult or PracticalWorkSubmission
+ */
+public class RosterEntry<T> {
+
+    private final T item;
+    private final String studentName;
+    private final String studentMatricule;
+
+    // Constructors
+    public RosterEntry(T item, String studentName, String studentMatricule) {
+        this.item = item;
+        this.studentName = studentName;
+        this.studentMatricule = studentMatricule;
+    }
+
+    // Getters
+    public T getItem() {
+        return item;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public String getStudentMatricule() {
+        return studentMatricule;
+    }
+}
@@ -0,0 +1,9 @@
+package app.backend.models;
+
+/**
+ * Orders a roster of quiz results. Both orders put the highest values first.
+ */
+public enum RosterSort {
+    SCORE,
+    SUBMITTED_AT
+}
@@ -0,0 +1,63 @@
+package app.backend.monitoring;
+
+import app.backend.services.EntityCache;
+
+/**
+ * A snapshot of the statistics of an entity cache, as JMX clients see it
+ */
+public class CacheStatistics {
+
+    private final String name;
+    private final int size;
+    private final int maxSize;
+    private final long hits;
+    private final long misses;
+    private final double hitRate;
+    private final long evictions;
+    private final long expirations;
+
+    // Constructors
+    public CacheStatistics(EntityCache<?> cache) {
+        this.name = cache.getName();
+        this.size = cache.getSize();
+        this.maxSize = cache.getMaxSize();
+        this.hits = cache.getHits();
+        this.misses = cache.getMisses();
+        this.hitRate = cache.getHitRate();
+        this.evictions = cache.getEvictions();
+        this.expirations = cache.getExpirations();
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+}
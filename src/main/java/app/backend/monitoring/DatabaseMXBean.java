@@ -0,0 +1,58 @@
+package app.backend.monitoring;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The connection pool and the statements run on it, registered as PFE:type=Database
+ */
+public interface DatabaseMXBean {
+
+    // Connection pool
+    boolean isConnected();
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getTotalConnections();
+
+    int getMaxConnections();
+
+    int getBorrowCount();
+
+    int getBorrowTimeouts();
+
+    int getLeaksDetected();
+
+    long getStatementCacheHits();
+
+    long getStatementCacheMisses();
+
+    long getStatementCacheEvictions();
+
+    // Statements, by fingerprint, most total time first
+    List<TimingStatistics> getStatements();
+
+    // The slow query log with the EXPLAIN plans, oldest first
+    List<String> getSlowQueries();
+
+    // Statements, service methods, screens and slow queries as text
+    String getReport();
+
+    // Explains the recorded statements, one line per full table scan
+    List<String> checkQueryPlans();
+
+    // Clears the statement, service method, screen and slow query statistics
+    void resetStatistics();
+
+    /**
+     * Closes every pooled connection and opens a new pool
+     *
+     * @return true if the database is reachable again
+     */
+    boolean reconnect();
+
+    // Writes the report to a file on the machine running the application
+    void dumpReport(String path) throws IOException;
+}
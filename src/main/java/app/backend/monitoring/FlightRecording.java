@@ -0,0 +1,136 @@
+package app.backend.monitoring;
+
+import app.backend.utils.Log;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.function.Supplier;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Java Flight Recorder support: the continuous recording of the application and the
+ * service call events.
+ *
+ * With -Dmonitoring.jfr=true a recording named PFE starts with the application. It keeps
+ * the last -Dmonitoring.jfr.maxAgeMinutes (30 by default) of events, JDK ones included,
+ * and is written to -Dmonitoring.jfr.file (logs/pfe.jfr by default) when the application
+ * exits; while it runs, `jcmd <pid> JFR.dump name=PFE filename=slow.jfr` writes it at once.
+ * -Dmonitoring.jfr.settings=profile records with the more detailed JDK profile settings.
+ *
+ * The application events are {@link ServiceCallEvent}, {@link FxmlLoadEvent} and
+ * {@link PdfRenderEvent}; they are also recorded by recordings started with
+ * -XX:StartFlightRecording or from JDK Mission Control.
+ */
+public final class FlightRecording {
+
+    private static final String RECORDING_NAME = "PFE";
+
+    // The service call running on each thread, set only while a recording is on
+    private static final ThreadLocal<ServiceCallEvent> currentCall = new ThreadLocal<>();
+
+    private static Recording recording;
+
+    private FlightRecording() {}
+
+    /**
+     * Starts the continuous recording if -Dmonitoring.jfr=true
+     */
+    public static synchronized void startIfConfigured() {
+        if (!Boolean.getBoolean("monitoring.jfr") || recording != null) {
+            return;
+        }
+        Path file = Paths.get(System.getProperty("monitoring.jfr.file", "logs/pfe.jfr"));
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Configuration settings = Configuration.getConfiguration(System.getProperty("monitoring.jfr.settings", "default"));
+            Recording started = new Recording(settings);
+            started.setName(RECORDING_NAME);
+            started.setToDisk(true);
+            started.setMaxAge(Duration.ofMinutes(Long.getLong("monitoring.jfr.maxAgeMinutes", 30L)));
+            started.setDestination(file);
+            started.setDumpOnExit(true);
+            started.start();
+            recording = started;
+            Log.info("✅ Flight recording started, written to " + file + " on exit");
+        } catch (Exception e) {
+            Log.warn("⚠️ Could not start the flight recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a service call, recording it as a {@link ServiceCallEvent} when a recording is on.
+     * Called by {@link Timings#SERVICE_CALLS}; the statements and rows of the calls it makes
+     * to other services are counted for it too.
+     *
+     * @param serviceMethod The service method called, like "CourseService.getCourseById"
+     * @return The result of the call
+     */
+    static <T> T traceServiceCall(String serviceMethod, Supplier<T> call) {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return call.get();
+        }
+
+        int dot = serviceMethod.lastIndexOf('.');
+        event.service = dot > 0 ? serviceMethod.substring(0, dot) : serviceMethod;
+        event.method = dot > 0 ? serviceMethod.substring(dot + 1) : "";
+
+        ServiceCallEvent outer = currentCall.get();
+        currentCall.set(event);
+        boolean failed = true;
+        event.begin();
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (outer != null) {
+                currentCall.set(outer);
+                outer.statements += event.statements;
+                outer.rows += event.rows;
+                if (outer.screen == null) {
+                    outer.screen = event.screen;
+                }
+            } else {
+                currentCall.remove();
+            }
+            if (event.shouldCommit()) {
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Counts a statement executed by the service call running on this thread, if any
+     *
+     * @param screen The screen it was executed for
+     */
+    public static void statementExecuted(String screen) {
+        ServiceCallEvent event = currentCall.get();
+        if (event == null) {
+            return;
+        }
+        if (event.screen == null) {
+            event.screen = screen;
+        }
+        event.statements++;
+    }
+
+    /**
+     * Counts a row read by the service call running on this thread, if any
+     */
+    public static void rowRead() {
+        ServiceCallEvent event = currentCall.get();
+        if (event != null) {
+            event.rows++;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package app.backend.monitoring;
+
+import app.backend.database.QueryMetrics;
+import app.backend.utils.Log;
+import app.backend.utils.RollingFile;
+import javafx.application.Platform;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects the freezes of the JavaFX Application Thread.
+ *
+ * A background thread posts a heartbeat through {@link Platform#runLater} and waits for the
+ * FX thread to run it. When it is late by more than -Dmonitoring.fxStallMs (250 by default),
+ * the FX thread is stalled: its stack is sampled every -Dmonitoring.fxSampleMs (20 by default)
+ * until the heartbeat runs. Each stall is then written to a rolling report file,
+ * -Dmonitoring.fxStallFile (logs/fx-stalls.log by default), with its duration and the frames
+ * of the application found in most samples, and its duration is recorded in {@link Timings#FX_STALLS}.
+ * Disabled with -Dmonitoring.fxWatchdog=false.
+ */
+public final class FxThreadWatchdog {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("monitoring.fxWatchdog", "true"));
+    private static final long STALL_MS = Long.getLong("monitoring.fxStallMs", 250L);
+    private static final long SAMPLE_MS = Math.max(1, Long.getLong("monitoring.fxSampleMs", 20L));
+    private static final Path REPORT_FILE = Paths.get(System.getProperty("monitoring.fxStallFile", "logs/fx-stalls.log"));
+    // Time between the heartbeats when the FX thread responds
+    private static final long HEARTBEAT_INTERVAL_MS = 100;
+    // Frames listed in a report
+    private static final int HOT_FRAMES = 15;
+    private static final String APPLICATION_PACKAGE = "app.";
+    // Connection proxies and query helpers, left out of the innermost frames to show their callers
+    private static final String DATABASE_PACKAGE = "app.backend.database.";
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static Thread watchdog;
+    private static volatile boolean running = false;
+
+    private FxThreadWatchdog() {}
+
+    /**
+     * Starts watching the FX thread, must be called on it
+     */
+    public static synchronized void start() {
+        if (!ENABLED || watchdog != null) {
+            return;
+        }
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("The watchdog must be started on the JavaFX Application Thread");
+        }
+        Thread fxThread = Thread.currentThread();
+        running = true;
+        watchdog = new Thread(() -> watch(fxThread), "fx-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    public static synchronized void stop() {
+        running = false;
+        if (watchdog != null) {
+            watchdog.interrupt();
+            watchdog = null;
+        }
+    }
+
+    /**
+     * Body of the watchdog thread
+     */
+    private static void watch(Thread fxThread) {
+        RollingFile report = new RollingFile(REPORT_FILE, 1024 * 1024, 3);
+        try {
+            while (running) {
+                CountDownLatch heartbeat = new CountDownLatch(1);
+                long postedAt = System.nanoTime();
+                Platform.runLater(heartbeat::countDown);
+
+                if (!heartbeat.await(STALL_MS, TimeUnit.MILLISECONDS)) {
+                    Stall stall = new Stall(postedAt, QueryMetrics.getCurrentScreen());
+                    while (!heartbeat.await(SAMPLE_MS, TimeUnit.MILLISECONDS)) {
+                        stall.sample(fxThread.getStackTrace());
+                    }
+                    stall.end();
+                    report.write(stall.report());
+                    report.flush();
+                    Log.warn("⚠️ FX thread stalled for " + stall.millis() + " ms on " + stall.screen
+                            + ", in " + stall.innermostApplicationFrame() + " (see " + REPORT_FILE + ")");
+                }
+                Thread.sleep(HEARTBEAT_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            // Stopped
+        } catch (IllegalStateException e) {
+            // The JavaFX toolkit exited
+        } finally {
+            report.close();
+        }
+    }
+
+    /**
+     * The stack samples of one stall, aggregated by frame
+     */
+    private static final class Stall {
+        private final long startNanos;
+        private final long startMillis = System.currentTimeMillis();
+        private final String screen;
+        private long durationNanos;
+        private int samples;
+        // Samples each application frame appears in
+        private final Map<StackTraceElement, Integer> frameSamples = new HashMap<>();
+        // Samples each application frame is the innermost of, database frames aside
+        private final Map<StackTraceElement, Integer> innermostSamples = new HashMap<>();
+        private final Map<List<StackTraceElement>, Integer> stackSamples = new HashMap<>();
+
+        Stall(long startNanos, String screen) {
+            this.startNanos = startNanos;
+            this.screen = screen;
+        }
+
+        void sample(StackTraceElement[] stack) {
+            if (stack.length == 0) {
+                return;
+            }
+            samples++;
+            // A recursive frame counts once per sample
+            Set<StackTraceElement> seen = new HashSet<>();
+            boolean innermostFound = false;
+            for (StackTraceElement frame : stack) {
+                String className = frame.getClassName();
+                if (!className.startsWith(APPLICATION_PACKAGE) || !seen.add(frame)) {
+                    continue;
+                }
+                frameSamples.merge(frame, 1, Integer::sum);
+                if (!innermostFound && !className.startsWith(DATABASE_PACKAGE)) {
+                    innermostSamples.merge(frame, 1, Integer::sum);
+                    innermostFound = true;
+                }
+            }
+            stackSamples.merge(Arrays.asList(stack), 1, Integer::sum);
+        }
+
+        void end() {
+            durationNanos = System.nanoTime() - startNanos;
+            Timings.FX_STALLS.record(screen, startNanos);
+        }
+
+        long millis() {
+            return durationNanos / 1_000_000;
+        }
+
+        String innermostApplicationFrame() {
+            return innermostSamples.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(entry -> entry.getKey().toString())
+                    .orElse("(no application frame)");
+        }
+
+        String report() {
+            StringBuilder text = new StringBuilder(2048);
+            String newline = System.lineSeparator();
+            text.append(TIME_FORMAT.format(Instant.ofEpochMilli(startMillis)))
+                    .append(" FX thread stalled for ").append(millis()).append(" ms on ").append(screen)
+                    .append(", ").append(samples).append(" samples").append(newline);
+
+            text.append("  Innermost application frames:").append(newline);
+            appendFrames(text, innermostSamples, newline);
+            text.append("  Hot application frames:").append(newline);
+            appendFrames(text, frameSamples, newline);
+
+            stackSamples.entrySet().stream().max(Map.Entry.comparingByValue()).ifPresent(entry -> {
+                text.append("  Most frequent stack (").append(percent(entry.getValue())).append("):").append(newline);
+                for (StackTraceElement frame : entry.getKey()) {
+                    text.append("    at ").append(frame).append(newline);
+                }
+            });
+            return text.append(newline).toString();
+        }
+
+        private void appendFrames(StringBuilder text, Map<StackTraceElement, Integer> counts, String newline) {
+            counts.entrySet().stream()
+                    .sorted(Map.Entry.<StackTraceElement, Integer>comparingByValue().reversed())
+                    .limit(HOT_FRAMES)
+                    .forEach(entry -> text.append(String.format(Locale.ROOT, "    %5s  ", percent(entry.getValue())))
+                            .append(entry.getKey()).append(newline));
+        }
+
+        private String percent(int count) {
+            return samples == 0 ? "-" : (100 * count / samples) + "%";
+        }
+    }
+}
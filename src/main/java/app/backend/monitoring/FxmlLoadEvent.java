@@ -0,0 +1,32 @@
+package app.backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of one FXML view load. The stack trace shows the navigation
+ * that loaded the view.
+ */
+@Name("app.FxmlLoad")
+@Label("FXML Load")
+@Category({ "PFE", "User Interface" })
+@Description("Parsing an FXML view, building its nodes and initializing its controller")
+public final class FxmlLoadEvent extends jdk.jfr.Event {
+
+    @Label("View")
+    @Description("The FXML file name")
+    String view;
+
+    @Label("Controller")
+    Class<?> controller;
+
+    public void setView(String view) {
+        this.view = view;
+    }
+
+    public void setController(Class<?> controller) {
+        this.controller = controller;
+    }
+}
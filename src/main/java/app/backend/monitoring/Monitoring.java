@@ -0,0 +1,238 @@
+package app.backend.monitoring;
+
+import app.backend.database.ConnectionPool;
+import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryMetrics;
+import app.backend.database.QueryPlanCheck;
+import app.backend.services.EntityCache;
+import app.backend.utils.Log;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registers the MBeans of the application in the platform MBean server, so JConsole
+ * or any JMX client attached to the running process can read its statistics.
+ *
+ * The beans are registered under the PFE domain: PFE:type=Database for the connection
+ * pool and the statements, PFE:type=Services for the service calls and entity caches,
+ * PFE:type=UserInterface for screens, FXML loading, PDF rendering and FX thread stalls.
+ */
+public final class Monitoring {
+
+    private static final String DOMAIN = "PFE";
+
+    private Monitoring() {}
+
+    /**
+     * Registers every MBean; registering again replaces the previous beans
+     */
+    public static void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        register(server, "Database", new Database());
+        register(server, "Services", new Services());
+        register(server, "UserInterface", new UserInterface());
+        Log.info("✅ JMX beans registered under " + DOMAIN + ":type=*");
+    }
+
+    private static void register(MBeanServer server, String type, Object bean) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN, "type", type);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(bean, name);
+        } catch (JMException e) {
+            Log.warn("⚠️ Could not register the " + type + " JMX bean: " + e.getMessage());
+        }
+    }
+
+    private static final class Database implements DatabaseMXBean {
+
+        @Override
+        public boolean isConnected() {
+            return DataBaseConnection.isDatabaseConnected();
+        }
+
+        @Override
+        public int getActiveConnections() {
+            return poolValue(ConnectionPool::getActiveCount);
+        }
+
+        @Override
+        public int getIdleConnections() {
+            return poolValue(ConnectionPool::getIdleCount);
+        }
+
+        @Override
+        public int getTotalConnections() {
+            return poolValue(ConnectionPool::getTotalCount);
+        }
+
+        @Override
+        public int getMaxConnections() {
+            return poolValue(ConnectionPool::getMaxSize);
+        }
+
+        @Override
+        public int getBorrowCount() {
+            return poolValue(ConnectionPool::getBorrowCount);
+        }
+
+        @Override
+        public int getBorrowTimeouts() {
+            return poolValue(ConnectionPool::getTimeoutCount);
+        }
+
+        @Override
+        public int getLeaksDetected() {
+            return poolValue(ConnectionPool::getLeakCount);
+        }
+
+        @Override
+        public long getStatementCacheHits() {
+            return poolCounter(ConnectionPool::getStatementCacheHits);
+        }
+
+        @Override
+        public long getStatementCacheMisses() {
+            return poolCounter(ConnectionPool::getStatementCacheMisses);
+        }
+
+        @Override
+        public long getStatementCacheEvictions() {
+            return poolCounter(ConnectionPool::getStatementCacheEvictions);
+        }
+
+        @Override
+        public List<TimingStatistics> getStatements() {
+            List<TimingStatistics> list = new ArrayList<>();
+            for (QueryMetrics.StatementStats stats : QueryMetrics.getStatements()) {
+                list.add(new TimingStatistics(stats.getFingerprint(), stats.getLatency()));
+            }
+            return list;
+        }
+
+        @Override
+        public List<String> getSlowQueries() {
+            List<String> list = new ArrayList<>();
+            for (QueryMetrics.SlowQuery slow : QueryMetrics.getSlowQueries()) {
+                list.add(String.format(Locale.ROOT, "%s %.1f ms [%s] %s%s", slow.at(), slow.micros() / 1000.0,
+                        slow.screen(), slow.sql(), slow.plan() != null ? "\n" + slow.plan() : ""));
+            }
+            return list;
+        }
+
+        @Override
+        public String getReport() {
+            return QueryMetrics.report();
+        }
+
+        @Override
+        public List<String> checkQueryPlans() {
+            return QueryPlanCheck.run();
+        }
+
+        @Override
+        public void resetStatistics() {
+            QueryMetrics.reset();
+        }
+
+        @Override
+        public boolean reconnect() {
+            return DataBaseConnection.reconnect();
+        }
+
+        @Override
+        public void dumpReport(String path) throws IOException {
+            QueryMetrics.dump(Paths.get(path));
+        }
+
+        private static int poolValue(ToIntFunction<ConnectionPool> value) {
+            ConnectionPool pool = DataBaseConnection.getPool();
+            return pool != null ? value.applyAsInt(pool) : 0;
+        }
+
+        private static long poolCounter(ToLongFunction<ConnectionPool> value) {
+            ConnectionPool pool = DataBaseConnection.getPool();
+            return pool != null ? value.applyAsLong(pool) : 0;
+        }
+    }
+
+    private static final class Services implements ServicesMXBean {
+
+        @Override
+        public List<TimingStatistics> getServiceCalls() {
+            List<TimingStatistics> list = TimingStatistics.of(Timings.SERVICE_CALLS.getAll());
+            list.sort(Comparator.comparingDouble(TimingStatistics::getTotalMillis).reversed());
+            return list;
+        }
+
+        @Override
+        public List<TimingStatistics> getServiceStatements() {
+            return TimingStatistics.of(QueryMetrics.getServiceMethods());
+        }
+
+        @Override
+        public List<CacheStatistics> getCaches() {
+            List<CacheStatistics> list = new ArrayList<>();
+            for (EntityCache<?> cache : EntityCache.all()) {
+                list.add(new CacheStatistics(cache));
+            }
+            return list;
+        }
+
+        @Override
+        public void resetStatistics() {
+            Timings.SERVICE_CALLS.reset();
+            QueryMetrics.resetServiceMethods();
+            for (EntityCache<?> cache : EntityCache.all()) {
+                cache.resetStatistics();
+            }
+        }
+    }
+
+    private static final class UserInterface implements UserInterfaceMXBean {
+
+        @Override
+        public List<ScreenStatistics> getScreens() {
+            List<ScreenStatistics> list = new ArrayList<>();
+            for (QueryMetrics.ScreenStats screen : QueryMetrics.getScreens()) {
+                list.add(new ScreenStatistics(screen));
+            }
+            return list;
+        }
+
+        @Override
+        public List<TimingStatistics> getFxmlLoads() {
+            return TimingStatistics.of(Timings.FXML_LOADS.getAll());
+        }
+
+        @Override
+        public List<TimingStatistics> getPdfRenders() {
+            return TimingStatistics.of(Timings.PDF_RENDERS.getAll());
+        }
+
+        @Override
+        public List<TimingStatistics> getFxStalls() {
+            return TimingStatistics.of(Timings.FX_STALLS.getAll());
+        }
+
+        @Override
+        public void resetStatistics() {
+            Timings.FXML_LOADS.reset();
+            Timings.PDF_RENDERS.reset();
+            Timings.FX_STALLS.reset();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package app.backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Flight Recorder event of one PDF page rendered by a viewer, including the conversion
+ * of the rendered image to a JavaFX image.
+ */
+@Name("app.PdfRender")
+@Label("PDF Render")
+@Category({ "PFE", "User Interface" })
+@Description("Rendering a PDF page and converting it to a JavaFX image")
+@StackTrace(false)
+public final class PdfRenderEvent extends jdk.jfr.Event {
+
+    @Label("Viewer")
+    String viewer;
+
+    @Label("Page")
+    @Description("The page index, starting at 0")
+    int page;
+
+    @Label("Zoom")
+    float zoom;
+
+    @Label("Width")
+    @Description("Width of the rendered image in pixels")
+    int width;
+
+    @Label("Height")
+    @Description("Height of the rendered image in pixels")
+    int height;
+
+    @Label("Allocated")
+    @Description("Memory allocated by the rendering thread during the render")
+    @DataAmount
+    long allocated;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Not recorded
+    private transient long allocatedBefore;
+
+    /**
+     * Creates the event of a render about to start on the current thread
+     */
+    public PdfRenderEvent(String viewer, int page, float zoom) {
+        this.viewer = viewer;
+        this.page = page;
+        this.zoom = zoom;
+        if (isEnabled()) {
+            allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    /**
+     * Sets the size of the rendered image and the memory the render allocated,
+     * on the thread that rendered it
+     */
+    public void setRendered(int width, int height) {
+        this.width = width;
+        this.height = height;
+        if (isEnabled()) {
+            allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package app.backend.monitoring;
+
+import app.backend.database.QueryMetrics;
+
+/**
+ * A snapshot of the queries run by a screen, as JMX clients see it
+ */
+public class ScreenStatistics {
+
+    private final String name;
+    private final long visits;
+    private final long queries;
+    private final double queriesPerVisit;
+
+    // Constructors
+    public ScreenStatistics(QueryMetrics.ScreenStats screen) {
+        this.name = screen.getName();
+        this.visits = screen.getVisits();
+        this.queries = screen.getQueries();
+        this.queriesPerVisit = screen.getQueriesPerVisit();
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public long getVisits() {
+        return visits;
+    }
+
+    public long getQueries() {
+        return queries;
+    }
+
+    public double getQueriesPerVisit() {
+        return queriesPerVisit;
+    }
+}
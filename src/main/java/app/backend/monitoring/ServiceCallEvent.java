@@ -0,0 +1,41 @@
+package app.backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of one service method call, from the moment it is entered to the
+ * moment it returns. Recorded for every call timed by {@link Timings#SERVICE_CALLS}.
+ */
+@Name("app.ServiceCall")
+@Label("Service Call")
+@Category({ "PFE", "Services" })
+@Description("A service method call, with the statements it ran and the rows it read")
+@StackTrace(false)
+public final class ServiceCallEvent extends jdk.jfr.Event {
+
+    @Label("Screen")
+    @Description("The screen the call was made for")
+    String screen;
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Statements")
+    @Description("SQL statements executed during the call, counted with -Ddb.metrics=true")
+    int statements;
+
+    @Label("Rows")
+    @Description("Rows read from the result sets of the call, counted with -Ddb.metrics=true")
+    long rows;
+
+    @Label("Failed")
+    @Description("Whether the call threw an exception")
+    boolean failed;
+}
@@ -0,0 +1,20 @@
+package app.backend.monitoring;
+
+import java.util.List;
+
+/**
+ * The service methods and entity caches, registered as PFE:type=Services
+ */
+public interface ServicesMXBean {
+
+    // Duration of whole calls of each service method, most total time first
+    List<TimingStatistics> getServiceCalls();
+
+    // Latencies of the statements run by each service method, most total time first
+    List<TimingStatistics> getServiceStatements();
+
+    List<CacheStatistics> getCaches();
+
+    // Clears the service call, service statement and cache statistics, the cached entities stay
+    void resetStatistics();
+}
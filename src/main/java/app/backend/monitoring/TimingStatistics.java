@@ -0,0 +1,74 @@
+package app.backend.monitoring;
+
+import app.backend.database.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of a latency histogram, as JMX clients see it. Durations are in milliseconds.
+ */
+public class TimingStatistics {
+
+    private final String name;
+    private final long count;
+    private final double totalMillis;
+    private final double meanMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    // Constructors
+    public TimingStatistics(String name, LatencyHistogram histogram) {
+        this.name = name;
+        this.count = histogram.getCount();
+        this.totalMillis = histogram.getTotalMicros() / 1000.0;
+        this.meanMillis = histogram.getMeanMicros() / 1000.0;
+        this.p50Millis = histogram.getPercentileMicros(50) / 1000.0;
+        this.p95Millis = histogram.getPercentileMicros(95) / 1000.0;
+        this.p99Millis = histogram.getPercentileMicros(99) / 1000.0;
+        this.maxMillis = histogram.getMaxMicros() / 1000.0;
+    }
+
+    // Snapshots of named histograms, in the order of the map
+    static List<TimingStatistics> of(Map<String, LatencyHistogram> histograms) {
+        List<TimingStatistics> list = new ArrayList<>();
+        histograms.forEach((name, histogram) -> list.add(new TimingStatistics(name, histogram)));
+        return list;
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+}
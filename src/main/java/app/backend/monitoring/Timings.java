@@ -0,0 +1,100 @@
+package app.backend.monitoring;
+
+import app.backend.database.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Latency histograms of one kind of operation, by name.
+ * Used for the work measured outside the database layer, like service calls, loading
+ * FXML views, rendering PDF pages and FX thread stalls; read through JMX by {@link Monitoring}.
+ */
+public final class Timings {
+
+    // Duration of whole service calls, cache hits and CPU work included, by service method;
+    // each call is also a ServiceCallEvent while a flight recording is on
+    public static final Timings SERVICE_CALLS = new Timings(true);
+    // Time to load each FXML view, by file name
+    public static final Timings FXML_LOADS = new Timings(false);
+    // Time to render PDF pages, by viewer
+    public static final Timings PDF_RENDERS = new Timings(false);
+    // Duration of the FX thread stalls, by screen
+    public static final Timings FX_STALLS = new Timings(false);
+
+    // The outermost service call running on each thread
+    private static final ThreadLocal<String> currentServiceCall = new ThreadLocal<>();
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final boolean serviceCalls;
+
+    private Timings(boolean serviceCalls) {
+        this.serviceCalls = serviceCalls;
+    }
+
+    /**
+     * Records one operation
+     *
+     * @param name The name the operation is reported under
+     * @param startNanos The System.nanoTime() at which the operation started
+     */
+    public void record(String name, long startNanos) {
+        histograms.computeIfAbsent(name, key -> new LatencyHistogram())
+                .record((System.nanoTime() - startNanos) / 1000);
+    }
+
+    /**
+     * Runs an operation and records how long it took, also when it throws
+     *
+     * @param name The name the operation is reported under
+     * @return The result of the operation
+     */
+    public <T> T time(String name, Supplier<T> operation) {
+        boolean outermost = serviceCalls && currentServiceCall.get() == null;
+        if (outermost) {
+            currentServiceCall.set(name);
+        }
+        long start = System.nanoTime();
+        try {
+            return serviceCalls ? FlightRecording.traceServiceCall(name, operation) : operation.get();
+        } finally {
+            record(name, start);
+            if (outermost) {
+                currentServiceCall.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs an operation without a result and records how long it took, also when it throws
+     *
+     * @param name The name the operation is reported under
+     */
+    public void time(String name, Runnable operation) {
+        time(name, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return The name of the outermost {@link #SERVICE_CALLS} call running on this thread, or null outside service calls
+     */
+    public static String currentServiceCall() {
+        return currentServiceCall.get();
+    }
+
+    /**
+     * @return The histogram of every name, sorted by name
+     */
+    public Map<String, LatencyHistogram> getAll() {
+        return Collections.unmodifiableMap(new TreeMap<>(histograms));
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+}
@@ -0,0 +1,24 @@
+package app.backend.monitoring;
+
+import java.util.List;
+
+/**
+ * Screens, view loading, PDF rendering and FX thread stalls, registered as PFE:type=UserInterface
+ */
+public interface UserInterfaceMXBean {
+
+    // Queries run by each screen, most queries per visit first
+    List<ScreenStatistics> getScreens();
+
+    // Time to load each FXML view
+    List<TimingStatistics> getFxmlLoads();
+
+    // Time to render the pages of each PDF viewer
+    List<TimingStatistics> getPdfRenders();
+
+    // Duration of the FX thread stalls on each screen
+    List<TimingStatistics> getFxStalls();
+
+    // Clears the FXML load, PDF render and FX stall statistics
+    void resetStatistics();
+}
@@ -1,125 +1,97 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
 import app.backend.models.Answer;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 public class AnswerService {
 
     // Add a new answer
     public static boolean addAnswer(Answer answer) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "INSERT INTO Answer (question_id, answer_text, is_correct) VALUES (?, ?, ?)";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, answer.getQuestionId());
-            stmt.setString(2, answer.getAnswerText());
-            stmt.setBoolean(3, answer.isCorrect());
-
-            int rowsInserted = stmt.executeUpdate();
-            return rowsInserted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("AnswerService.addAnswer", () -> {
+            String sql = "INSERT INTO Answer (question_id, answer_text, is_correct) VALUES (?, ?, ?)";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, answer.getQuestionId());
+                stmt.setString(2, answer.getAnswerText());
+                stmt.setBoolean(3, answer.isCorrect());
+
+                int rowsInserted = stmt.executeUpdate();
+                QuizService.invalidateAllQuizAggregates();
+                return rowsInserted > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in AnswerService.addAnswer", e);
+                return false;
+            }
+        });
     }
 
     // Update an existing answer
     public static boolean updateAnswer(Answer answer) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "UPDATE Answer SET answer_text = ?, is_correct = ? WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, answer.getAnswerText());
-            stmt.setBoolean(2, answer.isCorrect());
-            stmt.setInt(3, answer.getId());
-
-            int rowsUpdated = stmt.executeUpdate();
-            return rowsUpdated > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("AnswerService.updateAnswer", () -> {
+            String sql = "UPDATE Answer SET answer_text = ?, is_correct = ? WHERE id = ?";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, answer.getAnswerText());
+                stmt.setBoolean(2, answer.isCorrect());
+                stmt.setInt(3, answer.getId());
+
+                int rowsUpdated = stmt.executeUpdate();
+                QuizService.invalidateAllQuizAggregates();
+                return rowsUpdated > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in AnswerService.updateAnswer", e);
+                return false;
+            }
+        });
     }
 
     // Delete an answer
     public static boolean deleteAnswer(int answerId) {
-        Connection conn = DataBaseConnection.getConnection();
+        return Timings.SERVICE_CALLS.time("AnswerService.deleteAnswer", () -> {
+            String sql = "DELETE FROM Answer WHERE id = ?";
 
-        String sql = "DELETE FROM Answer WHERE id = ?";
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, answerId);
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, answerId);
+                int rowsDeleted = stmt.executeUpdate();
+                QuizService.invalidateAllQuizAggregates();
+                return rowsDeleted > 0;
 
-            int rowsDeleted = stmt.executeUpdate();
-            return rowsDeleted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in AnswerService.deleteAnswer", e);
+                return false;
+            }
+        });
     }
 
     // Get all answers for a question
     public static List<Answer> getAnswersByQuestionId(int questionId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Answer> answers = new ArrayList<>();
-
-        String sql = "SELECT * FROM Answer WHERE question_id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, questionId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Answer answer = new Answer(
-                    rs.getInt("id"),
-                    rs.getInt("question_id"),
-                    rs.getString("answer_text"),
-                    rs.getBoolean("is_correct")
-                );
-                answers.add(answer);
-            }
+        return Timings.SERVICE_CALLS.time("AnswerService.getAnswersByQuestionId", () -> {
+            String sql = "SELECT * FROM Answer WHERE question_id = ?";
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return answers;
+            return QueryExecutor.queryList(sql, RowMappers.ANSWER, questionId);
+        });
     }
 
     // Get an answer by ID
     public static Answer getAnswerById(int answerId) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "SELECT * FROM Answer WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, answerId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return new Answer(
-                    rs.getInt("id"),
-                    rs.getInt("question_id"),
-                    rs.getString("answer_text"),
-                    rs.getBoolean("is_correct")
-                );
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("AnswerService.getAnswerById", () -> {
+            String sql = "SELECT * FROM Answer WHERE id = ?";
 
-        return null;
+            return QueryExecutor.queryOne(sql, RowMappers.ANSWER, answerId);
+        });
     }
 }
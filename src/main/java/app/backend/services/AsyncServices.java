@@ -0,0 +1,43 @@
+package app.backend.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs service calls off the JavaFX Application Thread.
+ *
+ * Each call gets its own virtual thread, so a slow query only parks that thread
+ * while it waits on the database; the connection pool still bounds how many calls
+ * use the database at once. Cancelling a returned future only drops its result:
+ * interrupting a virtual thread blocked on a socket closes the socket, which would
+ * throw away a pooled connection for nothing.
+ */
+public class AsyncServices {
+
+    private static final ExecutorService executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("service-call-", 0).factory());
+
+    /**
+     * Runs a service call in the background
+     *
+     * @param call The call, usually a static service method reference or lambda
+     * @return A future completed with the result of the call, or with the exception it threw
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    /**
+     * Runs a service call without a result in the background
+     */
+    public static CompletableFuture<Void> run(Runnable call) {
+        return CompletableFuture.runAsync(call, executor);
+    }
+
+    // Stops accepting calls, those already running complete
+    public static void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,142 +1,136 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
 import app.backend.models.User;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
 import app.backend.utils.PasswordHasher;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AuthService {
 
+    // Users by ID, read for every card showing a teacher or student
+    private static final EntityCache<User> userCache = new EntityCache<>("user", 1000, 300_000);
+
     // Sign up a new user
     public static boolean signup(User user) {
-        Connection conn = DataBaseConnection.getConnection();
-        
-        if (conn == null) {
-            System.out.println("❌ Cannot sign up: Database connection failed.");
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("AuthService.signup", () -> {
+            try (Connection conn = DataBaseConnection.getConnection()) {
+                if (conn == null) {
+                    Log.error("❌ Cannot sign up: Database connection failed.");
+                    return false;
+                }
 
-        try {
-            // Validate matricule format before continuing
-            String matricule = user.getMatricule().toUpperCase();
-            String role = user.getRole();
+                // Validate matricule format before continuing
+                String matricule = user.getMatricule().toUpperCase();
+                String role = user.getRole();
             
-            if ((role.equals("student") && !matricule.startsWith("UNST")) || 
-                (role.equals("teacher") && !matricule.startsWith("UNTS"))) {
-                System.out.println("❌ Matricule format doesn't match the role. Students should use UNST, teachers should use UNTS.");
-                return false;
-            }
+                if ((role.equals("student") && !matricule.startsWith("UNST")) || 
+                    (role.equals("teacher") && !matricule.startsWith("UNTS"))) {
+                    Log.warn("❌ Matricule format doesn't match the role. Students should use UNST, teachers should use UNTS.");
+                    return false;
+                }
             
-            // Step 1: Check if Matricule is in ValidID table
-            String checkMatriculeSQL = "SELECT * FROM ValidID WHERE matricule = ?";
-            PreparedStatement checkStmt = conn.prepareStatement(checkMatriculeSQL);
-            checkStmt.setString(1, user.getMatricule());
-            ResultSet rs = checkStmt.executeQuery();
-
-            if (!rs.next()) {
-                System.out.println("❌ Invalid Matricule. Please use a valid university ID.");
-                return false;
-            }
+                // Step 1: Check if Matricule is in ValidID table
+                String checkMatriculeSQL = "SELECT * FROM ValidID WHERE matricule = ?";
+                PreparedStatement checkStmt = conn.prepareStatement(checkMatriculeSQL);
+                checkStmt.setString(1, user.getMatricule());
+                ResultSet rs = checkStmt.executeQuery();
+
+                if (!rs.next()) {
+                    Log.warn("❌ Invalid Matricule. Please use a valid university ID.");
+                    return false;
+                }
             
-            // Validate that the role matches what's in the ValidID table
-            String validRole = rs.getString("role");
-            if (!validRole.equals(user.getRole())) {
-                System.out.println("❌ Role mismatch. The matricule is registered for " + validRole + ", not " + user.getRole());
-                return false;
-            }
+                // Validate that the role matches what's in the ValidID table
+                String validRole = rs.getString("role");
+                if (!validRole.equals(user.getRole())) {
+                    Log.warn("❌ Role mismatch. The matricule is registered for " + validRole + ", not " + user.getRole());
+                    return false;
+                }
             
-            // Get enrollment level and university name from ValidID table
-            String enrollmentLevel = rs.getString("enrollment_level");
-            String universityName = rs.getString("university_name");
+                // Get enrollment level and university name from ValidID table
+                String enrollmentLevel = rs.getString("enrollment_level");
+                String universityName = rs.getString("university_name");
             
-            // Set these values in the user object
-            user.setEnrollmentLevel(enrollmentLevel);
-            user.setUniversityName(universityName);
-
-            // Step 2: Check if Matricule already used in User table
-            String existingUserSQL = "SELECT * FROM User WHERE matricule = ?";
-            PreparedStatement existStmt = conn.prepareStatement(existingUserSQL);
-            existStmt.setString(1, user.getMatricule());
-            ResultSet existRs = existStmt.executeQuery();
-
-            if (existRs.next()) {
-                System.out.println("❌ Matricule already used.");
-                return false;
-            }
+                // Set these values in the user object
+                user.setEnrollmentLevel(enrollmentLevel);
+                user.setUniversityName(universityName);
+
+                // Step 2: Check if Matricule already used in User table
+                String existingUserSQL = "SELECT * FROM User WHERE matricule = ?";
+                PreparedStatement existStmt = conn.prepareStatement(existingUserSQL);
+                existStmt.setString(1, user.getMatricule());
+                ResultSet existRs = existStmt.executeQuery();
+
+                if (existRs.next()) {
+                    Log.warn("❌ Matricule already used.");
+                    return false;
+                }
 
-            // Step 3: Insert new user
-            String insertSQL = "INSERT INTO User (name, password, matricule, role, enrollment_level, university_name) VALUES (?, ?, ?, ?, ?, ?)";
-            PreparedStatement insertStmt = conn.prepareStatement(insertSQL);
-            insertStmt.setString(1, user.getName());
-            insertStmt.setString(2, PasswordHasher.hashPassword(user.getPassword()));
-            insertStmt.setString(3, user.getMatricule().toUpperCase()); // Ensure matricule is uppercase
-            insertStmt.setString(4, user.getRole());
-            insertStmt.setString(5, user.getEnrollmentLevel());
-            insertStmt.setString(6, user.getUniversityName());
+                // Step 3: Insert new user
+                String insertSQL = "INSERT INTO User (name, password, matricule, role, enrollment_level, university_name) VALUES (?, ?, ?, ?, ?, ?)";
+                PreparedStatement insertStmt = conn.prepareStatement(insertSQL);
+                insertStmt.setString(1, user.getName());
+                insertStmt.setString(2, PasswordHasher.hashPassword(user.getPassword()));
+                insertStmt.setString(3, user.getMatricule().toUpperCase()); // Ensure matricule is uppercase
+                insertStmt.setString(4, user.getRole());
+                insertStmt.setString(5, user.getEnrollmentLevel());
+                insertStmt.setString(6, user.getUniversityName());
+
+                int rowsInserted = insertStmt.executeUpdate();
+                if (rowsInserted > 0) {
+                    Log.info("✅ Signup successful!");
+                    return true;
+                } else {
+                    Log.warn("❌ Signup failed.");
+                    return false;
+                }
 
-            int rowsInserted = insertStmt.executeUpdate();
-            if (rowsInserted > 0) {
-                System.out.println("✅ Signup successful!");
-                return true;
-            } else {
-                System.out.println("❌ Signup failed.");
+            } catch (SQLException e) {
+                Log.error("❌ Database error during signup", e);
                 return false;
             }
-
-        } catch (SQLException e) {
-            System.out.println("❌ Database error during signup: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     // Login user
     public static User login(String matricule, String password) {
-        Connection conn = DataBaseConnection.getConnection();
-        
-        if (conn == null) {
-            System.out.println("❌ Cannot login: Database connection failed.");
-            return null;
-        }
+        return Timings.SERVICE_CALLS.time("AuthService.login", () -> {
+            try (Connection conn = DataBaseConnection.getConnection()) {
+                if (conn == null) {
+                    Log.error("❌ Cannot login: Database connection failed.");
+                    return null;
+                }
 
-        try {
-            String sql = "SELECT * FROM User WHERE matricule = ?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setString(1, matricule);
-            ResultSet rs = stmt.executeQuery();
+                String sql = "SELECT * FROM User WHERE matricule = ?";
+                User user = QueryExecutor.queryOne(conn, sql, RowMappers.USER, matricule);
 
-            if (rs.next()) {
-                String storedPassword = rs.getString("password");
-                if (PasswordHasher.checkPassword(password, storedPassword)) {
-                    User user = new User(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        storedPassword,
-                        rs.getString("matricule"),
-                        rs.getString("role"),
-                        rs.getTimestamp("created_at"),
-                        rs.getString("enrollment_level"),
-                        rs.getString("university_name")
-                    );
-                    System.out.println("✅ Login successful. Welcome " + user.getName() + "!");
-                    return user;
+                if (user != null) {
+                    if (PasswordHasher.checkPassword(password, user.getPassword())) {
+                        Log.info("✅ Login successful. Welcome " + user.getName() + "!");
+                        return user;
+                    } else {
+                        Log.warn("❌ Incorrect password.");
+                    }
                 } else {
-                    System.out.println("❌ Incorrect password.");
+                    Log.warn("❌ Matricule not found.");
                 }
-            } else {
-                System.out.println("❌ Matricule not found.");
+            } catch (SQLException e) {
+                Log.error("❌ Database error during login", e);
             }
-        } catch (SQLException e) {
-            System.out.println("❌ Database error during login: " + e.getMessage());
-            e.printStackTrace();
-        }
 
-        return null;
+            return null;
+        });
     }
 
     /**
@@ -146,37 +140,31 @@ public class AuthService {
      * @return The User object if found, null otherwise
      */
     public static User getUserById(int userId) {
-        Connection conn = DataBaseConnection.getConnection();
-        
-        if (conn == null) {
-            System.out.println("❌ Cannot get user: Database connection failed.");
-            return null;
-        }
-
-        try {
+        return Timings.SERVICE_CALLS.time("AuthService.getUserById", () -> {
             String sql = "SELECT * FROM User WHERE id = ?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
 
-            if (rs.next()) {
-                User user = new User(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("password"),
-                    rs.getString("matricule"),
-                    rs.getString("role"),
-                    rs.getTimestamp("created_at"),
-                    rs.getString("enrollment_level"),
-                    rs.getString("university_name")
-                );
-                return user;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            return userCache.get(userId, id -> QueryExecutor.queryOne(sql, RowMappers.USER, id));
+        });
+    }
 
-        return null;
+    /**
+     * Retrieves several users with one query per chunk of IDs instead of one per user
+     * 
+     * @param userIds The IDs of the users, duplicates are allowed
+     * @return The users found, by ID; missing users are absent
+     */
+    public static Map<Integer, User> getUsersByIds(Collection<Integer> userIds) {
+        return Timings.SERVICE_CALLS.time("AuthService.getUsersByIds", () -> {
+            String sql = "SELECT * FROM User WHERE id IN (%s)";
+
+            return userCache.getAll(userIds, ids -> {
+                Map<Integer, User> users = new HashMap<>();
+                for (User user : QueryExecutor.queryByIds(sql, RowMappers.USER, ids)) {
+                    users.put(user.getId(), user);
+                }
+                return users;
+            });
+        });
     }
 
     /**
@@ -185,37 +173,11 @@ public class AuthService {
      * @return List of all users with teacher role
      */
     public static List<User> getAllTeachers() {
-        Connection conn = DataBaseConnection.getConnection();
-        List<User> teachers = new ArrayList<>();
-        
-        if (conn == null) {
-            System.out.println("❌ Cannot get teachers: Database connection failed.");
-            return teachers;
-        }
-
-        try {
+        return Timings.SERVICE_CALLS.time("AuthService.getAllTeachers", () -> {
             String sql = "SELECT * FROM User WHERE role = 'teacher'";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                User teacher = new User(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("password"),
-                    rs.getString("matricule"),
-                    rs.getString("role"),
-                    rs.getTimestamp("created_at"),
-                    rs.getString("enrollment_level"),
-                    rs.getString("university_name")
-                );
-                teachers.add(teacher);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
 
-        return teachers;
+            return QueryExecutor.queryList(sql, RowMappers.USER);
+        });
     }
 
     /**
@@ -227,50 +189,50 @@ public class AuthService {
      * @return true if password was successfully updated, false otherwise
      */
     public static boolean updatePassword(String matricule, String currentPassword, String newPassword) {
-        Connection conn = DataBaseConnection.getConnection();
-        
-        if (conn == null) {
-            System.out.println("❌ Cannot update password: Database connection failed.");
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("AuthService.updatePassword", () -> {
+            try (Connection conn = DataBaseConnection.getConnection()) {
+                if (conn == null) {
+                    Log.error("❌ Cannot update password: Database connection failed.");
+                    return false;
+                }
 
-        try {
-            // First, verify the current password
-            String verifySQL = "SELECT password FROM User WHERE matricule = ?";
-            PreparedStatement verifyStmt = conn.prepareStatement(verifySQL);
-            verifyStmt.setString(1, matricule);
-            ResultSet rs = verifyStmt.executeQuery();
+                // First, verify the current password
+                String verifySQL = "SELECT password FROM User WHERE matricule = ?";
+                PreparedStatement verifyStmt = conn.prepareStatement(verifySQL);
+                verifyStmt.setString(1, matricule);
+                ResultSet rs = verifyStmt.executeQuery();
 
-            if (!rs.next()) {
-                System.out.println("❌ User not found.");
-                return false;
-            }
+                if (!rs.next()) {
+                    Log.warn("❌ User not found.");
+                    return false;
+                }
 
-            String storedPassword = rs.getString("password");
-            if (!PasswordHasher.checkPassword(currentPassword, storedPassword)) {
-                System.out.println("❌ Current password is incorrect.");
-                return false;
-            }
+                String storedPassword = rs.getString("password");
+                if (!PasswordHasher.checkPassword(currentPassword, storedPassword)) {
+                    Log.warn("❌ Current password is incorrect.");
+                    return false;
+                }
 
-            // Update the password
-            String updateSQL = "UPDATE User SET password = ? WHERE matricule = ?";
-            PreparedStatement updateStmt = conn.prepareStatement(updateSQL);
-            updateStmt.setString(1, PasswordHasher.hashPassword(newPassword));
-            updateStmt.setString(2, matricule);
+                // Update the password
+                String updateSQL = "UPDATE User SET password = ? WHERE matricule = ?";
+                PreparedStatement updateStmt = conn.prepareStatement(updateSQL);
+                updateStmt.setString(1, PasswordHasher.hashPassword(newPassword));
+                updateStmt.setString(2, matricule);
+
+                int rowsUpdated = updateStmt.executeUpdate();
+                if (rowsUpdated > 0) {
+                    userCache.invalidateIf(user -> matricule.equals(user.getMatricule()));
+                    Log.info("✅ Password updated successfully!");
+                    return true;
+                } else {
+                    Log.warn("❌ Failed to update password.");
+                    return false;
+                }
 
-            int rowsUpdated = updateStmt.executeUpdate();
-            if (rowsUpdated > 0) {
-                System.out.println("✅ Password updated successfully!");
-                return true;
-            } else {
-                System.out.println("❌ Failed to update password.");
+            } catch (SQLException e) {
+                Log.error("❌ Database error during password update", e);
                 return false;
             }
-
-        } catch (SQLException e) {
-            System.out.println("❌ Database error during password update: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 }
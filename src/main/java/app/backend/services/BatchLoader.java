@@ -0,0 +1,83 @@
+package app.backend.services;
+
+import app.backend.models.Course;
+import app.backend.models.User;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resolves entities by ID in batches, for screens that look up the same kind of
+ * entity for every row they display.
+ *
+ * IDs are collected with {@link #prime(Collection)}; the first {@link #get(int)}
+ * then loads every pending ID with a single query. Each ID is queried at most once
+ * per loader, found or not. A loader belongs to one screen load and one thread;
+ * create a new one when the screen reloads its data.
+ *
+ * @param <T> The type of entity loaded
+ */
+public class BatchLoader<T> {
+
+    private final Function<Collection<Integer>, Map<Integer, T>> batchFunction;
+    private final Set<Integer> pending = new LinkedHashSet<>();
+    private final Map<Integer, T> loaded = new HashMap<>();
+    private final Set<Integer> resolved = new LinkedHashSet<>();
+
+    public BatchLoader(Function<Collection<Integer>, Map<Integer, T>> batchFunction) {
+        this.batchFunction = batchFunction;
+    }
+
+    // Loader for users, backed by AuthService.getUsersByIds
+    public static BatchLoader<User> users() {
+        return new BatchLoader<>(AuthService::getUsersByIds);
+    }
+
+    // Loader for courses, backed by CourseService.getCoursesByIds
+    public static BatchLoader<Course> courses() {
+        return new BatchLoader<>(CourseService::getCoursesByIds);
+    }
+
+    /**
+     * Registers IDs to load with the next batch
+     *
+     * @return This loader, for chaining
+     */
+    public BatchLoader<T> prime(Collection<Integer> ids) {
+        for (Integer id : ids) {
+            if (id != null && !resolved.contains(id)) {
+                pending.add(id);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the entity with this ID, loading it with every other pending ID if needed
+     *
+     * @return The entity, or null if it does not exist
+     */
+    public T get(int id) {
+        if (!resolved.contains(id)) {
+            pending.add(id);
+            dispatch();
+        }
+        return loaded.get(id);
+    }
+
+    /**
+     * Loads every pending ID with one batch query
+     */
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        loaded.putAll(batchFunction.apply(pending));
+        resolved.addAll(pending);
+        pending.clear();
+    }
+}
@@ -0,0 +1,75 @@
+package app.backend.services;
+
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
+import app.backend.models.ContentCard;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pages of content cards for the course, exercise and practical work lists.
+ *
+ * Cards are ordered newest first by (created_at, id) and paged by keyset: the next
+ * page is read from the last card of the previous one with an indexed range, so
+ * every page costs the same however far the list goes and only the columns a card
+ * displays are transferred.
+ */
+final class ContentCards {
+
+    // Characters of the description sent with each card
+    static final int PREVIEW_LENGTH = 200;
+
+    private ContentCards() {}
+
+    /**
+     * Builds the card projection of a table
+     *
+     * @param courseIdColumn The column holding the course ID, "id" for the course table
+     * @param deadlineColumn The column holding the deadline, "NULL" if the table has none
+     */
+    static String select(String table, String courseIdColumn, String deadlineColumn) {
+        return "SELECT id, " + courseIdColumn + " AS course_id, teacher_id, title, " +
+               "LEFT(description, " + PREVIEW_LENGTH + ") AS description_preview, target_level, created_at, " +
+               deadlineColumn + " AS deadline FROM " + table;
+    }
+
+    /**
+     * Reads one page of cards
+     *
+     * @param select The card projection, from {@link #select(String, String, String)}
+     * @param condition A WHERE condition, or null for every row
+     * @param params The parameters of the condition
+     * @param search Only keep cards whose title or description contains this text, or null
+     * @param after The last card of the previous page, or null for the first page
+     * @param limit The maximum number of cards, 0 or less for no limit
+     * @return The cards of the page
+     */
+    static List<ContentCard> page(String select, String condition, List<Object> params, String search,
+                                  ContentCard after, int limit) {
+        StringBuilder sql = new StringBuilder(select).append(" WHERE ")
+            .append(condition != null ? condition : "TRUE");
+        List<Object> allParams = new ArrayList<>(params);
+
+        if (search != null && !search.isBlank()) {
+            String pattern = QueryExecutor.likeContains(search.trim());
+            sql.append(" AND (title LIKE ? OR description LIKE ?)");
+            allParams.add(pattern);
+            allParams.add(pattern);
+        }
+
+        if (after != null) {
+            sql.append(" AND (created_at < ? OR (created_at = ? AND id < ?))");
+            allParams.add(after.getCreatedAt());
+            allParams.add(after.getCreatedAt());
+            allParams.add(after.getId());
+        }
+
+        sql.append(" ORDER BY created_at DESC, id DESC");
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            allParams.add(limit);
+        }
+
+        return QueryExecutor.queryList(sql.toString(), RowMappers.CONTENT_CARD, allParams.toArray());
+    }
+}
@@ -1,257 +1,230 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
+import app.backend.models.ContentCard;
+import app.backend.database.TransactionManager;
 import app.backend.models.Course;
 import app.backend.models.User;
+import app.backend.monitoring.Timings;
+import app.backend.services.LevelAvailabilityIndex.ContentType;
+import app.backend.utils.Log;
 import java.sql.*;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CourseService {
 
+    // Courses by ID, read by every card and result page
+    private static final EntityCache<Course> courseCache = new EntityCache<>("course", 500, 60_000);
+    // Card projection of the Course table
+    private static final String CARD_SELECT = ContentCards.select("Course", "id", "NULL");
+
     // Add a new course
     public static boolean addCourse(Course course) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "INSERT INTO Course (title, description, comment, teacher_id, pdf_path, target_level) VALUES (?, ?, ?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, course.getTitle());
-            stmt.setString(2, course.getDescription());
-            stmt.setString(3, course.getComment());
-            stmt.setInt(4, course.getTeacherId());
-            stmt.setString(5, course.getPdfPath());
-            stmt.setString(6, course.getTargetLevel());
-
-            int rowsInserted = stmt.executeUpdate();
-            return rowsInserted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
+        return Timings.SERVICE_CALLS.time("CourseService.addCourse", () -> {
+            String sql = "INSERT INTO Course (title, description, comment, teacher_id, pdf_path, target_level) VALUES (?, ?, ?, ?, ?, ?)";
 
-    // Update an existing course
-    public static boolean updateCourse(Course course) {
-        Connection conn = DataBaseConnection.getConnection();
-        boolean success = false;
-        
-        try {
-            // Start transaction
-            conn.setAutoCommit(false);
-            
-            // 1. Update the course
-            String sql = "UPDATE Course SET title = ?, description = ?, comment = ?, pdf_path = ?, target_level = ? WHERE id = ?";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 stmt.setString(1, course.getTitle());
                 stmt.setString(2, course.getDescription());
                 stmt.setString(3, course.getComment());
-                stmt.setString(4, course.getPdfPath());
-                stmt.setString(5, course.getTargetLevel());
-                stmt.setInt(6, course.getId());
-                
-                int rowsUpdated = stmt.executeUpdate();
-                if (rowsUpdated <= 0) {
-                    throw new SQLException("Failed to update course");
+                stmt.setInt(4, course.getTeacherId());
+                stmt.setString(5, course.getPdfPath());
+                stmt.setString(6, course.getTargetLevel());
+
+                int rowsInserted = stmt.executeUpdate();
+                if (rowsInserted > 0) {
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            course.setId(keys.getInt(1));
+                        }
+                    }
+                    LevelAvailabilityIndex.put(ContentType.COURSE, course.getId(), course.getTeacherId(), course.getId(), course.getTargetLevel());
                 }
+                return rowsInserted > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in CourseService.addCourse", e);
+                return false;
             }
-            
-            // 2. Update exercises' target level
-            String updateExercisesSql = "UPDATE exercice SET target_level = ? WHERE course_id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(updateExercisesSql)) {
-                stmt.setString(1, course.getTargetLevel());
-                stmt.setInt(2, course.getId());
-                stmt.executeUpdate();
-            }
-            
-            // 3. Update practical works' target level
-            String updatePracticalWorksSql = "UPDATE PracticalWork SET target_level = ? WHERE course_id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(updatePracticalWorksSql)) {
-                stmt.setString(1, course.getTargetLevel());
-                stmt.setInt(2, course.getId());
-                stmt.executeUpdate();
-            }
+        });
+    }
 
-            // 4. Quizzes don't have a target_level column, they inherit from course
+    // Update an existing course
+    public static boolean updateCourse(Course course) {
+        return Timings.SERVICE_CALLS.time("CourseService.updateCourse", () -> {
+            try {
+                TransactionManager.inTransaction(conn -> {
+                    // 1. Update the course
+                    String sql = "UPDATE Course SET title = ?, description = ?, comment = ?, pdf_path = ?, target_level = ? WHERE id = ?";
+                
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setString(1, course.getTitle());
+                        stmt.setString(2, course.getDescription());
+                        stmt.setString(3, course.getComment());
+                        stmt.setString(4, course.getPdfPath());
+                        stmt.setString(5, course.getTargetLevel());
+                        stmt.setInt(6, course.getId());
+                    
+                        int rowsUpdated = stmt.executeUpdate();
+                        if (rowsUpdated <= 0) {
+                            throw new SQLException("Failed to update course");
+                        }
+                    }
+                
+                    // 2. Update exercises' target level
+                    String updateExercisesSql = "UPDATE exercice SET target_level = ? WHERE course_id = ?";
+                    try (PreparedStatement stmt = conn.prepareStatement(updateExercisesSql)) {
+                        stmt.setString(1, course.getTargetLevel());
+                        stmt.setInt(2, course.getId());
+                        stmt.executeUpdate();
+                    }
+                
+                    // 3. Update practical works' target level
+                    String updatePracticalWorksSql = "UPDATE PracticalWork SET target_level = ? WHERE course_id = ?";
+                    try (PreparedStatement stmt = conn.prepareStatement(updatePracticalWorksSql)) {
+                        stmt.setString(1, course.getTargetLevel());
+                        stmt.setInt(2, course.getId());
+                        stmt.executeUpdate();
+                    }
+
+                    // 4. Quizzes don't have a target_level column, they inherit from course
+                    return true;
+                });
             
-            // Commit the transaction
-            conn.commit();
-            success = true;
+                LevelAvailabilityIndex.updateCourseLevel(course.getId(), course.getTargetLevel());
+                return true;
             
-        } catch (SQLException e) {
-            // Roll back the transaction if something fails
-            try {
-                if (conn != null) {
-                    conn.rollback();
-                }
-            } catch (SQLException ex) {
-                ex.printStackTrace();
+            } catch (SQLException e) {
+                // The transaction was rolled back
+                Log.error("❌ Database error in CourseService.updateCourse", e);
+                return false;
+            } finally {
+                // Also on failure, the caller may have modified the cached instance
+                courseCache.invalidate(course.getId());
             }
-            e.printStackTrace();
-            success = false;
-        } finally {
-            // Reset auto-commit to default state
-            try {
-                if (conn != null) {
-                    conn.setAutoCommit(true);
-                }
-            } catch (SQLException ex) {
-                ex.printStackTrace();
-            }
-        }
-        
-        return success;
+        });
     }
 
     // Delete a course
     public static boolean deleteCourse(int courseId) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "DELETE FROM Course WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, courseId);
-
-            int rowsDeleted = stmt.executeUpdate();
-            return rowsDeleted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("CourseService.deleteCourse", () -> {
+            String sql = "DELETE FROM Course WHERE id = ?";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, courseId);
+
+                int rowsDeleted = stmt.executeUpdate();
+                // Quizzes, exercises and practical works of the course are removed by cascade
+                courseCache.invalidate(courseId);
+                QuizService.invalidateQuizzesOfCourse(courseId);
+                QuizService.invalidateAllQuizAggregates();
+                LevelAvailabilityIndex.removeCourse(courseId);
+                return rowsDeleted > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in CourseService.deleteCourse", e);
+                return false;
+            }
+        });
     }
 
     // Get all courses
     public static List<Course> getAllCourses() {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Course> courses = new ArrayList<>();
-
-        String sql = "SELECT * FROM Course ORDER BY created_at DESC";
-
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        return Timings.SERVICE_CALLS.time("CourseService.getAllCourses", () -> {
+            String sql = "SELECT * FROM Course ORDER BY created_at DESC";
 
-            while (rs.next()) {
-                Course course = new Course(
-                    rs.getInt("id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getInt("teacher_id"),
-                    rs.getTimestamp("created_at")
-                );
-                course.setPdfPath(rs.getString("pdf_path"));
-                course.setTargetLevel(rs.getString("target_level"));
-                courses.add(course);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return courses;
+            return QueryExecutor.queryList(sql, RowMappers.COURSE);
+        });
     }
 
     // Get course by ID
     public static Course getCourseById(int courseId) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "SELECT * FROM Course WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, courseId);
-            ResultSet rs = stmt.executeQuery();
+        return Timings.SERVICE_CALLS.time("CourseService.getCourseById", () -> {
+            String sql = "SELECT * FROM Course WHERE id = ?";
 
-            if (rs.next()) {
-                Course course = new Course(
-                    rs.getInt("id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getInt("teacher_id"),
-                    rs.getTimestamp("created_at")
-                );
-                course.setPdfPath(rs.getString("pdf_path"));
-                course.setTargetLevel(rs.getString("target_level"));
-                return course;
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return null;
+            return courseCache.get(courseId, id -> QueryExecutor.queryOne(sql, RowMappers.COURSE, id));
+        });
+    }
+    
+    // Get several courses by ID in one query, missing courses are absent from the map
+    public static Map<Integer, Course> getCoursesByIds(Collection<Integer> courseIds) {
+        return Timings.SERVICE_CALLS.time("CourseService.getCoursesByIds", () -> {
+            String sql = "SELECT * FROM Course WHERE id IN (%s)";
+
+            return courseCache.getAll(courseIds, ids -> {
+                Map<Integer, Course> courses = new HashMap<>();
+                for (Course course : QueryExecutor.queryByIds(sql, RowMappers.COURSE, ids)) {
+                    courses.put(course.getId(), course);
+                }
+                return courses;
+            });
+        });
     }
     
     // Get courses by teacher ID
     public static List<Course> getCoursesByTeacherId(int teacherId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Course> courses = new ArrayList<>();
-
-        String sql = "SELECT * FROM Course WHERE teacher_id = ? ORDER BY created_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            ResultSet rs = stmt.executeQuery();
+        return Timings.SERVICE_CALLS.time("CourseService.getCoursesByTeacherId", () -> {
+            String sql = "SELECT * FROM Course WHERE teacher_id = ? ORDER BY created_at DESC";
 
-            while (rs.next()) {
-                Course course = new Course(
-                    rs.getInt("id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getInt("teacher_id"),
-                    rs.getTimestamp("created_at")
-                );
-                course.setPdfPath(rs.getString("pdf_path"));
-                course.setTargetLevel(rs.getString("target_level"));
-                courses.add(course);
-            }
+            return QueryExecutor.queryList(sql, RowMappers.COURSE, teacherId);
+        });
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    /**
+     * Gets one page of the teacher's course cards, newest first.
+     * Pass the last card of a page to get the next one.
+     *
+     * @param teacherId The ID of the teacher
+     * @param search Only keep courses whose title or description contains this text, or null
+     * @param after The last card of the previous page, or null for the first page
+     * @param limit The maximum number of cards, 0 or less for no limit
+     * @return The cards of the page
+     */
+    public static List<ContentCard> getCourseCardsByTeacherId(int teacherId, String search, ContentCard after, int limit) {
+        return Timings.SERVICE_CALLS.time("CourseService.getCourseCardsByTeacherId", () -> {
+            return ContentCards.page(CARD_SELECT, "teacher_id = ?", List.of(teacherId), search, after, limit);
+        });
+    }
 
-        return courses;
+    /**
+     * Gets one page of the teacher's course cards for a student level, newest first.
+     * Courses without a target level are available to every level.
+     *
+     * @param teacherId The ID of the teacher
+     * @param level The enrollment level of the student
+     * @param search Only keep courses whose title or description contains this text, or null
+     * @param after The last card of the previous page, or null for the first page
+     * @param limit The maximum number of cards, 0 or less for no limit
+     * @return The cards of the page
+     */
+    public static List<ContentCard> getCourseCardsByTeacherAndLevel(int teacherId, String level, String search,
+                                                                   ContentCard after, int limit) {
+        return Timings.SERVICE_CALLS.time("CourseService.getCourseCardsByTeacherAndLevel", () -> {
+            return ContentCards.page(CARD_SELECT, "teacher_id = ? AND (target_level = ? OR target_level IS NULL)",
+                List.of(teacherId, level), search, after, limit);
+        });
     }
 
     // Get courses by target level or all if the user is a teacher
     public static List<Course> getCoursesByEnrollmentLevel(String level, boolean isTeacher) {
-        // If user is a teacher, return all courses
-        if (isTeacher) {
-            return getAllCourses();
-        }
-        
-        Connection conn = DataBaseConnection.getConnection();
-        List<Course> courses = new ArrayList<>();
-
-        // SQL to get courses for specific level or with null level (available to all)
-        String sql = "SELECT * FROM Course WHERE target_level = ? OR target_level IS NULL ORDER BY created_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, level);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Course course = new Course(
-                    rs.getInt("id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getInt("teacher_id"),
-                    rs.getTimestamp("created_at")
-                );
-                course.setPdfPath(rs.getString("pdf_path"));
-                course.setTargetLevel(rs.getString("target_level"));
-                courses.add(course);
+        return Timings.SERVICE_CALLS.time("CourseService.getCoursesByEnrollmentLevel", () -> {
+            // If user is a teacher, return all courses
+            if (isTeacher) {
+                return getAllCourses();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
 
-        return courses;
+            // SQL to get courses for specific level or with null level (available to all)
+            String sql = "SELECT * FROM Course WHERE target_level = ? OR target_level IS NULL ORDER BY created_at DESC";
+
+            return QueryExecutor.queryList(sql, RowMappers.COURSE, level);
+        });
     }
     
     /**
@@ -262,35 +235,12 @@ public class CourseService {
      * @return List of matching courses
      */
     public static List<Course> getCoursesByTeacherAndLevel(int teacherId, String level) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Course> courses = new ArrayList<>();
-
-        // SQL to get courses for specific teacher that match the level or have no level specified
-        String sql = "SELECT * FROM Course WHERE teacher_id = ? AND (target_level = ? OR target_level IS NULL) ORDER BY created_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            stmt.setString(2, level);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Course course = new Course(
-                    rs.getInt("id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getInt("teacher_id"),
-                    rs.getTimestamp("created_at")
-                );
-                course.setPdfPath(rs.getString("pdf_path"));
-                course.setTargetLevel(rs.getString("target_level"));
-                courses.add(course);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("CourseService.getCoursesByTeacherAndLevel", () -> {
+            // SQL to get courses for specific teacher that match the level or have no level specified
+            String sql = "SELECT * FROM Course WHERE teacher_id = ? AND (target_level = ? OR target_level IS NULL) ORDER BY created_at DESC";
 
-        return courses;
+            return QueryExecutor.queryList(sql, RowMappers.COURSE, teacherId, level);
+        });
     }
     
     /**
@@ -300,23 +250,11 @@ public class CourseService {
      * @return Number of courses
      */
     public static int getCourseCountByTeacher(int teacherId) {
-        Connection conn = DataBaseConnection.getConnection();
-        int count = 0;
-
-        String sql = "SELECT COUNT(*) as count FROM Course WHERE teacher_id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                count = rs.getInt("count");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("CourseService.getCourseCountByTeacher", () -> {
+            String sql = "SELECT COUNT(*) as count FROM Course WHERE teacher_id = ?";
 
-        return count;
+            return QueryExecutor.queryInt(sql, teacherId);
+        });
     }
 
     /**
@@ -326,23 +264,11 @@ public class CourseService {
      * @return Number of courses
      */
     public static int getCourseCountByLevel(String level) {
-        Connection conn = DataBaseConnection.getConnection();
-        int count = 0;
+        return Timings.SERVICE_CALLS.time("CourseService.getCourseCountByLevel", () -> {
+            String sql = "SELECT COUNT(*) as count FROM Course WHERE target_level = ? OR target_level IS NULL";
 
-        String sql = "SELECT COUNT(*) as count FROM Course WHERE target_level = ? OR target_level IS NULL";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, level);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                count = rs.getInt("count");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return count;
+            return QueryExecutor.queryInt(sql, level);
+        });
     }
     
     /**
@@ -352,37 +278,8 @@ public class CourseService {
      * @return List of teachers with courses matching the level
      */
     public static List<User> getTeachersWithCoursesByLevel(String studentLevel) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<User> teachers = new ArrayList<>();
-
-        String sql = "SELECT DISTINCT u.* FROM User u " +
-                    "JOIN Course c ON u.id = c.teacher_id " +
-                    "WHERE u.role = 'teacher' " +
-                    "AND (c.target_level = ? OR c.target_level IS NULL) " +
-                    "ORDER BY u.name";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, studentLevel);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                User teacher = new User(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("password"),
-                    rs.getString("matricule"),
-                    rs.getString("role"),
-                    rs.getTimestamp("created_at"),
-                    rs.getString("enrollment_level"),
-                    rs.getString("university_name")
-                );
-                teachers.add(teacher);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return teachers;
+        return Timings.SERVICE_CALLS.time("CourseService.getTeachersWithCoursesByLevel", () -> {
+            return LevelAvailabilityIndex.getTeachers(ContentType.COURSE, studentLevel);
+        });
     }
 }
@@ -0,0 +1,47 @@
+package app.backend.services;
+
+import app.backend.models.DashboardStats;
+import app.backend.monitoring.Timings;
+import app.backend.services.LevelAvailabilityIndex.ContentType;
+
+/**
+ * Content counts for the student and teacher dashboards.
+ *
+ * The counts come from the counters of {@link LevelAvailabilityIndex}, which the
+ * content services keep up to date on every add and delete, so opening a dashboard
+ * does not query the database.
+ */
+public class DashboardStatsService {
+
+    /**
+     * Get the counts of content available to a student level, content without a level included
+     *
+     * @param level The enrollment level of the student
+     * @return The dashboard counts
+     */
+    public static DashboardStats getStudentStats(String level) {
+        return Timings.SERVICE_CALLS.time("DashboardStatsService.getStudentStats", () -> {
+            return toStats(LevelAvailabilityIndex.countByLevel(level));
+        });
+    }
+
+    /**
+     * Get the counts of content published by a teacher
+     *
+     * @param teacherId The ID of the teacher
+     * @return The dashboard counts
+     */
+    public static DashboardStats getTeacherStats(int teacherId) {
+        return Timings.SERVICE_CALLS.time("DashboardStatsService.getTeacherStats", () -> {
+            return toStats(LevelAvailabilityIndex.countByTeacher(teacherId));
+        });
+    }
+
+    private static DashboardStats toStats(int[] counts) {
+        return new DashboardStats(
+            counts[ContentType.COURSE.ordinal()],
+            counts[ContentType.QUIZ.ordinal()],
+            counts[ContentType.EXERCISE.ordinal()],
+            counts[ContentType.PRACTICAL_WORK.ordinal()]);
+    }
+}
@@ -0,0 +1,259 @@
+package app.backend.services;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Bounded read-through cache of entities by ID, for rows that are read far more often than written.
+ *
+ * Eviction is segmented LRU: a new entry starts in the probation segment and moves to
+ * the protected one on its second hit, so a screen scanning many rows once cannot push
+ * out the entities every screen uses. Entries expire after a time to live, which bounds
+ * how long changes made by other clients go unseen; the services invalidate entries
+ * after their own writes. Missing entities are not cached.
+ *
+ * @param <T> The type of entity cached
+ */
+public final class EntityCache<T> {
+
+    // Share of the entries kept in the protected segment
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private static final List<EntityCache<?>> caches = new CopyOnWriteArrayList<>();
+
+    private record Entry<T>(T value, long loadedAt) {}
+
+    private final String name;
+    private final int maxSize;
+    private final int protectedMaxSize;
+    private final long ttlMillis;
+
+    // Both in access order, least recently used first
+    private final LinkedHashMap<Integer, Entry<T>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Integer, Entry<T>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped on every invalidation so a load racing with a write does not cache stale data
+    private long version = 0;
+
+    // Statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * Creates a cache; its size and time to live can be overridden with
+     * -Dcache.&lt;name&gt;.maxSize and -Dcache.&lt;name&gt;.ttlMs
+     */
+    public EntityCache(String name, int maxSize, long ttlMillis) {
+        this.name = name;
+        this.maxSize = Math.max(1, Integer.getInteger("cache." + name + ".maxSize", maxSize));
+        this.protectedMaxSize = (int) (this.maxSize * PROTECTED_RATIO);
+        this.ttlMillis = Long.getLong("cache." + name + ".ttlMs", ttlMillis);
+        caches.add(this);
+    }
+
+    // Every cache created, for statistics
+    public static List<EntityCache<?>> all() {
+        return caches;
+    }
+
+    /**
+     * Returns the entity with this ID, loading it on a miss
+     *
+     * @param loader Loads one entity, returns null if it does not exist
+     * @return The entity, or null if it does not exist
+     */
+    public T get(int id, IntFunction<T> loader) {
+        long loadVersion;
+        synchronized (this) {
+            T cached = lookup(id);
+            if (cached != null) {
+                return cached;
+            }
+            loadVersion = version;
+        }
+
+        T value = loader.apply(id);
+        if (value != null) {
+            store(id, value, loadVersion);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the entities with these IDs, loading the missing ones with one call
+     *
+     * @param loader Loads several entities by ID, missing entities are absent from its result
+     * @return The entities found, by ID
+     */
+    public Map<Integer, T> getAll(Collection<Integer> ids, Function<Collection<Integer>, Map<Integer, T>> loader) {
+        Map<Integer, T> found = new HashMap<>();
+        Set<Integer> missing = new LinkedHashSet<>();
+        long loadVersion;
+
+        synchronized (this) {
+            for (Integer id : ids) {
+                if (id == null || found.containsKey(id)) {
+                    continue;
+                }
+                T cached = lookup(id);
+                if (cached != null) {
+                    found.put(id, cached);
+                } else {
+                    missing.add(id);
+                }
+            }
+            loadVersion = version;
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Integer, T> loaded = loader.apply(missing);
+            found.putAll(loaded);
+            synchronized (this) {
+                for (Map.Entry<Integer, T> entry : loaded.entrySet()) {
+                    store(entry.getKey(), entry.getValue(), loadVersion);
+                }
+            }
+        }
+        return found;
+    }
+
+    // Drop one entity, called after it is updated or deleted
+    public synchronized void invalidate(int id) {
+        version++;
+        probation.remove(id);
+        protectedSegment.remove(id);
+    }
+
+    // Drop the entities matching a condition, e.g. those removed by a cascading delete
+    public synchronized void invalidateIf(Predicate<T> condition) {
+        version++;
+        probation.values().removeIf(entry -> condition.test(entry.value()));
+        protectedSegment.values().removeIf(entry -> condition.test(entry.value()));
+    }
+
+    public synchronized void invalidateAll() {
+        version++;
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    // Zero the statistics, the entries stay
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        expirations = 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getSize() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    // Share of lookups served from the cache, 0 before the first lookup
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Finds a live entry, promoting it to the protected segment on a probation hit
+     */
+    private T lookup(int id) {
+        Entry<T> entry = protectedSegment.get(id);
+        boolean inProbation = false;
+        if (entry == null) {
+            entry = probation.get(id);
+            inProbation = entry != null;
+        }
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+
+        if (System.currentTimeMillis() - entry.loadedAt() > ttlMillis) {
+            probation.remove(id);
+            protectedSegment.remove(id);
+            expirations++;
+            misses++;
+            return null;
+        }
+
+        hits++;
+        if (inProbation) {
+            probation.remove(id);
+            protectedSegment.put(id, entry);
+            demoteOverflow();
+        }
+        return entry.value();
+    }
+
+    private synchronized void store(int id, T value, long loadVersion) {
+        if (loadVersion != version) {
+            // Invalidated while loading, the value may predate the write
+            return;
+        }
+        Entry<T> entry = new Entry<>(value, System.currentTimeMillis());
+        if (protectedSegment.containsKey(id)) {
+            protectedSegment.put(id, entry);
+            return;
+        }
+        probation.put(id, entry);
+        evictOverflow();
+    }
+
+    // Least recently used protected entries go back to probation
+    private void demoteOverflow() {
+        while (protectedSegment.size() > protectedMaxSize) {
+            Map.Entry<Integer, Entry<T>> eldest = protectedSegment.entrySet().iterator().next();
+            protectedSegment.remove(eldest.getKey());
+            probation.put(eldest.getKey(), eldest.getValue());
+        }
+        evictOverflow();
+    }
+
+    // Least recently used probation entries leave the cache
+    private void evictOverflow() {
+        Iterator<Map.Entry<Integer, Entry<T>>> it = probation.entrySet().iterator();
+        while (getSize() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+}
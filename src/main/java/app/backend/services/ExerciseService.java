@@ -1,302 +1,203 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
+import app.backend.models.ContentCard;
 import app.backend.models.Exercise;
 import app.backend.models.User;
+import app.backend.monitoring.Timings;
+import app.backend.services.LevelAvailabilityIndex.ContentType;
+import app.backend.utils.Log;
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class ExerciseService {
 
+    // Card projection of the exercice table
+    private static final String CARD_SELECT = ContentCards.select("exercice", "course_id", "NULL");
+
     // Add a new exercise
     public static boolean addExercise(Exercise exercise) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "INSERT INTO exercice (course_id, title, description, comment, pdf_path, target_level, teacher_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, exercise.getCourseId());
-            stmt.setString(2, exercise.getTitle());
-            stmt.setString(3, exercise.getDescription());
-            stmt.setString(4, exercise.getComment());
-            stmt.setString(5, exercise.getPdfPath());
-            stmt.setString(6, exercise.getTargetLevel());
-            stmt.setInt(7, exercise.getTeacherId());
-
-            int rowsInserted = stmt.executeUpdate();
-            
-            return rowsInserted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("ExerciseService.addExercise", () -> {
+            String sql = "INSERT INTO exercice (course_id, title, description, comment, pdf_path, target_level, teacher_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, exercise.getCourseId());
+                stmt.setString(2, exercise.getTitle());
+                stmt.setString(3, exercise.getDescription());
+                stmt.setString(4, exercise.getComment());
+                stmt.setString(5, exercise.getPdfPath());
+                stmt.setString(6, exercise.getTargetLevel());
+                stmt.setInt(7, exercise.getTeacherId());
+
+                int rowsInserted = stmt.executeUpdate();
+                if (rowsInserted > 0) {
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            exercise.setId(keys.getInt(1));
+                        }
+                    }
+                    LevelAvailabilityIndex.put(ContentType.EXERCISE, exercise.getId(), exercise.getTeacherId(), exercise.getCourseId(), exercise.getTargetLevel());
+                }
+                return rowsInserted > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in ExerciseService.addExercise", e);
+                return false;
+            }
+        });
     }
 
     // Update an existing exercise
     public static boolean updateExercise(Exercise exercise) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "UPDATE exercice SET title = ?, description = ?, comment = ?, course_id = ?, pdf_path = ?, target_level = ? WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, exercise.getTitle());
-            stmt.setString(2, exercise.getDescription());
-            stmt.setString(3, exercise.getComment());
-            stmt.setInt(4, exercise.getCourseId());
-            stmt.setString(5, exercise.getPdfPath());
-            stmt.setString(6, exercise.getTargetLevel());
-            stmt.setInt(7, exercise.getId());
-
-            int rowsUpdated = stmt.executeUpdate();
-            return rowsUpdated > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("ExerciseService.updateExercise", () -> {
+            String sql = "UPDATE exercice SET title = ?, description = ?, comment = ?, course_id = ?, pdf_path = ?, target_level = ? WHERE id = ?";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, exercise.getTitle());
+                stmt.setString(2, exercise.getDescription());
+                stmt.setString(3, exercise.getComment());
+                stmt.setInt(4, exercise.getCourseId());
+                stmt.setString(5, exercise.getPdfPath());
+                stmt.setString(6, exercise.getTargetLevel());
+                stmt.setInt(7, exercise.getId());
+
+                int rowsUpdated = stmt.executeUpdate();
+                if (rowsUpdated > 0) {
+                    LevelAvailabilityIndex.put(ContentType.EXERCISE, exercise.getId(), exercise.getTeacherId(), exercise.getCourseId(), exercise.getTargetLevel());
+                }
+                return rowsUpdated > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in ExerciseService.updateExercise", e);
+                return false;
+            }
+        });
     }
 
     // Delete an exercise
     public static boolean deleteExercise(int exerciseId) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "DELETE FROM exercice WHERE id = ?";
+        return Timings.SERVICE_CALLS.time("ExerciseService.deleteExercise", () -> {
+            String sql = "DELETE FROM exercice WHERE id = ?";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, exerciseId);
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, exerciseId);
 
-            int rowsDeleted = stmt.executeUpdate();
-            return rowsDeleted > 0;
+                int rowsDeleted = stmt.executeUpdate();
+                LevelAvailabilityIndex.remove(ContentType.EXERCISE, exerciseId);
+                return rowsDeleted > 0;
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in ExerciseService.deleteExercise", e);
+                return false;
+            }
+        });
     }
 
     // Get all exercises for a course
     public static List<Exercise> getExercisesByCourseId(int courseId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Exercise> exercises = new ArrayList<>();
-
-        String sql = "SELECT * FROM exercice WHERE course_id = ? ORDER BY created_at DESC";
+        return Timings.SERVICE_CALLS.time("ExerciseService.getExercisesByCourseId", () -> {
+            String sql = "SELECT * FROM exercice WHERE course_id = ? ORDER BY created_at DESC";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, courseId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Exercise exercise = new Exercise(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getTimestamp("created_at"),
-                    rs.getString("pdf_path"),
-                    rs.getString("target_level"),
-                    rs.getInt("teacher_id")
-                );
-                exercises.add(exercise);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return exercises;
+            return QueryExecutor.queryList(sql, RowMappers.EXERCISE, courseId);
+        });
     }
 
     // Get a single exercise by ID
     public static Exercise getExerciseById(int exerciseId) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "SELECT * FROM exercice WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, exerciseId);
-            ResultSet rs = stmt.executeQuery();
+        return Timings.SERVICE_CALLS.time("ExerciseService.getExerciseById", () -> {
+            String sql = "SELECT * FROM exercice WHERE id = ?";
 
-            if (rs.next()) {
-                Exercise exercise = new Exercise(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getTimestamp("created_at"),
-                    rs.getString("pdf_path"),
-                    rs.getString("target_level"),
-                    rs.getInt("teacher_id")
-                );
-                return exercise;
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return null;
+            return QueryExecutor.queryOne(sql, RowMappers.EXERCISE, exerciseId);
+        });
     }
     
     // Get all exercises by teacher ID
     public static List<Exercise> getExercisesByTeacherId(int teacherId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Exercise> exercises = new ArrayList<>();
-
-        String sql = "SELECT * FROM exercice WHERE teacher_id = ? ORDER BY created_at DESC";
+        return Timings.SERVICE_CALLS.time("ExerciseService.getExercisesByTeacherId", () -> {
+            String sql = "SELECT * FROM exercice WHERE teacher_id = ? ORDER BY created_at DESC";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Exercise exercise = new Exercise(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getTimestamp("created_at"),
-                    rs.getString("pdf_path"),
-                    rs.getString("target_level"),
-                    rs.getInt("teacher_id")
-                );
-                exercises.add(exercise);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            return QueryExecutor.queryList(sql, RowMappers.EXERCISE, teacherId);
+        });
+    }
+    
+    /**
+     * Gets one page of the teacher's exercise cards, newest first.
+     * Pass the last card of a page to get the next one.
+     *
+     * @param teacherId The ID of the teacher
+     * @param search Only keep exercises whose title or description contains this text, or null
+     * @param after The last card of the previous page, or null for the first page
+     * @param limit The maximum number of cards, 0 or less for no limit
+     * @return The cards of the page
+     */
+    public static List<ContentCard> getExerciseCardsByTeacherId(int teacherId, String search, ContentCard after, int limit) {
+        return Timings.SERVICE_CALLS.time("ExerciseService.getExerciseCardsByTeacherId", () -> {
+            return ContentCards.page(CARD_SELECT, "teacher_id = ?", List.of(teacherId), search, after, limit);
+        });
+    }
 
-        return exercises;
+    /**
+     * Gets one page of the teacher's exercise cards for a student level, newest first.
+     * Exercises without a target level are available to every level.
+     *
+     * @param teacherId The ID of the teacher
+     * @param level The enrollment level of the student
+     * @param search Only keep exercises whose title or description contains this text, or null
+     * @param after The last card of the previous page, or null for the first page
+     * @param limit The maximum number of cards, 0 or less for no limit
+     * @return The cards of the page
+     */
+    public static List<ContentCard> getExerciseCardsByTeacherAndLevel(int teacherId, String level, String search,
+                                                                     ContentCard after, int limit) {
+        return Timings.SERVICE_CALLS.time("ExerciseService.getExerciseCardsByTeacherAndLevel", () -> {
+            return ContentCards.page(CARD_SELECT, "teacher_id = ? AND (target_level = ? OR target_level IS NULL)",
+                List.of(teacherId, level), search, after, limit);
+        });
     }
     
     // Get all teachers who have published exercises
     public static List<User> getTeachersWithExercises() {
-        Connection conn = DataBaseConnection.getConnection();
-        List<User> teachers = new ArrayList<>();
-
-        String sql = "SELECT DISTINCT u.* FROM User u " +
-                    "JOIN exercice e ON u.id = e.teacher_id " +
-                    "WHERE u.role = 'teacher' " +
-                    "ORDER BY u.name";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                User teacher = new User();
-                teacher.setId(rs.getInt("id"));
-                teacher.setName(rs.getString("name"));
-                teacher.setMatricule(rs.getString("matricule"));
-                teacher.setRole(rs.getString("role"));
-                teacher.setEnrollmentLevel(rs.getString("enrollment_level"));
-                teacher.setUniversityName(rs.getString("university_name"));
-                
-                teachers.add(teacher);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return teachers;
+        return Timings.SERVICE_CALLS.time("ExerciseService.getTeachersWithExercises", () -> {
+            String sql = "SELECT DISTINCT u.* FROM User u " +
+                        "JOIN exercice e ON u.id = e.teacher_id " +
+                        "WHERE u.role = 'teacher' " +
+                        "ORDER BY u.name";
+
+            return QueryExecutor.queryList(sql, RowMappers.USER);
+        });
     }
     
     // Get teachers with exercises filtered by student level
     public static List<User> getTeachersWithExercisesByLevel(String studentLevel) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<User> teachers = new ArrayList<>();
-
-        String sql = "SELECT DISTINCT u.* FROM User u " +
-                    "JOIN exercice e ON u.id = e.teacher_id " +
-                    "WHERE u.role = 'teacher' " +
-                    "AND (e.target_level = ? OR e.target_level IS NULL) " +
-                    "ORDER BY u.name";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, studentLevel);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                User teacher = new User();
-                teacher.setId(rs.getInt("id"));
-                teacher.setName(rs.getString("name"));
-                teacher.setMatricule(rs.getString("matricule"));
-                teacher.setRole(rs.getString("role"));
-                teacher.setEnrollmentLevel(rs.getString("enrollment_level"));
-                teacher.setUniversityName(rs.getString("university_name"));
-                
-                teachers.add(teacher);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return teachers;
+        return Timings.SERVICE_CALLS.time("ExerciseService.getTeachersWithExercisesByLevel", () -> {
+            return LevelAvailabilityIndex.getTeachers(ContentType.EXERCISE, studentLevel);
+        });
     }
     
     // Get exercises by teacher ID and student level
     public static List<Exercise> getExercisesByTeacherAndLevel(int teacherId, String studentLevel) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Exercise> exercises = new ArrayList<>();
-
-        String sql = "SELECT * FROM exercice " +
-                    "WHERE teacher_id = ? " +
-                    "AND (target_level = ? OR target_level IS NULL) " +
-                    "ORDER BY created_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            stmt.setString(2, studentLevel);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Exercise exercise = new Exercise(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getTimestamp("created_at"),
-                    rs.getString("pdf_path"),
-                    rs.getString("target_level"),
-                    rs.getInt("teacher_id")
-                );
-                exercises.add(exercise);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return exercises;
+        return Timings.SERVICE_CALLS.time("ExerciseService.getExercisesByTeacherAndLevel", () -> {
+            String sql = "SELECT * FROM exercice " +
+                        "WHERE teacher_id = ? " +
+                        "AND (target_level = ? OR target_level IS NULL) " +
+                        "ORDER BY created_at DESC";
+
+            return QueryExecutor.queryList(sql, RowMappers.EXERCISE, teacherId, studentLevel);
+        });
     }
     
     // Get count of exercises by teacher ID
     public static int getExerciseCountByTeacher(int teacherId) {
-        Connection conn = DataBaseConnection.getConnection();
-        int count = 0;
-
-        String sql = "SELECT COUNT(*) FROM exercice WHERE teacher_id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            ResultSet rs = stmt.executeQuery();
+        return Timings.SERVICE_CALLS.time("ExerciseService.getExerciseCountByTeacher", () -> {
+            String sql = "SELECT COUNT(*) FROM exercice WHERE teacher_id = ?";
 
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return count;
+            return QueryExecutor.queryInt(sql, teacherId);
+        });
     }
 
     /**
@@ -306,22 +207,10 @@ public class ExerciseService {
      * @return Number of exercises
      */
     public static int getExerciseCountByLevel(String level) {
-        Connection conn = DataBaseConnection.getConnection();
-        int count = 0;
-
-        String sql = "SELECT COUNT(*) FROM exercice WHERE target_level = ? OR target_level IS NULL";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, level);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("ExerciseService.getExerciseCountByLevel", () -> {
+            String sql = "SELECT COUNT(*) FROM exercice WHERE target_level = ? OR target_level IS NULL";
 
-        return count;
+            return QueryExecutor.queryInt(sql, level);
+        });
     }
 }
@@ -1,88 +1,52 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
 import app.backend.models.ExerciseSubmission;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class ExerciseSubmissionService {
 
     // Submit an exercise
     public static boolean submitExercise(ExerciseSubmission submission) {
-        Connection conn = DataBaseConnection.getConnection();
+        return Timings.SERVICE_CALLS.time("ExerciseSubmissionService.submitExercise", () -> {
+            String sql = "INSERT INTO ExerciseSubmission (exercise_id, student_id, submission_text) VALUES (?, ?, ?)";
 
-        String sql = "INSERT INTO ExerciseSubmission (exercise_id, student_id, submission_text) VALUES (?, ?, ?)";
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, submission.getExerciseId());
+                stmt.setInt(2, submission.getStudentId());
+                stmt.setString(3, submission.getSubmissionText());
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, submission.getExerciseId());
-            stmt.setInt(2, submission.getStudentId());
-            stmt.setString(3, submission.getSubmissionText());
+                int rowsInserted = stmt.executeUpdate();
+                return rowsInserted > 0;
 
-            int rowsInserted = stmt.executeUpdate();
-            return rowsInserted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in ExerciseSubmissionService.submitExercise", e);
+                return false;
+            }
+        });
     }
 
     // Get all submissions for a specific exercise
     public static List<ExerciseSubmission> getSubmissionsByExerciseId(int exerciseId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<ExerciseSubmission> submissions = new ArrayList<>();
-
-        String sql = "SELECT * FROM ExerciseSubmission WHERE exercise_id = ? ORDER BY submitted_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, exerciseId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                ExerciseSubmission submission = new ExerciseSubmission(
-                    rs.getInt("id"),
-                    rs.getInt("exercise_id"),
-                    rs.getInt("student_id"),
-                    rs.getString("submission_text"),
-                    rs.getTimestamp("submitted_at")
-                );
-                submissions.add(submission);
-            }
+        return Timings.SERVICE_CALLS.time("ExerciseSubmissionService.getSubmissionsByExerciseId", () -> {
+            String sql = "SELECT * FROM ExerciseSubmission WHERE exercise_id = ? ORDER BY submitted_at DESC";
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return submissions;
+            return QueryExecutor.queryList(sql, RowMappers.EXERCISE_SUBMISSION, exerciseId);
+        });
     }
 
     // Get all submissions made by a student
     public static List<ExerciseSubmission> getSubmissionsByStudentId(int studentId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<ExerciseSubmission> submissions = new ArrayList<>();
-
-        String sql = "SELECT * FROM ExerciseSubmission WHERE student_id = ? ORDER BY submitted_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                ExerciseSubmission submission = new ExerciseSubmission(
-                    rs.getInt("id"),
-                    rs.getInt("exercise_id"),
-                    rs.getInt("student_id"),
-                    rs.getString("submission_text"),
-                    rs.getTimestamp("submitted_at")
-                );
-                submissions.add(submission);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("ExerciseSubmissionService.getSubmissionsByStudentId", () -> {
+            String sql = "SELECT * FROM ExerciseSubmission WHERE student_id = ? ORDER BY submitted_at DESC";
 
-        return submissions;
+            return QueryExecutor.queryList(sql, RowMappers.EXERCISE_SUBMISSION, studentId);
+        });
     }
 }
@@ -1,10 +1,13 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
 import app.backend.models.Course;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
 
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class FavoriteCoursesService {
@@ -17,19 +20,21 @@ public class FavoriteCoursesService {
      * @return boolean indicating success
      */
     public static boolean addFavoriteCourse(int studentId, int courseId) {
-        Connection conn = DataBaseConnection.getConnection();
-        String sql = "INSERT INTO favorite_courses (student_id, course_id) VALUES (?, ?)";
+        return Timings.SERVICE_CALLS.time("FavoriteCoursesService.addFavoriteCourse", () -> {
+            String sql = "INSERT INTO favorite_courses (student_id, course_id) VALUES (?, ?)";
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentId);
-            stmt.setInt(2, courseId);
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, studentId);
+                stmt.setInt(2, courseId);
             
-            int rowsInserted = stmt.executeUpdate();
-            return rowsInserted > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+                int rowsInserted = stmt.executeUpdate();
+                return rowsInserted > 0;
+            } catch (SQLException e) {
+                Log.error("❌ Database error in FavoriteCoursesService.addFavoriteCourse", e);
+                return false;
+            }
+        });
     }
     
     /**
@@ -40,19 +45,21 @@ public class FavoriteCoursesService {
      * @return boolean indicating success
      */
     public static boolean removeFavoriteCourse(int studentId, int courseId) {
-        Connection conn = DataBaseConnection.getConnection();
-        String sql = "DELETE FROM favorite_courses WHERE student_id = ? AND course_id = ?";
+        return Timings.SERVICE_CALLS.time("FavoriteCoursesService.removeFavoriteCourse", () -> {
+            String sql = "DELETE FROM favorite_courses WHERE student_id = ? AND course_id = ?";
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentId);
-            stmt.setInt(2, courseId);
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, studentId);
+                stmt.setInt(2, courseId);
             
-            int rowsDeleted = stmt.executeUpdate();
-            return rowsDeleted > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+                int rowsDeleted = stmt.executeUpdate();
+                return rowsDeleted > 0;
+            } catch (SQLException e) {
+                Log.error("❌ Database error in FavoriteCoursesService.removeFavoriteCourse", e);
+                return false;
+            }
+        });
     }
     
     /**
@@ -63,19 +70,21 @@ public class FavoriteCoursesService {
      * @return boolean indicating if course is favorited
      */
     public static boolean isFavoriteCourse(int studentId, int courseId) {
-        Connection conn = DataBaseConnection.getConnection();
-        String sql = "SELECT 1 FROM favorite_courses WHERE student_id = ? AND course_id = ?";
+        return Timings.SERVICE_CALLS.time("FavoriteCoursesService.isFavoriteCourse", () -> {
+            String sql = "SELECT 1 FROM favorite_courses WHERE student_id = ? AND course_id = ?";
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentId);
-            stmt.setInt(2, courseId);
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, studentId);
+                stmt.setInt(2, courseId);
             
-            ResultSet rs = stmt.executeQuery();
-            return rs.next();
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+                ResultSet rs = stmt.executeQuery();
+                return rs.next();
+            } catch (SQLException e) {
+                Log.error("❌ Database error in FavoriteCoursesService.isFavoriteCourse", e);
+                return false;
+            }
+        });
     }
     
     /**
@@ -85,35 +94,13 @@ public class FavoriteCoursesService {
      * @return List of favorite courses
      */
     public static List<Course> getFavoriteCourses(int studentId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Course> favoriteCourses = new ArrayList<>();
-        
-        String sql = "SELECT c.* FROM course c " +
-                    "INNER JOIN favorite_courses fc ON c.id = fc.course_id " +
-                    "WHERE fc.student_id = ? " +
-                    "ORDER BY fc.created_at DESC";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentId);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                Course course = new Course(
-                    rs.getInt("id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getInt("teacher_id"),
-                    rs.getTimestamp("created_at")
-                );
-                course.setPdfPath(rs.getString("pdf_path"));
-                course.setTargetLevel(rs.getString("target_level"));
-                favoriteCourses.add(course);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("FavoriteCoursesService.getFavoriteCourses", () -> {
+            String sql = "SELECT c.* FROM course c " +
+                        "INNER JOIN favorite_courses fc ON c.id = fc.course_id " +
+                        "WHERE fc.student_id = ? " +
+                        "ORDER BY fc.created_at DESC";
         
-        return favoriteCourses;
+            return QueryExecutor.queryList(sql, RowMappers.COURSE, studentId);
+        });
     }
 } 
\ No newline at end of file
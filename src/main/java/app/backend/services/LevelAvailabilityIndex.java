@@ -0,0 +1,398 @@
+package app.backend.services;
+
+import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMapper;
+import app.backend.models.User;
+import app.backend.utils.Log;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * In-memory index of which teachers have content for which level, used by the
+ * "teachers with content" screens and the dashboard counters instead of a query
+ * on every navigation.
+ *
+ * For each kind of content the index keeps the level of every item and, per teacher,
+ * a bitmask of the levels they have content for: one bit per enrollment level and
+ * one for content without a level, which is open to every level, along with the
+ * item counts behind each bit. The services update it after each successful write;
+ * it is rebuilt from the database with one statement on first use and after
+ * {@link #MAX_AGE_MS}, which picks up changes made by other clients.
+ */
+public class LevelAvailabilityIndex {
+
+    /**
+     * A kind of content teachers publish for a level
+     */
+    public enum ContentType {
+        COURSE(true),
+        QUIZ(true),
+        EXERCISE(true),
+        // Practical works without a level are not listed for students
+        PRACTICAL_WORK(false);
+
+        private final boolean openWithoutLevel;
+
+        ContentType(boolean openWithoutLevel) {
+            this.openWithoutLevel = openWithoutLevel;
+        }
+    }
+
+    private static final String[] LEVELS = {"L1", "L2", "L3", "M1", "M2"};
+    private static final int NO_LEVEL_BIT = LEVELS.length;
+    private static final long MAX_AGE_MS = 60_000;
+    // Delay before retrying after a failed load, doubled after each further failure
+    private static final long MIN_RETRY_DELAY_MS = 1_000;
+
+    private record Item(int teacherId, int courseId, int levelBit) {}
+
+    // Every item of every type in one statement, content_type is the ordinal of the ContentType.
+    // Quizzes have no level or teacher of their own, they take those of their course.
+    private static final String LOAD_QUERY =
+        "SELECT 0 AS content_type, id, teacher_id, id AS course_id, target_level FROM Course " +
+        "UNION ALL SELECT 1, q.id, c.teacher_id, q.course_id, c.target_level FROM Quiz q INNER JOIN Course c ON q.course_id = c.id " +
+        "UNION ALL SELECT 2, id, teacher_id, course_id, target_level FROM exercice " +
+        "UNION ALL SELECT 3, id, teacher_id, course_id, target_level FROM PracticalWork";
+
+    private static final RowMapper<int[]> ITEM_ROW = RowMapper.of(
+        new String[] {"content_type", "id", "teacher_id", "course_id", "target_level"},
+        (rs, c) -> new int[] {rs.getInt(c[0]), rs.getInt(c[1]), rs.getInt(c[2]), rs.getInt(c[3]), levelBit(rs.getString(c[4]))});
+
+    /**
+     * The items of every type and the counts and masks derived from them. A load builds a new
+     * one outside the lock and swaps it in; writes update the current one under the lock.
+     */
+    private static final class State {
+        private final Map<ContentType, Map<Integer, Item>> items = new EnumMap<>(ContentType.class);
+        // Per content type: teacher ID -> number of items for each level bit
+        private final Map<ContentType, Map<Integer, int[]>> counts = new EnumMap<>(ContentType.class);
+        // Per content type: teacher ID -> bitmask of the level bits with at least one item
+        private final Map<ContentType, Map<Integer, Integer>> masks = new EnumMap<>(ContentType.class);
+        // Per content type: number of items for each level bit, all teachers together
+        private final Map<ContentType, int[]> levelTotals = new EnumMap<>(ContentType.class);
+
+        State() {
+            for (ContentType type : ContentType.values()) {
+                items.put(type, new HashMap<>());
+                counts.put(type, new HashMap<>());
+                masks.put(type, new HashMap<>());
+                levelTotals.put(type, new int[NO_LEVEL_BIT + 1]);
+            }
+        }
+
+        Map<Integer, Item> itemsOfCourse(ContentType type, int courseId) {
+            Map<Integer, Item> found = new HashMap<>();
+            for (Map.Entry<Integer, Item> entry : items.get(type).entrySet()) {
+                if (entry.getValue().courseId() == courseId) {
+                    found.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return found;
+        }
+
+        void addItem(ContentType type, int itemId, Item item) {
+            items.get(type).put(itemId, item);
+            int[] teacherCounts = counts.get(type).computeIfAbsent(item.teacherId(), id -> new int[NO_LEVEL_BIT + 1]);
+            teacherCounts[item.levelBit()]++;
+            levelTotals.get(type)[item.levelBit()]++;
+            masks.get(type).merge(item.teacherId(), 1 << item.levelBit(), (a, b) -> a | b);
+        }
+
+        void removeItem(ContentType type, int itemId) {
+            Item item = items.get(type).remove(itemId);
+            if (item == null) {
+                return;
+            }
+            levelTotals.get(type)[item.levelBit()]--;
+            int[] teacherCounts = counts.get(type).get(item.teacherId());
+            if (--teacherCounts[item.levelBit()] > 0) {
+                return;
+            }
+
+            int mask = masks.get(type).get(item.teacherId()) & ~(1 << item.levelBit());
+            if (mask == 0) {
+                counts.get(type).remove(item.teacherId());
+                masks.get(type).remove(item.teacherId());
+            } else {
+                masks.get(type).put(item.teacherId(), mask);
+            }
+        }
+    }
+
+    // Guarded by the class lock; null until the first successful load
+    private static State state;
+    // When the state was loaded, -1 when it must be reloaded
+    private static long loadedAt = -1;
+    // Writes and invalidations so far, a load that overlapped one is reloaded on the next lookup
+    private static long writes;
+    private static boolean loading;
+    // Failed loads in a row, and when the next one may be tried
+    private static int failures;
+    private static long retryAt;
+
+    private LevelAvailabilityIndex() {}
+
+    /**
+     * Returns the teachers who have content of this type visible to a student level
+     *
+     * @param type The kind of content
+     * @param level The student's enrollment level
+     * @return The teachers, sorted by name
+     */
+    public static List<User> getTeachers(ContentType type, String level) {
+        Set<Integer> teacherIds = getTeacherIds(type, level);
+        if (teacherIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<User> teachers = new ArrayList<>();
+        for (User user : AuthService.getUsersByIds(teacherIds).values()) {
+            if ("teacher".equals(user.getRole())) {
+                teachers.add(user);
+            }
+        }
+        teachers.sort(Comparator.comparing(User::getName, String.CASE_INSENSITIVE_ORDER));
+        return teachers;
+    }
+
+    /**
+     * Returns the IDs of the teachers who have content of this type visible to a student level
+     */
+    public static Set<Integer> getTeacherIds(ContentType type, String level) {
+        ensureLoaded();
+
+        int wanted = 0;
+        int bit = levelBit(level);
+        if (bit != NO_LEVEL_BIT) {
+            wanted |= 1 << bit;
+        }
+        if (type.openWithoutLevel) {
+            wanted |= 1 << NO_LEVEL_BIT;
+        }
+
+        Set<Integer> teacherIds = new TreeSet<>();
+        synchronized (LevelAvailabilityIndex.class) {
+            if (state == null) {
+                return teacherIds;
+            }
+            for (Map.Entry<Integer, Integer> entry : state.masks.get(type).entrySet()) {
+                if ((entry.getValue() & wanted) != 0) {
+                    teacherIds.add(entry.getKey());
+                }
+            }
+        }
+        return teacherIds;
+    }
+
+    /**
+     * Counts the items of each type visible to a student level, content without a level included
+     *
+     * @return The counts, indexed by {@link ContentType#ordinal()}
+     */
+    public static int[] countByLevel(String level) {
+        ensureLoaded();
+
+        int bit = levelBit(level);
+        int[] result = new int[ContentType.values().length];
+        synchronized (LevelAvailabilityIndex.class) {
+            if (state == null) {
+                return result;
+            }
+            for (ContentType type : ContentType.values()) {
+                int[] totals = state.levelTotals.get(type);
+                result[type.ordinal()] = bit == NO_LEVEL_BIT ? totals[NO_LEVEL_BIT] : totals[bit] + totals[NO_LEVEL_BIT];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the items of each type published by a teacher
+     *
+     * @return The counts, indexed by {@link ContentType#ordinal()}
+     */
+    public static int[] countByTeacher(int teacherId) {
+        ensureLoaded();
+
+        int[] result = new int[ContentType.values().length];
+        synchronized (LevelAvailabilityIndex.class) {
+            if (state == null) {
+                return result;
+            }
+            for (ContentType type : ContentType.values()) {
+                int[] teacherCounts = state.counts.get(type).get(teacherId);
+                if (teacherCounts != null) {
+                    for (int count : teacherCounts) {
+                        result[type.ordinal()] += count;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records a created or updated item. Updates never change the teacher of an item,
+     * so the teacher ID is only needed for new items.
+     */
+    static synchronized void put(ContentType type, int itemId, int teacherId, int courseId, String level) {
+        writes++;
+        if (state == null) {
+            // Not loaded yet, the first lookup reads it from the database
+            return;
+        }
+        Item previous = state.items.get(type).get(itemId);
+        if (previous != null) {
+            teacherId = previous.teacherId();
+        } else if (itemId <= 0 || teacherId <= 0) {
+            invalidate();
+            return;
+        }
+        state.removeItem(type, itemId);
+        state.addItem(type, itemId, new Item(teacherId, courseId, levelBit(level)));
+    }
+
+    /**
+     * Records a created or updated quiz, which takes the teacher and level of its course
+     */
+    static synchronized void putQuiz(int quizId, int courseId) {
+        writes++;
+        if (state == null) {
+            return;
+        }
+        Item course = state.items.get(ContentType.COURSE).get(courseId);
+        if (course == null || quizId <= 0) {
+            invalidate();
+            return;
+        }
+        state.removeItem(ContentType.QUIZ, quizId);
+        state.addItem(ContentType.QUIZ, quizId, new Item(course.teacherId(), courseId, course.levelBit()));
+    }
+
+    /**
+     * Records a deleted item
+     */
+    static synchronized void remove(ContentType type, int itemId) {
+        writes++;
+        if (state != null) {
+            state.removeItem(type, itemId);
+        }
+    }
+
+    /**
+     * Records a new course level, which its quizzes, exercises and practical works take as well
+     */
+    static synchronized void updateCourseLevel(int courseId, String level) {
+        writes++;
+        if (state == null) {
+            return;
+        }
+        if (!state.items.get(ContentType.COURSE).containsKey(courseId)) {
+            // Created by another client since the last load
+            invalidate();
+            return;
+        }
+        int bit = levelBit(level);
+        for (ContentType type : ContentType.values()) {
+            for (Map.Entry<Integer, Item> entry : state.itemsOfCourse(type, courseId).entrySet()) {
+                Item item = entry.getValue();
+                state.removeItem(type, entry.getKey());
+                state.addItem(type, entry.getKey(), new Item(item.teacherId(), courseId, bit));
+            }
+        }
+    }
+
+    /**
+     * Records a deleted course and the content removed with it by cascade
+     */
+    static synchronized void removeCourse(int courseId) {
+        writes++;
+        if (state == null) {
+            return;
+        }
+        for (ContentType type : ContentType.values()) {
+            for (Integer itemId : state.itemsOfCourse(type, courseId).keySet()) {
+                state.removeItem(type, itemId);
+            }
+        }
+    }
+
+    /**
+     * Drops the index, the next lookup rebuilds it from the database
+     */
+    public static synchronized void invalidate() {
+        writes++;
+        loadedAt = -1;
+    }
+
+    /**
+     * Reloads the index when it is missing or older than {@link #MAX_AGE_MS}. The statement runs
+     * outside the lock, lookups made meanwhile are served the previous state. After a failed
+     * load the previous state is served for a delay that doubles with each failure, up to
+     * {@link #MAX_AGE_MS}, instead of querying again on every lookup.
+     */
+    private static void ensureLoaded() {
+        long writesBefore;
+        synchronized (LevelAvailabilityIndex.class) {
+            long now = System.currentTimeMillis();
+            if (loadedAt >= 0 && now - loadedAt < MAX_AGE_MS) {
+                return;
+            }
+            if (now < retryAt || (loading && state != null)) {
+                return;
+            }
+            loading = true;
+            writesBefore = writes;
+        }
+
+        State loaded = null;
+        try (Connection conn = DataBaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("No database connection");
+            }
+            List<int[]> rows = QueryExecutor.queryList(conn, LOAD_QUERY, ITEM_ROW);
+            ContentType[] types = ContentType.values();
+            loaded = new State();
+            for (int[] row : rows) {
+                loaded.addItem(types[row[0]], row[1], new Item(row[2], row[3], row[4]));
+            }
+        } catch (SQLException e) {
+            Log.error("❌ Failed to load the level availability index", e);
+        }
+
+        synchronized (LevelAvailabilityIndex.class) {
+            loading = false;
+            long now = System.currentTimeMillis();
+            if (loaded == null) {
+                failures++;
+                retryAt = now + Math.min(MIN_RETRY_DELAY_MS << Math.min(failures - 1, 16), MAX_AGE_MS);
+                return;
+            }
+            failures = 0;
+            retryAt = 0;
+            state = loaded;
+            // A write made during the load may be missing from the rows read, reload on the next lookup
+            loadedAt = writes == writesBefore ? now : -1;
+        }
+    }
+
+    private static int levelBit(String level) {
+        if (level != null) {
+            for (int i = 0; i < LEVELS.length; i++) {
+                if (LEVELS[i].equals(level)) {
+                    return i;
+                }
+            }
+        }
+        return NO_LEVEL_BIT;
+    }
+}
@@ -1,202 +1,188 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
+import app.backend.models.ContentCard;
 import app.backend.models.PracticalWork;
 import app.backend.models.User;
+import app.backend.monitoring.Timings;
+import app.backend.services.LevelAvailabilityIndex.ContentType;
+import app.backend.utils.Log;
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class PracticalWorkService {
 
+    // Card projection of the PracticalWork table
+    private static final String CARD_SELECT = ContentCards.select("PracticalWork", "course_id", "deadline");
+
     // Add a new practical work
     public static boolean addPracticalWork(PracticalWork practicalWork) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "INSERT INTO PracticalWork (course_id, title, description, comment, deadline, teacher_id, pdf_path, target_level) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, practicalWork.getCourseId());
-            stmt.setString(2, practicalWork.getTitle());
-            stmt.setString(3, practicalWork.getDescription());
-            stmt.setString(4, practicalWork.getComment());
-            stmt.setDate(5, practicalWork.getDeadline());
-            stmt.setInt(6, practicalWork.getTeacherId());
-            stmt.setString(7, practicalWork.getPdfPath());
-            stmt.setString(8, practicalWork.getTargetLevel());
-
-            int rowsInserted = stmt.executeUpdate();
-            return rowsInserted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.addPracticalWork", () -> {
+            String sql = "INSERT INTO PracticalWork (course_id, title, description, comment, deadline, teacher_id, pdf_path, target_level) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, practicalWork.getCourseId());
+                stmt.setString(2, practicalWork.getTitle());
+                stmt.setString(3, practicalWork.getDescription());
+                stmt.setString(4, practicalWork.getComment());
+                stmt.setDate(5, practicalWork.getDeadline());
+                stmt.setInt(6, practicalWork.getTeacherId());
+                stmt.setString(7, practicalWork.getPdfPath());
+                stmt.setString(8, practicalWork.getTargetLevel());
+
+                int rowsInserted = stmt.executeUpdate();
+                if (rowsInserted > 0) {
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            practicalWork.setId(keys.getInt(1));
+                        }
+                    }
+                    LevelAvailabilityIndex.put(ContentType.PRACTICAL_WORK, practicalWork.getId(), practicalWork.getTeacherId(), practicalWork.getCourseId(), practicalWork.getTargetLevel());
+                }
+                return rowsInserted > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in PracticalWorkService.addPracticalWork", e);
+                return false;
+            }
+        });
     }
 
     // Update an existing practical work
     public static boolean updatePracticalWork(PracticalWork practicalWork) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "UPDATE PracticalWork SET title = ?, description = ?, comment = ?, course_id = ?, deadline = ?, pdf_path = ?, target_level = ? WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, practicalWork.getTitle());
-            stmt.setString(2, practicalWork.getDescription());
-            stmt.setString(3, practicalWork.getComment());
-            stmt.setInt(4, practicalWork.getCourseId());
-            stmt.setDate(5, practicalWork.getDeadline());
-            stmt.setString(6, practicalWork.getPdfPath());
-            stmt.setString(7, practicalWork.getTargetLevel());
-            stmt.setInt(8, practicalWork.getId());
-
-            int rowsUpdated = stmt.executeUpdate();
-            return rowsUpdated > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.updatePracticalWork", () -> {
+            String sql = "UPDATE PracticalWork SET title = ?, description = ?, comment = ?, course_id = ?, deadline = ?, pdf_path = ?, target_level = ? WHERE id = ?";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, practicalWork.getTitle());
+                stmt.setString(2, practicalWork.getDescription());
+                stmt.setString(3, practicalWork.getComment());
+                stmt.setInt(4, practicalWork.getCourseId());
+                stmt.setDate(5, practicalWork.getDeadline());
+                stmt.setString(6, practicalWork.getPdfPath());
+                stmt.setString(7, practicalWork.getTargetLevel());
+                stmt.setInt(8, practicalWork.getId());
+
+                int rowsUpdated = stmt.executeUpdate();
+                if (rowsUpdated > 0) {
+                    LevelAvailabilityIndex.put(ContentType.PRACTICAL_WORK, practicalWork.getId(), practicalWork.getTeacherId(), practicalWork.getCourseId(), practicalWork.getTargetLevel());
+                }
+                return rowsUpdated > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in PracticalWorkService.updatePracticalWork", e);
+                return false;
+            }
+        });
     }
 
     // Delete a practical work
     public static boolean deletePracticalWork(int practicalWorkId) {
-        Connection conn = DataBaseConnection.getConnection();
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.deletePracticalWork", () -> {
+            String sql = "DELETE FROM PracticalWork WHERE id = ?";
 
-        String sql = "DELETE FROM PracticalWork WHERE id = ?";
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, practicalWorkId);
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, practicalWorkId);
+                int rowsDeleted = stmt.executeUpdate();
+                LevelAvailabilityIndex.remove(ContentType.PRACTICAL_WORK, practicalWorkId);
+                return rowsDeleted > 0;
 
-            int rowsDeleted = stmt.executeUpdate();
-            return rowsDeleted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in PracticalWorkService.deletePracticalWork", e);
+                return false;
+            }
+        });
     }
 
     // Get all practical works for a course
     public static List<PracticalWork> getPracticalWorksByCourseId(int courseId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<PracticalWork> works = new ArrayList<>();
-
-        String sql = "SELECT * FROM PracticalWork WHERE course_id = ? ORDER BY created_at DESC";
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getPracticalWorksByCourseId", () -> {
+            String sql = "SELECT * FROM PracticalWork WHERE course_id = ? ORDER BY created_at DESC";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, courseId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                PracticalWork work = new PracticalWork(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getDate("deadline"),
-                    rs.getTimestamp("created_at"),
-                    rs.getInt("teacher_id"),
-                    rs.getString("pdf_path"),
-                    rs.getString("target_level")
-                );
-                works.add(work);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return works;
+            return QueryExecutor.queryList(sql, RowMappers.PRACTICAL_WORK, courseId);
+        });
     }
 
     // Get all practical works for a teacher
     public static List<PracticalWork> getPracticalWorksByTeacherId(int teacherId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<PracticalWork> works = new ArrayList<>();
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getPracticalWorksByTeacherId", () -> {
+            String sql = "SELECT * FROM PracticalWork WHERE teacher_id = ? ORDER BY created_at DESC";
 
-        String sql = "SELECT * FROM PracticalWork WHERE teacher_id = ? ORDER BY created_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            ResultSet rs = stmt.executeQuery();
+            return QueryExecutor.queryList(sql, RowMappers.PRACTICAL_WORK, teacherId);
+        });
+    }
 
-            while (rs.next()) {
-                PracticalWork work = new PracticalWork(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getDate("deadline"),
-                    rs.getTimestamp("created_at"),
-                    rs.getInt("teacher_id"),
-                    rs.getString("pdf_path"),
-                    rs.getString("target_level")
-                );
-                works.add(work);
-            }
+    /**
+     * Gets one page of the teacher's practical work cards, newest first.
+     * Pass the last card of a page to get the next one.
+     *
+     * @param teacherId The ID of the teacher
+     * @param search Only keep practical works whose title or description contains this text, or null
+     * @param after The last card of the previous page, or null for the first page
+     * @param limit The maximum number of cards, 0 or less for no limit
+     * @return The cards of the page
+     */
+    /**
+     * Gets one page of the practical work cards of every teacher, newest first.
+     * Pass the last card of a page to get the next one.
+     *
+     * @param search Only keep practical works whose title or description contains this text, or null
+     * @param after The last card of the previous page, or null for the first page
+     * @param limit The maximum number of cards, 0 or less for no limit
+     * @return The cards of the page
+     */
+    public static List<ContentCard> getPracticalWorkCards(String search, ContentCard after, int limit) {
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getPracticalWorkCards", () -> {
+            return ContentCards.page(CARD_SELECT, null, List.of(), search, after, limit);
+        });
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    public static List<ContentCard> getPracticalWorkCardsByTeacherId(int teacherId, String search, ContentCard after, int limit) {
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getPracticalWorkCardsByTeacherId", () -> {
+            return ContentCards.page(CARD_SELECT, "teacher_id = ?", List.of(teacherId), search, after, limit);
+        });
+    }
 
-        return works;
+    /**
+     * Gets one page of the teacher's practical work cards for a student level, newest first
+     *
+     * @param teacherId The ID of the teacher
+     * @param level The enrollment level of the student
+     * @param search Only keep practical works whose title or description contains this text, or null
+     * @param after The last card of the previous page, or null for the first page
+     * @param limit The maximum number of cards, 0 or less for no limit
+     * @return The cards of the page
+     */
+    public static List<ContentCard> getPracticalWorkCardsByTeacherAndLevel(int teacherId, String level, String search,
+                                                                          ContentCard after, int limit) {
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getPracticalWorkCardsByTeacherAndLevel", () -> {
+            return ContentCards.page(CARD_SELECT, "teacher_id = ? AND target_level = ?",
+                List.of(teacherId, level), search, after, limit);
+        });
     }
 
     // Get a single practical work by ID
     public static PracticalWork getPracticalWorkById(int practicalWorkId) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "SELECT * FROM PracticalWork WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, practicalWorkId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return new PracticalWork(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getDate("deadline"),
-                    rs.getTimestamp("created_at"),
-                    rs.getInt("teacher_id"),
-                    rs.getString("pdf_path"),
-                    rs.getString("target_level")
-                );
-            }
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getPracticalWorkById", () -> {
+            String sql = "SELECT * FROM PracticalWork WHERE id = ?";
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return null;
+            return QueryExecutor.queryOne(sql, RowMappers.PRACTICAL_WORK, practicalWorkId);
+        });
     }
 
     // Get count of practical works by teacher ID
     public static int getPracticalWorkCountByTeacher(int teacherId) {
-        Connection conn = DataBaseConnection.getConnection();
-        int count = 0;
-
-        String sql = "SELECT COUNT(*) FROM PracticalWork WHERE teacher_id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getPracticalWorkCountByTeacher", () -> {
+            String sql = "SELECT COUNT(*) FROM PracticalWork WHERE teacher_id = ?";
 
-        return count;
+            return QueryExecutor.queryInt(sql, teacherId);
+        });
     }
 
     /**
@@ -206,23 +192,11 @@ public class PracticalWorkService {
      * @return Number of practical works
      */
     public static int getPracticalWorkCountByLevel(String level) {
-        Connection conn = DataBaseConnection.getConnection();
-        int count = 0;
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getPracticalWorkCountByLevel", () -> {
+            String sql = "SELECT COUNT(*) FROM PracticalWork WHERE target_level = ? OR target_level IS NULL";
 
-        String sql = "SELECT COUNT(*) FROM PracticalWork WHERE target_level = ? OR target_level IS NULL";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, level);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return count;
+            return QueryExecutor.queryInt(sql, level);
+        });
     }
     
     /**
@@ -232,43 +206,12 @@ public class PracticalWorkService {
      * @return List of teachers with practical works matching the level
      */
     public static List<User> getTeachersWithPracticalWorksByLevel(String studentLevel) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<User> teachers = new ArrayList<>();
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getTeachersWithPracticalWorksByLevel", () -> {
+            List<User> teachers = LevelAvailabilityIndex.getTeachers(ContentType.PRACTICAL_WORK, studentLevel);
+            Log.debug(() -> "Found " + teachers.size() + " teachers with practical works for level " + studentLevel);
 
-        String sql = "SELECT DISTINCT u.* FROM User u " +
-                    "JOIN PracticalWork pw ON pw.teacher_id = u.id " +
-                    "WHERE u.role = 'teacher' " +
-                    "AND pw.target_level = ? " +
-                    "ORDER BY u.name";
-
-        System.out.println("Executing SQL to find teachers with practical works for level: " + studentLevel);
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, studentLevel);
-            ResultSet rs = stmt.executeQuery();
-
-            int count = 0;
-            while (rs.next()) {
-                count++;
-                User teacher = new User(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("password"),
-                    rs.getString("matricule"),
-                    rs.getString("role"),
-                    rs.getTimestamp("created_at"),
-                    rs.getString("enrollment_level"),
-                    rs.getString("university_name")
-                );
-                teachers.add(teacher);
-                System.out.println("Found teacher with practical works: " + teacher.getName() + " (ID: " + teacher.getId() + ")");
-            }
-            System.out.println("Found " + count + " teachers with practical works for level " + studentLevel);
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return teachers;
+            return teachers;
+        });
     }
     
     /**
@@ -279,45 +222,23 @@ public class PracticalWorkService {
      * @return List of matching practical works
      */
     public static List<PracticalWork> getPracticalWorksByTeacherAndLevel(int teacherId, String level) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<PracticalWork> works = new ArrayList<>();
-
-        // SQL to get practical works for specific teacher that match the level
-        String sql = "SELECT * FROM PracticalWork " +
-                    "WHERE teacher_id = ? " +
-                    "AND target_level = ? " +
-                    "ORDER BY created_at DESC";
-
-        System.out.println("Executing SQL to find practical works for teacher ID: " + teacherId + " and level: " + level);
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            stmt.setString(2, level);
-            ResultSet rs = stmt.executeQuery();
-
-            int count = 0;
-            while (rs.next()) {
-                count++;
-                PracticalWork work = new PracticalWork(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getDate("deadline"),
-                    rs.getTimestamp("created_at"),
-                    rs.getInt("teacher_id"),
-                    rs.getString("pdf_path"),
-                    rs.getString("target_level")
-                );
-                works.add(work);
-                System.out.println("Found practical work: '" + work.getTitle() + "' with level: " + work.getTargetLevel());
+        return Timings.SERVICE_CALLS.time("PracticalWorkService.getPracticalWorksByTeacherAndLevel", () -> {
+            // SQL to get practical works for specific teacher that match the level
+            String sql = "SELECT * FROM PracticalWork " +
+                        "WHERE teacher_id = ? " +
+                        "AND target_level = ? " +
+                        "ORDER BY created_at DESC";
+
+            Log.debug(() -> "Executing SQL to find practical works for teacher ID: " + teacherId + " and level: " + level);
+            List<PracticalWork> works = QueryExecutor.queryList(sql, RowMappers.PRACTICAL_WORK, teacherId, level);
+            if (Log.isDebugEnabled()) {
+                for (PracticalWork work : works) {
+                    Log.debug("Found practical work: '" + work.getTitle() + "' with level: " + work.getTargetLevel());
+                }
             }
-            System.out.println("Found " + count + " practical works for teacher ID: " + teacherId + " and level: " + level);
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            Log.debug(() -> "Found " + works.size() + " practical works for teacher ID: " + teacherId + " and level: " + level);
 
-        return works;
+            return works;
+        });
     }
 }
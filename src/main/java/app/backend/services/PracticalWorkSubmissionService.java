@@ -1,7 +1,13 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
+import app.backend.database.TransactionManager;
 import app.backend.models.PracticalWorkSubmission;
+import app.backend.models.RosterEntry;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,80 +16,99 @@ public class PracticalWorkSubmissionService {
 
     // Submit a practical work
     public static boolean submitPracticalWork(PracticalWorkSubmission submission) {
-        Connection conn = DataBaseConnection.getConnection();
+        return Timings.SERVICE_CALLS.time("PracticalWorkSubmissionService.submitPracticalWork", () -> {
+            String sql = "INSERT INTO PracticalWorkSubmission (practical_work_id, student_id, file_path) VALUES (?, ?, ?)";
 
-        String sql = "INSERT INTO PracticalWorkSubmission (practical_work_id, student_id, file_path) VALUES (?, ?, ?)";
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, submission.getPracticalWorkId());
+                stmt.setInt(2, submission.getStudentId());
+                stmt.setString(3, submission.getFilePath());
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, submission.getPracticalWorkId());
-            stmt.setInt(2, submission.getStudentId());
-            stmt.setString(3, submission.getFilePath());
+                int rowsInserted = stmt.executeUpdate();
+                return rowsInserted > 0;
 
-            int rowsInserted = stmt.executeUpdate();
-            return rowsInserted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in PracticalWorkSubmissionService.submitPracticalWork", e);
+                return false;
+            }
+        });
     }
 
     // Get all submissions for a practical work
     public static List<PracticalWorkSubmission> getSubmissionsByPracticalWorkId(int practicalWorkId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<PracticalWorkSubmission> submissions = new ArrayList<>();
-
-        String sql = "SELECT * FROM PracticalWorkSubmission WHERE practical_work_id = ? ORDER BY submitted_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, practicalWorkId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                PracticalWorkSubmission submission = new PracticalWorkSubmission(
-                    rs.getInt("id"),
-                    rs.getInt("practical_work_id"),
-                    rs.getInt("student_id"),
-                    rs.getString("file_path"),
-                    rs.getTimestamp("submitted_at")
-                );
-                submissions.add(submission);
+        return Timings.SERVICE_CALLS.time("PracticalWorkSubmissionService.getSubmissionsByPracticalWorkId", () -> {
+            String sql = "SELECT * FROM PracticalWorkSubmission WHERE practical_work_id = ? ORDER BY submitted_at DESC";
+
+            return QueryExecutor.queryList(sql, RowMappers.PRACTICAL_WORK_SUBMISSION, practicalWorkId);
+        });
+    }
+
+    // Get every submission of a practical work with its student's name and matricule, newest first
+    public static List<RosterEntry<PracticalWorkSubmission>> getSubmissionRoster(int practicalWorkId) {
+        return Timings.SERVICE_CALLS.time("PracticalWorkSubmissionService.getSubmissionRoster", () -> {
+            return getSubmissionRoster(practicalWorkId, null, null, 0);
+        });
+    }
+
+    /**
+     * Gets one page of a practical work's submissions joined with the name and matricule
+     * of each student, newest first. Pass the last entry of a page to get the next one.
+     *
+     * @param practicalWorkId The ID of the practical work
+     * @param namePrefix Only keep students whose name starts with this text (case-insensitive), or null
+     * @param after The last entry of the previous page, or null for the first page
+     * @param limit The maximum number of entries, 0 or less for no limit
+     * @return The entries of the page
+     */
+    public static List<RosterEntry<PracticalWorkSubmission>> getSubmissionRoster(int practicalWorkId, String namePrefix,
+                                                                                 RosterEntry<PracticalWorkSubmission> after,
+                                                                                 int limit) {
+        return Timings.SERVICE_CALLS.time("PracticalWorkSubmissionService.getSubmissionRoster", () -> {
+            StringBuilder sql = new StringBuilder(
+                "SELECT s.*, u.name AS student_name, u.matricule AS student_matricule " +
+                "FROM PracticalWorkSubmission s INNER JOIN User u ON s.student_id = u.id " +
+                "WHERE s.practical_work_id = ?");
+            List<Object> params = new ArrayList<>();
+            params.add(practicalWorkId);
+
+            if (namePrefix != null && !namePrefix.isEmpty()) {
+                sql.append(" AND u.name LIKE ?");
+                params.add(QueryExecutor.likePrefix(namePrefix));
             }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            if (after != null) {
+                PracticalWorkSubmission last = after.getItem();
+                sql.append(" AND (s.submitted_at < ? OR (s.submitted_at = ? AND s.id < ?))");
+                params.add(last.getSubmittedAt());
+                params.add(last.getSubmittedAt());
+                params.add(last.getId());
+            }
+
+            sql.append(" ORDER BY s.submitted_at DESC, s.id DESC");
+            if (limit > 0) {
+                sql.append(" LIMIT ?");
+                params.add(limit);
+            }
 
-        return submissions;
+            // Reporting read, fine to serve from the read replica
+            try {
+                return TransactionManager.inTransaction(TransactionManager.Mode.READ_ONLY_REPLICA,
+                    conn -> QueryExecutor.queryList(conn, sql.toString(), RowMappers.PRACTICAL_WORK_SUBMISSION_ROSTER, params.toArray()));
+            } catch (SQLException e) {
+                Log.error("❌ Database error in PracticalWorkSubmissionService.getSubmissionRoster", e);
+                return new ArrayList<>();
+            }
+        });
     }
 
     // Get all submissions made by a student
     public static List<PracticalWorkSubmission> getSubmissionsByStudentId(int studentId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<PracticalWorkSubmission> submissions = new ArrayList<>();
-
-        String sql = "SELECT * FROM PracticalWorkSubmission WHERE student_id = ? ORDER BY submitted_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                PracticalWorkSubmission submission = new PracticalWorkSubmission(
-                    rs.getInt("id"),
-                    rs.getInt("practical_work_id"),
-                    rs.getInt("student_id"),
-                    rs.getString("file_path"),
-                    rs.getTimestamp("submitted_at")
-                );
-                submissions.add(submission);
-            }
+        return Timings.SERVICE_CALLS.time("PracticalWorkSubmissionService.getSubmissionsByStudentId", () -> {
+            String sql = "SELECT * FROM PracticalWorkSubmission WHERE student_id = ? ORDER BY submitted_at DESC";
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return submissions;
+            return QueryExecutor.queryList(sql, RowMappers.PRACTICAL_WORK_SUBMISSION, studentId);
+        });
     }
     
     /**
@@ -93,23 +118,10 @@ public class PracticalWorkSubmissionService {
      * @return true if the student has already submitted this practical work, false otherwise
      */
     public static boolean hasStudentSubmitted(int practicalWorkId, int studentId) {
-        Connection conn = DataBaseConnection.getConnection();
-        
-        String sql = "SELECT COUNT(*) FROM PracticalWorkSubmission WHERE practical_work_id = ? AND student_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, practicalWorkId);
-            stmt.setInt(2, studentId);
-            
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                int count = rs.getInt(1);
-                return count > 0;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("PracticalWorkSubmissionService.hasStudentSubmitted", () -> {
+            String sql = "SELECT COUNT(*) FROM PracticalWorkSubmission WHERE practical_work_id = ? AND student_id = ?";
         
-        return false;
+            return QueryExecutor.queryInt(sql, practicalWorkId, studentId) > 0;
+        });
     }
 }
@@ -1,129 +1,105 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
 import app.backend.models.Question;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class QuestionService {
 
     // Add a new question and return the generated ID
     public static int addQuestion(Question question) {
-        Connection conn = DataBaseConnection.getConnection();
-        int generatedId = -1;
+        return Timings.SERVICE_CALLS.time("QuestionService.addQuestion", () -> {
+            int generatedId = -1;
 
-        String sql = "INSERT INTO Question (quiz_id, question_text) VALUES (?, ?)";
+            String sql = "INSERT INTO Question (quiz_id, question_text) VALUES (?, ?)";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, question.getQuizId());
-            stmt.setString(2, question.getQuestionText());
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, question.getQuizId());
+                stmt.setString(2, question.getQuestionText());
 
-            int rowsInserted = stmt.executeUpdate();
+                int rowsInserted = stmt.executeUpdate();
+                QuizService.invalidateQuizAggregate(question.getQuizId());
             
-            if (rowsInserted > 0) {
-                // Get the generated question ID
-                ResultSet rs = stmt.getGeneratedKeys();
-                if (rs.next()) {
-                    generatedId = rs.getInt(1);
+                if (rowsInserted > 0) {
+                    // Get the generated question ID
+                    ResultSet rs = stmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        generatedId = rs.getInt(1);
+                    }
+                    rs.close();
                 }
-                rs.close();
-            }
             
-            return generatedId;
+                return generatedId;
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return -1;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuestionService.addQuestion", e);
+                return -1;
+            }
+        });
     }
 
     // Update an existing question
     public static boolean updateQuestion(Question question) {
-        Connection conn = DataBaseConnection.getConnection();
+        return Timings.SERVICE_CALLS.time("QuestionService.updateQuestion", () -> {
+            String sql = "UPDATE Question SET question_text = ? WHERE id = ?";
 
-        String sql = "UPDATE Question SET question_text = ? WHERE id = ?";
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, question.getQuestionText());
+                stmt.setInt(2, question.getId());
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, question.getQuestionText());
-            stmt.setInt(2, question.getId());
+                int rowsUpdated = stmt.executeUpdate();
+                QuizService.invalidateAllQuizAggregates();
+                return rowsUpdated > 0;
 
-            int rowsUpdated = stmt.executeUpdate();
-            return rowsUpdated > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuestionService.updateQuestion", e);
+                return false;
+            }
+        });
     }
 
     // Delete a question
     public static boolean deleteQuestion(int questionId) {
-        Connection conn = DataBaseConnection.getConnection();
+        return Timings.SERVICE_CALLS.time("QuestionService.deleteQuestion", () -> {
+            String sql = "DELETE FROM Question WHERE id = ?";
 
-        String sql = "DELETE FROM Question WHERE id = ?";
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, questionId);
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, questionId);
+                int rowsDeleted = stmt.executeUpdate();
+                QuizService.invalidateAllQuizAggregates();
+                return rowsDeleted > 0;
 
-            int rowsDeleted = stmt.executeUpdate();
-            return rowsDeleted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuestionService.deleteQuestion", e);
+                return false;
+            }
+        });
     }
 
     // Get all questions for a quiz
     public static List<Question> getQuestionsByQuizId(int quizId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Question> questions = new ArrayList<>();
-
-        String sql = "SELECT * FROM Question WHERE quiz_id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, quizId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Question question = new Question(
-                    rs.getInt("id"),
-                    rs.getInt("quiz_id"),
-                    rs.getString("question_text")
-                );
-                questions.add(question);
-            }
+        return Timings.SERVICE_CALLS.time("QuestionService.getQuestionsByQuizId", () -> {
+            String sql = "SELECT * FROM Question WHERE quiz_id = ?";
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return questions;
+            return QueryExecutor.queryList(sql, RowMappers.QUESTION, quizId);
+        });
     }
 
     // Get a question by ID
     public static Question getQuestionById(int questionId) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "SELECT * FROM Question WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, questionId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return new Question(
-                    rs.getInt("id"),
-                    rs.getInt("quiz_id"),
-                    rs.getString("question_text")
-                );
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("QuestionService.getQuestionById", () -> {
+            String sql = "SELECT * FROM Question WHERE id = ?";
 
-        return null;
+            return QueryExecutor.queryOne(sql, RowMappers.QUESTION, questionId);
+        });
     }
 }
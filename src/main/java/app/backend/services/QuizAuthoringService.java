@@ -0,0 +1,271 @@
+package app.backend.services;
+
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
+import app.backend.database.TransactionManager;
+import app.backend.models.Answer;
+import app.backend.models.Question;
+import app.backend.models.Quiz;
+import app.backend.models.QuizDraft;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Saves a whole quiz, its questions and their answers in one transaction.
+ *
+ * The draft is compared with the stored quiz and only the differences are written,
+ * each kind of change as one JDBC batch: deleted questions and answers, changed
+ * ones, then new ones with their generated keys. A failure rolls everything back,
+ * so a quiz is never left half written.
+ */
+public class QuizAuthoringService {
+
+    /**
+     * Creates or updates a quiz from a draft.
+     * On success the draft's quiz, questions and answers carry their database IDs.
+     *
+     * @param draft The complete state of the quiz
+     * @return The ID of the saved quiz, or -1 if nothing was saved
+     */
+    public static int saveQuiz(QuizDraft draft) {
+        return Timings.SERVICE_CALLS.time("QuizAuthoringService.saveQuiz", () -> {
+            Quiz quiz = draft.getQuiz();
+
+            try {
+                int quizId = TransactionManager.inTransaction(conn -> {
+                    int id;
+                    if (draft.isNewQuiz()) {
+                        id = insertQuiz(conn, quiz);
+                    } else {
+                        id = quiz.getId();
+                        updateQuiz(conn, quiz);
+                    }
+
+                    saveQuestions(conn, id, draft.getQuestions());
+                    return id;
+                });
+
+                quiz.setId(quizId);
+                LevelAvailabilityIndex.putQuiz(quizId, quiz.getCourseId());
+                return quizId;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuizAuthoringService.saveQuiz", e);
+                return -1;
+            } finally {
+                // Stored state changed, or a rollback may have left the draft with IDs that do not exist
+                QuizService.invalidateQuiz(quiz.getId());
+                QuizService.invalidateQuizAggregate(quiz.getId());
+            }
+        });
+    }
+
+    private static int insertQuiz(Connection conn, Quiz quiz) throws SQLException {
+        String sql = "INSERT INTO Quiz (course_id, title, description, comment) VALUES (?, ?, ?, ?)";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setInt(1, quiz.getCourseId());
+            stmt.setString(2, quiz.getTitle());
+            stmt.setString(3, quiz.getDescription());
+            stmt.setString(4, quiz.getComment());
+            stmt.executeUpdate();
+
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("No ID generated for quiz " + quiz.getTitle());
+                }
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    private static void updateQuiz(Connection conn, Quiz quiz) throws SQLException {
+        String sql = "UPDATE Quiz SET course_id = ?, title = ?, description = ?, comment = ? WHERE id = ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, quiz.getCourseId());
+            stmt.setString(2, quiz.getTitle());
+            stmt.setString(3, quiz.getDescription());
+            stmt.setString(4, quiz.getComment());
+            stmt.setInt(5, quiz.getId());
+
+            if (stmt.executeUpdate() == 0) {
+                throw new SQLException("Quiz " + quiz.getId() + " does not exist");
+            }
+        }
+    }
+
+    /**
+     * Writes the difference between the draft questions and the stored ones
+     */
+    private static void saveQuestions(Connection conn, int quizId, List<Question> draftQuestions) throws SQLException {
+        Map<Integer, Question> storedQuestions = new HashMap<>();
+        for (Question question : QueryExecutor.queryList(conn,
+                "SELECT * FROM Question WHERE quiz_id = ?", RowMappers.QUESTION, quizId)) {
+            storedQuestions.put(question.getId(), question);
+        }
+
+        Map<Integer, Answer> storedAnswers = new HashMap<>();
+        for (Answer answer : QueryExecutor.queryList(conn,
+                "SELECT a.* FROM Answer a INNER JOIN Question q ON a.question_id = q.id WHERE q.quiz_id = ?",
+                RowMappers.ANSWER, quizId)) {
+            storedAnswers.put(answer.getId(), answer);
+        }
+
+        List<Question> changedQuestions = new ArrayList<>();
+        List<Question> newQuestions = new ArrayList<>();
+        Map<Integer, Question> keptQuestions = new HashMap<>();
+
+        for (Question question : draftQuestions) {
+            question.setQuizId(quizId);
+            Question stored = question.getId() > 0 ? storedQuestions.get(question.getId()) : null;
+            if (stored == null) {
+                newQuestions.add(question);
+            } else {
+                keptQuestions.put(question.getId(), question);
+                if (!Objects.equals(stored.getQuestionText(), question.getQuestionText())) {
+                    changedQuestions.add(question);
+                }
+            }
+        }
+
+        List<Integer> deletedQuestionIds = new ArrayList<>();
+        for (Integer questionId : storedQuestions.keySet()) {
+            if (!keptQuestions.containsKey(questionId)) {
+                deletedQuestionIds.add(questionId);
+            }
+        }
+
+        // Answers of deleted questions go with them through ON DELETE CASCADE
+        executeDeletes(conn, "DELETE FROM Question WHERE id = ?", deletedQuestionIds);
+
+        try (PreparedStatement stmt = conn.prepareStatement("UPDATE Question SET question_text = ? WHERE id = ?")) {
+            for (Question question : changedQuestions) {
+                stmt.setString(1, question.getQuestionText());
+                stmt.setInt(2, question.getId());
+                stmt.addBatch();
+            }
+            executeBatch(stmt, changedQuestions.size());
+        }
+
+        if (!newQuestions.isEmpty()) {
+            String sql = "INSERT INTO Question (quiz_id, question_text) VALUES (?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Question question : newQuestions) {
+                    stmt.setInt(1, quizId);
+                    stmt.setString(2, question.getQuestionText());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                assignGeneratedKeys(stmt, newQuestions.size(), (i, id) -> newQuestions.get(i).setId(id));
+            }
+        }
+
+        saveAnswers(conn, draftQuestions, storedAnswers);
+    }
+
+    /**
+     * Writes the difference between the draft answers and the stored ones, questions must already have their IDs
+     */
+    private static void saveAnswers(Connection conn, List<Question> draftQuestions, Map<Integer, Answer> storedAnswers) throws SQLException {
+        List<Answer> changedAnswers = new ArrayList<>();
+        List<Answer> newAnswers = new ArrayList<>();
+        Map<Integer, Answer> keptAnswers = new HashMap<>();
+
+        for (Question question : draftQuestions) {
+            if (question.getAnswers() == null) {
+                continue;
+            }
+            for (Answer answer : question.getAnswers()) {
+                answer.setQuestionId(question.getId());
+                Answer stored = answer.getId() > 0 ? storedAnswers.get(answer.getId()) : null;
+                if (stored == null || stored.getQuestionId() != question.getId()) {
+                    newAnswers.add(answer);
+                } else {
+                    keptAnswers.put(answer.getId(), answer);
+                    if (!Objects.equals(stored.getAnswerText(), answer.getAnswerText())
+                            || stored.isCorrect() != answer.isCorrect()) {
+                        changedAnswers.add(answer);
+                    }
+                }
+            }
+        }
+
+        List<Integer> deletedAnswerIds = new ArrayList<>();
+        for (Answer stored : storedAnswers.values()) {
+            if (!keptAnswers.containsKey(stored.getId())) {
+                deletedAnswerIds.add(stored.getId());
+            }
+        }
+
+        executeDeletes(conn, "DELETE FROM Answer WHERE id = ?", deletedAnswerIds);
+
+        try (PreparedStatement stmt = conn.prepareStatement("UPDATE Answer SET answer_text = ?, is_correct = ? WHERE id = ?")) {
+            for (Answer answer : changedAnswers) {
+                stmt.setString(1, answer.getAnswerText());
+                stmt.setBoolean(2, answer.isCorrect());
+                stmt.setInt(3, answer.getId());
+                stmt.addBatch();
+            }
+            executeBatch(stmt, changedAnswers.size());
+        }
+
+        if (!newAnswers.isEmpty()) {
+            String sql = "INSERT INTO Answer (question_id, answer_text, is_correct) VALUES (?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Answer answer : newAnswers) {
+                    stmt.setInt(1, answer.getQuestionId());
+                    stmt.setString(2, answer.getAnswerText());
+                    stmt.setBoolean(3, answer.isCorrect());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                assignGeneratedKeys(stmt, newAnswers.size(), (i, id) -> newAnswers.get(i).setId(id));
+            }
+        }
+    }
+
+    private static void executeDeletes(Connection conn, String sql, List<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int id : ids) {
+                stmt.setInt(1, id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void executeBatch(PreparedStatement stmt, int size) throws SQLException {
+        if (size > 0) {
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Hands the keys generated by a batched INSERT to the inserted rows, in batch order
+     */
+    private static void assignGeneratedKeys(PreparedStatement stmt, int expected, KeyConsumer consumer) throws SQLException {
+        int index = 0;
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            while (keys.next() && index < expected) {
+                consumer.accept(index++, keys.getInt(1));
+            }
+        }
+        if (index != expected) {
+            throw new SQLException("Expected " + expected + " generated keys but got " + index);
+        }
+    }
+
+    private interface KeyConsumer {
+        void accept(int index, int id);
+    }
+}
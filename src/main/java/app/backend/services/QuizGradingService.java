@@ -0,0 +1,169 @@
+package app.backend.services;
+
+import app.backend.database.TransactionManager;
+import app.backend.models.Answer;
+import app.backend.models.Question;
+import app.backend.models.QuizAggregate;
+import app.backend.models.QuizGrade;
+import app.backend.models.StudentAnswer;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grades quiz submissions in memory and stores them in a single transaction.
+ *
+ * Each quiz gets a compact answer key (question IDs and correct answer IDs in
+ * parallel int arrays) built from its cached QuizAggregate, so grading a
+ * submission does not run any query. Storing it costs one INSERT for the
+ * QuizResult and one batched INSERT for the student answers.
+ */
+public class QuizGradingService {
+
+    private static final Map<Integer, AnswerKey> answerKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Grades a submission without saving it
+     *
+     * @param quizId The ID of the quiz
+     * @param selectedAnswers Selected answer ID by question ID, unanswered questions are absent
+     * @return The grade, or null if the quiz could not be loaded
+     */
+    public static QuizGrade grade(int quizId, Map<Integer, Integer> selectedAnswers) {
+        return Timings.SERVICE_CALLS.time("QuizGradingService.grade", () -> {
+            AnswerKey key = getAnswerKey(quizId);
+            if (key == null) {
+                return null;
+            }
+
+            List<StudentAnswer> studentAnswers = new ArrayList<>(key.questionIds.length);
+            int correctCount = 0;
+
+            for (int i = 0; i < key.questionIds.length; i++) {
+                Integer selectedAnswerId = selectedAnswers.get(key.questionIds[i]);
+                boolean isCorrect = selectedAnswerId != null
+                        && key.correctAnswerIds[i] != AnswerKey.NO_CORRECT_ANSWER
+                        && selectedAnswerId == key.correctAnswerIds[i];
+                if (isCorrect) {
+                    correctCount++;
+                }
+                studentAnswers.add(new StudentAnswer(-1, key.questionIds[i], selectedAnswerId, isCorrect));
+            }
+
+            return new QuizGrade(quizId, correctCount, studentAnswers);
+        });
+    }
+
+    /**
+     * Grades a submission and stores the QuizResult with all of its student answers.
+     * Either everything is stored or nothing is, e.g. when the student already
+     * submitted this quiz.
+     *
+     * @param quizId The ID of the quiz
+     * @param studentId The ID of the student
+     * @param selectedAnswers Selected answer ID by question ID, unanswered questions are absent
+     * @return The grade, check {@link QuizGrade#isSaved()} to know if it was stored; null if the quiz could not be loaded
+     */
+    public static QuizGrade submit(int quizId, int studentId, Map<Integer, Integer> selectedAnswers) {
+        return Timings.SERVICE_CALLS.time("QuizGradingService.submit", () -> {
+            QuizGrade grade = grade(quizId, selectedAnswers);
+            if (grade == null) {
+                return null;
+            }
+
+            String resultSql = "INSERT INTO QuizResult (quiz_id, student_id, score, is_completed) VALUES (?, ?, ?, ?)";
+            String answerSql = "INSERT INTO studentanswer (quiz_result_id, question_id, selected_answer_id, is_correct) VALUES (?, ?, ?, ?)";
+
+            try {
+                int quizResultId = TransactionManager.inTransaction(conn -> {
+                    int resultId;
+                    try (PreparedStatement stmt = conn.prepareStatement(resultSql, Statement.RETURN_GENERATED_KEYS)) {
+                        stmt.setInt(1, quizId);
+                        stmt.setInt(2, studentId);
+                        stmt.setInt(3, grade.getScorePercentage());
+                        stmt.setBoolean(4, true);
+                        stmt.executeUpdate();
+
+                        try (ResultSet keys = stmt.getGeneratedKeys()) {
+                            if (!keys.next()) {
+                                throw new SQLException("No ID generated for the result of quiz " + quizId);
+                            }
+                            resultId = keys.getInt(1);
+                        }
+                    }
+
+                    if (!grade.getStudentAnswers().isEmpty()) {
+                        try (PreparedStatement stmt = conn.prepareStatement(answerSql)) {
+                            for (StudentAnswer answer : grade.getStudentAnswers()) {
+                                stmt.setInt(1, resultId);
+                                stmt.setInt(2, answer.getQuestionId());
+                                if (answer.getSelectedAnswerId() != null) {
+                                    stmt.setInt(3, answer.getSelectedAnswerId());
+                                } else {
+                                    stmt.setNull(3, Types.INTEGER);
+                                }
+                                stmt.setBoolean(4, answer.isCorrect());
+                                stmt.addBatch();
+                            }
+                            stmt.executeBatch();
+                        }
+                    }
+                    return resultId;
+                });
+                grade.setQuizResultId(quizResultId);
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuizGradingService.submit", e);
+            }
+
+            return grade;
+        });
+    }
+
+    /**
+     * Returns the answer key of a quiz, rebuilding it when the quiz snapshot changed
+     */
+    private static AnswerKey getAnswerKey(int quizId) {
+        QuizAggregate aggregate = QuizService.loadQuizAggregate(quizId);
+        if (aggregate == null) {
+            answerKeys.remove(quizId);
+            return null;
+        }
+
+        AnswerKey key = answerKeys.get(quizId);
+        if (key == null || key.source != aggregate) {
+            key = new AnswerKey(aggregate);
+            answerKeys.put(quizId, key);
+        }
+        return key;
+    }
+
+    /**
+     * Question IDs of a quiz in display order, with the correct answer ID of each question at the same index
+     */
+    private static final class AnswerKey {
+        static final int NO_CORRECT_ANSWER = -1;
+
+        final QuizAggregate source;
+        final int[] questionIds;
+        final int[] correctAnswerIds;
+
+        AnswerKey(QuizAggregate aggregate) {
+            List<Question> questions = aggregate.getQuestions();
+            this.source = aggregate;
+            this.questionIds = new int[questions.size()];
+            this.correctAnswerIds = new int[questions.size()];
+
+            for (int i = 0; i < questions.size(); i++) {
+                int questionId = questions.get(i).getId();
+                Answer correct = aggregate.getCorrectAnswer(questionId);
+                questionIds[i] = questionId;
+                correctAnswerIds[i] = correct != null ? correct.getId() : NO_CORRECT_ANSWER;
+            }
+        }
+    }
+}
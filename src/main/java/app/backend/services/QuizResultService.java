@@ -1,7 +1,14 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
+import app.backend.database.TransactionManager;
 import app.backend.models.QuizResult;
+import app.backend.models.RosterEntry;
+import app.backend.models.RosterSort;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,131 +17,120 @@ public class QuizResultService {
 
     // Submit a quiz result
     public static boolean submitQuizResult(QuizResult quizResult) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "INSERT INTO QuizResult (quiz_id, student_id, score, is_completed) VALUES (?, ?, ?, ?)";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, quizResult.getQuizId());
-            stmt.setInt(2, quizResult.getStudentId());
-            stmt.setInt(3, quizResult.getScore());
-            stmt.setBoolean(4, quizResult.isCompleted());
-
-            int rowsInserted = stmt.executeUpdate();
-            return rowsInserted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("QuizResultService.submitQuizResult", () -> {
+            String sql = "INSERT INTO QuizResult (quiz_id, student_id, score, is_completed) VALUES (?, ?, ?, ?)";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, quizResult.getQuizId());
+                stmt.setInt(2, quizResult.getStudentId());
+                stmt.setInt(3, quizResult.getScore());
+                stmt.setBoolean(4, quizResult.isCompleted());
+
+                int rowsInserted = stmt.executeUpdate();
+                return rowsInserted > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuizResultService.submitQuizResult", e);
+                return false;
+            }
+        });
     }
     
     // Check if a student has already taken a quiz
     public static boolean hasStudentTakenQuiz(int studentId, int quizId) {
-        Connection conn = DataBaseConnection.getConnection();
-        
-        String sql = "SELECT COUNT(*) FROM QuizResult WHERE student_id = ? AND quiz_id = ?";
+        return Timings.SERVICE_CALLS.time("QuizResultService.hasStudentTakenQuiz", () -> {
+            String sql = "SELECT COUNT(*) FROM QuizResult WHERE student_id = ? AND quiz_id = ?";
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentId);
-            stmt.setInt(2, quizId);
-            
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        
-        return false;
+            return QueryExecutor.queryInt(sql, studentId, quizId) > 0;
+        });
     }
     
     // Get a specific quiz result for a student
     public static QuizResult getQuizResult(int studentId, int quizId) {
-        Connection conn = DataBaseConnection.getConnection();
-        
-        String sql = "SELECT * FROM QuizResult WHERE student_id = ? AND quiz_id = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentId);
-            stmt.setInt(2, quizId);
-            
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return new QuizResult(
-                    rs.getInt("id"),
-                    rs.getInt("quiz_id"),
-                    rs.getInt("student_id"),
-                    rs.getInt("score"),
-                    rs.getTimestamp("submitted_at"),
-                    rs.getBoolean("is_completed")
-                );
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("QuizResultService.getQuizResult", () -> {
+            String sql = "SELECT * FROM QuizResult WHERE student_id = ? AND quiz_id = ?";
         
-        return null;
+            return QueryExecutor.queryOne(sql, RowMappers.QUIZ_RESULT, studentId, quizId);
+        });
     }
 
     // Get all results of a student
     public static List<QuizResult> getResultsByStudentId(int studentId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<QuizResult> results = new ArrayList<>();
-
-        String sql = "SELECT * FROM QuizResult WHERE student_id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                QuizResult result = new QuizResult(
-                    rs.getInt("id"),
-                    rs.getInt("quiz_id"),
-                    rs.getInt("student_id"),
-                    rs.getInt("score"),
-                    rs.getTimestamp("submitted_at"),
-                    rs.getBoolean("is_completed")
-                );
-                results.add(result);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("QuizResultService.getResultsByStudentId", () -> {
+            String sql = "SELECT * FROM QuizResult WHERE student_id = ?";
 
-        return results;
+            return QueryExecutor.queryList(sql, RowMappers.QUIZ_RESULT, studentId);
+        });
     }
 
     // Get all results of a quiz (for teacher to check all student scores)
     public static List<QuizResult> getResultsByQuizId(int quizId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<QuizResult> results = new ArrayList<>();
-
-        String sql = "SELECT * FROM QuizResult WHERE quiz_id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, quizId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                QuizResult result = new QuizResult(
-                    rs.getInt("id"),
-                    rs.getInt("quiz_id"),
-                    rs.getInt("student_id"),
-                    rs.getInt("score"),
-                    rs.getTimestamp("submitted_at"),
-                    rs.getBoolean("is_completed")
-                );
-                results.add(result);
+        return Timings.SERVICE_CALLS.time("QuizResultService.getResultsByQuizId", () -> {
+            String sql = "SELECT * FROM QuizResult WHERE quiz_id = ?";
+
+            return QueryExecutor.queryList(sql, RowMappers.QUIZ_RESULT, quizId);
+        });
+    }
+
+    // Get every result of a quiz with its student's name and matricule, best scores first
+    public static List<RosterEntry<QuizResult>> getResultRoster(int quizId) {
+        return Timings.SERVICE_CALLS.time("QuizResultService.getResultRoster", () -> {
+            return getResultRoster(quizId, null, RosterSort.SCORE, null, 0);
+        });
+    }
+
+    /**
+     * Gets one page of a quiz's results joined with the name and matricule of each student.
+     * Pages are read with keyset pagination: pass the last entry of a page to get the next one.
+     *
+     * @param quizId The ID of the quiz
+     * @param namePrefix Only keep students whose name starts with this text (case-insensitive), or null
+     * @param sort The order of the results; ties are broken by newest result first
+     * @param after The last entry of the previous page, or null for the first page
+     * @param limit The maximum number of entries, 0 or less for no limit
+     * @return The entries of the page
+     */
+    public static List<RosterEntry<QuizResult>> getResultRoster(int quizId, String namePrefix, RosterSort sort,
+                                                                RosterEntry<QuizResult> after, int limit) {
+        return Timings.SERVICE_CALLS.time("QuizResultService.getResultRoster", () -> {
+            StringBuilder sql = new StringBuilder(
+                "SELECT r.*, u.name AS student_name, u.matricule AS student_matricule " +
+                "FROM QuizResult r INNER JOIN User u ON r.student_id = u.id " +
+                "WHERE r.quiz_id = ?");
+            List<Object> params = new ArrayList<>();
+            params.add(quizId);
+
+            if (namePrefix != null && !namePrefix.isEmpty()) {
+                sql.append(" AND u.name LIKE ?");
+                params.add(QueryExecutor.likePrefix(namePrefix));
             }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            String sortColumn = sort == RosterSort.SUBMITTED_AT ? "r.submitted_at" : "r.score";
+            if (after != null) {
+                QuizResult last = after.getItem();
+                Object lastValue = sort == RosterSort.SUBMITTED_AT ? last.getSubmittedAt() : last.getScore();
+                sql.append(" AND (").append(sortColumn).append(" < ? OR (")
+                   .append(sortColumn).append(" = ? AND r.id < ?))");
+                params.add(lastValue);
+                params.add(lastValue);
+                params.add(last.getId());
+            }
 
-        return results;
+            sql.append(" ORDER BY ").append(sortColumn).append(" DESC, r.id DESC");
+            if (limit > 0) {
+                sql.append(" LIMIT ?");
+                params.add(limit);
+            }
+
+            // Reporting read, fine to serve from the read replica
+            try {
+                return TransactionManager.inTransaction(TransactionManager.Mode.READ_ONLY_REPLICA,
+                    conn -> QueryExecutor.queryList(conn, sql.toString(), RowMappers.QUIZ_RESULT_ROSTER, params.toArray()));
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuizResultService.getResultRoster", e);
+                return new ArrayList<>();
+            }
+        });
     }
 }
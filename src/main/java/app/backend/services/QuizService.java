@@ -1,201 +1,251 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
-import app.backend.models.Course;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
+import app.backend.database.TransactionManager;
+import app.backend.models.Answer;
+import app.backend.models.Question;
 import app.backend.models.Quiz;
+import app.backend.models.QuizAggregate;
 import app.backend.models.User;
+import app.backend.monitoring.Timings;
+import app.backend.services.LevelAvailabilityIndex.ContentType;
+import app.backend.utils.Log;
 import java.sql.*;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class QuizService {
 
+    // Recently loaded quiz snapshots, shared by every screen that displays the same quiz
+    private static final int AGGREGATE_CACHE_SIZE = 32;
+    private static final Map<Integer, QuizAggregate> aggregateCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, QuizAggregate> eldest) {
+            return size() > AGGREGATE_CACHE_SIZE;
+        }
+    };
+    // Bumped on every invalidation so a load racing with a write does not cache stale data
+    private static final AtomicLong aggregateVersion = new AtomicLong();
+    // Quizzes by ID, without their questions
+    private static final EntityCache<Quiz> quizCache = new EntityCache<>("quiz", 500, 60_000);
+
     // Add a new quiz
     public static boolean addQuiz(Quiz quiz) {
-        Connection conn = DataBaseConnection.getConnection();
+        return Timings.SERVICE_CALLS.time("QuizService.addQuiz", () -> {
+            String sql = "INSERT INTO Quiz (course_id, title, description, comment) VALUES (?, ?, ?, ?)";
 
-        String sql = "INSERT INTO Quiz (course_id, title, description, comment) VALUES (?, ?, ?, ?)";
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, quiz.getCourseId());
+                stmt.setString(2, quiz.getTitle());
+                stmt.setString(3, quiz.getDescription());
+                stmt.setString(4, quiz.getComment());
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, quiz.getCourseId());
-            stmt.setString(2, quiz.getTitle());
-            stmt.setString(3, quiz.getDescription());
-            stmt.setString(4, quiz.getComment());
-
-            int rowsInserted = stmt.executeUpdate();
+                int rowsInserted = stmt.executeUpdate();
             
-            // If quiz was added successfully, get the course and send notifications
-            if (rowsInserted > 0) {
-                // Get the course target level and teacher ID
-                Course course = CourseService.getCourseById(quiz.getCourseId());
-            }
+                // The quiz becomes available at the level of its course
+                if (rowsInserted > 0) {
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            quiz.setId(keys.getInt(1));
+                        }
+                    }
+                    LevelAvailabilityIndex.putQuiz(quiz.getId(), quiz.getCourseId());
+                }
             
-            return rowsInserted > 0;
+                return rowsInserted > 0;
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuizService.addQuiz", e);
+                return false;
+            }
+        });
     }
 
     // Update an existing quiz
     public static boolean updateQuiz(Quiz quiz) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "UPDATE Quiz SET title = ?, description = ?, comment = ? WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, quiz.getTitle());
-            stmt.setString(2, quiz.getDescription());
-            stmt.setString(3, quiz.getComment());
-            stmt.setInt(4, quiz.getId());
-
-            int rowsUpdated = stmt.executeUpdate();
-            return rowsUpdated > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("QuizService.updateQuiz", () -> {
+            String sql = "UPDATE Quiz SET title = ?, description = ?, comment = ? WHERE id = ?";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, quiz.getTitle());
+                stmt.setString(2, quiz.getDescription());
+                stmt.setString(3, quiz.getComment());
+                stmt.setInt(4, quiz.getId());
+
+                int rowsUpdated = stmt.executeUpdate();
+                invalidateQuizAggregate(quiz.getId());
+                return rowsUpdated > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuizService.updateQuiz", e);
+                return false;
+            } finally {
+                // Also on failure, the caller may have modified the cached instance
+                quizCache.invalidate(quiz.getId());
+            }
+        });
     }
 
     // Delete a quiz
     public static boolean deleteQuiz(int quizId) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "DELETE FROM Quiz WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, quizId);
-
-            int rowsDeleted = stmt.executeUpdate();
-            return rowsDeleted > 0;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return Timings.SERVICE_CALLS.time("QuizService.deleteQuiz", () -> {
+            String sql = "DELETE FROM Quiz WHERE id = ?";
+
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, quizId);
+
+                int rowsDeleted = stmt.executeUpdate();
+                quizCache.invalidate(quizId);
+                invalidateQuizAggregate(quizId);
+                LevelAvailabilityIndex.remove(ContentType.QUIZ, quizId);
+                return rowsDeleted > 0;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuizService.deleteQuiz", e);
+                return false;
+            }
+        });
     }
 
     // Get all quizzes for a course
     public static List<Quiz> getQuizzesByCourseId(int courseId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Quiz> quizzes = new ArrayList<>();
-
-        String sql = "SELECT * FROM Quiz WHERE course_id = ? ORDER BY created_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, courseId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Quiz quiz = new Quiz(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getTimestamp("created_at")
-                );
-                quizzes.add(quiz);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("QuizService.getQuizzesByCourseId", () -> {
+            String sql = "SELECT * FROM Quiz WHERE course_id = ? ORDER BY created_at DESC";
 
-        return quizzes;
+            return QueryExecutor.queryList(sql, RowMappers.QUIZ, courseId);
+        });
     }
 
     // Get a quiz by ID
     public static Quiz getQuizById(int quizId) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "SELECT * FROM Quiz WHERE id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, quizId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return new Quiz(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getTimestamp("created_at")
-                );
+        return Timings.SERVICE_CALLS.time("QuizService.getQuizById", () -> {
+            String sql = "SELECT * FROM Quiz WHERE id = ?";
+
+            return quizCache.get(quizId, id -> QueryExecutor.queryOne(sql, RowMappers.QUIZ, id));
+        });
+    }
+
+    // Drop a quiz from the cache, for writes made outside this service
+    static void invalidateQuiz(int quizId) {
+        quizCache.invalidate(quizId);
+    }
+
+    // Drop the cached quizzes of a course, removed with it by cascade
+    static void invalidateQuizzesOfCourse(int courseId) {
+        quizCache.invalidateIf(quiz -> quiz.getCourseId() == courseId);
+    }
+
+    /**
+     * Loads a quiz with all of its questions and their answers.
+     * Questions and answers are fetched with one set-based query each instead of
+     * one answer query per question. The snapshot is cached until the quiz, one of
+     * its questions or one of its answers is modified.
+     *
+     * @param quizId The ID of the quiz
+     * @return The quiz snapshot, or null if the quiz does not exist or could not be loaded
+     */
+    public static QuizAggregate loadQuizAggregate(int quizId) {
+        return Timings.SERVICE_CALLS.time("QuizService.loadQuizAggregate", () -> {
+            long version;
+            synchronized (aggregateCache) {
+                QuizAggregate cached = aggregateCache.get(quizId);
+                if (cached != null) {
+                    return cached;
+                }
+                version = aggregateVersion.get();
+            }
+
+            String quizSql = "SELECT * FROM Quiz WHERE id = ?";
+            String questionsSql = "SELECT * FROM Question WHERE quiz_id = ? ORDER BY id";
+            String answersSql = "SELECT a.* FROM Answer a " +
+                                "INNER JOIN Question q ON a.question_id = q.id " +
+                                "WHERE q.quiz_id = ? " +
+                                "ORDER BY a.question_id, a.id";
+
+            try {
+                // One read-only transaction, so the quiz, questions and answers come from the same snapshot
+                QuizAggregate aggregate = TransactionManager.inTransaction(TransactionManager.Mode.READ_ONLY, conn -> {
+                    Quiz quiz = QueryExecutor.queryOne(conn, quizSql, RowMappers.QUIZ, quizId);
+                    if (quiz == null) {
+                        return null;
+                    }
+
+                    List<Question> questions = QueryExecutor.queryList(conn, questionsSql, RowMappers.QUESTION, quizId);
+                    Map<Integer, Question> questionsById = new HashMap<>();
+                    for (Question question : questions) {
+                        questionsById.put(question.getId(), question);
+                    }
+
+                    for (Answer answer : QueryExecutor.queryList(conn, answersSql, RowMappers.ANSWER, quizId)) {
+                        Question question = questionsById.get(answer.getQuestionId());
+                        if (question != null) {
+                            question.addAnswer(answer);
+                        }
+                    }
+
+                    return new QuizAggregate(quiz, questions);
+                });
+
+                if (aggregate != null) {
+                    synchronized (aggregateCache) {
+                        if (aggregateVersion.get() == version) {
+                            aggregateCache.put(quizId, aggregate);
+                        }
+                    }
+                }
+                return aggregate;
+
+            } catch (SQLException e) {
+                Log.error("❌ Database error in QuizService.loadQuizAggregate", e);
+                return null;
             }
+        });
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+    // Drop the cached snapshot of one quiz
+    public static void invalidateQuizAggregate(int quizId) {
+        synchronized (aggregateCache) {
+            aggregateVersion.incrementAndGet();
+            aggregateCache.remove(quizId);
         }
+    }
 
-        return null;
+    // Drop every cached snapshot, used when a change cannot be traced back to a single quiz
+    static void invalidateAllQuizAggregates() {
+        synchronized (aggregateCache) {
+            aggregateVersion.incrementAndGet();
+            aggregateCache.clear();
+        }
     }
 
     // Get all quizzes
     public static List<Quiz> getAllQuizzes() {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Quiz> quizzes = new ArrayList<>();
-
-        String sql = "SELECT * FROM Quiz ORDER BY created_at DESC";
-
-        try (Statement stmt = conn.createStatement()) {
-            ResultSet rs = stmt.executeQuery(sql);
-
-            while (rs.next()) {
-                Quiz quiz = new Quiz(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getTimestamp("created_at")
-                );
-                quizzes.add(quiz);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("QuizService.getAllQuizzes", () -> {
+            String sql = "SELECT * FROM Quiz ORDER BY created_at DESC";
 
-        return quizzes;
+            return QueryExecutor.queryList(sql, RowMappers.QUIZ);
+        });
     }
     
     // Get quizzes by enrollment level
     public static List<Quiz> getQuizzesByEnrollmentLevel(String level) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Quiz> quizzes = new ArrayList<>();
-
-        // Get quizzes from courses that match the given enrollment level
-        String sql = "SELECT q.* FROM Quiz q " +
-                     "INNER JOIN Course c ON q.course_id = c.id " +
-                     "WHERE c.target_level = ? " +
-                     "ORDER BY q.created_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, level);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Quiz quiz = new Quiz(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getTimestamp("created_at")
-                );
-                quizzes.add(quiz);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return quizzes;
+        return Timings.SERVICE_CALLS.time("QuizService.getQuizzesByEnrollmentLevel", () -> {
+            // Get quizzes from courses that match the given enrollment level
+            String sql = "SELECT q.* FROM Quiz q " +
+                         "INNER JOIN Course c ON q.course_id = c.id " +
+                         "WHERE c.target_level = ? " +
+                         "ORDER BY q.created_at DESC";
+
+            return QueryExecutor.queryList(sql, RowMappers.QUIZ, level);
+        });
     }
     
     /**
@@ -205,96 +255,32 @@ public class QuizService {
      * @return List of teachers with quizzes matching the level
      */
     public static List<User> getTeachersWithQuizzesByLevel(String studentLevel) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<User> teachers = new ArrayList<>();
-
-        String sql = "SELECT DISTINCT u.* FROM User u " +
-                    "JOIN Course c ON u.id = c.teacher_id " +
-                    "JOIN Quiz q ON c.id = q.course_id " +
-                    "WHERE u.role = 'teacher' " +
-                    "AND (c.target_level = ? OR c.target_level IS NULL) " +
-                    "ORDER BY u.name";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, studentLevel);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                User teacher = new User(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("password"),
-                    rs.getString("matricule"),
-                    rs.getString("role"),
-                    rs.getTimestamp("created_at"),
-                    rs.getString("enrollment_level"),
-                    rs.getString("university_name")
-                );
-                teachers.add(teacher);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return teachers;
+        return Timings.SERVICE_CALLS.time("QuizService.getTeachersWithQuizzesByLevel", () -> {
+            return LevelAvailabilityIndex.getTeachers(ContentType.QUIZ, studentLevel);
+        });
     }
 
     // Get all quizzes by teacher ID
     public static List<Quiz> getQuizzesByTeacherId(int teacherId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<Quiz> quizzes = new ArrayList<>();
-
-        String sql = "SELECT q.* FROM Quiz q " +
-                     "INNER JOIN Course c ON q.course_id = c.id " +
-                     "WHERE c.teacher_id = ? " +
-                     "ORDER BY q.created_at DESC";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Quiz quiz = new Quiz(
-                    rs.getInt("id"),
-                    rs.getInt("course_id"),
-                    rs.getString("title"),
-                    rs.getString("description"),
-                    rs.getString("comment"),
-                    rs.getTimestamp("created_at")
-                );
-                quizzes.add(quiz);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return quizzes;
+        return Timings.SERVICE_CALLS.time("QuizService.getQuizzesByTeacherId", () -> {
+            String sql = "SELECT q.* FROM Quiz q " +
+                         "INNER JOIN Course c ON q.course_id = c.id " +
+                         "WHERE c.teacher_id = ? " +
+                         "ORDER BY q.created_at DESC";
+
+            return QueryExecutor.queryList(sql, RowMappers.QUIZ, teacherId);
+        });
     }
     
     // Get count of quizzes by teacher ID
     public static int getQuizCountByTeacher(int teacherId) {
-        Connection conn = DataBaseConnection.getConnection();
-        int count = 0;
-
-        String sql = "SELECT COUNT(*) FROM Quiz q " +
-                     "INNER JOIN Course c ON q.course_id = c.id " +
-                     "WHERE c.teacher_id = ?";
+        return Timings.SERVICE_CALLS.time("QuizService.getQuizCountByTeacher", () -> {
+            String sql = "SELECT COUNT(*) FROM Quiz q " +
+                         "INNER JOIN Course c ON q.course_id = c.id " +
+                         "WHERE c.teacher_id = ?";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, teacherId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return count;
+            return QueryExecutor.queryInt(sql, teacherId);
+        });
     }
 
     /**
@@ -304,25 +290,12 @@ public class QuizService {
      * @return Number of quizzes
      */
     public static int getQuizCountByLevel(String level) {
-        Connection conn = DataBaseConnection.getConnection();
-        int count = 0;
-
-        String sql = "SELECT COUNT(*) FROM Quiz q " +
-                     "INNER JOIN Course c ON q.course_id = c.id " +
-                     "WHERE c.target_level = ? OR c.target_level IS NULL";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, level);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("QuizService.getQuizCountByLevel", () -> {
+            String sql = "SELECT COUNT(*) FROM Quiz q " +
+                         "INNER JOIN Course c ON q.course_id = c.id " +
+                         "WHERE c.target_level = ? OR c.target_level IS NULL";
 
-        return count;
+            return QueryExecutor.queryInt(sql, level);
+        });
     }
 }
@@ -1,125 +1,95 @@
 package app.backend.services;
 
 import app.backend.database.DataBaseConnection;
+import app.backend.database.QueryExecutor;
+import app.backend.database.RowMappers;
+import app.backend.database.TransactionManager;
 import app.backend.models.StudentAnswer;
 import app.backend.models.Answer;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
 
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class StudentAnswerService {
 
     // Save a student's answer
     public static boolean saveStudentAnswer(StudentAnswer studentAnswer) {
-        Connection conn = DataBaseConnection.getConnection();
-
-        String sql = "INSERT INTO studentanswer (quiz_result_id, question_id, selected_answer_id, is_correct) VALUES (?, ?, ?, ?)";
+        return Timings.SERVICE_CALLS.time("StudentAnswerService.saveStudentAnswer", () -> {
+            String sql = "INSERT INTO studentanswer (quiz_result_id, question_id, selected_answer_id, is_correct) VALUES (?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, studentAnswer.getQuizResultId());
-            stmt.setInt(2, studentAnswer.getQuestionId());
+            try (Connection conn = DataBaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, studentAnswer.getQuizResultId());
+                stmt.setInt(2, studentAnswer.getQuestionId());
             
-            if (studentAnswer.getSelectedAnswerId() != null) {
-                stmt.setInt(3, studentAnswer.getSelectedAnswerId());
-            } else {
-                stmt.setNull(3, Types.INTEGER);
-            }
+                if (studentAnswer.getSelectedAnswerId() != null) {
+                    stmt.setInt(3, studentAnswer.getSelectedAnswerId());
+                } else {
+                    stmt.setNull(3, Types.INTEGER);
+                }
             
-            stmt.setBoolean(4, studentAnswer.isCorrect());
+                stmt.setBoolean(4, studentAnswer.isCorrect());
 
-            int rowsInserted = stmt.executeUpdate();
-            return rowsInserted > 0;
+                int rowsInserted = stmt.executeUpdate();
+                return rowsInserted > 0;
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in StudentAnswerService.saveStudentAnswer", e);
+                return false;
+            }
+        });
     }
 
     // Save multiple student answers at once
     public static boolean saveStudentAnswers(List<StudentAnswer> studentAnswers) {
-        Connection conn = DataBaseConnection.getConnection();
-        boolean success = true;
-
-        try {
-            conn.setAutoCommit(false);
-
+        return Timings.SERVICE_CALLS.time("StudentAnswerService.saveStudentAnswers", () -> {
             String sql = "INSERT INTO studentanswer (quiz_result_id, question_id, selected_answer_id, is_correct) VALUES (?, ?, ?, ?)";
 
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                for (StudentAnswer answer : studentAnswers) {
-                    stmt.setInt(1, answer.getQuizResultId());
-                    stmt.setInt(2, answer.getQuestionId());
+            try {
+                return TransactionManager.inTransaction(conn -> {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        for (StudentAnswer answer : studentAnswers) {
+                            stmt.setInt(1, answer.getQuizResultId());
+                            stmt.setInt(2, answer.getQuestionId());
+                        
+                            if (answer.getSelectedAnswerId() != null) {
+                                stmt.setInt(3, answer.getSelectedAnswerId());
+                            } else {
+                                stmt.setNull(3, Types.INTEGER);
+                            }
+                        
+                            stmt.setBoolean(4, answer.isCorrect());
+                            stmt.addBatch();
+                        }
+
+                        int[] results = stmt.executeBatch();
                     
-                    if (answer.getSelectedAnswerId() != null) {
-                        stmt.setInt(3, answer.getSelectedAnswerId());
-                    } else {
-                        stmt.setNull(3, Types.INTEGER);
+                        // Check if all insertions were successful, rewritten batches report SUCCESS_NO_INFO
+                        for (int result : results) {
+                            if (result == Statement.EXECUTE_FAILED) {
+                                // Rolls back the answers already inserted
+                                throw new SQLException("Failed to save a student answer");
+                            }
+                        }
                     }
-                    
-                    stmt.setBoolean(4, answer.isCorrect());
-                    stmt.addBatch();
-                }
+                    return true;
+                });
 
-                int[] results = stmt.executeBatch();
-                
-                // Check if all insertions were successful
-                for (int result : results) {
-                    if (result <= 0) {
-                        success = false;
-                        break;
-                    }
-                }
+            } catch (SQLException e) {
+                Log.error("❌ Database error in StudentAnswerService.saveStudentAnswers", e);
+                return false;
             }
-
-            if (success) {
-                conn.commit();
-            } else {
-                conn.rollback();
-            }
-
-            conn.setAutoCommit(true);
-            return success;
-
-        } catch (SQLException e) {
-            try {
-                conn.rollback();
-                conn.setAutoCommit(true);
-            } catch (SQLException ex) {
-                ex.printStackTrace();
-            }
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     // Get all answers for a specific quiz result
     public static List<StudentAnswer> getStudentAnswers(int quizResultId) {
-        Connection conn = DataBaseConnection.getConnection();
-        List<StudentAnswer> answers = new ArrayList<>();
-
-        String sql = "SELECT * FROM studentanswer WHERE quiz_result_id = ?";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, quizResultId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                StudentAnswer answer = new StudentAnswer(
-                    rs.getInt("id"),
-                    rs.getInt("quiz_result_id"),
-                    rs.getInt("question_id"),
-                    rs.getObject("selected_answer_id") != null ? rs.getInt("selected_answer_id") : null,
-                    rs.getBoolean("is_correct")
-                );
-                answers.add(answer);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        return Timings.SERVICE_CALLS.time("StudentAnswerService.getStudentAnswers", () -> {
+            String sql = "SELECT * FROM studentanswer WHERE quiz_result_id = ?";
 
-        return answers;
+            return QueryExecutor.queryList(sql, RowMappers.STUDENT_ANSWER, quizResultId);
+        });
     }
 } 
\ No newline at end of file
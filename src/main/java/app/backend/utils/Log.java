@@ -0,0 +1,220 @@
+package app.backend.utils;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Leveled application log, written by a background thread.
+ *
+ * Logging a message only puts it in a bounded buffer, so callers on query or UI paths never
+ * wait on console or disk I/O; when the writer falls behind and the buffer is full, debug and
+ * info messages are dropped and counted, warnings and errors are printed directly. The writer
+ * appends to a rolling file (logs/pfe.log, rolled at about 5 MB, keeping the 5 previous files)
+ * and echoes to the console.
+ *
+ * Settings: -Dlog.level=DEBUG|INFO|WARN|ERROR (INFO by default), -Dlog.file, -Dlog.maxFileBytes,
+ * -Dlog.maxFiles, -Dlog.bufferSize and -Dlog.console=false to stop the console echo.
+ * Debug messages built from several values should be passed as a supplier, which is only
+ * called when debug logging is enabled.
+ */
+public final class Log {
+
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+
+    private static final Path FILE = Paths.get(System.getProperty("log.file", "logs/pfe.log"));
+    private static final long MAX_FILE_BYTES = Long.getLong("log.maxFileBytes", 5L * 1024 * 1024);
+    private static final int MAX_FILES = Math.max(1, Integer.getInteger("log.maxFiles", 5));
+    private static final int BUFFER_SIZE = Math.max(16, Integer.getInteger("log.bufferSize", 8192));
+    private static final boolean CONSOLE = Boolean.parseBoolean(System.getProperty("log.console", "true"));
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private record Entry(long time, Level level, String thread, String message, Throwable error) {}
+
+    private static volatile Level threshold = parseLevel(System.getProperty("log.level", "INFO"));
+
+    private static final BlockingQueue<Entry> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+    private static final AtomicLong dropped = new AtomicLong();
+    private static volatile boolean closed = false;
+    private static final Thread writer = startWriter();
+
+    private Log() {}
+
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    public static boolean isDebugEnabled() {
+        return threshold == Level.DEBUG;
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    public static Level getLevel() {
+        return threshold;
+    }
+
+    // Messages dropped because the buffer was full
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public static void debug(String message) {
+        log(Level.DEBUG, message, null);
+    }
+
+    // The message is only built when debug logging is enabled
+    public static void debug(Supplier<String> message) {
+        if (threshold == Level.DEBUG) {
+            log(Level.DEBUG, message.get(), null);
+        }
+    }
+
+    public static void info(String message) {
+        log(Level.INFO, message, null);
+    }
+
+    // The message is only built when info logging is enabled
+    public static void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, message.get(), null);
+        }
+    }
+
+    public static void warn(String message) {
+        log(Level.WARN, message, null);
+    }
+
+    public static void warn(String message, Throwable error) {
+        log(Level.WARN, message, error);
+    }
+
+    public static void error(String message) {
+        log(Level.ERROR, message, null);
+    }
+
+    public static void error(String message, Throwable error) {
+        log(Level.ERROR, message, error);
+    }
+
+    /**
+     * Writes the buffered messages and stops the writer; later messages go straight to the console
+     */
+    public static void shutdown() {
+        closed = true;
+        try {
+            writer.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void log(Level level, String message, Throwable error) {
+        if (level.compareTo(threshold) < 0) {
+            return;
+        }
+        Entry entry = new Entry(System.currentTimeMillis(), level, Thread.currentThread().getName(), message, error);
+        if (closed) {
+            System.out.print(format(entry));
+            return;
+        }
+        if (!buffer.offer(entry)) {
+            if (level.compareTo(Level.WARN) >= 0) {
+                // Rare, and problems must not get lost in a burst of chatter
+                System.out.print(format(entry));
+            } else {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private static Thread startWriter() {
+        Thread thread = new Thread(Log::drain, "log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Body of the writer thread: waits for messages and writes them in batches
+     */
+    private static void drain() {
+        RollingFile file = new RollingFile(FILE, MAX_FILE_BYTES, MAX_FILES);
+        List<Entry> batch = new ArrayList<>();
+        long reportedDrops = 0;
+
+        while (true) {
+            try {
+                // Not interrupted on shutdown, which would close the file channel, it polls closed instead
+                Entry first = buffer.poll(250, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch);
+                }
+            } catch (InterruptedException e) {
+                continue;
+            }
+
+            long drops = dropped.get();
+            if (drops > reportedDrops) {
+                batch.add(new Entry(System.currentTimeMillis(), Level.WARN, "log-writer",
+                        (drops - reportedDrops) + " log messages dropped, the buffer was full", null));
+                reportedDrops = drops;
+            }
+
+            for (Entry entry : batch) {
+                String line = format(entry);
+                file.write(line);
+                if (CONSOLE) {
+                    System.out.print(line);
+                }
+            }
+            batch.clear();
+            file.flush();
+
+            if (closed && buffer.isEmpty()) {
+                file.close();
+                return;
+            }
+        }
+    }
+
+    private static String format(Entry entry) {
+        StringBuilder line = new StringBuilder(128)
+                .append(TIME_FORMAT.format(Instant.ofEpochMilli(entry.time())))
+                .append(' ').append(String.format(Locale.ROOT, "%-5s", entry.level()))
+                .append(" [").append(entry.thread()).append("] ")
+                .append(entry.message())
+                .append(System.lineSeparator());
+        if (entry.error() != null) {
+            StringWriter trace = new StringWriter();
+            entry.error().printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+        return line.toString();
+    }
+
+    private static Level parseLevel(String name) {
+        try {
+            return Level.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package app.backend.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A text file appended to, renamed to name.1, name.2... when it grows past a maximum size.
+ * Not thread safe, meant to be written by a single thread. If the file cannot be written,
+ * the writes are ignored after a warning on the console.
+ */
+public final class RollingFile {
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+    private BufferedWriter out;
+    private long size;
+    private boolean failed = false;
+
+    /**
+     * @param file The file written
+     * @param maxBytes The size at which it is rolled, about
+     * @param maxFiles The number of previous files kept
+     */
+    public RollingFile(Path file, long maxBytes, int maxFiles) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+    }
+
+    public void write(String text) {
+        if (failed) {
+            return;
+        }
+        try {
+            if (out == null) {
+                open();
+            }
+            out.write(text);
+            size += text.length();
+            if (size >= maxBytes) {
+                roll();
+            }
+        } catch (IOException e) {
+            failed = true;
+            System.out.println("⚠️ File disabled, cannot write " + file + ": " + e.getMessage());
+        }
+    }
+
+    public void flush() {
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                // Retried on the next flush
+            }
+        }
+    }
+
+    public void close() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Nothing left to write to
+            }
+            out = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+        close();
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path older = rolled(i);
+            if (Files.exists(older)) {
+                Files.move(older, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
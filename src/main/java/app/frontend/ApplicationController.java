@@ -1,6 +1,7 @@
 package app.frontend;
 
 import app.backend.models.User;
+import app.backend.utils.Log;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -145,7 +146,7 @@ public class ApplicationController implements Initializable {
         } else {
             try {
                 FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeachersCards.fxml"));
-                Parent teachersView = loader.load();
+                Parent teachersView = ViewLoader.load(loader);
 
                 TeachersCardsController controller = loader.getController();
                 controller.setExcludeCurrentTeacher(true);
@@ -154,8 +155,7 @@ public class ApplicationController implements Initializable {
                 contentArea.getChildren().clear();
                 contentArea.getChildren().add(teachersView);
             } catch (IOException e) {
-                e.printStackTrace();
-                System.out.println("❌ Failed to load TeachersCards.fxml");
+                Log.error("❌ Failed to load TeachersCards.fxml", e);
                 loadContent("courses-cards.fxml");
             }
         }
@@ -170,7 +170,7 @@ public class ApplicationController implements Initializable {
         
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeachersCards.fxml"));
-            Parent teachersView = loader.load();
+            Parent teachersView = ViewLoader.load(loader);
             
             TeachersCardsController controller = loader.getController();
             controller.setIsQuizView(true);
@@ -183,8 +183,7 @@ public class ApplicationController implements Initializable {
             contentArea.getChildren().clear();
             contentArea.getChildren().add(teachersView);
         } catch (IOException e) {
-            e.printStackTrace();
-            System.out.println("❌ Failed to load TeachersCards.fxml");
+            Log.error("❌ Failed to load TeachersCards.fxml", e);
             loadContent("quizzes.fxml");
         }
     }
@@ -198,7 +197,7 @@ public class ApplicationController implements Initializable {
         
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeachersCards.fxml"));
-            Parent teachersView = loader.load();
+            Parent teachersView = ViewLoader.load(loader);
             
             TeachersCardsController controller = loader.getController();
             controller.setIsQuizView(false);
@@ -212,8 +211,7 @@ public class ApplicationController implements Initializable {
             contentArea.getChildren().clear();
             contentArea.getChildren().add(teachersView);
         } catch (IOException e) {
-            e.printStackTrace();
-            System.out.println("❌ Failed to load TeachersCards.fxml");
+            Log.error("❌ Failed to load TeachersCards.fxml", e);
         }
     }
 
@@ -226,7 +224,7 @@ public class ApplicationController implements Initializable {
         
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeachersCards.fxml"));
-            Parent teachersView = loader.load();
+            Parent teachersView = ViewLoader.load(loader);
             
             TeachersCardsController controller = loader.getController();
             controller.setIsQuizView(false);
@@ -241,8 +239,7 @@ public class ApplicationController implements Initializable {
             contentArea.getChildren().clear();
             contentArea.getChildren().add(teachersView);
         } catch (IOException e) {
-            e.printStackTrace();
-            System.out.println("❌ Failed to load TeachersCards.fxml");
+            Log.error("❌ Failed to load TeachersCards.fxml", e);
             if (currentUser != null && !currentUser.getRole().equals("student")) {
                 loadContent("TeacherPracticalWorks.fxml");
             }
@@ -286,7 +283,7 @@ public class ApplicationController implements Initializable {
     private void loadContent(String fxmlFile) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/" + fxmlFile));
-            Parent content = loader.load();
+            Parent content = ViewLoader.load(loader);
             
             injectApplicationControllerReference(loader.getController());
             
@@ -299,8 +296,7 @@ public class ApplicationController implements Initializable {
                 contentArea.getScene().getRoot().getProperties().put("parentController", this);
             }
         } catch (IOException e) {
-            e.printStackTrace();
-            System.out.println("❌ Failed to load " + fxmlFile);
+            Log.error("❌ Failed to load " + fxmlFile, e);
         }
     }
     
@@ -322,7 +318,7 @@ public class ApplicationController implements Initializable {
                     controller.getClass().getMethod("setApplicationController", ApplicationController.class);
                 setAppController.invoke(controller, this);
             } catch (Exception e) {
-                System.out.println("Note: setApplicationController method not found on " + controller.getClass().getName());
+                Log.warn("Note: setApplicationController method not found on " + controller.getClass().getName());
             }
         }
     }
@@ -1,11 +1,11 @@
 package app.frontend;
 
+import app.backend.utils.Log;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
@@ -100,12 +100,12 @@ public class AuthLoadingController {
      * </p>
      * 
      * @see Platform#runLater(Runnable)
-     * @see FXMLLoader#load(java.net.URL)
+     * @see ViewLoader#load(java.net.URL)
      */
     private void onLoadingComplete() {
         Platform.runLater(() -> {
             try {
-                Parent mainView = FXMLLoader.load(getClass().getResource("/fxml/App.fxml"));
+                Parent mainView = ViewLoader.load(getClass().getResource("/fxml/App.fxml"));
                 Scene mainScene = new Scene(mainView, 1900, 1080);
                 Stage stage = (Stage) progressBar.getScene().getWindow();
                 
@@ -113,7 +113,7 @@ public class AuthLoadingController {
                 stage.setMaximized(true);
                 stage.centerOnScreen();
             } catch (IOException e) {
-                e.printStackTrace();
+                Log.error("❌ Failed to load the main view", e);
             }
         });
     }
@@ -3,9 +3,9 @@ package app.frontend;
 import app.backend.database.DataBaseConnection;
 import app.backend.models.User;
 import app.backend.services.AuthService;
+import app.backend.utils.Log;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
 import javafx.scene.Parent;
@@ -71,7 +71,7 @@ public class AuthLoginController implements Initializable {
      * @throws IOException If the login view cannot be loaded
      */
     public static void loadLoginView(Stage stage) throws IOException {
-        Parent loginView = FXMLLoader.load(AuthLoginController.class.getResource("/fxml/AuthLogin.fxml"));
+        Parent loginView = ViewLoader.load(AuthLoginController.class.getResource("/fxml/AuthLogin.fxml"));
         Scene loginScene = new Scene(loginView, 1920, 1080);
         
         stage.setScene(loginScene);
@@ -90,7 +90,7 @@ public class AuthLoginController implements Initializable {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        DataBaseConnection.getConnection();
+        DataBaseConnection.getPool();
         
         passwordTextField = new TextField();
         passwordTextField.getStyleClass().add("text-field");
@@ -158,7 +158,7 @@ public class AuthLoginController implements Initializable {
         currentUser = user;
         
         try {
-            Parent loadingView = FXMLLoader.load(getClass().getResource("/fxml/AuthLoading.fxml"));
+            Parent loadingView = ViewLoader.load(getClass().getResource("/fxml/AuthLoading.fxml"));
             Scene loadingScene = new Scene(loadingView, 1920, 1080);
             
             Stage stage = (Stage) usernameField.getScene().getWindow();
@@ -166,7 +166,7 @@ public class AuthLoginController implements Initializable {
             stage.setMaximized(true);
             
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to start the loading screen", e);
             showAlert(Alert.AlertType.ERROR, "Navigation Error", "Failed to start the loading screen.");
         }
     }
@@ -179,7 +179,7 @@ public class AuthLoginController implements Initializable {
     @FXML
     public void navigateToSignup(ActionEvent event) {
         try {
-            Parent signupView = FXMLLoader.load(getClass().getResource("/fxml/AuthSignup.fxml"));
+            Parent signupView = ViewLoader.load(getClass().getResource("/fxml/AuthSignup.fxml"));
             Scene signupScene = new Scene(signupView, 1920, 1080);
             
             Stage stage = (Stage) usernameField.getScene().getWindow();
@@ -190,7 +190,7 @@ public class AuthLoginController implements Initializable {
             stage.setMaximized(true);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to navigate to the signup page", e);
             showAlert(Alert.AlertType.ERROR, "Navigation Error", "Failed to navigate to the signup page.");
         }
     }
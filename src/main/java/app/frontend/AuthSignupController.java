@@ -3,10 +3,10 @@ package app.frontend;
 import app.backend.database.DataBaseConnection;
 import app.backend.models.User;
 import app.backend.services.AuthService;
+import app.backend.utils.Log;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.geometry.Insets;
 import javafx.scene.Parent;
@@ -222,7 +222,7 @@ public class AuthSignupController implements Initializable {
     @FXML
     public void navigateToLogin(ActionEvent event) {
         try {
-            Parent loginView = FXMLLoader.load(getClass().getResource("/fxml/AuthLogin.fxml"));
+            Parent loginView = ViewLoader.load(getClass().getResource("/fxml/AuthLogin.fxml"));
             Scene loginScene = new Scene(loginView, 1920, 1080);
             
             Stage stage = (Stage) nameField.getScene().getWindow();
@@ -232,7 +232,7 @@ public class AuthSignupController implements Initializable {
             
             loginView.requestLayout();
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to navigate to the login page", e);
             showAlert(Alert.AlertType.ERROR, "Navigation Error", "Failed to navigate to the login page.");
         }
     }
@@ -0,0 +1,169 @@
+package app.frontend;
+
+import app.backend.utils.Log;
+import javafx.animation.PauseTransition;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.Pane;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Displays a list of cards one page at a time, with a button at the end loading the next page.
+ * Pages are loaded in the background through the {@link ViewTasks} of the view, each one
+ * starting after the last item displayed, so the view only holds the cards the user scrolled to.
+ * Only the pager's own page load is replaced by a reload, other loads of the view go on.
+ *
+ * @param <T> The type of item a card displays
+ */
+public class CardPager<T> {
+
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
+    private static final String LOAD_ERROR = "Failed to load. Please try again.";
+
+    /**
+     * Loads a page of items in the background
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        /**
+         * @param after The last item displayed, or null for the first page
+         * @param limit The maximum number of items to return
+         */
+        List<T> load(T after, int limit);
+    }
+
+    private final Pane container;
+    private final ViewTasks viewTasks;
+    private final int pageSize;
+    private final Function<T, Node> cardFactory;
+    private final List<T> items = new ArrayList<>();
+    private final Button loadMoreButton = new Button("Load more");
+    // Displayed above the button when the next page failed to load
+    private final Label loadMoreError = new Label(LOAD_ERROR);
+    // Reloads once the user stops typing in a search field
+    private final PauseTransition searchPause = new PauseTransition(SEARCH_DELAY);
+    private PageLoader<T> loader;
+    private CompletableFuture<?> pendingPage;
+
+    /**
+     * @param container The pane the cards are added to
+     * @param viewTasks The background loads of the view
+     * @param pageSize The number of cards loaded at a time
+     * @param cardFactory Creates the card of an item
+     */
+    public CardPager(Pane container, ViewTasks viewTasks, int pageSize, Function<T, Node> cardFactory) {
+        this.container = container;
+        this.viewTasks = viewTasks;
+        this.pageSize = pageSize;
+        this.cardFactory = cardFactory;
+
+        loadMoreButton.getStyleClass().add("secondary-button");
+        loadMoreButton.setOnAction(event -> loadMore());
+        loadMoreError.getStyleClass().add("no-courses-message");
+    }
+
+    /**
+     * Replaces the displayed cards with the first page of a list
+     *
+     * @param loader Loads the pages of the list
+     * @param emptyMessage Displayed when the list is empty
+     */
+    public void reload(PageLoader<T> loader, String emptyMessage) {
+        this.loader = loader;
+        searchPause.stop();
+        cancelPendingPage();
+        items.clear();
+        ViewTasks.showLoading(container);
+
+        pendingPage = viewTasks.load(() -> loader.load(null, pageSize + 1), page -> {
+            container.getChildren().clear();
+            if (page.isEmpty()) {
+                showMessage(emptyMessage);
+            } else {
+                append(page);
+            }
+        }, error -> {
+            Log.error("Error loading the first page", error);
+            container.getChildren().clear();
+            showMessage(LOAD_ERROR);
+        });
+    }
+
+    /**
+     * Reloads the list as the user types in a search field, once typing pauses,
+     * so a query is not sent for every keystroke
+     *
+     * @param searchField The search field
+     * @param reload Reloads the list with the text of the field, through {@link #reload(PageLoader, String)}
+     */
+    public void reloadOnSearch(TextField searchField, Runnable reload) {
+        searchPause.setOnFinished(event -> reload.run());
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> searchPause.playFromStart());
+    }
+
+    /**
+     * @return The items displayed so far
+     */
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    private void loadMore() {
+        PageLoader<T> currentLoader = loader;
+        T last = items.get(items.size() - 1);
+        container.getChildren().remove(loadMoreError);
+        loadMoreButton.setDisable(true);
+        loadMoreButton.setText("Loading...");
+
+        pendingPage = viewTasks.load(() -> currentLoader.load(last, pageSize + 1), this::append, error -> {
+            Log.error("Error loading the next page", error);
+            container.getChildren().add(container.getChildren().indexOf(loadMoreButton), loadMoreError);
+            loadMoreButton.setDisable(false);
+            loadMoreButton.setText("Retry");
+        });
+    }
+
+    // Displays a message in place of the cards
+    private void showMessage(String message) {
+        Label label = new Label(message);
+        label.getStyleClass().add("no-courses-message");
+        label.setPadding(new Insets(50, 0, 0, 0));
+        container.getChildren().add(label);
+    }
+
+    private void cancelPendingPage() {
+        if (pendingPage != null) {
+            pendingPage.cancel(false);
+            pendingPage = null;
+        }
+    }
+
+    /**
+     * Adds the cards of a page; one item more than a page was requested to know if another page follows
+     */
+    private void append(List<T> page) {
+        container.getChildren().remove(loadMoreButton);
+        boolean hasMore = page.size() > pageSize;
+        List<T> shown = hasMore ? page.subList(0, pageSize) : page;
+
+        items.addAll(shown);
+        for (T item : shown) {
+            container.getChildren().add(cardFactory.apply(item));
+        }
+
+        if (hasMore) {
+            loadMoreButton.setDisable(false);
+            loadMoreButton.setText("Load more");
+            container.getChildren().add(loadMoreButton);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package app.frontend;
+
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+
+/**
+ * Rasterizes PDF pages into JavaFX images for a {@link PdfPageRenderer}.
+ *
+ * Rendering with PDFRenderer.renderImage and converting with SwingFXUtils.toFXImage allocates
+ * a page three times: the RGB image rendered, its premultiplied ARGB copy and the JavaFX image.
+ * Here pages are drawn into a reused premultiplied ARGB buffer, the format JavaFX reads without
+ * conversion, then copied once into a new WritableImage, the only allocation per render.
+ * The buffer grows to the largest region rendered and is kept until {@link #release()}.
+ *
+ * -Dpdf.directRaster=false renders the previous way, to compare the two in the PDF render
+ * timings and the allocations of the app.PdfRender flight recorder events.
+ * PageRasterBenchmark, under src/bench/java and built with the bench profile, compares them
+ * on a single page.
+ *
+ * Not thread safe: each renderer uses its own, on its render thread.
+ */
+final class PageRaster {
+
+    private static final boolean DIRECT = Boolean.parseBoolean(System.getProperty("pdf.directRaster", "true"));
+
+    // Java2D layout of JavaFX's INT_ARGB_PRE pixel format
+    private static final DirectColorModel ARGB_PRE = new DirectColorModel(
+            ColorSpace.getInstance(ColorSpace.CS_sRGB), 32,
+            0x00ff0000, 0x0000ff00, 0x000000ff, 0xff000000, true, DataBuffer.TYPE_INT);
+
+    private final boolean direct;
+    private int[] pixels = new int[0];
+
+    PageRaster() {
+        this(DIRECT);
+    }
+
+    /**
+     * @param direct Whether pages are drawn into the reused buffer, or rendered the previous way
+     */
+    PageRaster(boolean direct) {
+        this.direct = direct;
+    }
+
+    /**
+     * Renders a whole page
+     *
+     * @param width The width of the page at this zoom in pixels
+     * @param height The height of the page at this zoom in pixels
+     */
+    Image renderPage(PDFRenderer renderer, int page, float zoom, int width, int height) throws IOException {
+        if (!direct) {
+            return SwingFXUtils.toFXImage(renderer.renderImage(page, zoom), null);
+        }
+        return renderRegion(renderer, page, zoom, 0, 0, width, height);
+    }
+
+    /**
+     * Renders the region of a page at (x, y) in the page rendered at a zoom. PDFBox still
+     * reads the whole page, but only the pixels of the region are drawn.
+     */
+    Image renderRegion(PDFRenderer renderer, int page, float zoom, int x, int y, int width, int height) throws IOException {
+        if (!direct) {
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            draw(renderer, page, zoom, x, y, image);
+            return SwingFXUtils.toFXImage(image, null);
+        }
+
+        int size = width * height;
+        if (pixels.length < size) {
+            pixels = new int[size];
+        }
+        // Only the first width x height pixels of the buffer are used
+        WritableRaster raster = Raster.createPackedRaster(new DataBufferInt(pixels, size),
+                width, height, width, ARGB_PRE.getMasks(), null);
+        draw(renderer, page, zoom, x, y, new BufferedImage(ARGB_PRE, raster, true, null));
+
+        WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbPreInstance(), pixels, 0, width);
+        return image;
+    }
+
+    /**
+     * Frees the buffer, once the document is closed
+     */
+    void release() {
+        pixels = new int[0];
+    }
+
+    private static void draw(PDFRenderer renderer, int page, float zoom, int x, int y, BufferedImage image) throws IOException {
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setBackground(Color.WHITE);
+            graphics.clearRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.translate(-x, -y);
+            renderer.renderPageToGraphics(page, graphics, zoom);
+        } finally {
+            graphics.dispose();
+        }
+    }
+}
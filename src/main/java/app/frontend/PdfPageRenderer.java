@@ -0,0 +1,469 @@
+package app.frontend;
+
+import app.backend.monitoring.PdfRenderEvent;
+import app.backend.monitoring.Timings;
+import app.backend.utils.Log;
+import javafx.application.Platform;
+import javafx.geometry.Dimension2D;
+import javafx.scene.image.Image;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessBufferedFileInputStream;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.pdfparser.PDFParser;
+import org.apache.pdfbox.pdmodel.DefaultResourceCache;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Renders the pages of an open PDF document for the {@link PdfViewerController}, through
+ * the {@link RenderedPageCache}.
+ *
+ * PDFBox documents are not thread safe, so each document gets its own render thread, which
+ * also closes it. Requesting a page makes every earlier request stale: requests still queued
+ * are skipped and their results dropped, so flipping through pages quickly only renders the
+ * page the user stops on. A page not in the cache is first shown as a preview, the same page
+ * cached at another zoom or a quick render at a quarter of the resolution, then at full
+ * resolution. Once a page is shown, the next and previous pages are rendered ahead.
+ *
+ * Past about 4 million pixels, a page is not rendered whole: only its preview is, and the
+ * viewer requests the {@link #TILE_SIZE} pixel tiles it displays with {@link #showTiles},
+ * so the memory a page takes does not grow with the zoom.
+ *
+ * Documents are opened with a bounded heap: the file is read through a memory mapping
+ * (-Dpdf.mmap=false reads it through a buffer instead), and the decoded streams take at most
+ * -Dpdf.scratchHeapMb (32 by default, 0 for none) of heap, the rest going to a scratch file
+ * in -Dpdf.scratchDir (the temporary directory by default). The images of a page stay
+ * decoded while it is rendered as a preview, whole and in tiles, up to -Dpdf.imageCacheMb
+ * (64 by default), and are dropped when another page is rendered, as every page of a
+ * scanned document has its own.
+ */
+public class PdfPageRenderer implements AutoCloseable {
+
+    // Width and height of the tiles of the pages rendered in tiles, in pixels
+    public static final int TILE_SIZE = 512;
+    // Pages larger than this at the requested zoom, about 16 MB, are rendered in tiles
+    private static final long MAX_WHOLE_PAGE_PIXELS = 2048L * 2048L;
+    // Resolution of the quick previews, relative to the requested zoom
+    private static final float PREVIEW_SCALE = 0.25f;
+    private static final float MIN_PREVIEW_ZOOM = 0.1f;
+
+    private static final boolean MAPPED = Boolean.parseBoolean(System.getProperty("pdf.mmap", "true"));
+    private static final long SCRATCH_HEAP_BYTES = Long.getLong("pdf.scratchHeapMb", 32L) * 1024 * 1024;
+    private static final long IMAGE_CACHE_BYTES = Long.getLong("pdf.imageCacheMb", 64L) * 1024 * 1024;
+
+    /**
+     * A rendered page, or a preview of it
+     *
+     * @param image The image to display
+     * @param width The width to display the image at, that of the page at the requested zoom
+     * @param height The height to display the image at
+     * @param preview Whether the image is a preview, to be replaced by the full resolution page or its tiles
+     */
+    public record RenderedPage(Image image, double width, double height, boolean preview) {}
+
+    /**
+     * A tile of a page, the tile at (0, 0) being the top left one
+     */
+    public record Tile(int column, int row) {}
+
+    private final PDDocument document;
+    private final PDFRenderer renderer;
+    // Used on the render thread only
+    private final PageImageCache resourceCache;
+    // Used on the render thread only
+    private final PageRaster raster = new PageRaster();
+    private final String documentKey;
+    private final String viewer;
+    // Size of the pages in points, rotated as displayed
+    private final float[] pageWidths;
+    private final float[] pageHeights;
+    private final ExecutorService worker;
+    // Number of the last page and tile requests, written on the JavaFX Application Thread only
+    private volatile int generation = 0;
+    private volatile int tileGeneration = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * Opens a document for rendering. Parsing it and reading the size of its pages takes
+     * a while, so it should be called off the JavaFX Application Thread.
+     *
+     * @param file The PDF file, which identifies its pages in the cache
+     * @param viewer The name the renders are reported under, like "course viewer"
+     * @return The renderer, which closes the document in {@link #close()}
+     * @throws IOException If the file cannot be read or is not a valid PDF
+     */
+    public static PdfPageRenderer open(File file, String viewer) throws IOException {
+        PDDocument document = openDocument(file);
+        try {
+            return new PdfPageRenderer(document, (PageImageCache) document.getResourceCache(), file, viewer);
+        } catch (RuntimeException e) {
+            IOUtils.closeQuietly(document);
+            throw e;
+        }
+    }
+
+    /**
+     * Parses a document the way the viewers read it: memory mapped, with its scratch file
+     * and the image cache of the page shown
+     */
+    static PDDocument openDocument(File file) throws IOException {
+        // Memory mappings are limited to 2 GB
+        RandomAccessRead source = MAPPED && file.length() <= Integer.MAX_VALUE
+                ? new MappedFileRead(file)
+                : new RandomAccessBufferedFileInputStream(file);
+        ScratchFile scratchFile = null;
+        PDDocument document = null;
+        try {
+            scratchFile = new ScratchFile(scratchMemoryUsage());
+            PDFParser parser = new PDFParser(source, "", null, null, scratchFile);
+            parser.parse();
+            // Closing the document closes the source and the scratch file
+            document = parser.getPDDocument();
+            document.setResourceCache(new PageImageCache());
+            return document;
+        } catch (IOException | RuntimeException e) {
+            if (document != null) {
+                IOUtils.closeQuietly(document);
+            } else {
+                IOUtils.closeQuietly(scratchFile);
+                IOUtils.closeQuietly(source);
+            }
+            throw e;
+        }
+    }
+
+    private static MemoryUsageSetting scratchMemoryUsage() {
+        MemoryUsageSetting setting = SCRATCH_HEAP_BYTES > 0
+                ? MemoryUsageSetting.setupMixed(SCRATCH_HEAP_BYTES)
+                : MemoryUsageSetting.setupTempFileOnly();
+        String scratchDir = System.getProperty("pdf.scratchDir");
+        if (scratchDir != null) {
+            setting.setTempDir(new File(scratchDir));
+        }
+        return setting;
+    }
+
+    /**
+     * @param document The document, closed by {@link #close()}
+     * @param resourceCache The resource cache of the document
+     * @param file The file the document was loaded from
+     * @param viewer The name the renders are reported under
+     */
+    private PdfPageRenderer(PDDocument document, PageImageCache resourceCache, File file, String viewer) {
+        this.document = document;
+        this.resourceCache = resourceCache;
+        this.renderer = new PDFRenderer(document);
+        this.documentKey = file.getAbsolutePath() + "@" + file.lastModified();
+        this.viewer = viewer;
+
+        int pageCount = document.getNumberOfPages();
+        pageWidths = new float[pageCount];
+        pageHeights = new float[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            PDPage page = document.getPage(i);
+            PDRectangle cropBox = page.getCropBox();
+            boolean sideways = page.getRotation() == 90 || page.getRotation() == 270;
+            pageWidths[i] = sideways ? cropBox.getHeight() : cropBox.getWidth();
+            pageHeights[i] = sideways ? cropBox.getWidth() : cropBox.getHeight();
+        }
+
+        this.worker = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "pdf-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getPageCount() {
+        return pageWidths.length;
+    }
+
+    /**
+     * @return The size of a page at a zoom in pixels, computed like PDFBox sizes its renders
+     */
+    public Dimension2D getPageSize(int page, float zoom) {
+        return new Dimension2D(Math.max(Math.floor(pageWidths[page] * zoom), 1),
+                Math.max(Math.floor(pageHeights[page] * zoom), 1));
+    }
+
+    /**
+     * @return Whether the page is rendered in tiles at this zoom
+     */
+    public boolean isTiled(int page, float zoom) {
+        Dimension2D size = getPageSize(page, zoom);
+        return size.getWidth() * size.getHeight() > MAX_WHOLE_PAGE_PIXELS;
+    }
+
+    /**
+     * Requests a page rendered at a zoom, replacing the previous page and tile requests. Must be
+     * called on the JavaFX Application Thread; the callbacks are called there too, unless another
+     * page is requested first. A page rendered in tiles only gets its preview.
+     *
+     * @param page The page index, starting at 0
+     * @param zoom The scale, 1 for 72 DPI
+     * @param onRendered Receives the preview, if any, then the page; at once if the page is cached
+     * @param onFailed Receives the exception if the page cannot be rendered
+     */
+    public void show(int page, float zoom, Consumer<RenderedPage> onRendered, Consumer<Throwable> onFailed) {
+        int request = ++generation;
+        tileGeneration++;
+        boolean tiled = isTiled(page, zoom);
+        RenderedPageCache.Key key = new RenderedPageCache.Key(documentKey, page, zoom);
+
+        Image cached = tiled ? null : RenderedPageCache.get(key);
+        if (cached != null) {
+            onRendered.accept(new RenderedPage(cached, cached.getWidth(), cached.getHeight(), false));
+        } else {
+            Map.Entry<RenderedPageCache.Key, Image> otherZoom = RenderedPageCache.findLargest(documentKey, page);
+            if (otherZoom != null) {
+                onRendered.accept(preview(otherZoom.getValue(), otherZoom.getKey().zoom(), zoom));
+            }
+            submit(request, () -> {
+                if (otherZoom == null) {
+                    float previewZoom = Math.max(MIN_PREVIEW_ZOOM, zoom * PREVIEW_SCALE);
+                    Image preview = renderPage(page, previewZoom, viewer + " preview", true);
+                    RenderedPageCache.put(new RenderedPageCache.Key(documentKey, page, previewZoom), preview);
+                    deliver(request, () -> onRendered.accept(preview(preview, previewZoom, zoom)));
+                }
+                if (tiled || request != generation) {
+                    return;
+                }
+                Image image = renderPage(page, zoom, viewer, true);
+                RenderedPageCache.put(key, image);
+                deliver(request, () -> onRendered.accept(new RenderedPage(image, image.getWidth(), image.getHeight(), false)));
+            }, onFailed);
+        }
+
+        // Queued after the requested page, and skipped once another page is requested
+        submit(request, () -> prefetch(page + 1, zoom), null);
+        submit(request, () -> prefetch(page - 1, zoom), null);
+    }
+
+    /**
+     * Requests tiles of the page last requested, replacing the previous tile requests, as
+     * when the viewport scrolled. Must be called on the JavaFX Application Thread.
+     *
+     * @param page The page index, that of the last {@link #show} call
+     * @param zoom The zoom of the last {@link #show} call
+     * @param tiles The tiles to render
+     * @param onRendered Receives each tile on the JavaFX Application Thread; at once for the cached ones
+     */
+    public void showTiles(int page, float zoom, List<Tile> tiles, BiConsumer<Tile, Image> onRendered) {
+        int request = generation;
+        int tileRequest = ++tileGeneration;
+        int columns = columnsOf(page, zoom);
+
+        for (Tile tile : tiles) {
+            RenderedPageCache.Key key = new RenderedPageCache.Key(documentKey, page, zoom, tile.row() * columns + tile.column());
+            Image cached = RenderedPageCache.get(key);
+            if (cached != null) {
+                onRendered.accept(tile, cached);
+                continue;
+            }
+            submit(request, () -> {
+                if (tileRequest != tileGeneration) {
+                    return;
+                }
+                Image image = renderTile(page, zoom, tile);
+                RenderedPageCache.put(key, image);
+                deliver(request, () -> {
+                    if (tileRequest == tileGeneration) {
+                        onRendered.accept(tile, image);
+                    }
+                });
+            }, null);
+        }
+    }
+
+    /**
+     * Drops the pending requests and closes the document once the page being rendered is done
+     */
+    @Override
+    public void close() {
+        closed = true;
+        generation++;
+        try {
+            worker.execute(() -> {
+                raster.release();
+                resourceCache.startPage(-1, true);
+                try {
+                    document.close();
+                } catch (IOException e) {
+                    Log.warn("Failed to close the PDF document", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Already closed
+        }
+        worker.shutdown();
+    }
+
+    /**
+     * Work done on the render thread for a request
+     */
+    @FunctionalInterface
+    private interface RenderTask {
+        void run() throws IOException;
+    }
+
+    /**
+     * Queues work on the render thread, skipped if another request was made in the meantime
+     *
+     * @param onFailed Receives the failure on the JavaFX Application Thread, null to ignore failures
+     */
+    private void submit(int request, RenderTask task, Consumer<Throwable> onFailed) {
+        try {
+            worker.execute(() -> {
+                if (closed || request != generation) {
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (IOException | RuntimeException e) {
+                    if (onFailed != null) {
+                        deliver(request, () -> onFailed.accept(e));
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Closed
+        }
+    }
+
+    // Runs a callback on the JavaFX Application Thread if its request is still the latest
+    private void deliver(int request, Runnable callback) {
+        Platform.runLater(() -> {
+            if (!closed && request == generation) {
+                callback.run();
+            }
+        });
+    }
+
+    private static RenderedPage preview(Image image, float imageZoom, float zoom) {
+        double scale = zoom / imageZoom;
+        return new RenderedPage(image, image.getWidth() * scale, image.getHeight() * scale, true);
+    }
+
+    private void prefetch(int page, float zoom) throws IOException {
+        if (page < 0 || page >= getPageCount() || isTiled(page, zoom)) {
+            return;
+        }
+        RenderedPageCache.Key key = new RenderedPageCache.Key(documentKey, page, zoom);
+        if (!RenderedPageCache.contains(key)) {
+            RenderedPageCache.put(key, renderPage(page, zoom, viewer, false));
+        }
+    }
+
+    private int columnsOf(int page, float zoom) {
+        return (int) Math.ceil(getPageSize(page, zoom).getWidth() / TILE_SIZE);
+    }
+
+    /**
+     * @param name The name the render is reported under
+     * @param shown Whether the page is the one shown, false for a prefetched page
+     */
+    private Image renderPage(int page, float zoom, String name, boolean shown) throws IOException {
+        Dimension2D size = getPageSize(page, zoom);
+        int width = (int) size.getWidth();
+        int height = (int) size.getHeight();
+
+        PdfRenderEvent renderEvent = new PdfRenderEvent(name, page, zoom);
+        renderEvent.begin();
+        long renderStart = System.nanoTime();
+        resourceCache.startPage(page, shown);
+        Image image = raster.renderPage(renderer, page, zoom, width, height);
+        Timings.PDF_RENDERS.record(name, renderStart);
+        renderEvent.setRendered((int) image.getWidth(), (int) image.getHeight());
+        renderEvent.commit();
+        return image;
+    }
+
+    /**
+     * Renders the part of a page under a tile
+     */
+    private Image renderTile(int page, float zoom, Tile tile) throws IOException {
+        Dimension2D size = getPageSize(page, zoom);
+        int x = tile.column() * TILE_SIZE;
+        int y = tile.row() * TILE_SIZE;
+        int width = (int) Math.min(TILE_SIZE, size.getWidth() - x);
+        int height = (int) Math.min(TILE_SIZE, size.getHeight() - y);
+
+        String name = viewer + " tile";
+        PdfRenderEvent renderEvent = new PdfRenderEvent(name, page, zoom);
+        renderEvent.begin();
+        long renderStart = System.nanoTime();
+        resourceCache.startPage(page, true);
+        Image image = raster.renderRegion(renderer, page, zoom, x, y, width, height);
+        Timings.PDF_RENDERS.record(name, renderStart);
+        renderEvent.setRendered(width, height);
+        renderEvent.commit();
+        return image;
+    }
+
+    /**
+     * Caches the resources of the document, and the images of the page shown, which keep their
+     * decoded pixels between its renders and tiles. The images are dropped when another page is
+     * shown; prefetching the pages around it reuses them but keeps none of its own. Past
+     * {@link #IMAGE_CACHE_BYTES} of decoded pixels the renderer decodes the others again when
+     * they are drawn.
+     */
+    private static final class PageImageCache extends DefaultResourceCache {
+        private final Map<COSObject, PDImageXObject> images = new HashMap<>();
+        // Decoded size of the cached images, counting 4 bytes a pixel
+        private long imageBytes = 0;
+        private int page = -1;
+        // False while a prefetched page is rendered
+        private boolean retaining = true;
+
+        /**
+         * Drops the images of the previous page when another page is shown
+         *
+         * @param shown Whether the page rendered next is the one shown, false for a prefetched page
+         */
+        void startPage(int page, boolean shown) {
+            retaining = shown;
+            if (shown && page != this.page) {
+                images.clear();
+                imageBytes = 0;
+                this.page = page;
+            }
+        }
+
+        @Override
+        public PDXObject getXObject(COSObject indirect) throws IOException {
+            PDImageXObject image = images.get(indirect);
+            return image != null ? image : super.getXObject(indirect);
+        }
+
+        @Override
+        public void put(COSObject indirect, PDXObject xobject) throws IOException {
+            if (!(xobject instanceof PDImageXObject image)) {
+                super.put(indirect, xobject);
+                return;
+            }
+            long bytes = 4L * image.getWidth() * image.getHeight();
+            if (retaining && imageBytes + bytes <= IMAGE_CACHE_BYTES) {
+                images.put(indirect, image);
+                imageBytes += bytes;
+            }
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package app.frontend;
+
+import app.backend.utils.Log;
+import javafx.beans.InvalidationListener;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.geometry.Bounds;
+import javafx.geometry.Dimension2D;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+/**
+ * Controller of the PDF viewer included by the course, exercise and practical work screens.
+ * It finds and opens the document off the JavaFX Application Thread, and handles page
+ * navigation and zoom; pages are rendered in the background by a {@link PdfPageRenderer}.
+ * At high zoom levels, only the tiles of the page around the viewport are rendered and
+ * displayed, over a low resolution preview of the whole page.
+ * The including screen sets the title and the return button. The document is closed when
+ * the viewer leaves its scene, or earlier by {@link #close()}.
+ *
+ * @author Sellami Mohamed Odai
+ */
+public class PdfViewerController implements Initializable {
+
+    /** UI Components */
+    @FXML private BorderPane pdfViewerContainer;
+    @FXML private Label titleLabel;
+    @FXML private Label pageLabel;
+    @FXML private Button prevButton;
+    @FXML private Button nextButton;
+    @FXML private Button zoomInButton;
+    @FXML private Button zoomOutButton;
+    @FXML private Button returnButton;
+    @FXML private ScrollPane scrollPane;
+    @FXML private Pane pagePane;
+    @FXML private ImageView pdfImageView;
+    @FXML private VBox errorContainer;
+    @FXML private Label errorMessage;
+    @FXML private HBox controlsContainer;
+
+    /** Highest zoom level */
+    private static final float MAX_ZOOM = 4.0f;
+
+    /** PDF rendering properties */
+    private PdfPageRenderer pageRenderer;
+    private int currentPage = 0;
+    private int totalPages = 0;
+    private float zoomFactor = 1.0f;
+    private ViewTasks viewTasks;
+
+    /** Whether the current page is rendered in tiles, and the tiles displayed */
+    private boolean tiled = false;
+    private final Map<PdfPageRenderer.Tile, ImageView> tileViews = new HashMap<>();
+
+    /**
+     * Initializes the controller, setting up button actions and default UI state.
+     *
+     * @param location The location used to resolve relative paths for resources
+     * @param resources The resources used to localize the root object
+     */
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        prevButton.setOnAction(e -> showPreviousPage());
+        nextButton.setOnAction(e -> showNextPage());
+        zoomInButton.setOnAction(e -> zoomIn());
+        zoomOutButton.setOnAction(e -> zoomOut());
+
+        errorContainer.setVisible(false);
+        errorContainer.setManaged(false);
+
+        // Scrolling or resizing brings other tiles in view
+        InvalidationListener viewportChanged = observable -> updateTiles();
+        scrollPane.viewportBoundsProperty().addListener(viewportChanged);
+        scrollPane.hvalueProperty().addListener(viewportChanged);
+        scrollPane.vvalueProperty().addListener(viewportChanged);
+        pagePane.boundsInParentProperty().addListener(viewportChanged);
+
+        viewTasks = new ViewTasks(pdfViewerContainer);
+
+        // Navigating away by any route, not only the return button, releases the render
+        // thread, the mapped document and its temporary file
+        pdfViewerContainer.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                close();
+            }
+        });
+    }
+
+    /**
+     * Sets the title displayed above the document.
+     *
+     * @param title The title, usually that of the course, exercise or practical work
+     */
+    public void setTitle(String title) {
+        titleLabel.setText(title);
+    }
+
+    /**
+     * Sets the text and action of the return button.
+     *
+     * @param text The button text, like "Return to Courses"
+     * @param action Called when the button is clicked
+     */
+    public void setReturnAction(String text, Runnable action) {
+        returnButton.setText(text);
+        returnButton.setOnAction(e -> action.run());
+    }
+
+    /**
+     * Opens and displays a PDF, looking for it in a folder when the path does not exist.
+     * The folder is searched for the file name, then for a file with the same timestamp suffix.
+     *
+     * @param pdfPath The path stored for the content
+     * @param folder The folder the PDFs of this kind of content are stored in, like "courses"
+     * @param contentName The kind of content, like "course", used in messages and render statistics
+     */
+    public void open(String pdfPath, String folder, String contentName) {
+        close();
+
+        if (pdfPath == null || pdfPath.isEmpty()) {
+            showError("No PDF available for this " + contentName + ".");
+            return;
+        }
+
+        File file = findPdfFile(pdfPath, folder);
+        if (!file.exists()) {
+            String filename = file.getName();
+            showError("PDF file not found: " + pdfPath + "\n\n" +
+                      "Please ensure the PDF file exists and check the path in the database.\n" +
+                      "Try placing the PDF in the '" + folder + "' folder with name: " + filename);
+            return;
+        }
+
+        Log.info("Loading PDF from: " + file.getAbsolutePath());
+        pageLabel.setText("Loading...");
+
+        // Parsing a large PDF takes a while, it happens off the JavaFX Application Thread,
+        // like reading the sizes of its pages
+        viewTasks.loadResource(() -> {
+            try {
+                return PdfPageRenderer.open(file, contentName + " viewer");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, loadedRenderer -> {
+            pageRenderer = loadedRenderer;
+            totalPages = pageRenderer.getPageCount();
+
+            currentPage = 0;
+            updatePageLabel();
+            renderCurrentPage();
+
+            controlsContainer.setVisible(true);
+            controlsContainer.setManaged(true);
+            errorContainer.setVisible(false);
+            errorContainer.setManaged(false);
+        }, error -> {
+            Throwable cause = error instanceof UncheckedIOException ? error.getCause() : error;
+            Log.error("Failed to load PDF", cause);
+            showError("Failed to load PDF: " + cause.getMessage() + "\n\nPath: " + pdfPath);
+        });
+    }
+
+    /**
+     * Displays an error message and hides the PDF controls.
+     *
+     * @param message The error message to display
+     */
+    public void showError(String message) {
+        errorMessage.setText(message);
+        errorContainer.setVisible(true);
+        errorContainer.setManaged(true);
+        controlsContainer.setVisible(false);
+        controlsContainer.setManaged(false);
+    }
+
+    /**
+     * Stops loading and rendering, and closes the document.
+     * Called when the viewer leaves its scene, calling it again does nothing.
+     */
+    public void close() {
+        viewTasks.cancelAll();
+        clearTiles();
+        if (pageRenderer != null) {
+            pageRenderer.close();
+            pageRenderer = null;
+        }
+    }
+
+    /**
+     * Finds a PDF file, in the given folder if the path does not exist.
+     *
+     * @param pdfPath Original path of the PDF
+     * @param folder Folder to search
+     * @return The file found, or the file of the original path if none is found
+     */
+    private File findPdfFile(String pdfPath, String folder) {
+        File file = new File(pdfPath);
+        if (file.exists()) {
+            return file;
+        }
+
+        String filename = file.getName();
+        File dir = new File(folder);
+
+        if (dir.exists() && dir.isDirectory()) {
+            // Try exact filename match first
+            File[] matchingFiles = dir.listFiles((parent, name) -> name.equals(filename));
+            if (matchingFiles != null && matchingFiles.length > 0) {
+                return matchingFiles[0];
+            }
+
+            // Try timestamp suffix matching
+            if (filename.contains("_")) {
+                final String searchPattern = filename.substring(filename.indexOf("_"));
+                matchingFiles = dir.listFiles((parent, name) -> name.contains(searchPattern));
+                if (matchingFiles != null && matchingFiles.length > 0) {
+                    return matchingFiles[0];
+                }
+            }
+        }
+
+        return file;
+    }
+
+    /**
+     * Navigates to the previous page if available.
+     */
+    private void showPreviousPage() {
+        if (currentPage > 0) {
+            currentPage--;
+            renderCurrentPage();
+            updatePageLabel();
+        }
+    }
+
+    /**
+     * Navigates to the next page if available.
+     */
+    private void showNextPage() {
+        if (currentPage < totalPages - 1) {
+            currentPage++;
+            renderCurrentPage();
+            updatePageLabel();
+        }
+    }
+
+    /**
+     * Increases the zoom level by 0.25 factor with a maximum limit of 4.
+     */
+    private void zoomIn() {
+        if (zoomFactor < MAX_ZOOM) {
+            zoomFactor += 0.25f;
+            renderCurrentPage();
+        }
+    }
+
+    /**
+     * Decreases the zoom level by 0.25 factor with a minimum limit of 0.5.
+     */
+    private void zoomOut() {
+        if (zoomFactor > 0.5f) {
+            zoomFactor -= 0.25f;
+            renderCurrentPage();
+        }
+    }
+
+    /**
+     * Requests the current page at the current zoom factor. A cached page is displayed at
+     * once; otherwise a preview is displayed at the size of the page until it is rendered.
+     * A page rendered in tiles keeps its preview, under the tiles in view.
+     */
+    private void renderCurrentPage() {
+        if (pageRenderer == null) return;
+
+        Dimension2D size = pageRenderer.getPageSize(currentPage, zoomFactor);
+        pagePane.setMinSize(size.getWidth(), size.getHeight());
+        pagePane.setPrefSize(size.getWidth(), size.getHeight());
+        pagePane.setMaxSize(size.getWidth(), size.getHeight());
+        // Previews are stretched to the size of the page
+        pdfImageView.setFitWidth(size.getWidth());
+        pdfImageView.setFitHeight(size.getHeight());
+
+        clearTiles();
+        tiled = pageRenderer.isTiled(currentPage, zoomFactor);
+
+        pageRenderer.show(currentPage, zoomFactor, page -> pdfImageView.setImage(page.image()), error -> {
+            Log.error("Failed to render page", error);
+            showError("Failed to render page: " + error.getMessage());
+        });
+        updateTiles();
+    }
+
+    /**
+     * Requests the tiles around the viewport that are not displayed yet, nearest to its
+     * center first, and removes the tiles that left it, so memory stays bounded at any zoom.
+     */
+    private void updateTiles() {
+        if (!tiled || pageRenderer == null) return;
+
+        int tileSize = PdfPageRenderer.TILE_SIZE;
+        Dimension2D size = pageRenderer.getPageSize(currentPage, zoomFactor);
+        int columns = (int) Math.ceil(size.getWidth() / tileSize);
+        int rows = (int) Math.ceil(size.getHeight() / tileSize);
+
+        // The viewport bounds are offset by the scrolling, the page is centered in the content
+        Bounds viewport = scrollPane.getViewportBounds();
+        double left = -viewport.getMinX() - pagePane.getLayoutX();
+        double top = -viewport.getMinY() - pagePane.getLayoutY();
+        // Half a tile of margin, so tiles are ready before they scroll in
+        int firstColumn = Math.max(0, (int) Math.floor((left - tileSize / 2.0) / tileSize));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor((left + viewport.getWidth() + tileSize / 2.0) / tileSize));
+        int firstRow = Math.max(0, (int) Math.floor((top - tileSize / 2.0) / tileSize));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((top + viewport.getHeight() + tileSize / 2.0) / tileSize));
+
+        tileViews.entrySet().removeIf(entry -> {
+            PdfPageRenderer.Tile tile = entry.getKey();
+            boolean outside = tile.column() < firstColumn || tile.column() > lastColumn
+                    || tile.row() < firstRow || tile.row() > lastRow;
+            if (outside) {
+                pagePane.getChildren().remove(entry.getValue());
+            }
+            return outside;
+        });
+
+        List<PdfPageRenderer.Tile> missing = new ArrayList<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                PdfPageRenderer.Tile tile = new PdfPageRenderer.Tile(column, row);
+                if (!tileViews.containsKey(tile)) {
+                    missing.add(tile);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        double centerX = left + viewport.getWidth() / 2;
+        double centerY = top + viewport.getHeight() / 2;
+        missing.sort(Comparator.comparingDouble(tile -> Math.hypot(
+                (tile.column() + 0.5) * tileSize - centerX, (tile.row() + 0.5) * tileSize - centerY)));
+        pageRenderer.showTiles(currentPage, zoomFactor, missing, this::addTile);
+    }
+
+    /**
+     * Displays a rendered tile over the preview
+     */
+    private void addTile(PdfPageRenderer.Tile tile, Image image) {
+        if (!tiled) return;
+
+        ImageView view = new ImageView(image);
+        view.setLayoutX(tile.column() * PdfPageRenderer.TILE_SIZE);
+        view.setLayoutY(tile.row() * PdfPageRenderer.TILE_SIZE);
+        ImageView previous = tileViews.put(tile, view);
+        if (previous != null) {
+            pagePane.getChildren().remove(previous);
+        }
+        pagePane.getChildren().add(view);
+    }
+
+    private void clearTiles() {
+        pagePane.getChildren().removeAll(tileViews.values());
+        tileViews.clear();
+        tiled = false;
+    }
+
+    /**
+     * Updates the page label to show current page number and total pages.
+     */
+    private void updatePageLabel() {
+        pageLabel.setText(String.format("Page %d of %d", currentPage + 1, totalPages));
+    }
+}
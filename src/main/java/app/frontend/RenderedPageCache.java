@@ -0,0 +1,102 @@
+package app.frontend;
+
+import javafx.scene.image.Image;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pages and page tiles rendered by the PDF viewers, shared by every viewer, keyed by document,
+ * page, zoom and tile.
+ *
+ * The cache holds at most -Dpdf.renderCacheMb megabytes of pixels (128 by default), counted
+ * as 4 bytes a pixel, and evicts the least recently viewed pages beyond. Documents are keyed
+ * by file and modification time, so reopening a PDF shows the pages already rendered.
+ */
+final class RenderedPageCache {
+
+    private static final long BUDGET_BYTES = Long.getLong("pdf.renderCacheMb", 128L) * 1024 * 1024;
+
+    // Tile index of the entries holding a whole page
+    static final int WHOLE_PAGE = -1;
+
+    /**
+     * A page of a document rendered at a zoom, or one tile of it
+     *
+     * @param tile The index of the tile, row by row, or {@link #WHOLE_PAGE}
+     */
+    record Key(String document, int page, float zoom, int tile) {
+        Key(String document, int page, float zoom) {
+            this(document, page, zoom, WHOLE_PAGE);
+        }
+    }
+
+    // In access order, the least recently used first
+    private static final LinkedHashMap<Key, Image> pages = new LinkedHashMap<>(64, 0.75f, true);
+    private static long bytes = 0;
+
+    private RenderedPageCache() {}
+
+    /**
+     * @return The rendered page, or null if it is not cached
+     */
+    static synchronized Image get(Key key) {
+        return pages.get(key);
+    }
+
+    /**
+     * Finds the largest image of a whole page cached at any zoom, to stand in while the page is rendered
+     *
+     * @return The key and image found, or null if no zoom of the page is cached
+     */
+    static synchronized Map.Entry<Key, Image> findLargest(String document, int page) {
+        Map.Entry<Key, Image> largest = null;
+        for (Map.Entry<Key, Image> entry : pages.entrySet()) {
+            Key key = entry.getKey();
+            if (key.page() == page && key.tile() == WHOLE_PAGE && key.document().equals(document)
+                    && (largest == null || key.zoom() > largest.getKey().zoom())) {
+                largest = entry;
+            }
+        }
+        return largest != null ? Map.entry(largest.getKey(), largest.getValue()) : null;
+    }
+
+    static synchronized boolean contains(Key key) {
+        return pages.containsKey(key);
+    }
+
+    /**
+     * Adds a rendered page, evicting the least recently used pages over the budget.
+     * A page larger than the whole budget is not cached.
+     */
+    static synchronized void put(Key key, Image image) {
+        long size = sizeOf(image);
+        if (size > BUDGET_BYTES) {
+            return;
+        }
+        Image previous = pages.put(key, image);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += size;
+
+        Iterator<Map.Entry<Key, Image>> eldest = pages.entrySet().iterator();
+        while (bytes > BUDGET_BYTES && eldest.hasNext()) {
+            Map.Entry<Key, Image> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                continue;
+            }
+            bytes -= sizeOf(entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    static synchronized long getBytes() {
+        return bytes;
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+}
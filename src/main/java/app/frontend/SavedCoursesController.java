@@ -3,7 +3,8 @@ package app.frontend;
 import app.backend.models.Course;
 import app.backend.models.User;
 import app.backend.services.FavoriteCoursesService;
-import app.backend.services.AuthService;
+import app.backend.services.BatchLoader;
+import app.backend.utils.Log;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -45,6 +46,14 @@ public class SavedCoursesController implements Initializable {
     
     /** List of user's favorite courses */
     private List<Course> favoriteCourses = new ArrayList<>();
+    // Teachers of the favorite courses, fetched in one query instead of one per card
+    private BatchLoader<User> teachers = BatchLoader.users();
+    
+    /** Background loads of this view */
+    private ViewTasks viewTasks;
+    
+    // Favorite courses with their teachers already loaded
+    private record LoadedCourses(List<Course> courses, BatchLoader<User> teachers) {}
 
     /**
      * Initializes the controller, loads current user's favorite courses
@@ -58,17 +67,30 @@ public class SavedCoursesController implements Initializable {
         currentUser = AuthLoginController.getCurrentUser();
         if (currentUser == null) return;
         
+        viewTasks = new ViewTasks(courseCardsContainer);
         loadFavoriteCourses();
         searchField.textProperty().addListener((observable, oldValue, newValue) -> 
             filterCourses(newValue));
     }
     
     /**
-     * Loads all favorite courses for the current user
+     * Loads all favorite courses for the current user in the background
      */
     private void loadFavoriteCourses() {
-        favoriteCourses = FavoriteCoursesService.getFavoriteCourses(currentUser.getId());
-        displayCourses(favoriteCourses);
+        int studentId = currentUser.getId();
+        ViewTasks.showLoading(courseCardsContainer);
+        
+        viewTasks.load(() -> {
+            List<Course> courses = FavoriteCoursesService.getFavoriteCourses(studentId);
+            BatchLoader<User> courseTeachers = BatchLoader.users().prime(
+                courses.stream().map(Course::getTeacherId).collect(Collectors.toList()));
+            courseTeachers.dispatch();
+            return new LoadedCourses(courses, courseTeachers);
+        }, loaded -> {
+            favoriteCourses = loaded.courses();
+            teachers = loaded.teachers();
+            filterCourses(searchField.getText());
+        });
     }
     
     /**
@@ -91,7 +113,7 @@ public class SavedCoursesController implements Initializable {
             courseCardsContainer.getChildren().add(noCoursesLabel);
         } else {
             for (Course course : courses) {
-                User teacher = AuthService.getUserById(course.getTeacherId());
+                User teacher = teachers.get(course.getTeacherId());
                 courseCardsContainer.getChildren().add(createCourseCard(course, teacher));
             }
         }
@@ -104,6 +126,10 @@ public class SavedCoursesController implements Initializable {
      * @param searchText The text to search for in course titles and descriptions
      */
     private void filterCourses(String searchText) {
+        if (viewTasks.isLoading()) {
+            // The loaded courses are filtered when they arrive
+            return;
+        }
         if (searchText == null || searchText.isEmpty()) {
             displayCourses(favoriteCourses);
         } else {
@@ -332,7 +358,7 @@ public class SavedCoursesController implements Initializable {
             }
             
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PdfCourseViewer.fxml"));
-            Parent viewerRoot = loader.load();
+            Parent viewerRoot = ViewLoader.load(loader);
             
             ViewCourseController controller = loader.getController();
             controller.setCourse(course);
@@ -343,7 +369,7 @@ public class SavedCoursesController implements Initializable {
                 contentArea.getChildren().add(viewerRoot);
             }
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Could not open the course viewer", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Could not open the course viewer.");
         }
     }
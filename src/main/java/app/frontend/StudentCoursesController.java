@@ -1,9 +1,11 @@
 package app.frontend;
 
+import app.backend.models.ContentCard;
 import app.backend.models.Course;
 import app.backend.models.User;
 import app.backend.services.CourseService;
 import app.backend.services.FavoriteCoursesService;
+import app.backend.utils.Log;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -23,10 +25,9 @@ import javafx.scene.layout.VBox;
 
 import java.io.IOException;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Controller for the student courses view that displays a teacher's courses.
@@ -42,9 +43,12 @@ public class StudentCoursesController implements Initializable {
     @FXML private TextField searchField;
     @FXML private ImageView teacherProfileImage;
     
+    private static final int PAGE_SIZE = 24;
     private User currentUser;
     private User teacher;
-    private List<Course> teacherCourses = new ArrayList<>();
+    private Set<Integer> favoriteCourseIds = new HashSet<>();
+    private ViewTasks viewTasks;
+    private CardPager<ContentCard> coursePager;
     
     /**
      * Initializes the controller.
@@ -56,7 +60,9 @@ public class StudentCoursesController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         currentUser = AuthLoginController.getCurrentUser();
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> filterCourses(newValue));
+        viewTasks = new ViewTasks(courseCardsContainer);
+        coursePager = new CardPager<>(courseCardsContainer, viewTasks, PAGE_SIZE, this::createCourseCard);
+        coursePager.reloadOnSearch(searchField, this::loadTeacherCourses);
     }
     
     /**
@@ -75,68 +81,57 @@ public class StudentCoursesController implements Initializable {
             Image profileImg = new Image(getClass().getResourceAsStream("/images/profilep.png"));
             teacherProfileImage.setImage(profileImg);
         } catch (Exception e) {
-            System.out.println("Failed to load teacher profile image");
+            Log.warn("Failed to load teacher profile image");
         }
         
-        loadTeacherCourses();
+        loadFavoritesAndCourses();
     }
     
     /**
-     * Loads courses for this teacher filtered by student level.
-     * Retrieves courses based on teacher ID and student enrollment level.
+     * Loads the IDs of the student's favorite courses in the background, then the courses,
+     * so the cards show their star from the first page on.
      */
-    private void loadTeacherCourses() {
-        if (currentUser != null && currentUser.getRole().equals("student")) {
-            teacherCourses = CourseService.getCoursesByTeacherAndLevel(teacher.getId(), currentUser.getEnrollmentLevel());
-        } else {
-            teacherCourses = CourseService.getCoursesByTeacherId(teacher.getId());
+    private void loadFavoritesAndCourses() {
+        User user = currentUser;
+        if (user == null) {
+            loadTeacherCourses();
+            return;
         }
-        
-        displayCourses(teacherCourses);
-    }
-    
-    /**
-     * Displays the provided list of courses as cards.
-     * If no courses are available, displays a message instead.
-     *
-     * @param courses The list of courses to display
-     */
-    private void displayCourses(List<Course> courses) {
-        courseCardsContainer.getChildren().clear();
-        
-        if (courses.isEmpty()) {
-            Label noCoursesLabel = new Label("No courses available for your enrollment level from this teacher yet.");
-            noCoursesLabel.getStyleClass().add("no-courses-message");
-            noCoursesLabel.setPrefWidth(courseCardsContainer.getPrefWidth());
-            noCoursesLabel.setPrefHeight(200);
-            noCoursesLabel.setAlignment(Pos.CENTER);
-            noCoursesLabel.setStyle("-fx-font-size: 18px; -fx-text-fill: white;");
-            
-            courseCardsContainer.getChildren().add(noCoursesLabel);
-        } else {
-            for (Course course : courses) {
-                courseCardsContainer.getChildren().add(createCourseCard(course));
+
+        ViewTasks.showLoading(courseCardsContainer);
+        viewTasks.load(() -> {
+            Set<Integer> favoriteIds = new HashSet<>();
+            for (Course favorite : FavoriteCoursesService.getFavoriteCourses(user.getId())) {
+                favoriteIds.add(favorite.getId());
             }
-        }
+            return favoriteIds;
+        }, favoriteIds -> {
+            favoriteCourseIds = favoriteIds;
+            loadTeacherCourses();
+        });
     }
     
     /**
-     * Filters courses by title or description based on search text.
-     *
-     * @param searchText The text to search for in course titles and descriptions
+     * Loads courses for this teacher filtered by student level in the background, one page at a time.
+     * Courses are filtered by the search text on the server.
      */
-    private void filterCourses(String searchText) {
-        if (searchText == null || searchText.isEmpty()) {
-            displayCourses(teacherCourses);
-        } else {
-            List<Course> filteredCourses = teacherCourses.stream()
-                .filter(course -> 
-                    course.getTitle().toLowerCase().contains(searchText.toLowerCase()) ||
-                    (course.getDescription() != null && course.getDescription().toLowerCase().contains(searchText.toLowerCase())))
-                .collect(Collectors.toList());
-            
-            displayCourses(filteredCourses);
+    private void loadTeacherCourses() {
+        if (teacher == null) {
+            return;
         }
+        int teacherId = teacher.getId();
+        String level = currentUser != null && currentUser.getRole().equals("student")
+            ? currentUser.getEnrollmentLevel()
+            : null;
+        String search = searchField.getText();
+        String emptyMessage = search.isBlank()
+            ? "No courses available for your enrollment level from this teacher yet."
+            : "No courses match your search criteria.";
+
+        coursePager.reload((after, limit) -> level != null
+                ? CourseService.getCourseCardsByTeacherAndLevel(teacherId, level, search, after, limit)
+                : CourseService.getCourseCardsByTeacherId(teacherId, search, after, limit),
+            emptyMessage);
     }
     
     /**
@@ -146,17 +141,17 @@ public class StudentCoursesController implements Initializable {
      */
     @FXML
     private void handleSearch(ActionEvent event) {
-        filterCourses(searchField.getText());
+        loadTeacherCourses();
     }
     
     /**
      * Creates a visual card representation for a course.
      * The card includes title, description, teacher information, and a button to view details.
      *
-     * @param course The course to create a card for
+     * @param course The card of the course
      * @return A StackPane containing the course card UI
      */
-    private StackPane createCourseCard(Course course) {
+    private StackPane createCourseCard(ContentCard course) {
         StackPane cardPane = new StackPane();
         cardPane.getStyleClass().add("course-card");
         cardPane.setPrefWidth(480);
@@ -171,7 +166,7 @@ public class StudentCoursesController implements Initializable {
             cardBackground.setPreserveRatio(false);
             cardBackground.setOpacity(0.7);
         } catch (Exception e) {
-            System.out.println("Failed to load background image for course card");
+            Log.warn("Failed to load background image for course card");
         }
 
         VBox cardContent = new VBox();
@@ -200,10 +195,10 @@ public class StudentCoursesController implements Initializable {
     /**
      * Creates the header box for a course card.
      *
-     * @param course The course to create the header for
+     * @param course The card of the course
      * @return An HBox containing the course title and logo
      */
-    private HBox createHeaderBox(Course course) {
+    private HBox createHeaderBox(ContentCard course) {
         HBox headerBox = new HBox();
         headerBox.getStyleClass().add("card-header");
         headerBox.setAlignment(Pos.TOP_LEFT);
@@ -233,7 +228,7 @@ public class StudentCoursesController implements Initializable {
             courseIcon.setFitHeight(50);
             courseIcon.getStyleClass().add("course-icon");
         } catch (Exception e) {
-            System.out.println("Failed to load logo for course: " + course.getTitle());
+            Log.warn("Failed to load logo for course: " + course.getTitle());
         }
 
         logoContainer.getChildren().addAll(courseIcon);
@@ -244,11 +239,11 @@ public class StudentCoursesController implements Initializable {
     /**
      * Creates the description label for a course card.
      *
-     * @param course The course to create the description for
-     * @return A Label containing the course description
+     * @param course The card of the course
+     * @return A Label containing the start of the course description
      */
-    private Label createDescriptionLabel(Course course) {
-        String description = course.getDescription();
+    private Label createDescriptionLabel(ContentCard course) {
+        String description = course.getDescriptionPreview();
         if (description == null || description.isEmpty()) {
             description = "No description available";
         }
@@ -264,10 +259,10 @@ public class StudentCoursesController implements Initializable {
     /**
      * Creates the footer box for a course card.
      *
-     * @param course The course to create the footer for
+     * @param course The card of the course
      * @return An HBox containing the instructor info and view button
      */
-    private HBox createFooterBox(Course course) {
+    private HBox createFooterBox(ContentCard course) {
         HBox footerBox = new HBox();
         footerBox.setAlignment(Pos.BOTTOM_LEFT);
         footerBox.setPrefWidth(480);
@@ -287,7 +282,7 @@ public class StudentCoursesController implements Initializable {
             instructorIcon.setFitWidth(20);
             instructorIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load instructor icon");
+            Log.warn("Failed to load instructor icon");
         }
         
         Label instructorLabel = new Label("Prof. " + teacher.getName());
@@ -303,7 +298,7 @@ public class StudentCoursesController implements Initializable {
         
         ImageView starIcon = new ImageView();
         try {
-            boolean isFavorite = FavoriteCoursesService.isFavoriteCourse(currentUser.getId(), course.getId());
+            boolean isFavorite = favoriteCourseIds.contains(course.getId());
             Image starImage = new Image(getClass().getResourceAsStream(isFavorite ? "/images/star-active.png" : "/images/star.png"));
             starIcon.setImage(starImage);
             starIcon.setFitWidth(24);
@@ -311,7 +306,7 @@ public class StudentCoursesController implements Initializable {
             favoriteButton.setGraphic(starIcon);
             favoriteButton.setSelected(isFavorite);
         } catch (Exception e) {
-            System.out.println("Failed to load star icon for course: " + course.getTitle());
+            Log.warn("Failed to load star icon for course: " + course.getTitle());
         }
 
         favoriteButton.setOnAction(event -> {
@@ -325,13 +320,18 @@ public class StudentCoursesController implements Initializable {
             }
             
             if (success) {
+                if (isNowFavorite) {
+                    favoriteCourseIds.add(course.getId());
+                } else {
+                    favoriteCourseIds.remove(course.getId());
+                }
                 try {
                     Image newStarImage = new Image(getClass().getResourceAsStream(
                         isNowFavorite ? "/images/star-active.png" : "/images/star.png"
                     ));
                     starIcon.setImage(newStarImage);
                 } catch (Exception e) {
-                    System.out.println("Failed to update star icon");
+                    Log.warn("Failed to update star icon");
                 }
             } else {
                 favoriteButton.setSelected(!isNowFavorite);
@@ -354,11 +354,27 @@ public class StudentCoursesController implements Initializable {
     
     /**
      * Handles the action when a user clicks on a course card to view details.
-     * Checks if the course has a PDF file and loads the appropriate viewer.
+     * Loads the full course in the background, then opens its PDF in the viewer.
+     *
+     * @param card The card of the course to view
+     */
+    private void handleViewCourseDetails(ContentCard card) {
+        viewTasks.load(() -> CourseService.getCourseById(card.getId()), course -> {
+            if (course == null) {
+                showAlert(Alert.AlertType.ERROR, "Error", "This course no longer exists.");
+                loadTeacherCourses();
+                return;
+            }
+            openCourseViewer(course);
+        });
+    }
+    
+    /**
+     * Opens the PDF of a course in the viewer, if it has one.
      *
-     * @param course The course to view details for
+     * @param course The course to view
      */
-    private void handleViewCourseDetails(Course course) {
+    private void openCourseViewer(Course course) {
         try {
             if (course.getPdfPath() == null || course.getPdfPath().isEmpty()) {
                 showAlert(Alert.AlertType.WARNING, "No PDF Available", 
@@ -367,7 +383,7 @@ public class StudentCoursesController implements Initializable {
             }
             
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PdfCourseViewer.fxml"));
-            Parent courseViewerParent = loader.load();
+            Parent courseViewerParent = ViewLoader.load(loader);
             
             ViewCourseController controller = loader.getController();
             controller.setCourse(course);
@@ -377,7 +393,7 @@ public class StudentCoursesController implements Initializable {
             contentArea.getChildren().add(courseViewerParent);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load course viewer", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load course viewer: " + e.getMessage());
         }
     }
@@ -392,7 +408,7 @@ public class StudentCoursesController implements Initializable {
     private void handleBackToTeachers(ActionEvent event) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeachersCards.fxml"));
-            Parent teachersView = loader.load();
+            Parent teachersView = ViewLoader.load(loader);
             
             TeachersCardsController controller = loader.getController();
             if (currentUser != null && currentUser.getRole().equals("teacher")) {
@@ -405,7 +421,7 @@ public class StudentCoursesController implements Initializable {
             contentArea.getChildren().add(teachersView);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to go back to teachers view", e);
             showAlert(Alert.AlertType.ERROR, "Navigation Error", "Failed to go back to teachers view.");
         }
     }
@@ -1,10 +1,9 @@
 package app.frontend;
 
+import app.backend.models.DashboardStats;
 import app.backend.models.User;
-import app.backend.services.CourseService;
-import app.backend.services.ExerciseService;
-import app.backend.services.PracticalWorkService;
-import app.backend.services.QuizService;
+import app.backend.services.DashboardStatsService;
+import app.backend.utils.Log;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.layout.StackPane;
@@ -55,6 +54,9 @@ public class StudentDashboardController {
     /** Currently logged-in user */
     private User currentUser;
     
+    /** Background loads of this view */
+    private ViewTasks viewTasks;
+    
     /** Reference to parent application controller */
     private ApplicationController parentController;
     
@@ -65,6 +67,7 @@ public class StudentDashboardController {
     @FXML
     public void initialize() {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(coursesCountLabel);
         
         initializeDate();
         initializeUserName();
@@ -98,12 +101,12 @@ public class StudentDashboardController {
      */
     public void setApplicationController(ApplicationController controller) {
         this.parentController = controller;
-        System.out.println("ApplicationController successfully set on StudentDashboardController");
+        Log.debug("ApplicationController successfully set on StudentDashboardController");
     }
     
     /**
      * Updates the statistics displayed in the dashboard.
-     * Fetches course, quiz, exercise, and practical work counts from services.
+     * Fetches course, quiz, exercise, and practical work counts from DashboardStatsService.
      */
     private void updateStatistics() {
         try {
@@ -113,21 +116,24 @@ public class StudentDashboardController {
             
             String studentLevel = currentUser.getEnrollmentLevel();
             
-            int courseCount = CourseService.getCourseCountByLevel(studentLevel);
-            int quizCount = QuizService.getQuizCountByLevel(studentLevel);
-            int exerciseCount = ExerciseService.getExerciseCountByLevel(studentLevel);
-            int practicalCount = PracticalWorkService.getPracticalWorkCountByLevel(studentLevel);
-            
-            coursesCountLabel.setText(String.valueOf(courseCount));
-            quizzesCountLabel.setText(String.valueOf(quizCount));
-            exercisesCountLabel.setText(String.valueOf(exerciseCount));
-            practicalCountLabel.setText(String.valueOf(practicalCount));
+            showStatistics("...", "...", "...", "...");
+            viewTasks.load(() -> DashboardStatsService.getStudentStats(studentLevel), stats -> showStatistics(
+                String.valueOf(stats.getCourseCount()),
+                String.valueOf(stats.getQuizCount()),
+                String.valueOf(stats.getExerciseCount()),
+                String.valueOf(stats.getPracticalWorkCount())));
         } catch (Exception e) {
-            System.err.println("Error fetching statistics: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error fetching statistics", e);
         }
     }
     
+    private void showStatistics(String courses, String quizzes, String exercises, String practicalWorks) {
+        coursesCountLabel.setText(courses);
+        quizzesCountLabel.setText(quizzes);
+        exercisesCountLabel.setText(exercises);
+        practicalCountLabel.setText(practicalWorks);
+    }
+    
     /**
      * Retrieves the parent ApplicationController instance.
      * First tries the direct reference, then looks in scene properties if needed.
@@ -147,7 +153,7 @@ public class StudentDashboardController {
                 return parentController;
             }
         }
-          System.out.println("Could not find parent controller in scene properties");
+          Log.warn("Could not find parent controller in scene properties");
         return null;
     }
     
@@ -194,12 +200,12 @@ public class StudentDashboardController {
      * @param action The action to perform on the controller
      */
     private void navigateToView(String destination, java.util.function.Consumer<ApplicationController> action) {
-        System.out.println("Navigating to " + destination);
+        Log.debug(() -> "Navigating to " + destination);
         ApplicationController controller = getParentController();
         if (controller != null) {
             action.accept(controller);
         } else {
-            System.out.println("ERROR: Cannot navigate - ApplicationController is null");
+            Log.error("Cannot navigate - ApplicationController is null");
         }
     }
 }
@@ -1,8 +1,12 @@
 package app.frontend;
 
+import app.backend.models.ContentCard;
+import app.backend.models.Course;
 import app.backend.models.Exercise;
 import app.backend.models.User;
+import app.backend.services.CourseService;
 import app.backend.services.ExerciseService;
+import app.backend.utils.Log;
 import app.backend.services.AuthService;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -28,6 +32,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.stream.Collectors;
 
@@ -61,8 +66,17 @@ public class StudentExercisesController implements Initializable {
     /** Currently logged-in user */
     private User currentUser;
     
-    /** List of exercises belonging to the current teacher */
-    private List<Exercise> teacherExercises = new ArrayList<>();
+    /** Number of exercise cards loaded at a time */
+    private static final int PAGE_SIZE = 24;
+    
+    /** Background loads of this view */
+    private ViewTasks viewTasks;
+    
+    /** Pages of exercise cards of the current teacher */
+    private CardPager<ExerciseCard> exercisePager;
+    
+    // The card of an exercise with the course it shows, null if the course is gone
+    private record ExerciseCard(ContentCard card, Course course) {}
 
     /**
      * Initializes the controller class. This method is automatically called
@@ -74,8 +88,10 @@ public class StudentExercisesController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(exercisesFlowPane);
+        exercisePager = new CardPager<>(exercisesFlowPane, viewTasks, PAGE_SIZE, this::createExerciseCard);
         backButton.setOnAction(e -> handleBackToTeachers());
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> filterExercises(newValue));
+        exercisePager.reloadOnSearch(searchField, this::loadTeacherExercises);
     }
     
     /**
@@ -95,7 +111,7 @@ public class StudentExercisesController implements Initializable {
             Image profileImg = new Image(getClass().getResourceAsStream("/images/profilep.png"));
             teacherProfileImage.setImage(profileImg);
         } catch (Exception e) {
-            System.err.println("Failed to load teacher profile image: " + e.getMessage());
+            Log.warn("Failed to load teacher profile image: " + e.getMessage());
         }
         
         loadTeacherExercises();
@@ -107,16 +123,18 @@ public class StudentExercisesController implements Initializable {
      * @param teacherId The ID of the teacher to display exercises for
      */
     public void setTeacherId(int teacherId) {
-        User teacher = AuthService.getUserById(teacherId);
-        if (teacher != null) {
-            setTeacher(teacher);
-        } else {
-            showAlert(Alert.AlertType.ERROR, "Error", "Teacher not found with ID: " + teacherId);
-        }
+        viewTasks.load(() -> AuthService.getUserById(teacherId), teacher -> {
+            if (teacher != null) {
+                setTeacher(teacher);
+            } else {
+                showAlert(Alert.AlertType.ERROR, "Error", "Teacher not found with ID: " + teacherId);
+            }
+        });
     }
     
     /**
-     * Loads exercises from the specified teacher based on user role and level
+     * Loads exercises from the specified teacher based on user role and level in the background,
+     * one page at a time. Exercises are filtered by the search text on the server.
      */
     private void loadTeacherExercises() {
         if (teacher == null) {
@@ -124,63 +142,35 @@ public class StudentExercisesController implements Initializable {
             return;
         }
         
+        int teacherId = teacher.getId();
+        String studentLevel = null;
         if (currentUser != null && currentUser.getRole().equals("student")) {
-            String studentLevel = currentUser.getEnrollmentLevel();
+            studentLevel = currentUser.getEnrollmentLevel();
             if (studentLevel == null || studentLevel.isEmpty()) {
                 studentLevel = "L1";
             }
-            teacherExercises = ExerciseService.getExercisesByTeacherAndLevel(teacher.getId(), studentLevel);
-        } else {
-            teacherExercises = ExerciseService.getExercisesByTeacherId(teacher.getId());
         }
-        
-        displayExercises(teacherExercises);
-    }
-    
-    /**
-     * Displays the provided list of exercises as cards in the flow pane
-     * 
-     * @param exercises The list of exercises to display
-     */
-    private void displayExercises(List<Exercise> exercises) {
-        exercisesFlowPane.getChildren().clear();
-        
-        if (exercises.isEmpty()) {
-            Label noExercisesLabel = new Label("No exercises available for your enrollment level from this teacher yet.");
-            noExercisesLabel.getStyleClass().add("no-courses-message");
-            noExercisesLabel.setPrefWidth(exercisesFlowPane.getPrefWidth());
-            noExercisesLabel.setPrefHeight(200);
-            noExercisesLabel.setAlignment(Pos.CENTER);
-            noExercisesLabel.setStyle("-fx-font-size: 18px; -fx-text-fill: white;");
+        String level = studentLevel;
+        String search = searchField.getText();
+        String emptyMessage = search.isBlank()
+            ? "No exercises available for your enrollment level from this teacher yet."
+            : "No exercises found matching your search.";
+        
+        exercisePager.reload((after, limit) -> {
+            ContentCard afterCard = after != null ? after.card() : null;
+            List<ContentCard> cards = level != null
+                ? ExerciseService.getExerciseCardsByTeacherAndLevel(teacherId, level, search, afterCard, limit)
+                : ExerciseService.getExerciseCardsByTeacherId(teacherId, search, afterCard, limit);
+            // Courses shown on the cards, fetched in one query instead of one per card
+            Map<Integer, Course> courses = CourseService.getCoursesByIds(
+                cards.stream().map(ContentCard::getCourseId).collect(Collectors.toList()));
             
-            exercisesFlowPane.getChildren().add(noExercisesLabel);
-        } else {
-            exercises.forEach(exercise -> 
-                exercisesFlowPane.getChildren().add(createExerciseCard(exercise))
-            );
-        }
-    }
-    
-    /**
-     * Filters exercises by title or description based on search text
-     * 
-     * @param searchText The text to search for
-     */
-    private void filterExercises(String searchText) {
-        if (searchText == null || searchText.isEmpty()) {
-            displayExercises(teacherExercises);
-            return;
-        }
-        
-        String searchLower = searchText.toLowerCase();
-        List<Exercise> filteredExercises = teacherExercises.stream()
-            .filter(exercise -> 
-                exercise.getTitle().toLowerCase().contains(searchLower) ||
-                (exercise.getDescription() != null && 
-                 exercise.getDescription().toLowerCase().contains(searchLower)))
-            .collect(Collectors.toList());
-        
-        displayExercises(filteredExercises);
+            List<ExerciseCard> page = new ArrayList<>();
+            for (ContentCard card : cards) {
+                page.add(new ExerciseCard(card, courses.get(card.getCourseId())));
+            }
+            return page;
+        }, emptyMessage);
     }
     
     /**
@@ -190,16 +180,18 @@ public class StudentExercisesController implements Initializable {
      */
     @FXML
     private void handleSearch(ActionEvent event) {
-        filterExercises(searchField.getText());
+        loadTeacherExercises();
     }
     
     /**
      * Creates a visual card representation for an exercise
      * 
-     * @param exercise The exercise to create a card for
+     * @param item The card of the exercise with its course
      * @return A StackPane containing the styled exercise card
      */
-    private StackPane createExerciseCard(Exercise exercise) {
+    private StackPane createExerciseCard(ExerciseCard item) {
+        ContentCard exercise = item.card();
+        
         // Card dimensions
         final int CARD_WIDTH = 480;
         final int CARD_HEIGHT = 230;
@@ -223,7 +215,7 @@ public class StudentExercisesController implements Initializable {
         Label descriptionLabel = createDescriptionLabel(exercise);
         
         // Create course info
-        HBox courseBox = createCourseInfoBox(exercise);
+        HBox courseBox = createCourseInfoBox(item.course());
         
         // Space filler
         Region spacer = new Region();
@@ -237,7 +229,7 @@ public class StudentExercisesController implements Initializable {
         cardPane.getChildren().addAll(cardBackground, cardContent);
         
         // Make the entire card clickable
-        cardPane.setOnMouseClicked(e -> openExerciseViewer(exercise));
+        cardPane.setOnMouseClicked(e -> handleViewExercise(exercise));
         
         return cardPane;
     }
@@ -255,7 +247,7 @@ public class StudentExercisesController implements Initializable {
             cardBackground.setPreserveRatio(false);
             cardBackground.setOpacity(0.7);
         } catch (Exception e) {
-            System.err.println("Failed to load background image for exercise card: " + e.getMessage());
+            Log.warn("Failed to load background image for exercise card: " + e.getMessage());
         }
         return cardBackground;
     }
@@ -276,7 +268,7 @@ public class StudentExercisesController implements Initializable {
     /**
      * Creates the header box with title and icon
      */
-    private HBox createHeaderWithTitle(Exercise exercise, int width) {
+    private HBox createHeaderWithTitle(ContentCard exercise, int width) {
         HBox headerBox = new HBox();
         headerBox.getStyleClass().add("card-header");
         headerBox.setAlignment(Pos.TOP_LEFT);
@@ -312,7 +304,7 @@ public class StudentExercisesController implements Initializable {
             exerciseIcon.setFitHeight(50);
             exerciseIcon.getStyleClass().add("course-icon");
         } catch (Exception e) {
-            System.err.println("Failed to load logo for exercise: " + e.getMessage());
+            Log.warn("Failed to load logo for exercise: " + e.getMessage());
         }
         
         logoContainer.getChildren().add(exerciseIcon);
@@ -324,8 +316,8 @@ public class StudentExercisesController implements Initializable {
     /**
      * Creates the description label for the exercise
      */
-    private Label createDescriptionLabel(Exercise exercise) {
-        String description = exercise.getDescription();
+    private Label createDescriptionLabel(ContentCard exercise) {
+        String description = exercise.getDescriptionPreview();
         if (description == null || description.isEmpty()) {
             description = "No description available";
         } else if (description.length() > 100) {
@@ -342,21 +334,15 @@ public class StudentExercisesController implements Initializable {
     
     /**
      * Creates the course info box
+     * 
+     * @param course The course of the exercise, null if it no longer exists
      */
-    private HBox createCourseInfoBox(Exercise exercise) {
+    private HBox createCourseInfoBox(Course course) {
         HBox courseBox = new HBox();
         courseBox.setAlignment(Pos.CENTER_LEFT);
         courseBox.setSpacing(5);
         
-        String courseName = "Unknown Course";
-        try {
-            app.backend.models.Course course = app.backend.services.CourseService.getCourseById(exercise.getCourseId());
-            if (course != null) {
-                courseName = course.getTitle();
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to get course info: " + e.getMessage());
-        }
+        String courseName = course != null ? course.getTitle() : "Unknown Course";
         
         Label courseLabel = new Label("Course: " + courseName);
         courseLabel.getStyleClass().add("card-instructor");
@@ -369,7 +355,7 @@ public class StudentExercisesController implements Initializable {
     /**
      * Creates the footer with instructor info and view button
      */
-    private HBox createFooterWithButton(Exercise exercise, int width) {
+    private HBox createFooterWithButton(ContentCard exercise, int width) {
         HBox footerBox = new HBox();
         footerBox.setAlignment(Pos.BOTTOM_LEFT);
         footerBox.setPrefWidth(width);
@@ -391,7 +377,7 @@ public class StudentExercisesController implements Initializable {
             instructorIcon.setFitWidth(20);
             instructorIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.err.println("Failed to load instructor icon: " + e.getMessage());
+            Log.warn("Failed to load instructor icon: " + e.getMessage());
         }
         
         Label instructorLabel = new Label("Prof. " + teacher.getName());
@@ -407,7 +393,7 @@ public class StudentExercisesController implements Initializable {
         viewButton.setStyle("-fx-background-color: #be123c;");
         viewButton.setPrefWidth(120);
         viewButton.setPrefHeight(24);
-        viewButton.setOnAction(e -> openExerciseViewer(exercise));
+        viewButton.setOnAction(e -> handleViewExercise(exercise));
         
         buttonBox.getChildren().add(viewButton);
         footerBox.getChildren().addAll(instructorBox, buttonBox);
@@ -415,6 +401,22 @@ public class StudentExercisesController implements Initializable {
         return footerBox;
     }
     
+    /**
+     * Loads the full exercise of a card in the background and opens it in the viewer
+     * 
+     * @param card The card of the exercise to view
+     */
+    private void handleViewExercise(ContentCard card) {
+        viewTasks.load(() -> ExerciseService.getExerciseById(card.getId()), exercise -> {
+            if (exercise == null) {
+                showAlert(Alert.AlertType.ERROR, "Error", "This exercise no longer exists.");
+                loadTeacherExercises();
+                return;
+            }
+            openExerciseViewer(exercise);
+        });
+    }
+    
     /**
      * Opens the exercise viewer for a specific exercise
      * 
@@ -429,7 +431,7 @@ public class StudentExercisesController implements Initializable {
             }
             
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PdfExerciseViewer.fxml"));
-            Parent exerciseViewerParent = loader.load();
+            Parent exerciseViewerParent = ViewLoader.load(loader);
             
             ViewExerciseController controller = loader.getController();
             controller.setExercise(exercise);
@@ -439,7 +441,7 @@ public class StudentExercisesController implements Initializable {
             contentArea.getChildren().add(exerciseViewerParent);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load exercise viewer", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load exercise viewer: " + e.getMessage());
         }
     }
@@ -450,7 +452,7 @@ public class StudentExercisesController implements Initializable {
     private void handleBackToTeachers() {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeachersCards.fxml"));
-            Parent teachersView = loader.load();
+            Parent teachersView = ViewLoader.load(loader);
             
             TeachersCardsController controller = loader.getController();
             controller.setIsExerciseView(true);
@@ -465,7 +467,7 @@ public class StudentExercisesController implements Initializable {
             contentArea.getChildren().add(teachersView);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Could not return to teachers list", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Could not return to teachers list.");
         }
     }
@@ -1,5 +1,6 @@
 package app.frontend;
 
+import app.backend.models.ContentCard;
 import app.backend.models.Course;
 import app.backend.models.PracticalWork;
 import app.backend.models.PracticalWorkSubmission;
@@ -7,8 +8,7 @@ import app.backend.models.User;
 import app.backend.services.CourseService;
 import app.backend.services.PracticalWorkService;
 import app.backend.services.PracticalWorkSubmissionService;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import app.backend.utils.Log;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -32,9 +32,13 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -45,6 +49,9 @@ import java.util.stream.Collectors;
  */
 public class StudentPracticalWorksController implements Initializable {
 
+    private static final int PAGE_SIZE = 24;
+    private static final String NO_MATCH_MESSAGE = "No practical works match your search criteria.";
+
     @FXML private FlowPane practicalWorkCardsContainer;
     @FXML private TextField searchField;
     
@@ -64,10 +71,15 @@ public class StudentPracticalWorksController implements Initializable {
     
     private User currentUser;
     private User teacher;
-    private ObservableList<PracticalWork> practicalWorksList = FXCollections.observableArrayList();
     private File selectedFile = null;
     private PracticalWork currentPracticalWork = null;
-
+    private ViewTasks viewTasks;
+    private CardPager<WorkCard> workPager;
+    
+    // The card of a practical work with the course it shows, null if the course is gone,
+    // and whether the student already submitted it
+    private record WorkCard(ContentCard card, Course course, boolean submitted) {}
+    
     /**
      * Sets the teacher for this view and loads their practical works
      * 
@@ -85,7 +97,7 @@ public class StudentPracticalWorksController implements Initializable {
             Image profileImg = new Image(getClass().getResourceAsStream("/images/profilep.png"));
             teacherProfileImage.setImage(profileImg);
         } catch (Exception e) {
-            System.out.println("Failed to load teacher profile image");
+            Log.warn("Failed to load teacher profile image");
         }
         
         loadTeacherPracticalWorks();
@@ -101,6 +113,8 @@ public class StudentPracticalWorksController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(practicalWorkCardsContainer);
+        workPager = new CardPager<>(practicalWorkCardsContainer, viewTasks, PAGE_SIZE, this::createPracticalWorkCard);
         
         setupDragAndDrop();
         
@@ -109,9 +123,7 @@ public class StudentPracticalWorksController implements Initializable {
             
             loadPracticalWorks();
             
-            searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-                filterPracticalWorks(newValue);
-            });
+            workPager.reloadOnSearch(searchField, this::reloadPracticalWorks);
         } else if (currentUser != null && !currentUser.getRole().equals("student")) {
             if (practicalWorkCardsContainer != null) {
                 practicalWorkCardsContainer.getChildren().clear();
@@ -220,46 +232,66 @@ public class StudentPracticalWorksController implements Initializable {
      * Loads and displays all practical works accessible to the current student
      */
     private void loadPracticalWorks() {
-        practicalWorkCardsContainer.getChildren().clear();
-        
-        List<PracticalWork> allPracticalWorks = getAllPracticalWorks();
-        practicalWorksList.setAll(allPracticalWorks);
-        
-        if (practicalWorksList.isEmpty()) {
-            Label noPracticalWorksLabel = new Label("There are no practical works available at the moment.");
-            noPracticalWorksLabel.getStyleClass().add("no-courses-message");
-            noPracticalWorksLabel.setPadding(new Insets(50, 0, 0, 0));
-            practicalWorkCardsContainer.getChildren().add(noPracticalWorksLabel);
+        String search = searchText();
+        loadWorks((after, limit) -> PracticalWorkService.getPracticalWorkCards(search, after, limit),
+            search.isBlank() ? "There are no practical works available at the moment." : NO_MATCH_MESSAGE);
+    }
+    
+    /**
+     * Reloads the practical works displayed, those of the teacher if one is set
+     */
+    private void reloadPracticalWorks() {
+        if (teacher != null) {
+            loadTeacherPracticalWorks();
         } else {
-            for (PracticalWork practicalWork : practicalWorksList) {
-                practicalWorkCardsContainer.getChildren().add(createPracticalWorkCard(practicalWork));
-            }
+            loadPracticalWorks();
         }
     }
     
+    private String searchText() {
+        return searchField != null ? searchField.getText().trim() : "";
+    }
+    
     /**
-     * Retrieves all practical works from all courses
+     * Loads practical work cards in the background, one page at a time, with the courses
+     * and submissions the cards show, replacing any page load in progress
      * 
-     * @return List of practical works
+     * @param cards Returns a page of the practical work cards to display
+     * @param emptyMessage Message displayed when there are none
      */
-    private List<PracticalWork> getAllPracticalWorks() {
-        List<PracticalWork> allWorks = new ArrayList<>();
-        List<Course> courses = CourseService.getAllCourses();
-        
-        for (Course course : courses) {
-            allWorks.addAll(PracticalWorkService.getPracticalWorksByCourseId(course.getId()));
-        }
-        
-        return allWorks;
+    private void loadWorks(CardPager.PageLoader<ContentCard> cards, String emptyMessage) {
+        User user = currentUser;
+        
+        workPager.reload((after, limit) -> {
+            List<ContentCard> page = cards.load(after != null ? after.card() : null, limit);
+            // Courses shown on the cards, fetched in one query instead of one per card
+            Map<Integer, Course> courses = CourseService.getCoursesByIds(
+                page.stream().map(ContentCard::getCourseId).collect(Collectors.toList()));
+            
+            Set<Integer> submittedIds = new HashSet<>();
+            if (user != null && user.getRole().equals("student") && !page.isEmpty()) {
+                for (PracticalWorkSubmission submission : PracticalWorkSubmissionService.getSubmissionsByStudentId(user.getId())) {
+                    submittedIds.add(submission.getPracticalWorkId());
+                }
+            }
+            
+            List<WorkCard> works = new ArrayList<>();
+            for (ContentCard card : page) {
+                works.add(new WorkCard(card, courses.get(card.getCourseId()), submittedIds.contains(card.getId())));
+            }
+            return works;
+        }, emptyMessage);
     }
-
+    
     /**
      * Creates a visual card representation for a practical work
      * 
-     * @param practicalWork The practical work to create a card for
+     * @param item The card of the practical work with its course and submission
      * @return A StackPane containing the practical work card UI
      */
-    private StackPane createPracticalWorkCard(PracticalWork practicalWork) {
+    private StackPane createPracticalWorkCard(WorkCard item) {
+        ContentCard practicalWork = item.card();
+
         StackPane cardPane = new StackPane();
         cardPane.getStyleClass().add("course-card");
         cardPane.setPrefWidth(480);
@@ -291,7 +323,7 @@ public class StudentPracticalWorksController implements Initializable {
         Label descriptionLabel = createDescriptionLabel(practicalWork);
         
         // Course info
-        HBox courseBox = createCourseBox(practicalWork);
+        HBox courseBox = createCourseBox(item.course());
         
         // Progress tracking
         VBox progressBox = createProgressBox(practicalWork);
@@ -300,12 +332,12 @@ public class StudentPracticalWorksController implements Initializable {
         VBox.setVgrow(spacer, Priority.ALWAYS);
 
         // Footer with deadline and buttons
-        HBox footerBox = createFooterBox(practicalWork);
+        HBox footerBox = createFooterBox(practicalWork, item.submitted());
 
         cardContent.getChildren().addAll(headerBox, descriptionLabel, courseBox, progressBox, spacer, footerBox);
         cardPane.getChildren().addAll(cardBackground, cardContent);
         cardPane.setAccessibleText("Practical Work: " + practicalWork.getTitle() + ", " + 
-                                  (practicalWork.getDescription() != null ? practicalWork.getDescription() : ""));
+                                  (practicalWork.getDescriptionPreview() != null ? practicalWork.getDescriptionPreview() : ""));
 
         return cardPane;
     }
@@ -313,10 +345,10 @@ public class StudentPracticalWorksController implements Initializable {
     /**
      * Creates the header box for a practical work card
      * 
-     * @param practicalWork The practical work
+     * @param practicalWork The card of the practical work
      * @return HBox containing the header elements
      */
-    private HBox createHeaderBox(PracticalWork practicalWork) {
+    private HBox createHeaderBox(ContentCard practicalWork) {
         HBox headerBox = new HBox();
         headerBox.getStyleClass().add("card-header");
         headerBox.setAlignment(Pos.TOP_LEFT);
@@ -346,7 +378,7 @@ public class StudentPracticalWorksController implements Initializable {
             Image logo = new Image(getClass().getResourceAsStream("/images/Keyboard.png"));
             practicalWorkIcon.setImage(logo);
         } catch (Exception e) {
-            System.out.println("Failed to load logo for practical work: " + practicalWork.getTitle());
+            Log.warn("Failed to load logo for practical work: " + practicalWork.getTitle());
         }
         practicalWorkIcon.setFitWidth(50);
         practicalWorkIcon.setFitHeight(50);
@@ -360,11 +392,11 @@ public class StudentPracticalWorksController implements Initializable {
     /**
      * Creates the description label for a practical work card
      * 
-     * @param practicalWork The practical work
+     * @param practicalWork The card of the practical work
      * @return Label containing the description
      */
-    private Label createDescriptionLabel(PracticalWork practicalWork) {
-        String description = practicalWork.getDescription();
+    private Label createDescriptionLabel(ContentCard practicalWork) {
+        String description = practicalWork.getDescriptionPreview();
         if (description == null || description.isEmpty()) {
             description = "No description available";
         } else if (description.length() > 100) {
@@ -381,15 +413,14 @@ public class StudentPracticalWorksController implements Initializable {
     /**
      * Creates the course info box for a practical work card
      * 
-     * @param practicalWork The practical work
+     * @param course The course of the practical work, null if it no longer exists
      * @return HBox containing course information
      */
-    private HBox createCourseBox(PracticalWork practicalWork) {
+    private HBox createCourseBox(Course course) {
         HBox courseBox = new HBox();
         courseBox.setAlignment(Pos.CENTER_LEFT);
         courseBox.setSpacing(5);
 
-        Course course = CourseService.getCourseById(practicalWork.getCourseId());
         String courseName = course != null ? course.getTitle() : "Unknown Course";
 
         Label courseLabel = new Label("Course: " + courseName);
@@ -403,10 +434,10 @@ public class StudentPracticalWorksController implements Initializable {
     /**
      * Creates the progress tracking box for a practical work card
      * 
-     * @param practicalWork The practical work
+     * @param practicalWork The card of the practical work
      * @return VBox containing progress information and visualization
      */
-    private VBox createProgressBox(PracticalWork practicalWork) {
+    private VBox createProgressBox(ContentCard practicalWork) {
         VBox progressBox = new VBox(3);
         progressBox.setAlignment(Pos.CENTER_LEFT);
         progressBox.setPadding(new Insets(5, 0, 0, 0));
@@ -453,10 +484,10 @@ public class StudentPracticalWorksController implements Initializable {
     /**
      * Calculates deadline-related information for a practical work
      * 
-     * @param practicalWork The practical work
+     * @param practicalWork The card of the practical work
      * @return DeadlineInfo object with calculated values
      */
-    private DeadlineInfo calculateDeadlineInfo(PracticalWork practicalWork) {
+    private DeadlineInfo calculateDeadlineInfo(ContentCard practicalWork) {
         DeadlineInfo info = new DeadlineInfo();
         info.progressPercentage = 0;
         info.timeStatus = "No deadline set";
@@ -530,10 +561,11 @@ public class StudentPracticalWorksController implements Initializable {
     /**
      * Creates the footer box for a practical work card with deadline and action buttons
      * 
-     * @param practicalWork The practical work
+     * @param practicalWork The card of the practical work
+     * @param hasSubmitted Whether the student already submitted the practical work
      * @return HBox containing the footer elements
      */
-    private HBox createFooterBox(PracticalWork practicalWork) {
+    private HBox createFooterBox(ContentCard practicalWork, boolean hasSubmitted) {
         HBox footerBox = new HBox();
         footerBox.setAlignment(Pos.BOTTOM_LEFT);
         footerBox.setPrefWidth(480);
@@ -556,7 +588,7 @@ public class StudentPracticalWorksController implements Initializable {
             calendarIcon.setFitWidth(16);
             calendarIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load calendar icon");
+            Log.warn("Failed to load calendar icon");
         }
 
         Label dateLabel = new Label(deadlineInfo.timeStatus);
@@ -573,20 +605,14 @@ public class StudentPracticalWorksController implements Initializable {
         viewButton.setStyle("-fx-background-color: #d97706;");
         viewButton.setPrefWidth(120);
         viewButton.setPrefHeight(24);
-        viewButton.setOnAction(e -> handleViewPracticalWork(practicalWork));
+        viewButton.setOnAction(e -> openPracticalWork(practicalWork, this::handleViewPracticalWork));
 
         Button submitButton = new Button("Submit");
         submitButton.getStyleClass().add("view-course-button");
         submitButton.setStyle("-fx-background-color: #059669;");
         submitButton.setPrefWidth(120);
         submitButton.setPrefHeight(24);
-        submitButton.setOnAction(e -> handleSubmitPracticalWork(practicalWork));
-        
-        boolean hasSubmitted = false;
-        if (currentUser != null && currentUser.getRole().equals("student")) {
-            hasSubmitted = PracticalWorkSubmissionService.hasStudentSubmitted(
-                practicalWork.getId(), currentUser.getId());
-        }
+        submitButton.setOnAction(e -> openPracticalWork(practicalWork, this::handleSubmitPracticalWork));
         
         if (hasSubmitted) {
             submitButton.setDisable(true);
@@ -605,38 +631,20 @@ public class StudentPracticalWorksController implements Initializable {
     }
     
     /**
-     * Filters practical works based on search query
+     * Loads the full practical work of a card in the background, for the actions that need more than the card shows
      * 
-     * @param query The search query
+     * @param card The card of the practical work
+     * @param action Receives the practical work on the JavaFX Application Thread
      */
-    private void filterPracticalWorks(String query) {
-        if (query == null || query.isEmpty()) {
-            loadPracticalWorks();
-        } else {
-            query = query.toLowerCase();
-            final String searchQuery = query;
-            
-            List<PracticalWork> filteredList = practicalWorksList.stream()
-                .filter(practicalWork -> 
-                    practicalWork.getTitle().toLowerCase().contains(searchQuery) ||
-                    (practicalWork.getDescription() != null &&
-                     practicalWork.getDescription().toLowerCase().contains(searchQuery))
-                )
-                .collect(Collectors.toList());
-            
-            practicalWorkCardsContainer.getChildren().clear();
-            
-            if (filteredList.isEmpty()) {
-                Label noResultsLabel = new Label("No practical works match your search criteria.");
-                noResultsLabel.getStyleClass().add("no-courses-message");
-                noResultsLabel.setPadding(new Insets(50, 0, 0, 0));
-                practicalWorkCardsContainer.getChildren().add(noResultsLabel);
-            } else {
-                for (PracticalWork practicalWork : filteredList) {
-                    practicalWorkCardsContainer.getChildren().add(createPracticalWorkCard(practicalWork));
-                }
+    private void openPracticalWork(ContentCard card, Consumer<PracticalWork> action) {
+        viewTasks.load(() -> PracticalWorkService.getPracticalWorkById(card.getId()), practicalWork -> {
+            if (practicalWork == null) {
+                showAlert(Alert.AlertType.ERROR, "Error", "This practical work no longer exists.");
+                reloadPracticalWorks();
+                return;
             }
-        }
+            action.accept(practicalWork);
+        });
     }
     
     /**
@@ -651,7 +659,7 @@ public class StudentPracticalWorksController implements Initializable {
             practicalWorkDescriptionArea == null || 
             deadlineArea == null) {
             
-            System.out.println("Required UI components for submission are missing");
+            Log.warn("Required UI components for submission are missing");
             if (practicalWorkCardsContainer != null && practicalWorkCardsContainer.getScene() != null) {
                 showAlert(Alert.AlertType.ERROR, "Error", "Submission form cannot be displayed");
             }
@@ -716,8 +724,7 @@ public class StudentPracticalWorksController implements Initializable {
     @FXML
     private void handleSearch(ActionEvent event) {
         if (searchField != null) {
-            String query = searchField.getText().trim();
-            filterPracticalWorks(query);
+            reloadPracticalWorks();
         }
     }
     
@@ -762,7 +769,7 @@ public class StudentPracticalWorksController implements Initializable {
             
             Files.copy(selectedFile.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Could not save your submission file", e);
             showAlert(Alert.AlertType.ERROR, "File Error", "Could not save your submission file.");
             return;
         }
@@ -786,11 +793,7 @@ public class StudentPracticalWorksController implements Initializable {
                      "Your work has been submitted successfully! You cannot submit again for this practical work.");
             
             // If we're in teacher-specific view, reload only that teacher's practical works
-            if (teacher != null) {
-                loadTeacherPracticalWorks();
-            } else {
-                loadPracticalWorks();
-            }
+            reloadPracticalWorks();
         } else {
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to submit your work.");
         }
@@ -810,7 +813,7 @@ public class StudentPracticalWorksController implements Initializable {
             }
             
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PdfPracticalWorkViewer.fxml"));
-            Parent practicalWorkViewerParent = loader.load();
+            Parent practicalWorkViewerParent = ViewLoader.load(loader);
             
             ViewPracticalWorkController controller = loader.getController();
             
@@ -830,7 +833,7 @@ public class StudentPracticalWorksController implements Initializable {
             contentArea.getChildren().add(practicalWorkViewerParent);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load practical work viewer", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load practical work viewer: " + e.getMessage());
         }
     }
@@ -859,7 +862,7 @@ public class StudentPracticalWorksController implements Initializable {
     private void handleBackToTeachers(ActionEvent event) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeachersCards.fxml"));
-            Parent teachersView = loader.load();
+            Parent teachersView = ViewLoader.load(loader);
             
             TeachersCardsController controller = loader.getController();
             controller.setIsPracticalWorkView(true);
@@ -873,7 +876,7 @@ public class StudentPracticalWorksController implements Initializable {
             contentArea.getChildren().clear();
             contentArea.getChildren().add(teachersView);
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to navigate back to teachers view", e);
             showAlert(Alert.AlertType.ERROR, "Navigation Error", "Failed to navigate back to teachers view: " + e.getMessage());
         }
     }
@@ -886,31 +889,20 @@ public class StudentPracticalWorksController implements Initializable {
             return;
         }
         
-        practicalWorkCardsContainer.getChildren().clear();
-        
-        List<PracticalWork> teacherPracticalWorks;
-        
+        int teacherId = teacher.getId();
+        String studentLevel = null;
         if (currentUser != null && currentUser.getRole().equals("student")) {
-            String studentLevel = currentUser.getEnrollmentLevel();
+            studentLevel = currentUser.getEnrollmentLevel();
             if (studentLevel == null || studentLevel.isEmpty()) {
                 studentLevel = "L1";
             }
-            teacherPracticalWorks = PracticalWorkService.getPracticalWorksByTeacherAndLevel(teacher.getId(), studentLevel);
-        } else {
-            teacherPracticalWorks = PracticalWorkService.getPracticalWorksByTeacherId(teacher.getId());
         }
+        String level = studentLevel;
+        String search = searchText();
         
-        practicalWorksList.setAll(teacherPracticalWorks);
-        
-        if (practicalWorksList.isEmpty()) {
-            Label noPracticalWorksLabel = new Label("No practical works available for your enrollment level from this teacher yet.");
-            noPracticalWorksLabel.getStyleClass().add("no-courses-message");
-            noPracticalWorksLabel.setPadding(new Insets(50, 0, 0, 0));
-            practicalWorkCardsContainer.getChildren().add(noPracticalWorksLabel);
-        } else {
-            for (PracticalWork practicalWork : practicalWorksList) {
-                practicalWorkCardsContainer.getChildren().add(createPracticalWorkCard(practicalWork));
-            }
-        }
+        loadWorks((after, limit) -> level != null
+                ? PracticalWorkService.getPracticalWorkCardsByTeacherAndLevel(teacherId, level, search, after, limit)
+                : PracticalWorkService.getPracticalWorkCardsByTeacherId(teacherId, search, after, limit),
+            search.isBlank() ? "No practical works available for your enrollment level from this teacher yet." : NO_MATCH_MESSAGE);
     }
 }
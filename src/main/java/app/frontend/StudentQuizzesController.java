@@ -1,6 +1,7 @@
 package app.frontend;
 
 import app.backend.models.Quiz;
+import app.backend.models.QuizAggregate;
 import app.backend.models.User;
 import app.backend.models.Question;
 import app.backend.models.Answer;
@@ -8,9 +9,8 @@ import app.backend.models.StudentAnswer;
 import app.backend.models.QuizResult;
 import app.backend.services.QuizService;
 import app.backend.services.QuizResultService;
-import app.backend.services.QuestionService;
-import app.backend.services.AnswerService;
 import app.backend.services.StudentAnswerService;
+import app.backend.utils.Log;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -31,8 +31,10 @@ import javafx.scene.layout.VBox;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -57,6 +59,18 @@ public class StudentQuizzesController implements Initializable {
     /** List of quizzes created by the teacher */
     private List<Quiz> teacherQuizzes = new ArrayList<>();
     
+    /** IDs of the quizzes the student has already taken */
+    private Set<Integer> takenQuizIds = new HashSet<>();
+    
+    /** Background loads of this view */
+    private ViewTasks viewTasks;
+    
+    // Quizzes of the teacher and the IDs of those the student has taken, loaded together
+    private record LoadedQuizzes(List<Quiz> quizzes, Set<Integer> takenQuizIds) {}
+    
+    // The student's result of a quiz they took, with its questions and their answers
+    private record TakenQuiz(QuizResult result, QuizAggregate aggregate, List<StudentAnswer> studentAnswers) {}
+    
     /**
      * Initializes the controller class and sets up event listeners.
      *
@@ -66,6 +80,7 @@ public class StudentQuizzesController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(quizCardsContainer);
         
         searchField.textProperty().addListener((observable, oldValue, newValue) -> 
             filterQuizzes(newValue)
@@ -88,18 +103,34 @@ public class StudentQuizzesController implements Initializable {
             Image profileImg = new Image(getClass().getResourceAsStream("/images/profilep.png"));
             teacherProfileImage.setImage(profileImg);
         } catch (Exception e) {
-            System.out.println("Failed to load teacher profile image");
+            Log.warn("Failed to load teacher profile image");
         }
         
         loadTeacherQuizzes();
     }
     
     /**
-     * Retrieves quizzes created by the current teacher and displays them.
+     * Retrieves quizzes created by the current teacher in the background and displays them.
      */
     private void loadTeacherQuizzes() {
-        teacherQuizzes = QuizService.getQuizzesByTeacherId(teacher.getId());
-        displayQuizzes(teacherQuizzes);
+        int teacherId = teacher.getId();
+        User user = currentUser;
+        ViewTasks.showLoading(quizCardsContainer);
+        
+        viewTasks.load(() -> {
+            List<Quiz> quizzes = QuizService.getQuizzesByTeacherId(teacherId);
+            Set<Integer> takenIds = new HashSet<>();
+            if (user != null && user.getRole().equals("student")) {
+                for (QuizResult result : QuizResultService.getResultsByStudentId(user.getId())) {
+                    takenIds.add(result.getQuizId());
+                }
+            }
+            return new LoadedQuizzes(quizzes, takenIds);
+        }, loaded -> {
+            teacherQuizzes = loaded.quizzes();
+            takenQuizIds = loaded.takenQuizIds();
+            filterQuizzes(searchField.getText());
+        });
     }
     
     /**
@@ -133,6 +164,10 @@ public class StudentQuizzesController implements Initializable {
      * @param searchText The text to search for in quiz titles
      */
     private void filterQuizzes(String searchText) {
+        if (viewTasks.isLoading()) {
+            // The loaded quizzes are filtered when they arrive
+            return;
+        }
         if (searchText == null || searchText.isEmpty()) {
             displayQuizzes(teacherQuizzes);
         } else {
@@ -213,7 +248,7 @@ public class StudentQuizzesController implements Initializable {
             cardBackground.setPreserveRatio(false);
             cardBackground.setOpacity(0.7);
         } catch (Exception e) {
-            System.out.println("Failed to load background image for quiz card");
+            Log.warn("Failed to load background image for quiz card");
         }
         return cardBackground;
     }
@@ -250,7 +285,7 @@ public class StudentQuizzesController implements Initializable {
             quizIcon.setFitWidth(40);
             quizIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load quiz icon");
+            Log.warn("Failed to load quiz icon");
         }
 
         headerBox.getChildren().addAll(titleContainer, quizIcon);
@@ -294,7 +329,7 @@ public class StudentQuizzesController implements Initializable {
             instructorIcon.setFitWidth(20);
             instructorIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load instructor icon");
+            Log.warn("Failed to load instructor icon");
         }
         
         Label instructorLabel = new Label("Prof. " + teacher.getName());
@@ -317,8 +352,7 @@ public class StudentQuizzesController implements Initializable {
         String buttonText = "Take Quiz";
         
         if (currentUser != null && currentUser.getRole().equals("student")) {
-            boolean quizAlreadyTaken = QuizResultService.hasStudentTakenQuiz(currentUser.getId(), quiz.getId());
-            if (quizAlreadyTaken) {
+            if (takenQuizIds.contains(quiz.getId())) {
                 buttonText = "View Result";
             }
         }
@@ -342,22 +376,37 @@ public class StudentQuizzesController implements Initializable {
      * @param quiz The quiz to view or take
      */
     private void handleViewQuiz(Quiz quiz) {
-        try {
-            boolean quizAlreadyTaken = false;
-            
-            if (currentUser != null && currentUser.getRole().equals("student")) {
-                quizAlreadyTaken = QuizResultService.hasStudentTakenQuiz(currentUser.getId(), quiz.getId());
-                
-                if (quizAlreadyTaken) {
-                    displayQuizResult(quiz);
-                    return;
+        if (currentUser != null && currentUser.getRole().equals("student") && takenQuizIds.contains(quiz.getId())) {
+            int studentId = currentUser.getId();
+            viewTasks.load(() -> {
+                QuizResult result = QuizResultService.getQuizResult(studentId, quiz.getId());
+                if (result == null) {
+                    return null;
                 }
+                return new TakenQuiz(result, QuizService.loadQuizAggregate(quiz.getId()),
+                    StudentAnswerService.getStudentAnswers(result.getId()));
+            }, taken -> openQuiz(quiz, taken));
+            return;
+        }
+        
+        openQuiz(quiz, null);
+    }
+    
+    /**
+     * Opens the result view of a quiz the student took, or the quiz viewer to take it.
+     *
+     * @param quiz The quiz to view or take
+     * @param taken The student's result of the quiz, null if they have not taken it
+     */
+    private void openQuiz(Quiz quiz, TakenQuiz taken) {
+        try {
+            if (taken != null) {
+                displayQuizResult(taken);
+            } else {
+                displayQuizViewer(quiz);
             }
-            
-            displayQuizViewer(quiz);
-            
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load quiz", e);
             showAlert(Alert.AlertType.ERROR, "Navigation Error", "Failed to load quiz.");
         }
     }
@@ -365,26 +414,20 @@ public class StudentQuizzesController implements Initializable {
     /**
      * Displays the quiz result view for a completed quiz.
      *
-     * @param quiz The quiz to display results for
+     * @param taken The student's result of the quiz, with its questions and their answers
      * @throws IOException If there's an error loading the view
      */
-    private void displayQuizResult(Quiz quiz) throws IOException {
+    private void displayQuizResult(TakenQuiz taken) throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/QuizResult.fxml"));
-        Parent resultView = loader.load();
+        Parent resultView = ViewLoader.load(loader);
         
         ViewQuizResultController controller = loader.getController();
-        QuizResult result = QuizResultService.getQuizResult(currentUser.getId(), quiz.getId());
-        
-        if (result == null) {
-            displayQuizViewer(quiz);
-            return;
-        }
         
         // Process quiz results
-        List<Question> questions = QuestionService.getQuestionsByQuizId(quiz.getId());
-        if (questions == null) questions = new ArrayList<>();
+        QuizAggregate aggregate = taken.aggregate();
+        List<Question> questions = aggregate != null ? aggregate.getQuestions() : new ArrayList<>();
         
-        List<StudentAnswer> studentAnswers = StudentAnswerService.getStudentAnswers(result.getId());
+        List<StudentAnswer> studentAnswers = taken.studentAnswers();
         
         // Prepare data for the result controller
         List<Integer> userAnswerList = new ArrayList<>();
@@ -414,15 +457,7 @@ public class StudentQuizzesController implements Initializable {
             userAnswerList.add(selectedAnswerId != null ? selectedAnswerId : -1);
             
             // Find the correct answer
-            List<Answer> answers = AnswerService.getAnswersByQuestionId(question.getId());
-            Answer correctAnswer = null;
-            for (Answer answer : answers) {
-                if (answer.isCorrect()) {
-                    correctAnswer = answer;
-                    break;
-                }
-            }
-            correctAnswerList.add(correctAnswer);
+            correctAnswerList.add(aggregate.getCorrectAnswer(question.getId()));
         }
         
         // Set the data in the controller
@@ -445,7 +480,7 @@ public class StudentQuizzesController implements Initializable {
      */
     private void displayQuizViewer(Quiz quiz) throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/QuizViewer.fxml"));
-        Parent quizView = loader.load();
+        Parent quizView = ViewLoader.load(loader);
         
         ViewQuizController controller = loader.getController();
         controller.setQuiz(quiz);
@@ -466,7 +501,7 @@ public class StudentQuizzesController implements Initializable {
     private void handleBackToTeachers(ActionEvent event) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeachersCards.fxml"));
-            Parent teachersView = loader.load();
+            Parent teachersView = ViewLoader.load(loader);
             
             TeachersCardsController controller = loader.getController();
             if (currentUser != null && currentUser.getRole().equals("teacher")) {
@@ -480,7 +515,7 @@ public class StudentQuizzesController implements Initializable {
             contentArea.getChildren().add(teachersView);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to go back to teachers view", e);
             showAlert(Alert.AlertType.ERROR, "Navigation Error", "Failed to go back to teachers view.");
         }
     }
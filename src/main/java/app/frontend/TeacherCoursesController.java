@@ -1,10 +1,11 @@
 package app.frontend;
 
+import app.backend.models.ContentCard;
 import app.backend.models.Course;
 import app.backend.models.User;
 import app.backend.services.CourseService;
+import app.backend.utils.Log;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -27,9 +28,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.List;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Controller for the Teacher Courses interface that manages course creation,
@@ -53,9 +53,12 @@ public class TeacherCoursesController implements Initializable {
     @FXML private StackPane dropArea;
     
     private User currentUser;
-    private ObservableList<Course> coursesList = FXCollections.observableArrayList();
+    // Number of course cards loaded at a time
+    private static final int PAGE_SIZE = 24;
     private File selectedFile = null;
     private String courseFileName = null;
+    private ViewTasks viewTasks;
+    private CardPager<ContentCard> coursePager;
 
     /**
      * Initializes the controller class and sets up the UI components.
@@ -67,13 +70,13 @@ public class TeacherCoursesController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(courseCardsContainer);
+        coursePager = new CardPager<>(courseCardsContainer, viewTasks, PAGE_SIZE, this::createCourseCard);
         
         if (currentUser != null && currentUser.getRole().equals("teacher")) {
             loadTeacherCourses();
             
-            searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-                filterCourses(newValue);
-            });
+            coursePager.reloadOnSearch(searchField, this::loadTeacherCourses);
             
             if (levelComboBox != null) {
                 levelComboBox.setItems(FXCollections.observableArrayList("L1", "L2", "L3", "M1", "M2"));
@@ -150,33 +153,43 @@ public class TeacherCoursesController implements Initializable {
     }
     
     /**
-     * Loads all courses created by the current teacher and displays them as cards.
+     * Loads the courses created by the current teacher in the background and displays them as cards,
+     * one page at a time. Courses are filtered by the search text on the server.
      */
     private void loadTeacherCourses() {
-        courseCardsContainer.getChildren().clear();
-        
-        List<Course> teacherCourses = CourseService.getCoursesByTeacherId(currentUser.getId());
-        coursesList.setAll(teacherCourses);
-        
-        if (coursesList.isEmpty()) {
-            Label noCoursesLabel = new Label("You haven't created any courses yet. Click the 'Add new course +' button to get started!");
-            noCoursesLabel.getStyleClass().add("no-courses-message");
-            noCoursesLabel.setPadding(new Insets(50, 0, 0, 0));
-            courseCardsContainer.getChildren().add(noCoursesLabel);
-        } else {
-            for (Course course : coursesList) {
-                courseCardsContainer.getChildren().add(createCourseCard(course));
-            }
+        int teacherId = currentUser.getId();
+        String search = searchField.getText();
+        String emptyMessage = search.isBlank()
+            ? "You haven't created any courses yet. Click the 'Add new course +' button to get started!"
+            : "No courses match your search criteria.";
+        
+        coursePager.reload((after, limit) -> CourseService.getCourseCardsByTeacherId(teacherId, search, after, limit),
+            emptyMessage);
+    }
+    
+    /**
+     * Loads the full course of a card, for the actions that need more than the card shows.
+     *
+     * @param card The card of the course
+     * @param action Receives the course
+     */
+    private void openCourse(ContentCard card, Consumer<Course> action) {
+        Course course = CourseService.getCourseById(card.getId());
+        if (course == null) {
+            showAlert(Alert.AlertType.ERROR, "Error", "This course no longer exists.");
+            loadTeacherCourses();
+            return;
         }
+        action.accept(course);
     }
 
     /**
      * Creates a visual card representation for a course with edit/delete options.
      *
-     * @param course The course to create a card for
+     * @param course The card of the course
      * @return A styled StackPane containing the course information and action buttons
      */
-    private StackPane createCourseCard(Course course) {
+    private StackPane createCourseCard(ContentCard course) {
         StackPane cardPane = new StackPane();
         cardPane.getStyleClass().add("course-card");
         cardPane.setPrefWidth(480);
@@ -191,7 +204,7 @@ public class TeacherCoursesController implements Initializable {
             cardBackground.setPreserveRatio(false);
             cardBackground.setOpacity(0.7);
         } catch (Exception e) {
-            System.out.println("Failed to load background image for course card");
+            Log.warn("Failed to load background image for course card");
         }
 
         VBox cardContent = new VBox();
@@ -203,7 +216,7 @@ public class TeacherCoursesController implements Initializable {
 
         HBox headerBox = createCardHeader(course);
         
-        String description = course.getDescription();
+        String description = course.getDescriptionPreview();
         if (description == null || description.isEmpty()) {
             description = "No description available";
         }
@@ -230,7 +243,7 @@ public class TeacherCoursesController implements Initializable {
      * @param course The course to create the header for
      * @return HBox containing the course title and logo
      */
-    private HBox createCardHeader(Course course) {
+    private HBox createCardHeader(ContentCard course) {
         HBox headerBox = new HBox();
         headerBox.getStyleClass().add("card-header");
         headerBox.setAlignment(Pos.TOP_LEFT);
@@ -261,7 +274,7 @@ public class TeacherCoursesController implements Initializable {
             Image logo = new Image(getClass().getResourceAsStream("/images/courseCardLogo.png"));
             courseIcon.setImage(logo);
         } catch (Exception e) {
-            System.out.println("Failed to load logo for course: " + course.getTitle());
+            Log.warn("Failed to load logo for course: " + course.getTitle());
         }
         courseIcon.setFitWidth(50);
         courseIcon.setFitHeight(50);
@@ -279,7 +292,7 @@ public class TeacherCoursesController implements Initializable {
      * @param course The course to create the footer for
      * @return HBox containing the creation date and action buttons
      */
-    private HBox createCardFooter(Course course) {
+    private HBox createCardFooter(ContentCard course) {
         HBox footerBox = new HBox();
         footerBox.setAlignment(Pos.BOTTOM_LEFT);
         footerBox.setPrefWidth(480);
@@ -299,7 +312,7 @@ public class TeacherCoursesController implements Initializable {
             calendarIcon.setFitWidth(20);
             calendarIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load calendar icon");
+            Log.warn("Failed to load calendar icon");
         }
 
         String createdAt = "Created: " + (course.getCreatedAt() != null ? 
@@ -312,8 +325,8 @@ public class TeacherCoursesController implements Initializable {
         HBox buttonBox = new HBox(8);
         buttonBox.setAlignment(Pos.CENTER_RIGHT);
 
-        Button viewButton = createIconButton("/images/Eye.png", e -> handleViewCourse(course));
-        Button editButton = createIconButton("/images/Pen.png", e -> handleEditCourse(course));
+        Button viewButton = createIconButton("/images/Eye.png", e -> openCourse(course, this::handleViewCourse));
+        Button editButton = createIconButton("/images/Pen.png", e -> openCourse(course, this::handleEditCourse));
         Button deleteButton = createIconButton("/images/Trash.png", e -> handleDeleteCourse(course));
 
         buttonBox.getChildren().addAll(viewButton, editButton, deleteButton);
@@ -344,46 +357,13 @@ public class TeacherCoursesController implements Initializable {
             icon.setFitHeight(15);
             icon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load icon: " + iconPath);
+            Log.warn("Failed to load icon: " + iconPath);
         }
         button.setGraphic(icon);
         
         return button;
     }
     
-    /**
-     * Filters courses based on search query.
-     *
-     * @param query The search query string
-     */
-    private void filterCourses(String query) {
-        if (query == null || query.isEmpty()) {
-            loadTeacherCourses();
-        } else {
-            query = query.toLowerCase();
-            final String searchQuery = query;
-            
-            List<Course> filteredList = coursesList.stream()
-                .filter(course -> 
-                    course.getTitle().toLowerCase().contains(searchQuery) ||
-                    course.getDescription().toLowerCase().contains(searchQuery))
-                .collect(Collectors.toList());
-            
-            courseCardsContainer.getChildren().clear();
-            
-            if (filteredList.isEmpty()) {
-                Label noResultsLabel = new Label("No courses match your search criteria.");
-                noResultsLabel.getStyleClass().add("no-courses-message");
-                noResultsLabel.setPadding(new Insets(50, 0, 0, 0));
-                courseCardsContainer.getChildren().add(noResultsLabel);
-            } else {
-                for (Course course : filteredList) {
-                    courseCardsContainer.getChildren().add(createCourseCard(course));
-                }
-            }
-        }
-    }
-    
     /**
      * Handles the action when the Add New Course button is clicked.
      *
@@ -441,7 +421,7 @@ public class TeacherCoursesController implements Initializable {
                 
                 Files.copy(selectedFile.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
             } catch (Exception e) {
-                e.printStackTrace();
+                Log.error("Could not save the course PDF file", e);
                 showAlert(Alert.AlertType.ERROR, "File Error", "Could not save the course PDF file.");
                 return;
             }
@@ -543,9 +523,9 @@ public class TeacherCoursesController implements Initializable {
     /**
      * Handles deleting a course.
      *
-     * @param course The course to delete
+     * @param course The card of the course to delete
      */
-    private void handleDeleteCourse(Course course) {
+    private void handleDeleteCourse(ContentCard course) {
         Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
         confirmation.setTitle("Confirm Deletion");
         confirmation.setHeaderText(null);
@@ -572,8 +552,7 @@ public class TeacherCoursesController implements Initializable {
      */
     @FXML
     private void handleSearch(ActionEvent event) {
-        String query = searchField.getText().trim();
-        filterCourses(query);
+        loadTeacherCourses();
     }
     
     /**
@@ -625,7 +604,7 @@ public class TeacherCoursesController implements Initializable {
                 
                 Files.copy(selectedFile.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
             } catch (Exception e) {
-                e.printStackTrace();
+                Log.error("Could not save the course PDF file", e);
                 showAlert(Alert.AlertType.ERROR, "File Error", "Could not save the course PDF file.");
                 return;
             }
@@ -681,7 +660,7 @@ public class TeacherCoursesController implements Initializable {
             }
             
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PdfCourseViewer.fxml"));
-            Parent courseViewerParent = loader.load();
+            Parent courseViewerParent = ViewLoader.load(loader);
             
             ViewCourseController controller = loader.getController();
             
@@ -696,7 +675,7 @@ public class TeacherCoursesController implements Initializable {
             contentArea.getChildren().add(courseViewerParent);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load course viewer", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load course viewer: " + e.getMessage());
         }
     }
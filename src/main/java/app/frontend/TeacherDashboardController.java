@@ -1,10 +1,9 @@
 package app.frontend;
 
+import app.backend.models.DashboardStats;
 import app.backend.models.User;
-import app.backend.services.CourseService;
-import app.backend.services.ExerciseService;
-import app.backend.services.PracticalWorkService;
-import app.backend.services.QuizService;
+import app.backend.services.DashboardStatsService;
+import app.backend.utils.Log;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.Parent;
@@ -40,6 +39,9 @@ public class TeacherDashboardController {
     @FXML private Label practicalCountLabel;    /** Currently logged in user */
     private User currentUser;
     
+    /** Background loads of this view */
+    private ViewTasks viewTasks;
+    
     /** Reference to the parent application controller */
     private ApplicationController parentController;
     
@@ -50,6 +52,7 @@ public class TeacherDashboardController {
     @FXML
     public void initialize() {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(coursesCountLabel);
         
         LocalDate now = LocalDate.now();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
@@ -65,7 +68,7 @@ public class TeacherDashboardController {
      * @param controller The parent ApplicationController to set
      */
     public void setApplicationController(ApplicationController controller) {
-        this.parentController = controller;        System.out.println("ApplicationController successfully set on TeacherDashboardController");
+        this.parentController = controller;        Log.debug("ApplicationController successfully set on TeacherDashboardController");
     }
     
     /**
@@ -77,22 +80,25 @@ public class TeacherDashboardController {
             if (currentUser != null) {
                 int teacherId = currentUser.getId();
                 
-                int courseCount = CourseService.getCourseCountByTeacher(teacherId);
-                int quizCount = QuizService.getQuizCountByTeacher(teacherId);
-                int exerciseCount = ExerciseService.getExerciseCountByTeacher(teacherId);
-                int practicalCount = PracticalWorkService.getPracticalWorkCountByTeacher(teacherId);
-                
-                coursesCountLabel.setText(String.valueOf(courseCount));
-                quizzesCountLabel.setText(String.valueOf(quizCount));
-                exercisesCountLabel.setText(String.valueOf(exerciseCount));
-                practicalCountLabel.setText(String.valueOf(practicalCount));
+                showStatistics("...", "...", "...", "...");
+                viewTasks.load(() -> DashboardStatsService.getTeacherStats(teacherId), stats -> showStatistics(
+                    String.valueOf(stats.getCourseCount()),
+                    String.valueOf(stats.getQuizCount()),
+                    String.valueOf(stats.getExerciseCount()),
+                    String.valueOf(stats.getPracticalWorkCount())));
             }
         } catch (Exception e) {
-            System.err.println("Error fetching statistics: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error fetching statistics", e);
         }
     }
     
+    private void showStatistics(String courses, String quizzes, String exercises, String practicalWorks) {
+        coursesCountLabel.setText(courses);
+        quizzesCountLabel.setText(quizzes);
+        exercisesCountLabel.setText(exercises);
+        practicalCountLabel.setText(practicalWorks);
+    }
+    
     /**
      * Retrieves the ApplicationController from the stored reference or scene properties.
      * First attempts to use the direct reference, then tries to find it in scene properties.
@@ -113,7 +119,7 @@ public class TeacherDashboardController {
             }
         }
         
-        System.out.println("Could not find parent controller in scene properties");
+        Log.warn("Could not find parent controller in scene properties");
         return null;
     }
     
@@ -122,12 +128,12 @@ public class TeacherDashboardController {
      */
     @FXML
     public void handleCoursesClick() {
-        System.out.println("Navigating to Teacher Courses management");
+        Log.debug("Navigating to Teacher Courses management");
         ApplicationController controller = getParentController();
         if (controller != null) {
             loadTeacherPage("TeacherCourses.fxml", controller);
         } else {
-            System.out.println("ERROR: Cannot navigate - ApplicationController is null");
+            Log.error("Cannot navigate - ApplicationController is null");
         }
     }
     
@@ -136,12 +142,12 @@ public class TeacherDashboardController {
      */
     @FXML
     public void handleQuizzesClick() {
-        System.out.println("Navigating to Teacher Quizzes management");
+        Log.debug("Navigating to Teacher Quizzes management");
         ApplicationController controller = getParentController();
         if (controller != null) {
             loadTeacherPage("TeacherQuizzes.fxml", controller);
         } else {
-            System.out.println("ERROR: Cannot navigate - ApplicationController is null");
+            Log.error("Cannot navigate - ApplicationController is null");
         }
     }
     
@@ -150,12 +156,12 @@ public class TeacherDashboardController {
      */
     @FXML
     public void handleExercisesClick() {
-        System.out.println("Navigating to Teacher Exercises management");
+        Log.debug("Navigating to Teacher Exercises management");
         ApplicationController controller = getParentController();
         if (controller != null) {
             loadTeacherPage("TeacherExercises.fxml", controller);
         } else {
-            System.out.println("ERROR: Cannot navigate - ApplicationController is null");
+            Log.error("Cannot navigate - ApplicationController is null");
         }
     }
     
@@ -164,12 +170,12 @@ public class TeacherDashboardController {
      */
     @FXML
     public void handlePracticalWorkClick() {
-        System.out.println("Navigating to Teacher Practical Work management");
+        Log.debug("Navigating to Teacher Practical Work management");
         ApplicationController controller = getParentController();
         if (controller != null) {
             loadTeacherPage("TeacherPracticalWorks.fxml", controller);
         } else {
-            System.out.println("ERROR: Cannot navigate - ApplicationController is null");
+            Log.error("Cannot navigate - ApplicationController is null");
         }
     }
     
@@ -196,12 +202,11 @@ public class TeacherDashboardController {
                     controller.loadTeacherPracticalWorks();
                     break;
                 default:
-                    System.out.println("Unknown page: " + fxmlPage);
+                    Log.warn("Unknown page: " + fxmlPage);
                     loadFallbackPage(fxmlPage, controller);
             }
         } catch (Exception e) {
-            System.out.println("Error loading " + fxmlPage + ": " + e.getMessage());
-            e.printStackTrace();
+            Log.warn("Error loading " + fxmlPage, e);
             loadFallbackPage(fxmlPage, controller);
         }
     }
@@ -1,10 +1,12 @@
 package app.frontend;
 
+import app.backend.models.ContentCard;
 import app.backend.models.Course;
 import app.backend.models.Exercise;
 import app.backend.models.User;
 import app.backend.services.CourseService;
 import app.backend.services.ExerciseService;
+import app.backend.utils.Log;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -30,8 +32,11 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class TeacherExercisesController implements Initializable {
@@ -51,17 +56,25 @@ public class TeacherExercisesController implements Initializable {
     @FXML private StackPane dropArea;
     
     private User currentUser;
-    private ObservableList<Exercise> exercisesList = FXCollections.observableArrayList();
+    // Number of exercise cards loaded at a time
+    private static final int PAGE_SIZE = 24;
     private ObservableList<Course> coursesList = FXCollections.observableArrayList();
     private File selectedFile = null;
     private String exerciseFileName = null;
     private boolean isEditMode = false;
     private int editingExerciseId = -1;
+    private ViewTasks viewTasks;
+    private CardPager<ExerciseCard> exercisePager;
+
+    // The card of an exercise with the course it shows, null if the course is gone
+    private record ExerciseCard(ContentCard card, Course course) {}
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         // Get current logged in user
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(exerciseCardsContainer);
+        exercisePager = new CardPager<>(exerciseCardsContainer, viewTasks, PAGE_SIZE, this::createExerciseCard);
         
         // Ensure user is a teacher
         if (currentUser != null && currentUser.getRole().equals("teacher")) {
@@ -69,9 +82,7 @@ public class TeacherExercisesController implements Initializable {
             loadTeacherExercises();
             
             // Setup search functionality
-            searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-                filterExercises(newValue);
-            });
+            exercisePager.reloadOnSearch(searchField, this::loadTeacherExercises);
             
             // Setup dialog components if they're available
             if (courseComboBox != null) {
@@ -132,34 +143,50 @@ public class TeacherExercisesController implements Initializable {
     }
     
     /**
-     * Loads exercises created by the current teacher
+     * Loads exercises created by the current teacher in the background, one page at a time.
+     * Exercises are filtered by the search text on the server.
      */
     private void loadTeacherExercises() {
-        // Clear the container
-        exerciseCardsContainer.getChildren().clear();
-        
-        // Get all exercises from the service for this teacher
-        List<Exercise> teacherExercises = ExerciseService.getExercisesByTeacherId(currentUser.getId());
-        exercisesList.setAll(teacherExercises);
-        
-        // If no exercises, show a message
-        if (exercisesList.isEmpty()) {
-            Label noExercisesLabel = new Label("You haven't created any exercises yet. Click the 'Add new exercise +' button to get started!");
-            noExercisesLabel.getStyleClass().add("no-courses-message");
-            noExercisesLabel.setPadding(new Insets(50, 0, 0, 0));
-            exerciseCardsContainer.getChildren().add(noExercisesLabel);
-        } else {
-            // Create and add a card for each exercise
-            for (Exercise exercise : exercisesList) {
-                exerciseCardsContainer.getChildren().add(createExerciseCard(exercise));
+        int teacherId = currentUser.getId();
+        String search = searchField.getText();
+        String emptyMessage = search.isBlank()
+            ? "You haven't created any exercises yet. Click the 'Add new exercise +' button to get started!"
+            : "No exercises found matching your search.";
+        
+        exercisePager.reload((after, limit) -> {
+            List<ContentCard> cards = ExerciseService.getExerciseCardsByTeacherId(
+                teacherId, search, after != null ? after.card() : null, limit);
+            // Courses shown on the cards, fetched in one query instead of one per card
+            Map<Integer, Course> courses = CourseService.getCoursesByIds(
+                cards.stream().map(ContentCard::getCourseId).collect(Collectors.toList()));
+            
+            List<ExerciseCard> page = new ArrayList<>();
+            for (ContentCard card : cards) {
+                page.add(new ExerciseCard(card, courses.get(card.getCourseId())));
             }
+            return page;
+        }, emptyMessage);
+    }
+    
+    /**
+     * Loads the full exercise of a card, for the actions that need more than the card shows
+     */
+    private void openExercise(ContentCard card, Consumer<Exercise> action) {
+        Exercise exercise = ExerciseService.getExerciseById(card.getId());
+        if (exercise == null) {
+            showAlert(Alert.AlertType.ERROR, "Error", "This exercise no longer exists.");
+            loadTeacherExercises();
+            return;
         }
+        action.accept(exercise);
     }
 
     /**
      * Creates a visual card representation for an exercise with edit/delete options
      */
-    private StackPane createExerciseCard(Exercise exercise) {
+    private StackPane createExerciseCard(ExerciseCard item) {
+        ContentCard exercise = item.card();
+        
         // Main card container
         StackPane cardPane = new StackPane();
         cardPane.getStyleClass().add("course-card");
@@ -176,7 +203,7 @@ public class TeacherExercisesController implements Initializable {
             cardBackground.setPreserveRatio(false);
             cardBackground.setOpacity(0.7);
         } catch (Exception e) {
-            System.out.println("Failed to load background image for exercise card");
+            Log.warn("Failed to load background image for exercise card");
         }
 
         // Card layout container
@@ -221,7 +248,7 @@ public class TeacherExercisesController implements Initializable {
             Image logo = new Image(getClass().getResourceAsStream("/images/Ruler Cross Pen.png"));
             exerciseIcon.setImage(logo);
         } catch (Exception e) {
-            System.out.println("Failed to load logo for exercise: " + exercise.getTitle());
+            Log.warn("Failed to load logo for exercise: " + exercise.getTitle());
         }
         exerciseIcon.setFitWidth(50);
         exerciseIcon.setFitHeight(50);
@@ -233,7 +260,7 @@ public class TeacherExercisesController implements Initializable {
         headerBox.getChildren().addAll(titleContainer, logoContainer);
 
         // Exercise description
-        String description = exercise.getDescription();
+        String description = exercise.getDescriptionPreview();
         if (description == null || description.isEmpty()) {
             description = "No description available";
         } else if (description.length() > 100) {
@@ -245,7 +272,7 @@ public class TeacherExercisesController implements Initializable {
         descriptionLabel.setMinHeight(Region.USE_PREF_SIZE);
 
         // Get course info
-        Course course = CourseService.getCourseById(exercise.getCourseId());
+        Course course = item.course();
         String courseName = course != null ? course.getTitle() : "Unknown Course";
         
         // Course info label
@@ -284,7 +311,7 @@ public class TeacherExercisesController implements Initializable {
             calendarIcon.setFitWidth(20);
             calendarIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load calendar icon");
+            Log.warn("Failed to load calendar icon");
         }
 
         String createdAt = "Created: " + (exercise.getCreatedAt() != null ? 
@@ -303,7 +330,7 @@ public class TeacherExercisesController implements Initializable {
         viewButton.getStyleClass().add("icon-button");
         viewButton.setPrefWidth(24);
         viewButton.setPrefHeight(24);
-        viewButton.setOnAction(e -> handleViewExercise(exercise));
+        viewButton.setOnAction(e -> openExercise(exercise, this::handleViewExercise));
         
         // View icon
         ImageView viewIcon = new ImageView();
@@ -314,7 +341,7 @@ public class TeacherExercisesController implements Initializable {
             viewIcon.setFitHeight(15);
             viewIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load eye icon");
+            Log.warn("Failed to load eye icon");
         }
         viewButton.setGraphic(viewIcon);
 
@@ -323,7 +350,7 @@ public class TeacherExercisesController implements Initializable {
         editButton.getStyleClass().add("icon-button");
         editButton.setPrefWidth(24);
         editButton.setPrefHeight(24);
-        editButton.setOnAction(e -> handleEditExercise(exercise));
+        editButton.setOnAction(e -> openExercise(exercise, this::handleEditExercise));
         
         // Edit icon
         ImageView editIcon = new ImageView();
@@ -334,7 +361,7 @@ public class TeacherExercisesController implements Initializable {
             editIcon.setFitHeight(15);
             editIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load pen icon");
+            Log.warn("Failed to load pen icon");
         }
         editButton.setGraphic(editIcon);
 
@@ -354,7 +381,7 @@ public class TeacherExercisesController implements Initializable {
             deleteIcon.setFitHeight(15);
             deleteIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load trash icon");
+            Log.warn("Failed to load trash icon");
         }
         deleteButton.setGraphic(deleteIcon);
 
@@ -375,41 +402,6 @@ public class TeacherExercisesController implements Initializable {
         return cardPane;
     }
     
-    /**
-     * Filters exercises based on search query
-     */
-    private void filterExercises(String searchText) {
-        // If search text is empty, show all exercises
-        if (searchText == null || searchText.trim().isEmpty()) {
-            exerciseCardsContainer.getChildren().clear();
-            for (Exercise exercise : exercisesList) {
-                exerciseCardsContainer.getChildren().add(createExerciseCard(exercise));
-            }
-            return;
-        }
-        
-        // Filter courses based on title or description containing the search text (case insensitive)
-        List<Exercise> filteredExercises = exercisesList.stream()
-            .filter(exercise -> 
-                exercise.getTitle().toLowerCase().contains(searchText.toLowerCase()) ||
-                exercise.getDescription().toLowerCase().contains(searchText.toLowerCase()))
-            .collect(Collectors.toList());
-        
-        // Update UI with filtered results
-        exerciseCardsContainer.getChildren().clear();
-        
-        if (filteredExercises.isEmpty()) {
-            Label noResultsLabel = new Label("No exercises found matching your search.");
-            noResultsLabel.getStyleClass().add("no-courses-message");
-            noResultsLabel.setPadding(new Insets(50, 0, 0, 0));
-            exerciseCardsContainer.getChildren().add(noResultsLabel);
-        } else {
-            for (Exercise exercise : filteredExercises) {
-                exerciseCardsContainer.getChildren().add(createExerciseCard(exercise));
-            }
-        }
-    }
-
     /**
      * Shows the add exercise dialog
      */
@@ -476,7 +468,7 @@ public class TeacherExercisesController implements Initializable {
      */
     @FXML
     private void handleSearch(ActionEvent event) {
-        filterExercises(searchField.getText());
+        loadTeacherExercises();
     }
     
     /**
@@ -519,7 +511,7 @@ public class TeacherExercisesController implements Initializable {
                 // Copy the file
                 Files.copy(selectedFile.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
             } catch (Exception e) {
-                e.printStackTrace();
+                Log.error("Could not save the exercise PDF file", e);
                 showAlert(Alert.AlertType.ERROR, "File Error", "Could not save the exercise PDF file.");
                 return;
             }
@@ -675,7 +667,7 @@ public class TeacherExercisesController implements Initializable {
                 // Copy the file
                 Files.copy(selectedFile.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
             } catch (Exception e) {
-                e.printStackTrace();
+                Log.error("Could not save the exercise PDF file", e);
                 showAlert(Alert.AlertType.ERROR, "File Error", "Could not save the exercise PDF file.");
                 return;
             }
@@ -767,7 +759,7 @@ public class TeacherExercisesController implements Initializable {
             
             // Load the exercise viewer view
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PdfExerciseViewer.fxml"));
-            Parent exerciseViewerParent = loader.load();
+            Parent exerciseViewerParent = ViewLoader.load(loader);
             
             // Set up the controller and pass the exercise
             ViewExerciseController controller = loader.getController();
@@ -786,7 +778,7 @@ public class TeacherExercisesController implements Initializable {
             contentArea.getChildren().add(exerciseViewerParent);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load exercise viewer", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load exercise viewer: " + e.getMessage());
         }
     }
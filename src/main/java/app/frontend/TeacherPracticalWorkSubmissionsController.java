@@ -2,9 +2,9 @@ package app.frontend;
 
 import app.backend.models.PracticalWork;
 import app.backend.models.PracticalWorkSubmission;
-import app.backend.models.User;
+import app.backend.models.RosterEntry;
 import app.backend.services.PracticalWorkSubmissionService;
-import app.backend.services.AuthService;
+import app.backend.utils.Log;
 
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -63,7 +63,8 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
     private PracticalWork currentPracticalWork;
     
     /** List of all submissions for the current practical work */
-    private List<PracticalWorkSubmission> allSubmissions;
+    // Submissions joined with their student's name and matricule, searched in memory
+    private List<RosterEntry<PracticalWorkSubmission>> allSubmissions;
     
     /**
      * Initializes the controller.
@@ -98,11 +99,9 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
             return;
         }
         
-        List<PracticalWorkSubmission> filteredSubmissions = allSubmissions.stream()
-            .filter(submission -> {
-                User student = AuthService.getUserById(submission.getStudentId());
-                return student != null && student.getName().toLowerCase().contains(searchQuery);
-            })
+        List<RosterEntry<PracticalWorkSubmission>> filteredSubmissions = allSubmissions.stream()
+            .filter(entry -> entry.getStudentName() != null && 
+                             entry.getStudentName().toLowerCase().contains(searchQuery))
             .collect(Collectors.toList());
         
         displaySubmissions(filteredSubmissions);
@@ -125,7 +124,7 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
      */
     private void loadSubmissions() {
         submissionsContainer.getChildren().clear();
-        allSubmissions = PracticalWorkSubmissionService.getSubmissionsByPracticalWorkId(currentPracticalWork.getId());
+        allSubmissions = PracticalWorkSubmissionService.getSubmissionRoster(currentPracticalWork.getId());
         displaySubmissions(allSubmissions);
     }
     
@@ -135,7 +134,7 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
      *
      * @param submissions The list of submissions to display
      */    
-    private void displaySubmissions(List<PracticalWorkSubmission> submissions) {
+    private void displaySubmissions(List<RosterEntry<PracticalWorkSubmission>> submissions) {
         submissionsContainer.getChildren().clear();
         
         if (submissions.isEmpty()) {
@@ -146,8 +145,8 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
             return;
         }
         
-        submissions.forEach(submission -> 
-            submissionsContainer.getChildren().add(createSubmissionItem(submission))
+        submissions.forEach(entry -> 
+            submissionsContainer.getChildren().add(createSubmissionItem(entry))
         );
     }
     
@@ -155,11 +154,11 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
      * Creates a list item for a submission.
      * Builds UI components for displaying submission details and download button.
      *
-     * @param submission The submission to create an item for
+     * @param entry The submission to create an item for, with its student
      * @return An HBox containing the submission item UI
      */    
-    private HBox createSubmissionItem(PracticalWorkSubmission submission) {
-        User student = AuthService.getUserById(submission.getStudentId());
+    private HBox createSubmissionItem(RosterEntry<PracticalWorkSubmission> entry) {
+        PracticalWorkSubmission submission = entry.getItem();
         
         HBox itemContainer = new HBox();
         itemContainer.getStyleClass().add("submission-item");
@@ -171,10 +170,10 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
         studentInfo.setAlignment(Pos.CENTER_LEFT);
         HBox.setHgrow(studentInfo, Priority.ALWAYS);
         
-        Label matriculeLabel = new Label(student != null ? student.getMatricule() : "Unknown");
+        Label matriculeLabel = new Label(entry.getStudentMatricule() != null ? entry.getStudentMatricule() : "Unknown");
         matriculeLabel.getStyleClass().add("submission-matricule");
         
-        Label nameLabel = new Label(student != null ? student.getName() : "Unknown Student");
+        Label nameLabel = new Label(entry.getStudentName() != null ? entry.getStudentName() : "Unknown Student");
         nameLabel.getStyleClass().add("submission-name");
         
         SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMM yyyy 'at' HH:mm");
@@ -187,7 +186,7 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
         
         Button downloadButton = new Button("Download");
         downloadButton.getStyleClass().add("download-button");
-        downloadButton.setOnAction(event -> handleDownload(submission));
+        downloadButton.setOnAction(event -> handleDownload(entry));
         
         itemContainer.getChildren().addAll(studentInfo, downloadButton);
         
@@ -198,9 +197,10 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
      * Handles downloading a submission file.
      * Gets the file from the submissions directory and saves it to a user-selected location.
      *
-     * @param submission The submission to download
+     * @param entry The submission to download, with its student
      */    
-    private void handleDownload(PracticalWorkSubmission submission) {
+    private void handleDownload(RosterEntry<PracticalWorkSubmission> entry) {
+        PracticalWorkSubmission submission = entry.getItem();
         try {
             String filePath = submission.getFilePath();
             if (filePath == null || filePath.isEmpty()) {
@@ -224,8 +224,7 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Save Submission File");
             
-            User student = AuthService.getUserById(submission.getStudentId());
-            String studentName = student != null ? student.getName().replaceAll("\\s+", "_") : "unknown";
+            String studentName = entry.getStudentName() != null ? entry.getStudentName().replaceAll("\\s+", "_") : "unknown";
             
             String originalFileName = sourceFile.getName();
             String fileName = "submission_" + studentName + "_" + originalFileName;
@@ -251,7 +250,7 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
             }
             
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to download file", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to download file: " + e.getMessage());
         }
     }    
@@ -276,14 +275,14 @@ public class TeacherPracticalWorkSubmissionsController implements Initializable
     private void handleReturn() {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeacherPracticalWorks.fxml"));
-            Parent myPracticalWorksView = loader.load();
+            Parent myPracticalWorksView = ViewLoader.load(loader);
             
             StackPane contentArea = (StackPane) submissionsContainer.getScene().lookup("#contentArea");
             contentArea.getChildren().clear();
             contentArea.getChildren().add(myPracticalWorksView);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to return to practical works view", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to return to practical works view: " + e.getMessage());
         }
     }
@@ -1,10 +1,12 @@
 package app.frontend;
 
+import app.backend.models.ContentCard;
 import app.backend.models.Course;
 import app.backend.models.PracticalWork;
 import app.backend.models.User;
 import app.backend.services.CourseService;
 import app.backend.services.PracticalWorkService;
+import app.backend.utils.Log;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -33,8 +35,11 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -76,10 +81,11 @@ public class TeacherPracticalWorksController implements Initializable {
     /** Area for drag and drop file upload */
     @FXML private StackPane dropArea;
     
+    /** Number of practical work cards loaded at a time */
+    private static final int PAGE_SIZE = 24;
+    
     /** Current logged-in user */
     private User currentUser;
-    /** List of practical works for the current teacher */
-    private ObservableList<PracticalWork> practicalWorksList = FXCollections.observableArrayList();
     /** List of courses for the current teacher */
     private ObservableList<Course> coursesList = FXCollections.observableArrayList();
     /** Currently selected file for upload */
@@ -90,6 +96,13 @@ public class TeacherPracticalWorksController implements Initializable {
     private boolean isEditMode = false;
     /** ID of the practical work being edited */
     private int editingPracticalWorkId = -1;
+    /** Background loads of this view */
+    private ViewTasks viewTasks;
+    /** Pages of practical work cards for the current teacher */
+    private CardPager<PracticalWorkCard> practicalWorkPager;
+
+    /** The card of a practical work with the course it shows, null if the course is gone */
+    private record PracticalWorkCard(ContentCard card, Course course) {}
 
     /**
      * Initializes the controller class.
@@ -101,6 +114,8 @@ public class TeacherPracticalWorksController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(practicalWorkCardsContainer);
+        practicalWorkPager = new CardPager<>(practicalWorkCardsContainer, viewTasks, PAGE_SIZE, this::createPracticalWorkCard);
         
         if (currentUser == null || !currentUser.getRole().equals("teacher")) {
             showAlert(Alert.AlertType.WARNING, "Access Error", "Only teachers can access this page.");
@@ -135,35 +150,59 @@ public class TeacherPracticalWorksController implements Initializable {
     }
     
     /**
-     * Loads all practical works created by the current teacher and displays them
-     * as cards in the container. Shows a message if no practical works exist.
+     * Loads the practical works created by the current teacher in the background,
+     * one page at a time, and displays them as cards in the container.
+     * Practical works are filtered by the search text on the server.
      */
     private void loadTeacherPracticalWorks() {
-        practicalWorkCardsContainer.getChildren().clear();
-        
-        List<PracticalWork> teacherPracticalWorks = PracticalWorkService.getPracticalWorksByTeacherId(currentUser.getId());
-        practicalWorksList.setAll(teacherPracticalWorks);
+        int teacherId = currentUser.getId();
+        String search = searchField.getText();
+        String emptyMessage = search.isBlank()
+            ? "You haven't created any practical works yet. Click the 'Add new practical work +' button to get started!"
+            : "No practical works match your search criteria.";
         
-        if (practicalWorksList.isEmpty()) {
-            Label noPracticalWorksLabel = new Label("You haven't created any practical works yet. Click the 'Add new practical work +' button to get started!");
-            noPracticalWorksLabel.getStyleClass().add("no-courses-message");
-            noPracticalWorksLabel.setPadding(new Insets(50, 0, 0, 0));
-            practicalWorkCardsContainer.getChildren().add(noPracticalWorksLabel);
-        } else {
-            for (PracticalWork practicalWork : practicalWorksList) {
-                practicalWorkCardsContainer.getChildren().add(createPracticalWorkCard(practicalWork));
+        practicalWorkPager.reload((after, limit) -> {
+            List<ContentCard> cards = PracticalWorkService.getPracticalWorkCardsByTeacherId(
+                teacherId, search, after != null ? after.card() : null, limit);
+            // Courses shown on the cards, fetched in one query instead of one per card
+            Map<Integer, Course> courses = CourseService.getCoursesByIds(
+                cards.stream().map(ContentCard::getCourseId).collect(Collectors.toList()));
+            
+            List<PracticalWorkCard> page = new ArrayList<>();
+            for (ContentCard card : cards) {
+                page.add(new PracticalWorkCard(card, courses.get(card.getCourseId())));
             }
+            return page;
+        }, emptyMessage);
+    }
+    
+    /**
+     * Loads the full practical work of a card, for the actions that need more than the card shows.
+     * Reloads the list if the practical work was deleted meanwhile.
+     * 
+     * @param card The card of the practical work
+     * @param action Receives the full practical work
+     */
+    private void openPracticalWork(ContentCard card, Consumer<PracticalWork> action) {
+        PracticalWork practicalWork = PracticalWorkService.getPracticalWorkById(card.getId());
+        if (practicalWork == null) {
+            showAlert(Alert.AlertType.ERROR, "Error", "This practical work no longer exists.");
+            loadTeacherPracticalWorks();
+            return;
         }
+        action.accept(practicalWork);
     }
 
     /**
      * Creates a visual card representation for a practical work that includes title,
      * description, deadline progress, and action buttons for viewing, editing, and deletion.
      * 
-     * @param practicalWork The practical work to display as a card
+     * @param item The practical work to display as a card, with its course
      * @return A StackPane containing the practical work card UI
      */
-    private StackPane createPracticalWorkCard(PracticalWork practicalWork) {
+    private StackPane createPracticalWorkCard(PracticalWorkCard item) {
+        ContentCard practicalWork = item.card();
+        
         StackPane cardPane = new StackPane();
         cardPane.getStyleClass().add("course-card");
         cardPane.setPrefWidth(480);
@@ -178,7 +217,7 @@ public class TeacherPracticalWorksController implements Initializable {
             cardBackground.setPreserveRatio(false);
             cardBackground.setOpacity(0.7);
         } catch (Exception e) {
-            System.out.println("Failed to load background image for practical work card");
+            Log.warn("Failed to load background image for practical work card");
             cardPane.setStyle("-fx-background-color: #353535;");
         }
 
@@ -219,7 +258,7 @@ public class TeacherPracticalWorksController implements Initializable {
             Image logo = new Image(getClass().getResourceAsStream("/images/Keyboard.png"));
             practicalWorkIcon.setImage(logo);
         } catch (Exception e) {
-            System.out.println("Failed to load logo for practical work: " + practicalWork.getTitle());
+            Log.warn("Failed to load logo for practical work: " + practicalWork.getTitle());
         }
         practicalWorkIcon.setFitWidth(50);
         practicalWorkIcon.setFitHeight(50);
@@ -228,7 +267,7 @@ public class TeacherPracticalWorksController implements Initializable {
         logoContainer.getChildren().add(practicalWorkIcon);
         headerBox.getChildren().addAll(titleContainer, logoContainer);
 
-        String description = practicalWork.getDescription();
+        String description = practicalWork.getDescriptionPreview();
         if (description == null || description.isEmpty()) {
             description = "No description available";
         } else if (description.length() > 100) {
@@ -240,13 +279,13 @@ public class TeacherPracticalWorksController implements Initializable {
         descriptionLabel.setMinHeight(Region.USE_PREF_SIZE);
 
         // Get course info
-        Course course = CourseService.getCourseById(practicalWork.getCourseId());
+        Course course = item.course();
         String courseName = "Unknown Course";
         if (course != null) {
             courseName = course.getTitle();
-            System.out.println("Card for practical work: " + practicalWork.getTitle() + " is using course: " + courseName + " (ID: " + course.getId() + ")");
+            Log.debug(() -> "Card for practical work: " + practicalWork.getTitle() + " is using course: " + course.getTitle() + " (ID: " + course.getId() + ")");
         } else {
-            System.out.println("Warning: Could not find course with ID: " + practicalWork.getCourseId() + " for practical work: " + practicalWork.getTitle());
+            Log.warn("Could not find course with ID: " + practicalWork.getCourseId() + " for practical work: " + practicalWork.getTitle());
         }
         
         // Course info label
@@ -366,7 +405,7 @@ public class TeacherPracticalWorksController implements Initializable {
             calendarIcon.setFitWidth(16);
             calendarIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load calendar icon");
+            Log.warn("Failed to load calendar icon");
         }
 
         // Use the timeStatus (countdown timer) as the date label text
@@ -385,7 +424,7 @@ public class TeacherPracticalWorksController implements Initializable {
         viewButton.getStyleClass().add("icon-button");
         viewButton.setPrefWidth(24);
         viewButton.setPrefHeight(24);
-        viewButton.setOnAction(e -> handleViewPracticalWork(practicalWork));
+        viewButton.setOnAction(e -> openPracticalWork(practicalWork, this::handleViewPracticalWork));
         
         // View icon
         ImageView viewIcon = new ImageView();
@@ -396,7 +435,7 @@ public class TeacherPracticalWorksController implements Initializable {
             viewIcon.setFitHeight(15);
             viewIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load eye icon");
+            Log.warn("Failed to load eye icon");
         }
         viewButton.setGraphic(viewIcon);
 
@@ -405,7 +444,7 @@ public class TeacherPracticalWorksController implements Initializable {
         viewSubmissionsButton.getStyleClass().add("icon-button");
         viewSubmissionsButton.setPrefWidth(24);
         viewSubmissionsButton.setPrefHeight(24);
-        viewSubmissionsButton.setOnAction(e -> handleViewSubmissions(practicalWork));
+        viewSubmissionsButton.setOnAction(e -> openPracticalWork(practicalWork, this::handleViewSubmissions));
         
         // Use emoji for the icon
         Label usersLabel = new Label("👥");
@@ -421,7 +460,7 @@ public class TeacherPracticalWorksController implements Initializable {
         editButton.getStyleClass().add("icon-button");
         editButton.setPrefWidth(24);
         editButton.setPrefHeight(24);
-        editButton.setOnAction(e -> handleEditPracticalWork(practicalWork));
+        editButton.setOnAction(e -> openPracticalWork(practicalWork, this::handleEditPracticalWork));
         
         // Edit icon
         ImageView editIcon = new ImageView();
@@ -432,7 +471,7 @@ public class TeacherPracticalWorksController implements Initializable {
             editIcon.setFitHeight(15);
             editIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load pen icon");
+            Log.warn("Failed to load pen icon");
         }
         editButton.setGraphic(editIcon);
 
@@ -452,7 +491,7 @@ public class TeacherPracticalWorksController implements Initializable {
             deleteIcon.setFitHeight(15);
             deleteIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load trash icon");
+            Log.warn("Failed to load trash icon");
         }
         deleteButton.setGraphic(deleteIcon);
 
@@ -526,38 +565,14 @@ public class TeacherPracticalWorksController implements Initializable {
     }
 
     /**
-     * Handles the search action by filtering practical works based on search text.
-     * Displays all works if search field is empty, or filters by title and description.
+     * Handles the search action by reloading the practical works whose
+     * title or description contain the search text.
      * 
      * @param event The action event triggered by the search button
      */
     @FXML
     private void handleSearch(ActionEvent event) {
-        String searchText = searchField.getText().trim().toLowerCase();
-        
-        if (searchText.isEmpty()) {
-            loadTeacherPracticalWorks();
-        } else {
-            practicalWorkCardsContainer.getChildren().clear();
-            
-            List<PracticalWork> filteredList = practicalWorksList.stream()
-                .filter(practicalWork -> 
-                    practicalWork.getTitle().toLowerCase().contains(searchText) ||
-                    (practicalWork.getDescription() != null && 
-                     practicalWork.getDescription().toLowerCase().contains(searchText)))
-                .collect(Collectors.toList());
-            
-            if (filteredList.isEmpty()) {
-                Label noResultsLabel = new Label("No practical works match your search criteria.");
-                noResultsLabel.getStyleClass().add("no-courses-message");
-                noResultsLabel.setPadding(new Insets(50, 0, 0, 0));
-                practicalWorkCardsContainer.getChildren().add(noResultsLabel);
-            } else {
-                for (PracticalWork practicalWork : filteredList) {
-                    practicalWorkCardsContainer.getChildren().add(createPracticalWorkCard(practicalWork));
-                }
-            }
-        }
+        loadTeacherPracticalWorks();
     }
 
     /**
@@ -635,11 +650,11 @@ public class TeacherPracticalWorksController implements Initializable {
         
         // Get the selected course title from the combo box
         String selectedCourse = courseComboBox.getSelectionModel().getSelectedItem();
-        System.out.println("Selected course from dropdown: " + selectedCourse);
+        Log.debug(() -> "Selected course from dropdown: " + selectedCourse);
         
         // Get the course ID
         int courseId = extractCourseId(selectedCourse);
-        System.out.println("Extracted course ID: " + courseId);
+        Log.debug(() -> "Extracted course ID: " + courseId);
         
         if (courseId == -1) {
             showAlert(Alert.AlertType.ERROR, "Error", "Could not determine the selected course. Please select a course again.");
@@ -671,7 +686,7 @@ public class TeacherPracticalWorksController implements Initializable {
                     // Copy the file
                     Files.copy(selectedFile.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
                 } catch (Exception e) {
-                    e.printStackTrace();
+                    Log.error("Could not save the practical work PDF file", e);
                     showAlert(Alert.AlertType.ERROR, "File Error", "Could not save the practical work PDF file.");
                     return;
                 }
@@ -739,16 +754,16 @@ public class TeacherPracticalWorksController implements Initializable {
             if (course.getId() == practicalWork.getCourseId()) {
                 courseComboBox.getSelectionModel().select(course.getTitle());
                 courseFound = true;
-                System.out.println("Selected course: " + course.getTitle() + " (ID: " + course.getId() + ")");
+                Log.debug(() -> "Selected course: " + course.getTitle() + " (ID: " + course.getId() + ")");
                 break;
             }
         }
         
         if (!courseFound) {
-            System.out.println("Warning: Could not find course with ID: " + practicalWork.getCourseId());
-            System.out.println("Available courses: ");
+            Log.warn("Could not find course with ID: " + practicalWork.getCourseId());
+            Log.debug("Available courses: ");
             for (Course course : coursesList) {
-                System.out.println(" - " + course.getTitle() + " (ID: " + course.getId() + ")");
+                Log.debug(() -> " - " + course.getTitle() + " (ID: " + course.getId() + ")");
             }
         }
         
@@ -808,7 +823,7 @@ public class TeacherPracticalWorksController implements Initializable {
                 // Copy the file
                 Files.copy(selectedFile.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
             } catch (Exception e) {
-                e.printStackTrace();
+                Log.error("Could not save the practical work PDF file", e);
                 showAlert(Alert.AlertType.ERROR, "File Error", "Could not save the practical work PDF file.");
                 return;
             }
@@ -863,9 +878,9 @@ public class TeacherPracticalWorksController implements Initializable {
      * Handles deleting a practical work after confirmation.
      * Shows a confirmation dialog and removes the practical work if confirmed.
      * 
-     * @param practicalWork The practical work to delete
+     * @param practicalWork The card of the practical work to delete
      */
-    private void handleDeletePracticalWork(PracticalWork practicalWork) {
+    private void handleDeletePracticalWork(ContentCard practicalWork) {
         Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmAlert.setTitle("Confirm Delete");
         confirmAlert.setHeaderText(null);
@@ -900,7 +915,7 @@ public class TeacherPracticalWorksController implements Initializable {
             }
             
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PdfPracticalWorkViewer.fxml"));
-            Parent practicalWorkViewerParent = loader.load();
+            Parent practicalWorkViewerParent = ViewLoader.load(loader);
             
             ViewPracticalWorkController controller = loader.getController();
             controller.setPracticalWork(practicalWork);
@@ -910,7 +925,7 @@ public class TeacherPracticalWorksController implements Initializable {
             contentArea.getChildren().add(practicalWorkViewerParent);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load practical work viewer", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load practical work viewer: " + e.getMessage());
         }
     }
@@ -925,7 +940,7 @@ public class TeacherPracticalWorksController implements Initializable {
         try {
             // Load the submissions view
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeacherPracticalWorkSubmissions.fxml"));
-            Parent submissionsView = loader.load();
+            Parent submissionsView = ViewLoader.load(loader);
             
             // Set up the controller and pass the practical work
             TeacherPracticalWorkSubmissionsController controller = loader.getController();
@@ -937,7 +952,7 @@ public class TeacherPracticalWorksController implements Initializable {
             contentArea.getChildren().add(submissionsView);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load submissions view", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load submissions view: " + e.getMessage());
         }
     }
@@ -957,10 +972,10 @@ public class TeacherPracticalWorksController implements Initializable {
             }
         }
         // Log the course title and available courses if no match found
-        System.out.println("Could not find course ID for title: " + courseTitle);
-        System.out.println("Available courses: ");
+        Log.warn("Could not find course ID for title: " + courseTitle);
+        Log.debug("Available courses: ");
         for (Course course : coursesList) {
-            System.out.println(" - " + course.getTitle() + " (ID: " + course.getId() + ")");
+            Log.debug(() -> " - " + course.getTitle() + " (ID: " + course.getId() + ")");
         }
         return -1;
     }
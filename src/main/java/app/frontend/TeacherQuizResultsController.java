@@ -1,7 +1,9 @@
 package app.frontend;
 
 import app.backend.models.Quiz;
+import app.backend.models.QuizAggregate;
 import app.backend.models.QuizResult;
+import app.backend.models.RosterEntry;
 import app.backend.models.User;
 import app.backend.models.Question;
 import app.backend.models.StudentAnswer;
@@ -10,9 +12,9 @@ import app.backend.models.Course;
 import app.backend.services.QuizResultService;
 import app.backend.services.AuthService;
 import app.backend.services.CourseService;
-import app.backend.services.QuestionService;
 import app.backend.services.StudentAnswerService;
-import app.backend.services.AnswerService;
+import app.backend.services.QuizService;
+import app.backend.utils.Log;
 
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -34,7 +36,6 @@ import java.io.IOException;
 import java.net.URL;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.stream.Collectors;
@@ -75,14 +76,30 @@ public class TeacherQuizResultsController implements Initializable {
     private Quiz currentQuiz;
     
     /** All quiz results for the current quiz */
-    private List<QuizResult> allResults;
+    // Results joined with their student's name and matricule, searched in memory
+    private List<RosterEntry<QuizResult>> allResults;
     
     /** Questions belonging to the current quiz */
     private List<Question> quizQuestions;
     
+    // Questions and answers of the current quiz, for the correct answers of the details view
+    private QuizAggregate quizAggregate;
+    
+    /** Course of the current quiz */
+    private Course currentCourse;
+    
     /** Current teacher user */
     private User currentUser;
     
+    /** Background loads of this view */
+    private ViewTasks viewTasks;
+    
+    // Everything the results list shows, loaded together in the background
+    private record LoadedResults(Course course, QuizAggregate aggregate, List<RosterEntry<QuizResult>> roster) {}
+    
+    // A student's answers and the teacher of the quiz, for the details view
+    private record QuizDetails(List<StudentAnswer> studentAnswers, User teacher) {}
+    
     /**
      * Initializes the controller.
      * Sets up UI components and event handlers.
@@ -93,6 +110,7 @@ public class TeacherQuizResultsController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(resultsContainer);
         returnButton.setOnAction(event -> handleReturn());
         
         if (searchStudentField != null) {
@@ -117,12 +135,9 @@ public class TeacherQuizResultsController implements Initializable {
         if (searchQuery.isEmpty()) {
             displayResults(allResults);
         } else {
-            List<QuizResult> filteredResults = allResults.stream()
-                .filter(result -> {
-                    User student = AuthService.getUserById(result.getStudentId());
-                    return student != null && 
-                           student.getName().toLowerCase().contains(searchQuery);
-                })
+            List<RosterEntry<QuizResult>> filteredResults = allResults.stream()
+                .filter(entry -> entry.getStudentName() != null && 
+                                 entry.getStudentName().toLowerCase().contains(searchQuery))
                 .collect(Collectors.toList());
             
             displayResults(filteredResults);
@@ -131,7 +146,7 @@ public class TeacherQuizResultsController implements Initializable {
     
     /**
      * Sets the current quiz and loads its results.
-     * Updates UI elements with quiz information and loads results.
+     * Updates UI elements with quiz information and loads results in the background.
      *
      * @param quiz The quiz to display results for
      */
@@ -143,30 +158,42 @@ public class TeacherQuizResultsController implements Initializable {
             quizInfoLabel.setText(quiz.getDescription());
         }
         
-        if (courseNameLabel != null && quiz.getCourseId() > 0) {
-            String courseName = "Unknown Course";
-            Course course = CourseService.getCourseById(quiz.getCourseId());
-            if (course != null) {
-                courseName = course.getTitle();
-            }
-            courseNameLabel.setText("Course: " + courseName);
-        }
-        
-        this.quizQuestions = QuestionService.getQuestionsByQuizId(quiz.getId());
         loadResults();
     }
     
     /**
-     * Loads all quiz results for the current quiz.
-     * Fetches results, calculates average score, and displays the results list.
+     * Loads the course, the questions and all results of the current quiz in the background,
+     * then displays them.
      */
     private void loadResults() {
-        resultsContainer.getChildren().clear();
-        allResults = QuizResultService.getResultsByQuizId(currentQuiz.getId());
+        Quiz quiz = currentQuiz;
+        ViewTasks.showLoading(resultsContainer);
+        viewTasks.load(() -> new LoadedResults(
+                quiz.getCourseId() > 0 ? CourseService.getCourseById(quiz.getCourseId()) : null,
+                QuizService.loadQuizAggregate(quiz.getId()),
+                QuizResultService.getResultRoster(quiz.getId())), this::showResults);
+    }
+    
+    /**
+     * Shows the loaded quiz results.
+     * Displays the course name, calculates the average score and displays the results list.
+     *
+     * @param loaded The course, questions and results of the current quiz
+     */
+    private void showResults(LoadedResults loaded) {
+        currentCourse = loaded.course();
+        quizAggregate = loaded.aggregate();
+        quizQuestions = quizAggregate != null ? quizAggregate.getQuestions() : new ArrayList<>();
+        allResults = loaded.roster();
+        
+        if (courseNameLabel != null && currentQuiz.getCourseId() > 0) {
+            String courseName = currentCourse != null ? currentCourse.getTitle() : "Unknown Course";
+            courseNameLabel.setText("Course: " + courseName);
+        }
         
         if (averageScoreLabel != null && !allResults.isEmpty()) {
             double averageScore = allResults.stream()
-                .mapToInt(QuizResult::getScore)
+                .mapToInt(entry -> entry.getItem().getScore())
                 .average()
                 .orElse(0.0);
             averageScoreLabel.setText(String.format("Average Score: %.1f%%", averageScore));
@@ -181,7 +208,7 @@ public class TeacherQuizResultsController implements Initializable {
      *
      * @param results The list of quiz results to display
      */
-    private void displayResults(List<QuizResult> results) {
+    private void displayResults(List<RosterEntry<QuizResult>> results) {
         resultsContainer.getChildren().clear();
         
         if (results.isEmpty()) {
@@ -190,11 +217,9 @@ public class TeacherQuizResultsController implements Initializable {
             noResultsLabel.setPadding(new Insets(20, 0, 0, 0));
             resultsContainer.getChildren().add(noResultsLabel);
         } else {
-            List<QuizResult> sortedResults = new ArrayList<>(results);
-            sortedResults.sort(Comparator.comparing(QuizResult::getScore).reversed());
-            
-            for (QuizResult result : sortedResults) {
-                resultsContainer.getChildren().add(createResultItem(result));
+            // The roster is already sorted by score, best first
+            for (RosterEntry<QuizResult> entry : results) {
+                resultsContainer.getChildren().add(createResultItem(entry));
             }
         }
     }
@@ -203,11 +228,11 @@ public class TeacherQuizResultsController implements Initializable {
      * Creates a list item for a quiz result.
      * Builds a UI component displaying student information and quiz score.
      *
-     * @param result The quiz result to display
+     * @param entry The quiz result to display, with its student
      * @return HBox container with the formatted result information
      */
-    private HBox createResultItem(QuizResult result) {
-        User student = AuthService.getUserById(result.getStudentId());
+    private HBox createResultItem(RosterEntry<QuizResult> entry) {
+        QuizResult result = entry.getItem();
         
         HBox itemContainer = new HBox();
         itemContainer.getStyleClass().add("submission-item");
@@ -219,10 +244,10 @@ public class TeacherQuizResultsController implements Initializable {
         studentInfo.setAlignment(Pos.CENTER_LEFT);
         HBox.setHgrow(studentInfo, Priority.ALWAYS);
         
-        Label nameLabel = new Label(student != null ? student.getName() : "Unknown Student");
+        Label nameLabel = new Label(entry.getStudentName() != null ? entry.getStudentName() : "Unknown Student");
         nameLabel.getStyleClass().add("submission-name");
         
-        Label matriculeLabel = new Label(student != null ? student.getMatricule() : "Unknown");
+        Label matriculeLabel = new Label(entry.getStudentMatricule() != null ? entry.getStudentMatricule() : "Unknown");
         matriculeLabel.getStyleClass().add("submission-matricule");
         
         SimpleDateFormat dateFormat = new SimpleDateFormat("dd MMM yyyy 'at' HH:mm");
@@ -267,31 +292,37 @@ public class TeacherQuizResultsController implements Initializable {
     
     /**
      * Opens the quiz details view for a specific quiz result.
-     * Prepares and loads detailed view of a student's quiz responses.
+     * Loads the student's answers and the teacher of the quiz in the background, then shows them.
      *
      * @param result The quiz result to view in detail
      */
     private void openQuizDetails(QuizResult result) {
+        if (quizQuestions == null || quizQuestions.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "No Questions", "This quiz has no questions to display.");
+            return;
+        }
+        
+        Course course = currentCourse;
+        viewTasks.load(() -> new QuizDetails(
+                StudentAnswerService.getStudentAnswers(result.getId()),
+                course != null ? AuthService.getUserById(course.getTeacherId()) : currentUser),
+            this::showQuizDetails);
+    }
+    
+    /**
+     * Shows the detailed view of a student's quiz responses.
+     *
+     * @param details The student's answers and the teacher of the quiz
+     */
+    private void showQuizDetails(QuizDetails details) {
         try {
-            List<Question> questions = QuestionService.getQuestionsByQuizId(currentQuiz.getId());
-            if (questions == null) {
-                questions = new ArrayList<>();
-            }
-            
-            List<StudentAnswer> studentAnswers = StudentAnswerService.getStudentAnswers(result.getId());
-            
-            if (questions.isEmpty()) {
-                showAlert(Alert.AlertType.WARNING, "No Questions", "This quiz has no questions to display.");
-                return;
-            }
+            List<Question> questions = quizQuestions;
+            List<StudentAnswer> studentAnswers = details.studentAnswers();
             
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/QuizResult.fxml"));
-            Parent resultView = loader.load();
+            Parent resultView = ViewLoader.load(loader);
             ViewQuizResultController controller = loader.getController();
-            
-            Course course = CourseService.getCourseById(currentQuiz.getCourseId());
-            User teacher = (course != null) ? AuthService.getUserById(course.getTeacherId()) : currentUser;
-            controller.setTeacher(teacher);
+            controller.setTeacher(details.teacher());
             
             List<Integer> userAnswerList = new ArrayList<>();
             List<Answer> correctAnswerList = new ArrayList<>();
@@ -336,7 +367,7 @@ public class TeacherQuizResultsController implements Initializable {
             }
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load quiz details", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load quiz details: " + e.getMessage());
         }
     }
@@ -349,12 +380,9 @@ public class TeacherQuizResultsController implements Initializable {
      * @return The correct answer or a placeholder
      */
     private Answer findCorrectAnswer(int questionId) {
-        List<Answer> answers = AnswerService.getAnswersByQuestionId(questionId);
-        
-        for (Answer answer : answers) {
-            if (answer.isCorrect()) {
-                return answer;
-            }
+        Answer correct = quizAggregate != null ? quizAggregate.getCorrectAnswer(questionId) : null;
+        if (correct != null) {
+            return correct;
         }
         
         Answer placeholder = new Answer();
@@ -371,7 +399,7 @@ public class TeacherQuizResultsController implements Initializable {
     private void handleReturn() {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeacherQuizzes.fxml"));
-            Parent quizzesView = loader.load();
+            Parent quizzesView = ViewLoader.load(loader);
             
             StackPane contentArea = (StackPane) resultsContainer.getScene().lookup("#contentArea");
             if (contentArea != null) {
@@ -381,7 +409,7 @@ public class TeacherQuizResultsController implements Initializable {
                 showAlert(Alert.AlertType.ERROR, "Navigation Error", "Cannot navigate back to quizzes.");
             }
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to navigate back to quizzes", e);
             showAlert(Alert.AlertType.ERROR, "Navigation Error", "Failed to navigate back to quizzes: " + e.getMessage());
         }
     }
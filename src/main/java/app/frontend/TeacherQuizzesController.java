@@ -1,14 +1,17 @@
 package app.frontend;
 
 import app.backend.models.Quiz;
+import app.backend.models.QuizAggregate;
+import app.backend.models.QuizDraft;
 import app.backend.models.Course;
 import app.backend.models.User;
 import app.backend.models.Question;
 import app.backend.models.Answer;
 import app.backend.services.QuizService;
+import app.backend.utils.Log;
+import app.backend.services.QuizAuthoringService;
+import app.backend.services.BatchLoader;
 import app.backend.services.CourseService;
-import app.backend.services.QuestionService;
-import app.backend.services.AnswerService;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -28,6 +31,7 @@ import javafx.scene.Parent;
 import java.io.IOException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -86,6 +90,8 @@ public class TeacherQuizzesController implements Initializable {
     
     private User currentUser;
     private ObservableList<Quiz> quizzesList = FXCollections.observableArrayList();
+    // Courses shown on the cards, fetched in one query instead of one per card
+    private BatchLoader<Course> cardCourses = BatchLoader.courses();
     private ObservableList<Course> coursesList = FXCollections.observableArrayList();
     private ObservableList<String> courseNamesForComboBox = FXCollections.observableArrayList();
     private Quiz currentQuiz;
@@ -93,12 +99,23 @@ public class TeacherQuizzesController implements Initializable {
     private boolean isNewQuiz;
 
     private int selectedCourseId = -1;
+    private ViewTasks viewTasks;
+    // Load of the quiz cards, the other loads of the view do not hold back their filtering
+    private CompletableFuture<?> pendingQuizzes;
+
+    // Quizzes of the teacher with the courses their cards show
+    private record LoadedQuizzes(List<Quiz> quizzes, BatchLoader<Course> courses) {}
+
+    // A quiz opened for editing, with its course
+    private record EditedQuiz(Course course, QuizAggregate aggregate) {}
 
     // Variables for quiz editing
     private int currentQuestionIndex = 0;
     private List<Question> editingQuestions = new ArrayList<>();
     private Map<Integer, List<Answer>> questionAnswers = new HashMap<>();
     private Quiz quizBeingEdited;
+    // Questions added while editing get temporary negative IDs until the quiz is saved
+    private int nextNewQuestionId = -1;
 
     /**
      * Initializes the controller by loading teacher quizzes and setting up listeners.
@@ -110,6 +127,7 @@ public class TeacherQuizzesController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(quizCardsContainer);
         
         if (currentUser != null && currentUser.getRole().equals("teacher")) {
             loadTeacherQuizzes();
@@ -148,13 +166,33 @@ public class TeacherQuizzesController implements Initializable {
     }
     
     /**
-     * Loads quizzes created by the current teacher and displays them as cards.
+     * Loads quizzes created by the current teacher in the background and displays them as cards.
      */
     private void loadTeacherQuizzes() {
-        quizCardsContainer.getChildren().clear();
+        int teacherId = currentUser.getId();
+        if (pendingQuizzes != null) {
+            pendingQuizzes.cancel(false);
+        }
+        ViewTasks.showLoading(quizCardsContainer);
         
-        List<Quiz> teacherQuizzes = QuizService.getQuizzesByTeacherId(currentUser.getId());
-        quizzesList.setAll(teacherQuizzes);
+        pendingQuizzes = viewTasks.load(() -> {
+            List<Quiz> quizzes = QuizService.getQuizzesByTeacherId(teacherId);
+            BatchLoader<Course> courses = BatchLoader.courses().prime(
+                quizzes.stream().map(Quiz::getCourseId).collect(Collectors.toList()));
+            courses.dispatch();
+            return new LoadedQuizzes(quizzes, courses);
+        }, loaded -> {
+            quizzesList.setAll(loaded.quizzes());
+            cardCourses = loaded.courses();
+            filterQuizzes(searchField.getText());
+        });
+    }
+    
+    /**
+     * Displays every loaded quiz as a card.
+     */
+    private void displayTeacherQuizzes() {
+        quizCardsContainer.getChildren().clear();
         
         if (quizzesList.isEmpty()) {
             Label noQuizzesLabel = new Label("You haven't created any quizzes yet. Click the 'Add new quiz +' button to get started!");
@@ -168,22 +206,24 @@ public class TeacherQuizzesController implements Initializable {
     }
     
     /**
-     * Loads the teacher's courses for the course selection combo box.
+     * Loads the teacher's courses for the course selection combo box in the background.
      * Disables the combo box if no courses are available.
      */
     private void loadTeacherCoursesForComboBox() {
-        List<Course> courses = CourseService.getCoursesByTeacherId(currentUser.getId());
-        coursesList.setAll(courses);
-        
-        courseNamesForComboBox.clear();
-        
-        if (!courses.isEmpty()) {
-            coursesList.forEach(course -> courseNamesForComboBox.add(course.getTitle()));
-        } else {
-            courseComboBox.setItems(FXCollections.observableArrayList("No courses available"));
-            courseComboBox.getSelectionModel().select(0);
-            courseComboBox.setDisable(true);
-        }
+        int teacherId = currentUser.getId();
+        viewTasks.load(() -> CourseService.getCoursesByTeacherId(teacherId), courses -> {
+            coursesList.setAll(courses);
+            
+            courseNamesForComboBox.clear();
+            
+            if (!courses.isEmpty()) {
+                coursesList.forEach(course -> courseNamesForComboBox.add(course.getTitle()));
+            } else {
+                courseComboBox.setItems(FXCollections.observableArrayList("No courses available"));
+                courseComboBox.getSelectionModel().select(0);
+                courseComboBox.setDisable(true);
+            }
+        });
     }
 
     /**
@@ -207,7 +247,7 @@ public class TeacherQuizzesController implements Initializable {
             cardBackground.setPreserveRatio(false);
             cardBackground.setOpacity(0.7);
         } catch (Exception e) {
-            System.out.println("Failed to load background image for quiz card");
+            Log.warn("Failed to load background image for quiz card");
         }
 
         VBox cardContent = new VBox();
@@ -247,7 +287,7 @@ public class TeacherQuizzesController implements Initializable {
             Image logo = new Image(getClass().getResourceAsStream("/images/Object Scan.png"));
             quizIcon.setImage(logo);
         } catch (Exception e) {
-            System.out.println("Failed to load logo for quiz: " + quiz.getTitle());
+            Log.warn("Failed to load logo for quiz: " + quiz.getTitle());
         }
         quizIcon.setFitWidth(50);
         quizIcon.setFitHeight(50);
@@ -266,7 +306,7 @@ public class TeacherQuizzesController implements Initializable {
         descriptionLabel.setWrapText(true);
         descriptionLabel.setMinHeight(Region.USE_PREF_SIZE);
 
-        Course course = CourseService.getCourseById(quiz.getCourseId());
+        Course course = cardCourses.get(quiz.getCourseId());
         Label courseLabel = new Label("Course: " + (course != null ? course.getTitle() : "Unknown"));
         courseLabel.getStyleClass().add("card-instructor");
         courseLabel.setWrapText(true);
@@ -294,7 +334,7 @@ public class TeacherQuizzesController implements Initializable {
             calendarIcon.setFitWidth(20);
             calendarIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load calendar icon");
+            Log.warn("Failed to load calendar icon");
         }
 
         String createdAt = "Created: " + (quiz.getCreatedAt() != null ? 
@@ -321,7 +361,7 @@ public class TeacherQuizzesController implements Initializable {
             editIcon.setFitHeight(15);
             editIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load pen icon");
+            Log.warn("Failed to load pen icon");
         }
         editButton.setGraphic(editIcon);
 
@@ -339,7 +379,7 @@ public class TeacherQuizzesController implements Initializable {
             deleteIcon.setFitHeight(15);
             deleteIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load trash icon");
+            Log.warn("Failed to load trash icon");
         }
         deleteButton.setGraphic(deleteIcon);
         
@@ -357,7 +397,7 @@ public class TeacherQuizzesController implements Initializable {
             resultsIcon.setFitHeight(15);
             resultsIcon.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load chart icon");
+            Log.warn("Failed to load chart icon");
             resultsButton.setText("📊");
         }
         resultsButton.setGraphic(resultsIcon);
@@ -381,8 +421,13 @@ public class TeacherQuizzesController implements Initializable {
      * @param query The search term to filter quizzes
      */
     private void filterQuizzes(String query) {
+        if (pendingQuizzes != null && !pendingQuizzes.isDone()) {
+            // The loaded quizzes are filtered when they arrive
+            return;
+        }
+        
         if (query == null || query.isEmpty()) {
-            loadTeacherQuizzes();
+            displayTeacherQuizzes();
         } else {
             query = query.toLowerCase();
             final String searchQuery = query;
@@ -466,7 +511,7 @@ public class TeacherQuizzesController implements Initializable {
         
         javafx.application.Platform.runLater(() -> {
             courseComboBox.requestFocus();
-            System.out.println("ComboBox items: " + courseComboBox.getItems());
+            Log.debug(() -> "ComboBox items: " + courseComboBox.getItems());
         });
     }
     
@@ -531,7 +576,7 @@ public class TeacherQuizzesController implements Initializable {
         try {
             showAddQuestionDialog(quiz, isNewQuiz);
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to open question entry form", e);
             showAlert(AlertType.ERROR, "Error", "Failed to open question entry form: " + e.getMessage());
             
             loadTeacherQuizzes();
@@ -566,21 +611,39 @@ public class TeacherQuizzesController implements Initializable {
     }
 
     /**
-     * Loads a quiz for editing with all of its questions and answers.
-     * Sets up the edit dialog with the quiz data.
+     * Loads a quiz for editing with all of its questions and answers in the background.
+     * The edit dialog opens once they are loaded.
      * 
      * @param quiz The quiz to be edited
      */
     private void loadQuizForEditing(Quiz quiz) {
+        viewTasks.load(() -> new EditedQuiz(
+                CourseService.getCourseById(quiz.getCourseId()),
+                QuizService.loadQuizAggregate(quiz.getId())),
+            edited -> showQuizForEditing(quiz, edited),
+            error -> {
+                Log.error("Failed to load quiz for editing", error);
+                showAlert(AlertType.ERROR, "Error", "Failed to load quiz for editing: " + error.getMessage());
+            });
+    }
+
+    /**
+     * Sets up the edit dialog with the loaded quiz data and shows it.
+     * 
+     * @param quiz The quiz to be edited
+     * @param edited Its course, questions and answers
+     */
+    private void showQuizForEditing(Quiz quiz, EditedQuiz edited) {
         try {
             quizBeingEdited = quiz;
             
             editQuizTitleLabel.setText("Edit: " + quiz.getTitle());
             
-            Course course = CourseService.getCourseById(quiz.getCourseId());
+            Course course = edited.course();
             editCourseNameLabel.setText("Course: " + (course != null ? course.getTitle() : "Unknown"));
             
-            List<Question> questions = QuestionService.getQuestionsByQuizId(quiz.getId());
+            QuizAggregate aggregate = edited.aggregate();
+            List<Question> questions = aggregate != null ? aggregate.copyQuestions() : null;
             
             if (questions == null || questions.isEmpty()) {
                 showAlert(AlertType.WARNING, "No Questions", "This quiz doesn't have any questions yet.");
@@ -590,14 +653,12 @@ public class TeacherQuizzesController implements Initializable {
             editingQuestions.clear();
             questionAnswers.clear();
             currentQuestionIndex = 0;
+            nextNewQuestionId = -1;
             
             editingQuestions.addAll(questions);
             
             for (Question question : editingQuestions) {
-                List<Answer> answers = AnswerService.getAnswersByQuestionId(question.getId());
-                if (answers != null) {
-                    questionAnswers.put(question.getId(), answers);
-                }
+                questionAnswers.put(question.getId(), question.getAnswers());
             }
             
             showQuestionForEditing(currentQuestionIndex);
@@ -607,7 +668,7 @@ public class TeacherQuizzesController implements Initializable {
             editQuizOverlay.setVisible(true);
             
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to load quiz for editing", e);
             showAlert(AlertType.ERROR, "Error", "Failed to load quiz for editing: " + e.getMessage());
         }
     }
@@ -752,24 +813,21 @@ public class TeacherQuizzesController implements Initializable {
     }
     
     /**
-     * Deletes the current question and its answers from the database.
-     * Updates the question list and UI.
+     * Removes the current question and its answers from the quiz being edited.
+     * The deletion is stored with the other changes when the quiz is saved.
      */
     private void deleteCurrentQuestion() {
         try {
             Question question = editingQuestions.get(currentQuestionIndex);
             
-            boolean success = QuestionService.deleteQuestion(question.getId());
-            
-            if (!success) {
-                showAlert(AlertType.ERROR, "Error", "Failed to delete the question.");
-                return;
-            }
-            
             editingQuestions.remove(currentQuestionIndex);
             questionAnswers.remove(question.getId());
             
             if (editingQuestions.isEmpty()) {
+                if (!saveEditedQuiz()) {
+                    showAlert(AlertType.ERROR, "Error", "Failed to delete the question.");
+                    return;
+                }
                 editQuizOverlay.setVisible(false);
                 showAlert(AlertType.INFORMATION, "No Questions", 
                     "All questions have been deleted. You may add new ones from the Add Question dialog.");
@@ -783,7 +841,7 @@ public class TeacherQuizzesController implements Initializable {
             showQuestionForEditing(currentQuestionIndex);
             
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to delete the question", e);
             showAlert(AlertType.ERROR, "Error", "Failed to delete the question: " + e.getMessage());
         }
     }
@@ -796,6 +854,11 @@ public class TeacherQuizzesController implements Initializable {
         if (validateEditQuestionForm()) {
             saveCurrentEditQuestion();
             
+            if (!saveEditedQuiz()) {
+                showAlert(AlertType.ERROR, "Error", "Failed to save the quiz. No changes were stored.");
+                return;
+            }
+            
             editQuizOverlay.setVisible(false);
             
             showAlert(AlertType.INFORMATION, "Success", "All changes have been saved successfully!");
@@ -804,6 +867,23 @@ public class TeacherQuizzesController implements Initializable {
         }
     }
     
+    /**
+     * Stores the quiz being edited with all of its questions and answers in one transaction.
+     * 
+     * @return true if the quiz was saved, false otherwise
+     */
+    private boolean saveEditedQuiz() {
+        QuizDraft draft = new QuizDraft(quizBeingEdited);
+        
+        for (Question question : editingQuestions) {
+            List<Answer> answers = questionAnswers.get(question.getId());
+            question.setAnswers(answers != null ? answers : new ArrayList<>());
+            draft.addQuestion(question);
+        }
+        
+        return QuizAuthoringService.saveQuiz(draft) > 0;
+    }
+    
     /**
      * Handles canceling the edit dialog.
      * Shows a confirmation dialog if changes might be lost.
@@ -916,41 +996,56 @@ public class TeacherQuizzesController implements Initializable {
             return;
         }
         
-        if (isNewQuiz) {
-            boolean success = QuizService.addQuiz(currentQuiz);
-            if (!success) {
-                showAlert(AlertType.ERROR, "Error", "Failed to save the quiz to the database.");
-                return;
-            }
-            
-            List<Quiz> latestQuizzes = QuizService.getQuizzesByTeacherId(currentUser.getId());
-            Quiz createdQuiz = null;
-            
-            if (latestQuizzes != null && !latestQuizzes.isEmpty()) {
-                for (Quiz quiz : latestQuizzes) {
-                    if (quiz.getTitle().equals(currentQuiz.getTitle()) && 
-                        quiz.getCourseId() == currentQuiz.getCourseId()) {
-                        createdQuiz = quiz;
-                        break;
-                    }
+        Quiz quiz = currentQuiz;
+        boolean newQuiz = isNewQuiz;
+        List<Question> addedQuestions = new ArrayList<>(currentQuizQuestions);
+        Button doneButton = (Button) event.getSource();
+        doneButton.setDisable(true);
+        
+        viewTasks.load(() -> {
+            QuizDraft draft;
+            if (newQuiz) {
+                draft = new QuizDraft(quiz);
+            } else {
+                // Questions are added to the ones already stored
+                QuizAggregate aggregate = QuizService.loadQuizAggregate(quiz.getId());
+                if (aggregate == null) {
+                    return null;
                 }
+                draft = new QuizDraft(quiz, aggregate.copyQuestions());
             }
             
-            if (createdQuiz == null) {
-                showAlert(AlertType.ERROR, "Error", "Failed to retrieve the created quiz.");
-                return;
+            for (Question question : addedQuestions) {
+                draft.addQuestion(question);
             }
-            
-            currentQuiz.setId(createdQuiz.getId());
-            
-            saveAllQuestionsAndAnswers();
-        }
-        
+            return QuizAuthoringService.saveQuiz(draft) > 0;
+        }, saved -> {
+            doneButton.setDisable(false);
+            if (saved == null) {
+                showAlert(AlertType.ERROR, "Error", "Failed to load the quiz from the database.");
+            } else if (!saved) {
+                showAlert(AlertType.ERROR, "Error", "Failed to save the quiz to the database.");
+            } else {
+                finishAddingQuestions(newQuiz);
+            }
+        }, error -> {
+            doneButton.setDisable(false);
+            Log.error("Failed to save the quiz", error);
+            showAlert(AlertType.ERROR, "Error", "Failed to save the quiz to the database.");
+        });
+    }
+    
+    /**
+     * Closes the question entry form once the quiz is saved, and reloads the quizzes.
+     * 
+     * @param newQuiz Whether the quiz was created with these questions
+     */
+    private void finishAddingQuestions(boolean newQuiz) {
         addQuestionOverlay.setVisible(false);
         
         courseComboBox.getItems().clear();
         
-        if (isNewQuiz) {
+        if (newQuiz) {
             showAlert(AlertType.INFORMATION, "Quiz Complete", 
                 "Quiz has been created and questions have been saved successfully!");
         } else {
@@ -1015,47 +1110,26 @@ public class TeacherQuizzesController implements Initializable {
 
     /**
      * Saves the current question and its answers.
-     * For new quizzes, stores questions temporarily until the quiz is created.
+     * Questions are kept in memory and stored together when the quiz is finished.
      */
     private void saveCurrentQuestion() {
         try {
-            if (isNewQuiz) {
-                Question question = new Question();
-                question.setId(-1 * (currentQuizQuestions.size() + 1));
-                question.setQuestionText(questionTextField.getText().trim());
-                
-                currentQuizQuestions.add(question);
-                
-                storeAnswersForQuestion(question);
-                
-                return;
-            }
-            
             Question question = new Question();
-            question.setQuizId(currentQuiz.getId());
+            question.setId(-1 * (currentQuizQuestions.size() + 1));
             question.setQuestionText(questionTextField.getText().trim());
             
-            int questionId = QuestionService.addQuestion(question);
-            
-            if (questionId <= 0) {
-                showAlert(AlertType.ERROR, "Error", "Failed to save the question to the database.");
-                return;
-            }
-            
-            question.setId(questionId);
-            
             currentQuizQuestions.add(question);
             
-            saveAnswers(questionId);
+            storeAnswersForQuestion(question);
             
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to save the question", e);
             showAlert(AlertType.ERROR, "Error", "Failed to save the question: " + e.getMessage());
         }
     }
     
     /**
-     * Stores answers for a question in memory for new quizzes.
+     * Stores answers for a question in memory until the quiz is saved.
      * 
      * @param question The question to store answers for
      */
@@ -1095,88 +1169,6 @@ public class TeacherQuizzesController implements Initializable {
         }
     }
     
-    /**
-     * Saves the answers for a question to the database.
-     * 
-     * @param questionId The ID of the question to save answers for
-     */
-    private void saveAnswers(int questionId) {
-        RadioButton selectedRadio = (RadioButton) correctAnswerGroup.getSelectedToggle();
-        
-        if (!answerField1.getText().trim().isEmpty()) {
-            Answer answer = new Answer();
-            answer.setQuestionId(questionId);
-            answer.setAnswerText(answerField1.getText().trim());
-            answer.setCorrect(selectedRadio == radioAnswer1);
-            AnswerService.addAnswer(answer);
-        }
-        
-        if (!answerField2.getText().trim().isEmpty()) {
-            Answer answer = new Answer();
-            answer.setQuestionId(questionId);
-            answer.setAnswerText(answerField2.getText().trim());
-            answer.setCorrect(selectedRadio == radioAnswer2);
-            AnswerService.addAnswer(answer);
-        }
-        
-        if (!answerField3.getText().trim().isEmpty()) {
-            Answer answer = new Answer();
-            answer.setQuestionId(questionId);
-            answer.setAnswerText(answerField3.getText().trim());
-            answer.setCorrect(selectedRadio == radioAnswer3);
-            AnswerService.addAnswer(answer);
-        }
-        
-        if (!answerField4.getText().trim().isEmpty()) {
-            Answer answer = new Answer();
-            answer.setQuestionId(questionId);
-            answer.setAnswerText(answerField4.getText().trim());
-            answer.setCorrect(selectedRadio == radioAnswer4);
-            AnswerService.addAnswer(answer);
-        }
-    }
-    
-    /**
-     * Saves all temporarily stored questions and their answers to the database.
-     */
-    private void saveAllQuestionsAndAnswers() {
-        if (currentQuizQuestions.isEmpty() || currentQuiz == null || currentQuiz.getId() <= 0) {
-            return;
-        }
-        
-        try {
-            for (Question question : currentQuizQuestions) {
-                if (question.getId() > 0) {
-                    continue;
-                }
-                
-                Question dbQuestion = new Question();
-                dbQuestion.setQuizId(currentQuiz.getId());
-                dbQuestion.setQuestionText(question.getQuestionText());
-                
-                int questionId = QuestionService.addQuestion(dbQuestion);
-                
-                if (questionId <= 0) {
-                    System.out.println("Failed to save question: " + question.getQuestionText());
-                    continue;
-                }
-                
-                if (question.getAnswers() != null) {
-                    for (Answer answer : question.getAnswers()) {
-                        Answer dbAnswer = new Answer();
-                        dbAnswer.setQuestionId(questionId);
-                        dbAnswer.setAnswerText(answer.getAnswerText());
-                        dbAnswer.setCorrect(answer.isCorrect());
-                        AnswerService.addAnswer(dbAnswer);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            showAlert(AlertType.ERROR, "Error", "Failed to save some questions: " + e.getMessage());
-        }
-    }
-    
     /**
      * Handles deleting a quiz after confirmation.
      * 
@@ -1237,21 +1229,15 @@ public class TeacherQuizzesController implements Initializable {
             saveCurrentEditQuestion();
             
             Question newQuestion = new Question();
+            newQuestion.setId(nextNewQuestionId--);
             newQuestion.setQuizId(quizBeingEdited.getId());
             newQuestion.setQuestionText("New Question");
             
-            int questionId = QuestionService.addQuestion(newQuestion);
-            if (questionId > 0) {
-                newQuestion.setId(questionId);
-                
-                editingQuestions.add(newQuestion);
-                questionAnswers.put(questionId, new ArrayList<>());
-                
-                currentQuestionIndex = editingQuestions.size() - 1;
-                showQuestionForEditing(currentQuestionIndex);
-            } else {
-                showAlert(AlertType.ERROR, "Error", "Failed to add new question.");
-            }
+            editingQuestions.add(newQuestion);
+            questionAnswers.put(newQuestion.getId(), new ArrayList<>());
+            
+            currentQuestionIndex = editingQuestions.size() - 1;
+            showQuestionForEditing(currentQuestionIndex);
         }
     }
 
@@ -1264,7 +1250,7 @@ public class TeacherQuizzesController implements Initializable {
     private void handleViewResults(Quiz quiz) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeacherQuizResults.fxml"));
-            Parent resultsView = loader.load();
+            Parent resultsView = ViewLoader.load(loader);
             
             TeacherQuizResultsController controller = loader.getController();
             controller.setQuiz(quiz);
@@ -1273,14 +1259,14 @@ public class TeacherQuizzesController implements Initializable {
             contentArea.getChildren().clear();
             contentArea.getChildren().add(resultsView);
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load quiz results view", e);
             showAlert(AlertType.ERROR, "Error", "Failed to load quiz results view: " + e.getMessage());
         }
     }
 
     /**
      * Saves changes to the current question being edited.
-     * Updates the question text and answers in the database.
+     * Changes are kept in memory until the quiz is saved.
      */
     private void saveCurrentEditQuestion() {
         try {
@@ -1288,8 +1274,6 @@ public class TeacherQuizzesController implements Initializable {
             
             question.setQuestionText(editQuestionTextArea.getText().trim());
             
-            QuestionService.updateQuestion(question);
-            
             RadioButton selectedRadio = (RadioButton) editCorrectAnswerGroup.getSelectedToggle();
             
             List<Answer> existingAnswers = questionAnswers.get(question.getId());
@@ -1331,31 +1315,10 @@ public class TeacherQuizzesController implements Initializable {
                 updatedAnswers.add(answer);
             }
             
-            for (Answer existingAnswer : existingAnswers) {
-                boolean stillExists = false;
-                for (Answer updatedAnswer : updatedAnswers) {
-                    if (updatedAnswer.getId() == existingAnswer.getId()) {
-                        stillExists = true;
-                        break;
-                    }
-                }
-                if (!stillExists) {
-                    AnswerService.deleteAnswer(existingAnswer.getId());
-                }
-            }
-            
-            for (Answer answer : updatedAnswers) {
-                if (answer.getId() > 0) {
-                    AnswerService.updateAnswer(answer);
-                } else {
-                    AnswerService.addAnswer(answer);
-                }
-            }
-            
             questionAnswers.put(question.getId(), updatedAnswers);
             
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to save question changes", e);
             showAlert(AlertType.ERROR, "Error", "Failed to save question changes: " + e.getMessage());
         }
     }
@@ -7,6 +7,7 @@ import app.backend.services.CourseService;
 import app.backend.services.ExerciseService;
 import app.backend.services.PracticalWorkService;
 import app.backend.services.QuizService;
+import app.backend.utils.Log;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -29,6 +30,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +55,7 @@ public class TeachersCardsController implements Initializable {
     private boolean isExerciseView = false;
     private boolean isPracticalWorkView = false;
     private User lastViewedTeacher = null;
+    private ViewTasks viewTasks;
 
     /**
      * Initializes the controller, sets up the UI components and loads the data.
@@ -63,6 +66,7 @@ public class TeachersCardsController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         currentUser = AuthLoginController.getCurrentUser();
+        viewTasks = new ViewTasks(teacherCardsContainer);
         loadAllTeachers();
         
         searchField.textProperty().addListener((observable, oldValue, newValue) -> {
@@ -114,7 +118,8 @@ public class TeachersCardsController implements Initializable {
     }
     
     /**
-     * Loads all relevant teachers based on view type and user role.
+     * Loads all relevant teachers based on view type and user role, in the background.
+     * A new load replaces the one in progress, whose view type may be outdated.
      */
     private void loadAllTeachers() {
         String studentLevel = null;
@@ -128,27 +133,33 @@ public class TeachersCardsController implements Initializable {
             }
         }
         
+        String level = studentLevel;
+        Supplier<List<User>> query;
         if (isStudent) {
             if (isExerciseView) {
-                allTeachers = ExerciseService.getTeachersWithExercisesByLevel(studentLevel);
+                query = () -> ExerciseService.getTeachersWithExercisesByLevel(level);
             } else if (isQuizView) {
-                allTeachers = QuizService.getTeachersWithQuizzesByLevel(studentLevel);
+                query = () -> QuizService.getTeachersWithQuizzesByLevel(level);
             } else if (isPracticalWorkView) {
-                allTeachers = PracticalWorkService.getTeachersWithPracticalWorksByLevel(studentLevel);
+                query = () -> PracticalWorkService.getTeachersWithPracticalWorksByLevel(level);
             } else {
-                allTeachers = CourseService.getTeachersWithCoursesByLevel(studentLevel);
+                query = () -> CourseService.getTeachersWithCoursesByLevel(level);
             }
         } else {
-            allTeachers = AuthService.getAllTeachers();
+            query = AuthService::getAllTeachers;
         }
         
-        if (excludeCurrentTeacher && currentUser != null) {
-            allTeachers = allTeachers.stream()
-                .filter(teacher -> teacher.getId() != currentUser.getId())
-                .collect(Collectors.toList());
-        }
-        
-        displayTeachers(allTeachers);
+        viewTasks.cancelAll();
+        ViewTasks.showLoading(teacherCardsContainer);
+        viewTasks.load(query, teachers -> {
+            allTeachers = teachers;
+            if (excludeCurrentTeacher && currentUser != null) {
+                allTeachers = allTeachers.stream()
+                    .filter(teacher -> teacher.getId() != currentUser.getId())
+                    .collect(Collectors.toList());
+            }
+            filterTeachers(searchField.getText());
+        });
         
         if (manageCourseButton != null) {
             manageCourseButton.setVisible(showManageCourseButton);
@@ -186,6 +197,10 @@ public class TeachersCardsController implements Initializable {
      * @param searchText The search text to filter teachers by name
      */
     private void filterTeachers(String searchText) {
+        if (viewTasks.isLoading()) {
+            // The loaded teachers are filtered when they arrive
+            return;
+        }
         if (searchText == null || searchText.isEmpty()) {
             displayTeachers(allTeachers);
         } else {
@@ -228,7 +243,7 @@ public class TeachersCardsController implements Initializable {
             cardBackground.setPreserveRatio(false);
             cardBackground.setOpacity(0.7);
         } catch (Exception e) {
-            System.out.println("Failed to load background image for teacher card");
+            Log.warn("Failed to load background image for teacher card");
         }
 
         VBox cardContent = new VBox();
@@ -247,7 +262,7 @@ public class TeachersCardsController implements Initializable {
             profileImage.setFitHeight(80);
             profileImage.setPreserveRatio(true);
         } catch (Exception e) {
-            System.out.println("Failed to load profile image for teacher: " + teacher.getName());
+            Log.warn("Failed to load profile image for teacher: " + teacher.getName());
         }
 
         Label nameLabel = new Label("Prof. " + teacher.getName());
@@ -305,7 +320,7 @@ public class TeachersCardsController implements Initializable {
     private void handleViewTeacherExercises(User teacher) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentExercises.fxml"));
-            Parent exercisesView = loader.load();
+            Parent exercisesView = ViewLoader.load(loader);
             
             StudentExercisesController controller = loader.getController();
             controller.setTeacher(teacher);
@@ -316,7 +331,7 @@ public class TeachersCardsController implements Initializable {
             contentArea.getChildren().clear();
             contentArea.getChildren().add(exercisesView);
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load the teacher's exercises", e);
         }
     }
     
@@ -341,7 +356,7 @@ public class TeachersCardsController implements Initializable {
             }
             
             FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
-            Parent teacherView = loader.load();
+            Parent teacherView = ViewLoader.load(loader);
             
             if (isExerciseView) {
                 StudentExercisesController controller = loader.getController();
@@ -362,7 +377,7 @@ public class TeachersCardsController implements Initializable {
             contentArea.getChildren().add(teacherView);
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load the teacher's content", e);
         }
     }
 
@@ -376,7 +391,7 @@ public class TeachersCardsController implements Initializable {
             lastViewedTeacher = teacher;
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentQuizzes.fxml"));
-            Parent quizzesView = loader.load();
+            Parent quizzesView = ViewLoader.load(loader);
 
             StudentQuizzesController controller = loader.getController();
             controller.setTeacher(teacher);
@@ -385,7 +400,7 @@ public class TeachersCardsController implements Initializable {
             contentArea.getChildren().clear();
             contentArea.getChildren().add(quizzesView);
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load the teacher's quizzes", e);
         }
     }
 
@@ -399,7 +414,7 @@ public class TeachersCardsController implements Initializable {
             lastViewedTeacher = teacher;
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentPracticalWorks.fxml"));
-            Parent practicalWorksView = loader.load();
+            Parent practicalWorksView = ViewLoader.load(loader);
 
             StudentPracticalWorksController controller = loader.getController();
             controller.setTeacher(teacher);
@@ -408,7 +423,7 @@ public class TeachersCardsController implements Initializable {
             contentArea.getChildren().clear();
             contentArea.getChildren().add(practicalWorksView);
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load the teacher's practical works", e);
         }
     }
 
@@ -424,20 +439,20 @@ public class TeachersCardsController implements Initializable {
             Parent contentView;
 
             if (isExerciseView) {
-                contentView = FXMLLoader.load(getClass().getResource("/fxml/TeacherExercises.fxml"));
+                contentView = ViewLoader.load(getClass().getResource("/fxml/TeacherExercises.fxml"));
             } else if (isQuizView) {
-                contentView = FXMLLoader.load(getClass().getResource("/fxml/TeacherQuizzes.fxml"));
+                contentView = ViewLoader.load(getClass().getResource("/fxml/TeacherQuizzes.fxml"));
             } else if (isPracticalWorkView) {
-                contentView = FXMLLoader.load(getClass().getResource("/fxml/TeacherPracticalWorks.fxml"));
+                contentView = ViewLoader.load(getClass().getResource("/fxml/TeacherPracticalWorks.fxml"));
             } else {
-                contentView = FXMLLoader.load(getClass().getResource("/fxml/TeacherCourses.fxml"));
+                contentView = ViewLoader.load(getClass().getResource("/fxml/TeacherCourses.fxml"));
             }
 
             StackPane contentArea = (StackPane) manageCourseButton.getScene().lookup("#contentArea");
             contentArea.getChildren().clear();
             contentArea.getChildren().add(contentView);
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to load the content management view", e);
         }
     }
 
@@ -2,6 +2,7 @@ package app.frontend;
 
 import app.backend.models.User;
 import app.backend.services.AuthService;
+import app.backend.utils.Log;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -184,7 +185,7 @@ public class UserProfileController implements Initializable {
             Stage stage = (Stage) nameLabel.getScene().getWindow();
             AuthLoginController.loadLoginView(stage);
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to logout", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to logout: " + e.getMessage());
         }
     }
@@ -332,7 +333,7 @@ public class UserProfileController implements Initializable {
             }
             
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("An unexpected error occurred", e);
             showAlert(Alert.AlertType.ERROR, "Error", "An unexpected error occurred: " + e.getMessage());
         }
     }
@@ -0,0 +1,60 @@
+package app.frontend;
+
+import app.backend.monitoring.FxmlLoadEvent;
+import app.backend.monitoring.Timings;
+import javafx.fxml.FXMLLoader;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Loads FXML views, recording how long each one takes in {@link Timings#FXML_LOADS}
+ * and as a {@link FxmlLoadEvent} when a flight recording is on.
+ * The time covers parsing the FXML, building the nodes and initializing the controller.
+ */
+public final class ViewLoader {
+
+    private ViewLoader() {}
+
+    /**
+     * Loads the view of a configured loader, whose controller can be read afterwards
+     *
+     * @return The root of the view
+     */
+    public static <T> T load(FXMLLoader loader) throws IOException {
+        FxmlLoadEvent event = new FxmlLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return loader.load();
+        } finally {
+            String view = nameOf(loader.getLocation());
+            Timings.FXML_LOADS.record(view, start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setView(view);
+                Object controller = loader.getController();
+                event.setController(controller != null ? controller.getClass() : null);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Loads a view, like {@link FXMLLoader#load(URL)}
+     *
+     * @return The root of the view
+     */
+    public static <T> T load(URL location) throws IOException {
+        return load(new FXMLLoader(location));
+    }
+
+    // The file name of the view, e.g. "TeacherCourses.fxml"
+    private static String nameOf(URL location) {
+        if (location == null) {
+            return "(no location)";
+        }
+        String path = location.getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
@@ -2,77 +2,48 @@ package app.frontend;
 
 import app.backend.models.PracticalWork;
 import app.backend.models.User;
+import app.backend.utils.Log;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Parent;
-import javafx.scene.control.Button;
-import javafx.scene.control.Label;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
-import javafx.scene.layout.VBox;
-import javafx.embed.swing.SwingFXUtils;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.rendering.PDFRenderer;
 
-import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ResourceBundle;
 
 /**
- * Controller for viewing practical work PDFs with zoom and navigation capabilities.
- * This controller handles the display of PDF documents associated with practical works,
- * providing functionality for page navigation, zooming, and returning to previous views.
+ * Controller for viewing practical work PDFs.
+ * This controller displays the PDF documents associated with practical works in the
+ * shared {@link PdfViewerController}, and handles returning to previous views.
  * 
  * @author Sellami Mohamed Odai
  */
 public class ViewPracticalWorkController implements Initializable {    
     
     /** UI Components */
-    @FXML private BorderPane pdfViewerContainer;
-    @FXML private Label practicalWorkTitleLabel;
-    @FXML private Label pageLabel;
-    @FXML private Button prevButton;
-    @FXML private Button nextButton;
-    @FXML private Button zoomInButton;
-    @FXML private Button zoomOutButton;
-    @FXML private Button backButton;
-    @FXML private ImageView pdfImageView;
-    @FXML private VBox errorContainer;
-    @FXML private Label errorMessage;
-    
-    /** PDF rendering properties */
-    private PDDocument document;
-    private PDFRenderer renderer;
-    private int currentPage = 0;
-    private int totalPages = 0;
-    private float zoomFactor = 1.0f;
+    @FXML private BorderPane pdfViewer;
+    @FXML private PdfViewerController pdfViewerController;
 
     /** Practical work navigation properties */
     private PracticalWork currentPracticalWork;
     private int teacherId = -1;
-    private boolean isViewingOwnContent = false;    
+    private boolean isViewingOwnContent = false;
+    private ViewTasks viewTasks;
     
     /**
-     * Initializes the controller by setting up UI controls and event handlers.
+     * Initializes the controller by setting up the return action of the viewer.
      * 
      * @param location The location used to resolve relative paths for resources
      * @param resources The resources used to localize the root object
      */
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        prevButton.setOnAction(e -> showPreviousPage());
-        nextButton.setOnAction(e -> showNextPage());
-        zoomInButton.setOnAction(e -> zoomIn());
-        zoomOutButton.setOnAction(e -> zoomOut());
-        backButton.setOnAction(e -> handleBack());
+        pdfViewerController.setReturnAction("Back to Practical Works", this::handleBack);
         
-        errorContainer.setVisible(false);
-        errorContainer.setManaged(false);
+        viewTasks = new ViewTasks(pdfViewer);
     }
       
     /**
@@ -127,177 +98,19 @@ public class ViewPracticalWorkController implements Initializable {
             return;
         }
         
-        practicalWorkTitleLabel.setText(currentPracticalWork.getTitle());
+        pdfViewerController.setTitle(currentPracticalWork.getTitle());
         
         User currentUser = AuthLoginController.getCurrentUser();
         if (currentUser != null) {
             if (currentUser.getRole().equals("teacher")) {
-                backButton.setText(isViewingOwnContent ? 
-                    "Back to My Practical Works" : "Back to Teacher's Practical Works");
+                pdfViewerController.setReturnAction(isViewingOwnContent ? 
+                    "Back to My Practical Works" : "Back to Teacher's Practical Works", this::handleBack);
             } else {
-                backButton.setText("Back to Practical Works");
+                pdfViewerController.setReturnAction("Back to Practical Works", this::handleBack);
             }
         }
         
-        loadPdf(currentPracticalWork.getPdfPath());
-    }
-    
-    /**
-     * Attempts to load a PDF from the given path, trying various fallback methods
-     * if the direct path does not exist.
-     *
-     * @param pdfPath Path to the PDF file to load
-     */
-    private void loadPdf(String pdfPath) {
-        closeDocument();
-        
-        if (pdfPath == null || pdfPath.isEmpty()) {
-            showError("No PDF available for this practical work.");
-            return;
-        }
-        
-        try {
-            File file = new File(pdfPath);
-            
-            if (!file.exists()) {
-                String filename = new File(pdfPath).getName();
-                File practicalWorksDir = new File("practical_works");
-                
-                if (practicalWorksDir.exists() && practicalWorksDir.isDirectory()) {
-                    // First try exact filename match
-                    File[] matchingFiles = practicalWorksDir.listFiles((dir, name) -> name.equals(filename));
-                    if (matchingFiles != null && matchingFiles.length > 0) {
-                        file = matchingFiles[0];
-                    }
-                    
-                    // If still not found, try matching by pattern
-                    if (!file.exists() && filename.contains("_")) {
-                        final String searchPattern = filename.substring(filename.indexOf("_"));
-                        matchingFiles = practicalWorksDir.listFiles((dir, name) -> name.contains(searchPattern));
-                        if (matchingFiles != null && matchingFiles.length > 0) {
-                            file = matchingFiles[0];
-                        }
-                    }
-                }
-                
-                if (!file.exists()) {
-                    showError("PDF file not found: " + pdfPath + "\n\n" +
-                              "Please ensure the PDF file exists and check the path in the database.\n" +
-                              "Try placing the PDF in the 'practical_works' folder with name: " + filename);
-                    return;
-                }
-            }
-            
-            System.out.println("Loading PDF from: " + file.getAbsolutePath());
-            
-            document = PDDocument.load(file);
-            renderer = new PDFRenderer(document);
-            totalPages = document.getNumberOfPages();
-            
-            currentPage = 0;
-            updatePageLabel();
-            renderCurrentPage();
-            
-            errorContainer.setVisible(false);
-            errorContainer.setManaged(false);
-            
-        } catch (IOException e) {
-            e.printStackTrace();
-            showError("Failed to load PDF: " + e.getMessage() + "\n\nPath: " + pdfPath);
-        }
-    }
-    
-    /**
-     * Navigates to the previous page if available.
-     */
-    private void showPreviousPage() {
-        if (currentPage > 0) {
-            currentPage--;
-            renderCurrentPage();
-            updatePageLabel();
-        }
-    }
-    
-    /**
-     * Navigates to the next page if available.
-     */
-    private void showNextPage() {
-        if (currentPage < totalPages - 1) {
-            currentPage++;
-            renderCurrentPage();
-            updatePageLabel();
-        }
-    }
-    
-    /**
-     * Increases the zoom level of the document and refreshes the view.
-     */
-    private void zoomIn() {
-        zoomFactor += 0.25f;
-        renderCurrentPage();
-    }
-    
-    /**
-     * Decreases the zoom level of the document and refreshes the view,
-     * with a minimum zoom factor of 0.5.
-     */
-    private void zoomOut() {
-        if (zoomFactor > 0.5f) {
-            zoomFactor -= 0.25f;
-            renderCurrentPage();
-        }
-    }
-    
-    /**
-     * Renders the current page with the current zoom factor.
-     */
-    private void renderCurrentPage() {
-        if (document == null || renderer == null) return;
-        
-        try {
-            BufferedImage image = renderer.renderImage(currentPage, zoomFactor);
-            Image fxImage = SwingFXUtils.toFXImage(image, null);
-            
-            pdfImageView.setImage(fxImage);
-            pdfImageView.setPreserveRatio(true);
-            
-        } catch (IOException e) {
-            e.printStackTrace();
-            showError("Failed to render page: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * Updates the page label with current page number and total pages.
-     */
-    private void updatePageLabel() {
-        pageLabel.setText(String.format("Page %d of %d", currentPage + 1, totalPages));
-    }
-    
-    /**
-     * Displays an error message in the error container.
-     *
-     * @param message The error message to display
-     */
-    private void showError(String message) {
-        errorMessage.setText(message);
-        errorContainer.setVisible(true);
-        errorContainer.setManaged(true);
-    }
-    
-    /**
-     * Closes the current PDF document and releases resources.
-     */
-    private void closeDocument() {
-        try {
-            if (document != null) {
-                document.close();
-                document = null;
-                renderer = null;
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        pdfViewerController.open(currentPracticalWork.getPdfPath(), "practical_works", "practical work");
     }
     
     /**
@@ -305,7 +118,8 @@ public class ViewPracticalWorkController implements Initializable {
      * Should be called when navigating away from this view.
      */
     public void cleanup() {
-        closeDocument();
+        viewTasks.cancelAll();
+        pdfViewerController.close();
     }
     
     /**
@@ -317,7 +131,7 @@ public class ViewPracticalWorkController implements Initializable {
         try {
             cleanup();
             
-            StackPane contentArea = (StackPane) pdfViewerContainer.getScene().lookup("#contentArea");
+            StackPane contentArea = (StackPane) pdfViewer.getScene().lookup("#contentArea");
             
             User currentUser = AuthLoginController.getCurrentUser();
             boolean isTeacher = currentUser != null && currentUser.getRole().equals("teacher");
@@ -330,13 +144,17 @@ public class ViewPracticalWorkController implements Initializable {
             
             // Navigate to specific teacher's practical works
             if (teacherId > 0 && (!isTeacher || teacherId != currentUser.getId())) {
-                User teacher = app.backend.services.AuthService.getUserById(teacherId);
-                
-                if (teacher != null) {
-                    navigateToStudentPracticalWorks(contentArea, teacher);
-                } else {
-                    loadDefaultView(contentArea);
-                }
+                viewTasks.load(() -> app.backend.services.AuthService.getUserById(teacherId), teacher -> {
+                    try {
+                        if (teacher != null) {
+                            navigateToStudentPracticalWorks(contentArea, teacher);
+                        } else {
+                            loadDefaultView(contentArea);
+                        }
+                    } catch (IOException e) {
+                        Log.warn("Failed to return to practical works view", e);
+                    }
+                });
             }
             // Teacher navigating to their own practical works
             else if (isTeacher) {
@@ -347,8 +165,7 @@ public class ViewPracticalWorkController implements Initializable {
                 loadDefaultView(contentArea);
             }
         } catch (IOException e) {
-            e.printStackTrace();
-            System.out.println("Failed to return to practical works view: " + e.getMessage());
+            Log.warn("Failed to return to practical works view", e);
         }
     }
     
@@ -360,7 +177,7 @@ public class ViewPracticalWorkController implements Initializable {
      */
     private void navigateToTeacherPracticalWorks(StackPane contentArea) throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeacherPracticalWorks.fxml"));
-        Parent view = loader.load();
+        Parent view = ViewLoader.load(loader);
         contentArea.getChildren().clear();
         contentArea.getChildren().add(view);
     }
@@ -374,7 +191,7 @@ public class ViewPracticalWorkController implements Initializable {
      */
     private void navigateToStudentPracticalWorks(StackPane contentArea, User teacher) throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentPracticalWorks.fxml"));
-        Parent view = loader.load();
+        Parent view = ViewLoader.load(loader);
         
         StudentPracticalWorksController controller = loader.getController();
         controller.setTeacher(teacher);
@@ -391,7 +208,7 @@ public class ViewPracticalWorkController implements Initializable {
      */
     private void loadDefaultView(StackPane contentArea) throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeachersCards.fxml"));
-        Parent teachersView = loader.load();
+        Parent teachersView = ViewLoader.load(loader);
         
         TeachersCardsController controller = loader.getController();
         controller.setIsPracticalWorkView(true);
@@ -1,16 +1,20 @@
 package app.frontend;
 
 import app.backend.models.Answer;
+import app.backend.models.Course;
 import app.backend.models.Question;
 import app.backend.models.Quiz;
+import app.backend.models.QuizAggregate;
+import app.backend.models.QuizGrade;
 import app.backend.models.QuizResult;
 import app.backend.models.StudentAnswer;
 import app.backend.models.User;
-import app.backend.services.AnswerService;
 import app.backend.services.CourseService;
-import app.backend.services.QuestionService;
+import app.backend.services.QuizGradingService;
 import app.backend.services.QuizResultService;
+import app.backend.services.QuizService;
 import app.backend.services.StudentAnswerService;
+import app.backend.utils.Log;
 import javafx.animation.FadeTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -45,10 +49,16 @@ public class ViewQuizController implements Initializable {
     @FXML private Label questionTextLabel;
     
     private Quiz currentQuiz;
+    private QuizAggregate quizAggregate;
     private List<Question> questions;
     private Map<Integer, Integer> selectedAnswers;
     private int currentQuestionIndex = 0;
     private User teacher;
+    private ViewTasks viewTasks;
+    
+    // The quiz with its course, and the student's earlier result and answers if they took it
+    private record LoadedQuiz(Course course, QuizAggregate aggregate, QuizResult takenResult,
+                              List<StudentAnswer> takenAnswers) {}
     
     /**
      * Initializes the controller and sets up event handlers.
@@ -60,13 +70,14 @@ public class ViewQuizController implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         questions = new ArrayList<>();
         selectedAnswers = new HashMap<>();
+        viewTasks = new ViewTasks(quizViewerContainer);
         
         returnButton.setOnAction(e -> handleReturn());
         nextButton.setOnAction(e -> handleNextQuestion());
     }
     
     /**
-     * Sets the quiz to be displayed and loads its questions.
+     * Sets the quiz to be displayed and loads its questions in the background.
      * If the student has already taken the quiz, shows the result instead.
      *
      * @param quiz The quiz to display
@@ -77,38 +88,55 @@ public class ViewQuizController implements Initializable {
         quizTitleLabel.setText(quiz.getTitle());
         quizTitleLabel.setWrapText(true);
         quizTitleLabel.setAlignment(javafx.geometry.Pos.CENTER);
-        String courseName = CourseService.getCourseById(quiz.getCourseId()).getTitle();
-        courseNameLabel.setText(courseName);
         
-        if (AuthLoginController.getCurrentUser() != null &&
-            AuthLoginController.getCurrentUser().getRole().equals("student")) {
-            int studentId = AuthLoginController.getCurrentUser().getId();
-            int quizId = quiz.getId();
+        User user = AuthLoginController.getCurrentUser();
+        boolean student = user != null && user.getRole().equals("student");
+        int studentId = student ? user.getId() : -1;
+        
+        loadingQuestionsLabel.setText("Loading questions...");
+        loadingQuestionsLabel.setVisible(true);
+        answersVBox.setVisible(false);
+        nextButton.setDisable(true);
+        
+        viewTasks.load(() -> {
+            Course course = CourseService.getCourseById(quiz.getCourseId());
+            QuizAggregate aggregate = QuizService.loadQuizAggregate(quiz.getId());
+            QuizResult taken = student ? QuizResultService.getQuizResult(studentId, quiz.getId()) : null;
+            List<StudentAnswer> takenAnswers = taken != null
+                ? StudentAnswerService.getStudentAnswers(taken.getId())
+                : List.of();
+            return new LoadedQuiz(course, aggregate, taken, takenAnswers);
+        }, loaded -> {
+            courseNameLabel.setText(loaded.course() != null ? loaded.course().getTitle() : "");
+            quizAggregate = loaded.aggregate();
             
-            if (QuizResultService.hasStudentTakenQuiz(studentId, quizId)) {
-                showQuizResult(studentId, quizId);
+            if (loaded.takenResult() != null) {
+                showQuizResult(loaded.takenAnswers());
                 return;
             }
-        }
-        
-        loadQuestions();
+            displayQuestions();
+        }, error -> {
+            Log.error("Failed to load the quiz", error);
+            loadingQuestionsLabel.setText("Failed to load the quiz. Please try again.");
+        });
     }
     
     /**
-     * Loads all questions for the current quiz and displays the first question.
+     * Displays the first question of the loaded quiz.
      */
-    private void loadQuestions() {
+    private void displayQuestions() {
         if (currentQuiz == null) return;
         
         questions.clear();
         selectedAnswers.clear();
         
-        List<Question> quizQuestions = QuestionService.getQuestionsByQuizId(currentQuiz.getId());
+        List<Question> quizQuestions = quizAggregate != null ? quizAggregate.getQuestions() : null;
         
         if (quizQuestions != null && !quizQuestions.isEmpty()) {
             questions.addAll(quizQuestions);
             loadingQuestionsLabel.setVisible(false);
             answersVBox.setVisible(true);
+            nextButton.setDisable(false);
             showCurrentQuestion();
             updateProgressLabel();
         } else {
@@ -165,7 +193,7 @@ public class ViewQuizController implements Initializable {
      * @param question The question for which to create answer options
      */
     private void createAnswerOptions(Question question) {
-        List<Answer> answers = AnswerService.getAnswersByQuestionId(question.getId());
+        List<Answer> answers = question.getAnswers();
         
         if (answers == null || answers.isEmpty()) {
             Label noAnswersLabel = new Label("No answers available for this question.");
@@ -266,7 +294,7 @@ public class ViewQuizController implements Initializable {
         try {
             if (teacher != null) {
                 FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentQuizzes.fxml"));
-                Parent quizzesView = loader.load();
+                Parent quizzesView = ViewLoader.load(loader);
                 
                 StudentQuizzesController controller = loader.getController();
                 controller.setTeacher(teacher);
@@ -278,7 +306,7 @@ public class ViewQuizController implements Initializable {
                 }
             }
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to return to quizzes", e);
             showAlert(Alert.AlertType.ERROR, 
                      "Navigation Error", 
                      "Failed to return to quizzes: " + e.getMessage());
@@ -312,65 +340,73 @@ public class ViewQuizController implements Initializable {
             }
         }
         
-        int correctAnswers = 0;
-        int totalQuestions = questions.size();
-        int incorrectAnswers = 0;
-        List<Integer> userAnswerList = new ArrayList<>();
-        List<Answer> correctAnswerList = new ArrayList<>();
-        List<StudentAnswer> studentAnswersList = new ArrayList<>();
+        submitQuiz();
+    }
+    
+    /**
+     * Grades the selected answers in the background and stores them when a student takes the quiz.
+     * The submit button stays disabled until it is done, and a submission that could not be
+     * stored can be retried instead of showing a result that was not saved.
+     */
+    private void submitQuiz() {
+        User currentUser = AuthLoginController.getCurrentUser();
+        boolean student = currentUser != null && currentUser.getRole().equals("student");
+        int quizId = currentQuiz.getId();
+        int studentId = student ? currentUser.getId() : -1;
+        Map<Integer, Integer> answers = new HashMap<>(selectedAnswers);
         
-        int quizResultId = -1;
+        nextButton.setDisable(true);
+        viewTasks.load(
+            () -> student ? QuizGradingService.submit(quizId, studentId, answers) : QuizGradingService.grade(quizId, answers),
+            grade -> {
+                nextButton.setDisable(false);
+                if (grade == null) {
+                    showAlert(Alert.AlertType.ERROR, "Error", "Failed to grade the quiz. Please try again.");
+                } else if (student && !grade.isSaved()) {
+                    offerRetry("Your answers could not be saved.");
+                } else {
+                    showGrade(grade);
+                }
+            },
+            error -> {
+                nextButton.setDisable(false);
+                Log.error("Failed to submit quiz " + quizId, error);
+                offerRetry("Your answers could not be submitted.");
+            });
+    }
+    
+    /**
+     * Tells the student their submission failed and submits it again if they ask to.
+     *
+     * @param message What went wrong
+     */
+    private void offerRetry(String message) {
+        ButtonType retry = new ButtonType("Retry", ButtonBar.ButtonData.OK_DONE);
+        Alert alert = new Alert(Alert.AlertType.ERROR, message + " Do you want to try again?", retry, ButtonType.CANCEL);
+        alert.setTitle("Submission Failed");
+        alert.setHeaderText(null);
         
-        for (Question question : questions) {
-            Integer selectedAnswerId = selectedAnswers.get(question.getId());
-            userAnswerList.add(selectedAnswerId != null ? selectedAnswerId : -1);
-            
-            List<Answer> answers = AnswerService.getAnswersByQuestionId(question.getId());
-            Answer correctAnswer = findCorrectAnswer(answers);
-            correctAnswerList.add(correctAnswer);
-            
-            boolean isCorrect = false;
-            if (selectedAnswerId != null && correctAnswer != null && selectedAnswerId == correctAnswer.getId()) {
-                correctAnswers++;
-                isCorrect = true;
-            } else {
-                incorrectAnswers++;
-            }
-            
-            StudentAnswer studentAnswer = new StudentAnswer(
-                quizResultId,
-                question.getId(),
-                selectedAnswerId,
-                isCorrect
-            );
-            studentAnswersList.add(studentAnswer);
+        if (alert.showAndWait().orElse(ButtonType.CANCEL) == retry) {
+            submitQuiz();
         }
+    }
+    
+    /**
+     * Shows the result view for a graded submission.
+     *
+     * @param grade The grade of the submission
+     */
+    private void showGrade(QuizGrade grade) {
+        int correctAnswers = grade.getCorrectCount();
+        int totalQuestions = grade.getTotalQuestions();
+        int incorrectAnswers = grade.getIncorrectCount();
+        List<Integer> userAnswerList = new ArrayList<>();
+        List<Answer> correctAnswerList = new ArrayList<>();
         
-        int scorePercentage = totalQuestions > 0 ? (correctAnswers * 100 / totalQuestions) : 0;
-        
-        if (AuthLoginController.getCurrentUser() != null &&
-            AuthLoginController.getCurrentUser().getRole().equals("student")) {
-            QuizResult result = new QuizResult(
-                currentQuiz.getId(),
-                AuthLoginController.getCurrentUser().getId(),
-                scorePercentage
-            );
-            boolean resultSaved = QuizResultService.submitQuizResult(result);
-            
-            if (resultSaved) {
-                QuizResult savedResult = QuizResultService.getQuizResult(
-                    AuthLoginController.getCurrentUser().getId(),
-                    currentQuiz.getId()
-                );
-                
-                if (savedResult != null) {
-                    for (StudentAnswer answer : studentAnswersList) {
-                        answer.setQuizResultId(savedResult.getId());
-                    }
-                    
-                    StudentAnswerService.saveStudentAnswers(studentAnswersList);
-                }
-            }
+        for (StudentAnswer studentAnswer : grade.getStudentAnswers()) {
+            Integer selectedAnswerId = studentAnswer.getSelectedAnswerId();
+            userAnswerList.add(selectedAnswerId != null ? selectedAnswerId : -1);
+            correctAnswerList.add(findCorrectAnswer(studentAnswer.getQuestionId()));
         }
         
         displayQuizResults(correctAnswers, totalQuestions, incorrectAnswers, questions, 
@@ -378,20 +414,13 @@ public class ViewQuizController implements Initializable {
     }
     
     /**
-     * Finds the correct answer in a list of answers.
+     * Finds the correct answer of a question in the loaded quiz.
      *
-     * @param answers List of answers to search
+     * @param questionId The ID of the question
      * @return The correct answer or null if not found
      */
-    private Answer findCorrectAnswer(List<Answer> answers) {
-        if (answers == null) return null;
-        
-        for (Answer answer : answers) {
-            if (answer.isCorrect()) {
-                return answer;
-            }
-        }
-        return null;
+    private Answer findCorrectAnswer(int questionId) {
+        return quizAggregate != null ? quizAggregate.getCorrectAnswer(questionId) : null;
     }
     
     /**
@@ -409,7 +438,7 @@ public class ViewQuizController implements Initializable {
                                    List<Answer> correctAnswerList) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/QuizResult.fxml"));
-            Parent resultView = loader.load();
+            Parent resultView = ViewLoader.load(loader);
             ViewQuizResultController controller = loader.getController();
             
             controller.setResultData(
@@ -430,7 +459,7 @@ public class ViewQuizController implements Initializable {
                 contentArea.getChildren().add(resultView);
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to load result page", e);
             showAlert(Alert.AlertType.ERROR, "Result Error", "Failed to load result page: " + e.getMessage());
         }
     }
@@ -447,27 +476,14 @@ public class ViewQuizController implements Initializable {
     /**
      * Shows the result of a previously taken quiz.
      *
-     * @param studentId The ID of the student
-     * @param quizId The ID of the quiz
+     * @param studentAnswers The answers the student gave, loaded with the quiz
      */
-    private void showQuizResult(int studentId, int quizId) {
+    private void showQuizResult(List<StudentAnswer> studentAnswers) {
         try {
-            QuizResult result = QuizResultService.getQuizResult(studentId, quizId);
-            
-            if (result == null) {
-                showAlert(Alert.AlertType.ERROR, "Error", "Could not retrieve quiz result.");
-                return;
-            }
-            
             if (questions == null || questions.isEmpty()) {
-                questions = QuestionService.getQuestionsByQuizId(quizId);
-                if (questions == null) {
-                    questions = new ArrayList<>();
-                }
+                questions = quizAggregate != null ? new ArrayList<>(quizAggregate.getQuestions()) : new ArrayList<>();
             }
             
-            List<StudentAnswer> studentAnswers = StudentAnswerService.getStudentAnswers(result.getId());
-            
             List<Integer> userAnswerList = new ArrayList<>();
             List<Answer> correctAnswerList = new ArrayList<>();
             
@@ -475,8 +491,7 @@ public class ViewQuizController implements Initializable {
                 Integer selectedAnswerId = findStudentAnswerId(studentAnswers, question.getId());
                 userAnswerList.add(selectedAnswerId != null ? selectedAnswerId : -1);
                 
-                List<Answer> answers = AnswerService.getAnswersByQuestionId(question.getId());
-                Answer correctAnswer = findCorrectAnswer(answers);
+                Answer correctAnswer = findCorrectAnswer(question.getId());
                 correctAnswerList.add(correctAnswer);
             }
             
@@ -495,7 +510,7 @@ public class ViewQuizController implements Initializable {
             displayQuizResultView(correctAnswers, totalQuestions, incorrectAnswers,
                                  questions, userAnswerList, correctAnswerList);
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to load quiz result", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load quiz result: " + e.getMessage());
         }
     }
@@ -531,7 +546,7 @@ public class ViewQuizController implements Initializable {
                                      List<Answer> correctAnswerList) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/QuizResult.fxml"));
-            Parent resultView = loader.load();
+            Parent resultView = ViewLoader.load(loader);
             ViewQuizResultController controller = loader.getController();
             
             controller.setResultData(
@@ -563,7 +578,7 @@ public class ViewQuizController implements Initializable {
                 "\nPercentage: " + (totalQuestions > 0 ? (correctAnswers * 100 / totalQuestions) : 0) + "%");
                 
         } catch (Exception e) {
-            e.printStackTrace();
+            Log.error("Failed to load quiz result", e);
             showAlert(Alert.AlertType.ERROR, "Error", "Failed to load quiz result: " + e.getMessage());
         }
     }
@@ -3,12 +3,13 @@ package app.frontend;
 import app.backend.models.Answer;
 import app.backend.models.Question;
 import app.backend.models.Quiz;
+import app.backend.models.QuizAggregate;
 import app.backend.models.User;
 import app.backend.models.Course;
-import app.backend.services.AnswerService;
 import app.backend.services.AuthService;
 import app.backend.services.CourseService;
 import app.backend.services.QuizService;
+import app.backend.utils.Log;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -94,9 +95,19 @@ public class ViewQuizResultController implements Initializable {
     
     /** ID of the quiz being viewed */
     private int quizId;
+
+    private QuizAggregate quizAggregate;
     
     /** Map storing user answer text by question ID */
-    private Map<Integer, String> userAnswerTexts = new HashMap<>();    /**
+    private Map<Integer, String> userAnswerTexts = new HashMap<>();
+    
+    /** Background loads of this view */
+    private ViewTasks viewTasks;
+    
+    // The quiz with its answers, its course and the course's teacher, loaded together
+    private record QuizContext(QuizAggregate aggregate, Quiz quiz, Course course, User teacher) {}
+
+    /**
      * Initializes the controller after FXML fields are injected.
      * Sets up event handlers for UI components.
      *
@@ -105,6 +116,7 @@ public class ViewQuizResultController implements Initializable {
      */
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        viewTasks = new ViewTasks(questionsReviewContainer);
         returnButton.setOnAction(e -> handleReturn());
     }
 
@@ -127,8 +139,6 @@ public class ViewQuizResultController implements Initializable {
         this.userAnswers = userAnswers;
         this.correctAnswers = correctAnswers;
         
-        prepareUserAnswerTexts();
-        loadQuizData();
         updateReturnButtonForRole();
 
         // Calculate and display percentage
@@ -143,8 +153,8 @@ public class ViewQuizResultController implements Initializable {
         
         updatePerformanceIndicators(percentage);
 
-        // Populate questions review
-        populateQuestionsReview();
+        // The questions review is populated once the answers are loaded
+        loadQuizData();
     }
 
     /**
@@ -319,14 +329,34 @@ public class ViewQuizResultController implements Initializable {
      * based on the user's role and context.
      */
     private void handleReturn() {
+        User currentUser = AuthLoginController.getCurrentUser();
+        
+        if (currentUser != null && currentUser.getRole().equals("teacher") && quizId > 0) {
+            Quiz loadedQuiz = quizAggregate != null ? quizAggregate.getQuiz() : null;
+            if (loadedQuiz != null) {
+                returnTo(loadedQuiz);
+            } else {
+                int id = quizId;
+                viewTasks.load(() -> QuizService.getQuizById(id), this::returnTo);
+            }
+            return;
+        }
+        
+        returnTo(null);
+    }
+    
+    /**
+     * Navigates back from the result view.
+     * 
+     * @param teacherQuiz The quiz whose results a teacher returns to, null for students
+     */
+    private void returnTo(Quiz teacherQuiz) {
         try {
-            User currentUser = AuthLoginController.getCurrentUser();
-            
             // Try navigating in this priority order:
             // 1. Teacher quiz results (if user is a teacher)
             // 2. Student quizzes (if teacher info is available)
             // 3. Default quizzes view (fallback)
-            if (navigateToTeacherQuizResults(currentUser)) {
+            if (teacherQuiz != null && navigateToTeacherQuizResults(teacherQuiz)) {
                 return;
             }
             
@@ -337,34 +367,29 @@ public class ViewQuizResultController implements Initializable {
             navigateToDefaultQuizzesView();
             
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Failed to return to the quizzes view", e);
         }
     }
     
     /**
      * Attempts to navigate to the teacher quiz results view.
      * 
-     * @param currentUser The current logged-in user
+     * @param quiz The quiz whose results are shown
      * @return True if navigation was successful, false otherwise
      * @throws IOException If loading the FXML fails
      */
-    private boolean navigateToTeacherQuizResults(User currentUser) throws IOException {
-        if (currentUser != null && currentUser.getRole().equals("teacher") && quizId > 0) {
-            Quiz quiz = QuizService.getQuizById(quizId);
-            if (quiz != null) {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeacherQuizResults.fxml"));
-                Parent quizResultsView = loader.load();
-                
-                TeacherQuizResultsController controller = loader.getController();
-                controller.setQuiz(quiz);
-                
-                StackPane contentArea = findContentArea();
-                if (contentArea != null) {
-                    contentArea.getChildren().clear();
-                    contentArea.getChildren().add(quizResultsView);
-                    return true;
-                }
-            }
+    private boolean navigateToTeacherQuizResults(Quiz quiz) throws IOException {
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/TeacherQuizResults.fxml"));
+        Parent quizResultsView = ViewLoader.load(loader);
+        
+        TeacherQuizResultsController controller = loader.getController();
+        controller.setQuiz(quiz);
+        
+        StackPane contentArea = findContentArea();
+        if (contentArea != null) {
+            contentArea.getChildren().clear();
+            contentArea.getChildren().add(quizResultsView);
+            return true;
         }
         return false;
     }
@@ -378,7 +403,7 @@ public class ViewQuizResultController implements Initializable {
     private boolean navigateToStudentQuizzes() throws IOException {
         if (teacher != null) {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/StudentQuizzes.fxml"));
-            Parent teacherQuizzes = loader.load();
+            Parent teacherQuizzes = ViewLoader.load(loader);
             
             StudentQuizzesController controller = loader.getController();
             controller.setTeacher(teacher);
@@ -400,7 +425,7 @@ public class ViewQuizResultController implements Initializable {
      */
     private void navigateToDefaultQuizzesView() throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/quizzes.fxml"));
-        Parent quizzesView = loader.load();
+        Parent quizzesView = ViewLoader.load(loader);
         
         StackPane contentArea = findContentArea();
         if (contentArea != null) {
@@ -450,40 +475,59 @@ public class ViewQuizResultController implements Initializable {
      * Prepares user answer texts by matching answer IDs to their text content.
      */
     private void prepareUserAnswerTexts() {
+        if (quizAggregate == null) return;
+        
         for (int i = 0; i < questions.size(); i++) {
             Question question = questions.get(i);
             Integer userAnswerId = userAnswers.get(i);
             
             if (userAnswerId != null && userAnswerId != -1) {
-                List<Answer> answers = AnswerService.getAnswersByQuestionId(question.getId());
-                for (Answer answer : answers) {
-                    if (answer.getId() == userAnswerId) {
-                        userAnswerTexts.put(question.getId(), answer.getAnswerText());
-                        break;
-                    }
+                Answer answer = quizAggregate.getAnswerById(userAnswerId);
+                if (answer != null) {
+                    userAnswerTexts.put(question.getId(), answer.getAnswerText());
                 }
             }
         }
     }
     
     /**
-     * Loads quiz data and related information (course, teacher).
+     * Loads quiz data and related information (answers, course, teacher) in the background,
+     * then populates the questions review.
      */
     private void loadQuizData() {
-        if (questions != null && !questions.isEmpty()) {
-            this.quizId = questions.get(0).getQuizId();
-            
-            Quiz quiz = QuizService.getQuizById(quizId);
-            if (quiz != null) {
+        if (questions == null || questions.isEmpty()) {
+            populateQuestionsReview();
+            return;
+        }
+        this.quizId = questions.get(0).getQuizId();
+        
+        int id = quizId;
+        ViewTasks.showLoading(questionsReviewContainer);
+        viewTasks.load(() -> {
+            QuizAggregate aggregate = QuizService.loadQuizAggregate(id);
+            Quiz quiz = aggregate != null ? aggregate.getQuiz() : QuizService.getQuizById(id);
+            Course course = quiz != null ? CourseService.getCourseById(quiz.getCourseId()) : null;
+            User courseTeacher = course != null ? AuthService.getUserById(course.getTeacherId()) : null;
+            return new QuizContext(aggregate, quiz, course, courseTeacher);
+        }, context -> {
+            quizAggregate = context.aggregate();
+            if (context.quiz() != null) {
                 resultTitleLabel.setText("Quiz Results");
-                
-                Course course = CourseService.getCourseById(quiz.getCourseId());
-                if (course != null) {
-                    courseNameLabel.setText(course.getTitle());
-                    this.teacher = AuthService.getUserById(course.getTeacherId());
+            }
+            if (context.course() != null) {
+                courseNameLabel.setText(context.course().getTitle());
+                // A teacher set by the opening screen is kept
+                if (teacher == null) {
+                    teacher = context.teacher();
                 }
             }
-        }
+            
+            prepareUserAnswerTexts();
+            populateQuestionsReview();
+        }, error -> {
+            Log.error("Failed to load the quiz answers", error);
+            questionsReviewContainer.getChildren().setAll(new Label("Failed to load the answers of this quiz."));
+        });
     }
     
     /**
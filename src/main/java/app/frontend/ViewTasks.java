@@ -0,0 +1,150 @@
+package app.frontend;
+
+import app.backend.database.QueryMetrics;
+import app.backend.services.AsyncServices;
+import app.backend.utils.Log;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.Pane;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Background loads of one view.
+ * Service calls run through {@link AsyncServices} and their results are handed back
+ * on the JavaFX Application Thread. When the view is removed from its scene, because
+ * the user navigated away, pending loads are cancelled and their results dropped.
+ * The queries of the loads are counted for the screen in {@link QueryMetrics}, named
+ * after the controller creating the ViewTasks.
+ * A ViewTasks is created and used on the JavaFX Application Thread only.
+ */
+public class ViewTasks {
+
+    private final Set<CompletableFuture<?>> pending = new HashSet<>();
+    private final String screen;
+    // Incremented by cancelAll, results of loads started before are dropped
+    private int generation = 0;
+
+    /**
+     * @param view Any node of the view, its loads are cancelled when it leaves the scene
+     */
+    public ViewTasks(Node view) {
+        // Screens are named after the controller creating their ViewTasks
+        screen = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass().getSimpleName();
+        QueryMetrics.enterScreen(screen);
+
+        view.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (oldScene != null && newScene == null) {
+                cancelAll();
+            }
+        });
+    }
+
+    /**
+     * Runs a service call in the background and passes its result to the view.
+     * Failures are logged.
+     *
+     * @param call The service call
+     * @param onLoaded Receives the result on the JavaFX Application Thread
+     * @return Completed when the result is delivered, cancel it to drop the result
+     */
+    public <T> CompletableFuture<T> load(Supplier<T> call, Consumer<? super T> onLoaded) {
+        return load(call, onLoaded, error -> {
+            Log.error("Error loading data", error);
+        });
+    }
+
+    /**
+     * Runs a service call in the background and passes its result or failure to the view
+     *
+     * @param call The service call
+     * @param onLoaded Receives the result on the JavaFX Application Thread
+     * @param onFailed Receives the exception thrown by the call on the JavaFX Application Thread
+     * @return Completed when the result is delivered, cancel it to drop the result
+     */
+    public <T> CompletableFuture<T> load(Supplier<T> call, Consumer<? super T> onLoaded, Consumer<Throwable> onFailed) {
+        return submit(call, onLoaded, onFailed, null);
+    }
+
+    /**
+     * Loads something that must be closed, like a document, in the background.
+     * If the view no longer wants it when it arrives, it is closed instead of delivered.
+     *
+     * @param call Opens the resource
+     * @param onLoaded Receives the resource on the JavaFX Application Thread and becomes responsible for closing it
+     * @param onFailed Receives the exception thrown by the call on the JavaFX Application Thread
+     * @return Completed when the resource is delivered, cancel it to drop the resource
+     */
+    public <T extends AutoCloseable> CompletableFuture<T> loadResource(Supplier<T> call, Consumer<? super T> onLoaded,
+                                                                       Consumer<Throwable> onFailed) {
+        return submit(call, onLoaded, onFailed, resource -> {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                Log.warn("Failed to close a dropped resource", e);
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call, Consumer<? super T> onLoaded, Consumer<Throwable> onFailed,
+                                            Consumer<? super T> onDropped) {
+        int loadGeneration = generation;
+        CompletableFuture<T> delivery = new CompletableFuture<>();
+        pending.add(delivery);
+
+        AsyncServices.supply(() -> QueryMetrics.onScreen(screen, call)).whenComplete((result, error) -> Platform.runLater(() -> {
+            pending.remove(delivery);
+            if (delivery.isCancelled() || loadGeneration != generation) {
+                if (result != null && onDropped != null) {
+                    onDropped.accept(result);
+                }
+                return;
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                delivery.completeExceptionally(cause);
+                onFailed.accept(cause);
+            } else {
+                delivery.complete(result);
+                onLoaded.accept(result);
+            }
+        }));
+        return delivery;
+    }
+
+    /**
+     * Cancels every pending load of the view
+     */
+    public void cancelAll() {
+        generation++;
+        for (CompletableFuture<?> future : Set.copyOf(pending)) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    /**
+     * @return true while a load of the view has not delivered its result
+     */
+    public boolean isLoading() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Replaces the content of a container with a loading indicator, until the loaded data is displayed
+     */
+    public static void showLoading(Pane container) {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.getStyleClass().add("loading-indicator");
+        indicator.setMaxSize(48, 48);
+        indicator.setStyle("-fx-progress-color: white;");
+
+        container.getChildren().setAll(indicator);
+    }
+}
@@ -2,6 +2,9 @@ module PFE {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.sql;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.jfr;
     requires jbcrypt;
     requires transitive javafx.graphics;
     requires org.apache.pdfbox;
@@ -13,6 +16,7 @@ module PFE {
     exports app.frontend to javafx.fxml;
     exports app.backend.utils;
     exports app.backend.models;  // Add this line to export the models package
+    exports app.backend.monitoring to java.management, jdk.jfr;
 
     opens app to javafx.graphics;
     opens app.frontend to javafx.fxml;
@@ -0,0 +1,4 @@
+-- Course.target_level is read and written by CourseService but is missing from the
+-- original dump. Databases that already have the column skip this statement.
+ALTER TABLE `course`
+  ADD COLUMN `target_level` enum('L1','L2','L3','M1','M2') DEFAULT NULL;
@@ -0,0 +1,14 @@
+-- Composite indexes for the predicates used on every screen load.
+-- quizresult(quiz_id, student_id) is already covered by unique_student_quiz and
+-- studentanswer(quiz_result_id) by the quiz_result_id key of the dump.
+
+-- Quiz results roster: WHERE quiz_id = ? ORDER BY score DESC, id DESC
+CREATE INDEX `idx_quizresult_quiz_score` ON `quizresult` (`quiz_id`, `score`);
+
+-- Submission check and roster: WHERE practical_work_id = ? AND student_id = ?
+CREATE INDEX `idx_practicalworksubmission_work_student` ON `practicalworksubmission` (`practical_work_id`, `student_id`);
+
+-- Level listings: WHERE (target_level = ? OR target_level IS NULL) [AND teacher_id = ?] ORDER BY created_at DESC
+CREATE INDEX `idx_course_level_teacher_created` ON `course` (`target_level`, `teacher_id`, `created_at`);
+CREATE INDEX `idx_exercice_level_teacher_created` ON `exercice` (`target_level`, `teacher_id`, `created_at`);
+CREATE INDEX `idx_practicalwork_level_teacher_created` ON `practicalwork` (`target_level`, `teacher_id`, `created_at`);
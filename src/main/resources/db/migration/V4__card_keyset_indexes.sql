@@ -0,0 +1,9 @@
+-- Keyset pagination of the content cards: WHERE teacher_id = ? ORDER BY created_at DESC, id DESC.
+-- InnoDB appends the primary key to secondary indexes, so (teacher_id, created_at) also orders by id.
+
+CREATE INDEX `idx_course_teacher_created` ON `course` (`teacher_id`, `created_at`);
+CREATE INDEX `idx_exercice_teacher_created` ON `exercice` (`teacher_id`, `created_at`);
+CREATE INDEX `idx_practicalwork_teacher_created` ON `practicalwork` (`teacher_id`, `created_at`);
+
+-- Every course, newest first
+CREATE INDEX `idx_course_created` ON `course` (`created_at`);
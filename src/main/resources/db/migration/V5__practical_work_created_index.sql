@@ -0,0 +1,3 @@
+-- Keyset pagination of every practical work card, newest first: ORDER BY created_at DESC, id DESC
+
+CREATE INDEX `idx_practicalwork_created` ON `practicalwork` (`created_at`);